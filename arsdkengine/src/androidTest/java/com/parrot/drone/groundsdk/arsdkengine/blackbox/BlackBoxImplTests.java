@@ -0,0 +1,173 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.blackbox;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.MockTimeProvider;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.EnvironmentData;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.Event;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.FlightData;
+import com.parrot.drone.groundsdk.device.Drone;
+import com.parrot.drone.groundsdk.internal.device.DeviceCore;
+import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.sdkcore.TimeProvider;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+public class BlackBoxImplTests {
+
+    private MockTimeProvider mTime;
+
+    private BlackBoxImpl mBlackBox;
+
+    @Before
+    public void setUp() {
+        mTime = new MockTimeProvider();
+        TimeProvider.setInstance(mTime);
+        mBlackBox = new BlackBoxImpl(2, new DroneCore("123", Drone.Model.ANAFI_4K, "drone",
+                mock(DeviceCore.Delegate.class)));
+    }
+
+    @After
+    public void teardown() {
+        TimeProvider.resetDefault();
+    }
+
+    @Test
+    public void testEvents() throws IOException, JSONException {
+        mBlackBox.addEvent(Event.batteryLevelChange(50));
+        mTime.setTime(1500);
+        mBlackBox.addEvent(Event.countryChange("FR"));
+
+        JSONArray events = write().getJSONArray("datas");
+        assertThat(events.length(), is(2));
+        assertEvent(events.getJSONObject(0), "product_battery", 0);
+        assertThat(events.getJSONObject(0).getInt("datas"), is(50));
+        assertEvent(events.getJSONObject(1), "wifi_country", 1.5);
+        assertThat(events.getJSONObject(1).getString("datas"), is("FR"));
+        assertThat(mBlackBox.getDroppedEventCount(), is(0));
+    }
+
+    @Test
+    public void testEventsOverflow() throws IOException, JSONException {
+        // fill event list
+        for (int i = 0; i < 1000; i++) {
+            mBlackBox.addEvent(Event.batteryLevelChange(i));
+        }
+        assertThat(mBlackBox.getDroppedEventCount(), is(0));
+
+        // add more events, eldest ones should be dropped
+        for (int i = 1000; i < 1003; i++) {
+            mBlackBox.addEvent(Event.batteryLevelChange(i));
+        }
+        assertThat(mBlackBox.getDroppedEventCount(), is(3));
+
+        // remaining events should be kept in recording order
+        JSONArray events = write().getJSONArray("datas");
+        assertThat(events.length(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(events.getJSONObject(i).getInt("datas"), is(i + 3));
+        }
+    }
+
+    @Test
+    public void testFlightInfos() throws IOException, JSONException {
+        FlightData.Builder builder = new FlightData.Builder();
+
+        mTime.setTime(100);
+        builder.setAltitude(1.5);
+        mBlackBox.addFlightInfo(builder);
+
+        // sample with same timestamp should be discarded
+        mBlackBox.addFlightInfo(builder);
+
+        mTime.setTime(300);
+        builder.setHeightAboveGround(2.5f);
+        mBlackBox.addFlightInfo(builder);
+
+        JSONArray samples = write().getJSONArray("datas_5Hz");
+        assertThat(samples.length(), is(2));
+        assertThat(samples.getJSONObject(0).getDouble("timestamp"), is(0.1));
+        assertThat(samples.getJSONObject(0).getDouble("product_alt"), is(1.5));
+        assertThat(samples.getJSONObject(0).getDouble("product_height_above_ground"), is(0.0));
+        assertThat(samples.getJSONObject(1).getDouble("timestamp"), is(0.3));
+        assertThat(samples.getJSONObject(1).getDouble("product_alt"), is(1.5));
+        assertThat(samples.getJSONObject(1).getDouble("product_height_above_ground"), is(2.5));
+    }
+
+    @Test
+    public void testEnvironmentInfosOverflow() throws IOException, JSONException {
+        EnvironmentData.Builder builder = new EnvironmentData.Builder();
+
+        // environment buffer holds 2 samples, eldest should be dropped
+        for (int i = 1; i <= 3; i++) {
+            mTime.setTime(i * 1000);
+            builder.setWifiSignal(-i);
+            mBlackBox.addEnvironmentInfo(builder);
+        }
+
+        JSONArray samples = write().getJSONArray("datas_1Hz");
+        assertThat(samples.length(), is(2));
+        assertThat(samples.getJSONObject(0).getDouble("timestamp"), is(2.0));
+        assertThat(samples.getJSONObject(0).getInt("wifi_rssi"), is(-2));
+        assertThat(samples.getJSONObject(1).getDouble("timestamp"), is(3.0));
+        assertThat(samples.getJSONObject(1).getInt("wifi_rssi"), is(-3));
+    }
+
+    @NonNull
+    private JSONObject write() throws IOException, JSONException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        mBlackBox.writeTo(stream);
+        return new JSONObject(new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static void assertEvent(@NonNull JSONObject event, @NonNull String type, double timestamp)
+            throws JSONException {
+        assertThat(event.getString("type"), is(type));
+        assertThat(event.getDouble("timestamp"), is(timestamp));
+    }
+}
@@ -0,0 +1,647 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.blackbox;
+
+import android.location.Location;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.parrot.drone.groundsdk.MockTimeProvider;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.EnvironmentData;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.Event;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.FlightData;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.LocationInfo;
+import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.RemoteControlInfo;
+import com.parrot.drone.groundsdk.device.Drone;
+import com.parrot.drone.groundsdk.device.RemoteControl;
+import com.parrot.drone.groundsdk.internal.device.DeviceCore;
+import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.groundsdk.internal.device.RemoteControlCore;
+import com.parrot.drone.sdkcore.TimeProvider;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that black boxes are written exactly as the formerly used reflective GSON serializer wrote them.
+ * <p>
+ * Legacy* classes below mirror the former GSON-annotated black box data classes, including their field names, which
+ * define the order in which GSON writes members on Android.
+ */
+public class BlackBoxSerializationTests {
+
+    /** Black box serializer, configured as the formerly used one. */
+    private static final Gson LEGACY_SERIALIZER = new GsonBuilder()
+            .excludeFieldsWithModifiers(0)
+            .excludeFieldsWithoutExposeAnnotation()
+            .create();
+
+    private static final String DRONE_UID = "PI040416AA8G000000";
+
+    private static final String RC_UID = "PI040409AA8D000000";
+
+    private MockTimeProvider mTime;
+
+    @Before
+    public void setUp() {
+        mTime = new MockTimeProvider();
+        mTime.setTime(1234);
+        TimeProvider.setInstance(mTime);
+    }
+
+    @After
+    public void teardown() {
+        TimeProvider.resetDefault();
+    }
+
+    @Test
+    public void testEmptyBlackBox() throws IOException, JSONException {
+        BlackBoxImpl blackBox = new BlackBoxImpl(2, newDrone());
+        String json = write(blackBox);
+
+        LegacyBlackBox legacy = new LegacyBlackBox(new LegacyHeaderInfo(headerDate(json), 1234, DRONE_UID,
+                Integer.toString(Drone.Model.ANAFI_4K.id())));
+
+        assertThat(json, is(LEGACY_SERIALIZER.toJson(legacy)));
+    }
+
+    @Test
+    public void testFullBlackBox() throws IOException, JSONException {
+        BlackBoxImpl blackBox = new BlackBoxImpl(2, newDrone());
+        blackBox.mHeader.setVersion("7.0.0<beta>", "HW_12&3");
+        blackBox.mHeader.setMotorVersion("motor='1'");
+        blackBox.mHeader.setGpsVersion("gps\"2\"");
+        blackBox.mHeader.setBootId("boot/id\\1");
+        RemoteControlInfo rcInfo = new RemoteControlInfo(new RemoteControlCore(RC_UID,
+                RemoteControl.Model.SKY_CONTROLLER_3, "rc", mock(DeviceCore.Delegate.class)));
+        rcInfo.setVersion("1.0.0", "hw>2");
+        blackBox.mHeader.setRcInfo(rcInfo);
+
+        LegacyHeaderInfo legacyHeader = new LegacyHeaderInfo(null, 1234, DRONE_UID,
+                Integer.toString(Drone.Model.ANAFI_4K.id()));
+        legacyHeader.mSoftwareVersion = "7.0.0<beta>";
+        legacyHeader.mHardwareVersion = "HW_12&3";
+        legacyHeader.mMotorVersion = "motor='1'";
+        legacyHeader.mGpsVersion = "gps\"2\"";
+        legacyHeader.mBootId = "boot/id\\1";
+        legacyHeader.mRcInfo = new LegacyRemoteControlInfo(RC_UID,
+                Integer.toString(RemoteControl.Model.SKY_CONTROLLER_3.id()));
+        legacyHeader.mRcInfo.mSoftwareVersion = "1.0.0";
+        legacyHeader.mRcInfo.mHardwareVersion = "hw>2";
+
+        List<LegacyEvent> legacyEvents = new ArrayList<>();
+        blackBox.addEvent(Event.batteryLevelChange(87));
+        legacyEvents.add(new LegacyIntEvent("product_battery", 87));
+        mTime.setTime(2000);
+        blackBox.addEvent(Event.countryChange("<FR&'=>"));
+        legacyEvents.add(new LegacyStringEvent("wifi_country", "<FR&'=>"));
+        mTime.setTime(2500);
+        blackBox.addEvent(Event.homeLocationChange(48.8789, 2.3676, 35.25));
+        legacyEvents.add(new LegacyLocationEvent("product_home", new LegacyLocationInfo(48.8789, 2.3676, 35.25)));
+        blackBox.addEvent(Event.hoveringWarning(true));
+        legacyEvents.add(new LegacyStringEvent("product_hovering_warning", "no_gps_too_dark"));
+
+        List<LegacyFlightData> legacyFlightInfos = new ArrayList<>();
+        FlightData.Builder flightInfo = new FlightData.Builder();
+        mTime.setTime(3000);
+        flightInfo.setSpeed(0.1f, -1.5f, 1f / 3);
+        flightInfo.setAttitude(0.7853982f, -0.2f, 3.1415927f);
+        flightInfo.setAltitude(123.456);
+        flightInfo.setHeightAboveGround(2.5e-7f);
+        blackBox.addFlightInfo(flightInfo);
+        LegacyFlightData legacyFlightInfo = new LegacyFlightData();
+        legacyFlightInfo.mSpeed.mX = 0.1f;
+        legacyFlightInfo.mSpeed.mY = -1.5f;
+        legacyFlightInfo.mSpeed.mZ = 1f / 3;
+        legacyFlightInfo.mAttitude.mRoll = 0.7853982f;
+        legacyFlightInfo.mAttitude.mPitch = -0.2f;
+        legacyFlightInfo.mAttitude.mYaw = 3.1415927f;
+        legacyFlightInfo.mAltitude = 123.456;
+        legacyFlightInfo.mHeightAboveGround = 2.5e-7f;
+        legacyFlightInfos.add(legacyFlightInfo);
+        mTime.setTime(3200);
+        flightInfo.setAltitude(-0.001);
+        blackBox.addFlightInfo(flightInfo);
+        legacyFlightInfo = new LegacyFlightData(legacyFlightInfo);
+        legacyFlightInfo.mAltitude = -0.001;
+        legacyFlightInfos.add(legacyFlightInfo);
+
+        List<LegacyEnvironmentData> legacyEnvironmentInfos = new ArrayList<>();
+        EnvironmentData.Builder environmentInfo = new EnvironmentData.Builder();
+        mTime.setTime(4000);
+        environmentInfo.setDroneLocation(new LocationInfo(48.8789, 2.3676, 35.25));
+        Location controllerLocation = new Location("test");
+        controllerLocation.setLatitude(48.87);
+        controllerLocation.setLongitude(2.36);
+        controllerLocation.setAltitude(40.5);
+        environmentInfo.setControllerLocation(controllerLocation);
+        environmentInfo.setRemotePilotingCommand(10, -20, 30, -40, 1);
+        environmentInfo.setWifiSignal(-65);
+        environmentInfo.setBatteryVoltage(12100);
+        blackBox.addEnvironmentInfo(environmentInfo);
+        LegacyEnvironmentData legacyEnvironmentInfo = new LegacyEnvironmentData();
+        legacyEnvironmentInfo.mDroneLocation = new LegacyLocationInfo(48.8789, 2.3676, 35.25);
+        legacyEnvironmentInfo.mControllerLocation = new LegacyLocationInfo(48.87, 2.36, 40.5);
+        legacyEnvironmentInfo.mRemotePcmd.mRoll = 10;
+        legacyEnvironmentInfo.mRemotePcmd.mPitch = -20;
+        legacyEnvironmentInfo.mRemotePcmd.mYaw = 30;
+        legacyEnvironmentInfo.mRemotePcmd.mGaz = -40;
+        legacyEnvironmentInfo.mRemotePcmd.mSource = 1;
+        legacyEnvironmentInfo.mWifiSignal = -65;
+        legacyEnvironmentInfo.mBatteryVoltage = 12100;
+        legacyEnvironmentInfos.add(legacyEnvironmentInfo);
+        mTime.setTime(5000);
+        environmentInfo.setWifiSignal(-70);
+        blackBox.addEnvironmentInfo(environmentInfo);
+        legacyEnvironmentInfo = new LegacyEnvironmentData(legacyEnvironmentInfo);
+        legacyEnvironmentInfo.mWifiSignal = -70;
+        legacyEnvironmentInfos.add(legacyEnvironmentInfo);
+
+        String json = write(blackBox);
+
+        legacyHeader.mDate = headerDate(json);
+        LegacyBlackBox legacy = new LegacyBlackBox(legacyHeader);
+        legacy.mEvents.addAll(legacyEvents);
+        legacy.mFlightInfos.addAll(legacyFlightInfos);
+        legacy.mEnvironmentInfos.addAll(legacyEnvironmentInfos);
+
+        assertThat(json, is(LEGACY_SERIALIZER.toJson(legacy)));
+    }
+
+    @NonNull
+    private static DroneCore newDrone() {
+        return new DroneCore(DRONE_UID, Drone.Model.ANAFI_4K, "drone", mock(DeviceCore.Delegate.class));
+    }
+
+    @NonNull
+    private static String write(@NonNull BlackBoxImpl blackBox) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        blackBox.writeTo(stream);
+        return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Extracts the recording date from a written black box, since it depends on the current wall clock time.
+     *
+     * @param json written black box
+     *
+     * @return black box header date
+     *
+     * @throws JSONException in case the black box could not be parsed
+     */
+    @NonNull
+    private static String headerDate(@NonNull String json) throws JSONException {
+        return new JSONObject(json).getJSONObject("header").getString("date");
+    }
+
+    private static final class LegacyBlackBox {
+
+        @Expose
+        @SerializedName("header")
+        @NonNull
+        final LegacyHeaderInfo mHeader;
+
+        @Expose
+        @SerializedName("datas")
+        @NonNull
+        final List<LegacyEvent> mEvents;
+
+        @Expose
+        @SerializedName("datas_5Hz")
+        @NonNull
+        final List<LegacyFlightData> mFlightInfos;
+
+        @Expose
+        @SerializedName("datas_1Hz")
+        @NonNull
+        final List<LegacyEnvironmentData> mEnvironmentInfos;
+
+        LegacyBlackBox(@NonNull LegacyHeaderInfo header) {
+            mHeader = header;
+            mEvents = new ArrayList<>();
+            mFlightInfos = new ArrayList<>();
+            mEnvironmentInfos = new ArrayList<>();
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyHeaderInfo {
+
+        @Expose
+        @SerializedName("blackbox_version")
+        private static final String BLACKBOX_VERSION = "1.0.6";
+
+        @Expose
+        @SerializedName("device_os")
+        private static final String OS_VERSION = "Android " + Build.VERSION.RELEASE;
+
+        @Expose
+        @SerializedName("device_model")
+        private static final String OS_MODEL = Build.MODEL;
+
+        @Expose
+        @SerializedName("date")
+        @Nullable
+        String mDate;
+
+        @Expose
+        @SerializedName("timestamp_base")
+        final long mTimestampBase;
+
+        @Expose
+        @SerializedName("product_serial")
+        @NonNull
+        final String mUid;
+
+        @Expose
+        @SerializedName("product_id")
+        @NonNull
+        final String mModel;
+
+        @Expose
+        @SerializedName("product_fw_hard")
+        @Nullable
+        String mHardwareVersion;
+
+        @Expose
+        @SerializedName("product_fw_soft")
+        @Nullable
+        String mSoftwareVersion;
+
+        @Expose
+        @SerializedName("academy_id")
+        @Nullable
+        String mAcademyId;
+
+        @Expose
+        @SerializedName("product_motor_version")
+        @Nullable
+        String mMotorVersion;
+
+        @Expose
+        @SerializedName("product_gps_version")
+        @Nullable
+        String mGpsVersion;
+
+        @Expose
+        @SerializedName("boot_id")
+        @Nullable
+        String mBootId;
+
+        @Expose
+        @SerializedName("remote_controller")
+        @Nullable
+        LegacyRemoteControlInfo mRcInfo;
+
+        LegacyHeaderInfo(@Nullable String date, long timestampBase, @NonNull String uid, @NonNull String model) {
+            mDate = date;
+            mTimestampBase = timestampBase;
+            mUid = uid;
+            mModel = model;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyRemoteControlInfo {
+
+        @Expose
+        @SerializedName("PI")
+        @NonNull
+        final String mUid;
+
+        @Expose
+        @SerializedName("Model")
+        @NonNull
+        final String mModel;
+
+        @Expose
+        @SerializedName("software_version")
+        @Nullable
+        String mSoftwareVersion;
+
+        @Expose
+        @SerializedName("hardware_version")
+        @Nullable
+        String mHardwareVersion;
+
+        LegacyRemoteControlInfo(@NonNull String uid, @NonNull String model) {
+            mUid = uid;
+            mModel = model;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private abstract static class LegacyEvent {
+
+        @Expose
+        @SerializedName("timestamp")
+        final double mTimeStamp;
+
+        @Expose
+        @SerializedName("type")
+        @NonNull
+        final String mType;
+
+        LegacyEvent(@NonNull String type) {
+            mTimeStamp = TimeProvider.elapsedRealtime() / 1000.0;
+            mType = type;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyIntEvent extends LegacyEvent {
+
+        @Expose
+        @SerializedName("datas")
+        final int mValue;
+
+        LegacyIntEvent(@NonNull String type, int value) {
+            super(type);
+            mValue = value;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyStringEvent extends LegacyEvent {
+
+        @Expose
+        @SerializedName("datas")
+        @NonNull
+        final String mValue;
+
+        LegacyStringEvent(@NonNull String type, @NonNull String value) {
+            super(type);
+            mValue = value;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyLocationEvent extends LegacyEvent {
+
+        @Expose
+        @SerializedName("datas")
+        @NonNull
+        final LegacyLocationInfo mValue;
+
+        LegacyLocationEvent(@NonNull String type, @NonNull LegacyLocationInfo value) {
+            super(type);
+            mValue = value;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyLocationInfo {
+
+        @Expose
+        @SerializedName("latitude")
+        final double mLatitude;
+
+        @Expose
+        @SerializedName("longitude")
+        final double mLongitude;
+
+        @Expose
+        @SerializedName("altitude")
+        final double mAltitude;
+
+        LegacyLocationInfo(double latitude, double longitude, double altitude) {
+            mLatitude = latitude;
+            mLongitude = longitude;
+            mAltitude = altitude;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static class LegacyTimeStampedData {
+
+        @Expose
+        @SerializedName("timestamp")
+        @JsonAdapter(TimeStampAdapter.class)
+        final long mTimeStamp;
+
+        LegacyTimeStampedData() {
+            mTimeStamp = TimeProvider.elapsedRealtime();
+        }
+
+        private static final class TimeStampAdapter extends TypeAdapter<Long> {
+
+            @Override
+            public void write(JsonWriter out, Long value) throws IOException {
+                out.value(value / 1000.0);
+            }
+
+            @Override
+            public Long read(JsonReader in) {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static class LegacyPilotingCommandInfo {
+
+        @Expose
+        @SerializedName("roll")
+        int mRoll;
+
+        @Expose
+        @SerializedName("pitch")
+        int mPitch;
+
+        @Expose
+        @SerializedName("yaw")
+        int mYaw;
+
+        @Expose
+        @SerializedName("gaz")
+        int mGaz;
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyFlightData extends LegacyTimeStampedData {
+
+        private static final class SpeedInfo {
+
+            @Expose
+            @SerializedName("vx")
+            float mX;
+
+            @Expose
+            @SerializedName("vy")
+            float mY;
+
+            @Expose
+            @SerializedName("vz")
+            float mZ;
+        }
+
+        private static final class AttitudeInfo {
+
+            @Expose
+            @SerializedName("roll")
+            float mRoll;
+
+            @Expose
+            @SerializedName("pitch")
+            float mPitch;
+
+            @Expose
+            @SerializedName("yaw")
+            float mYaw;
+        }
+
+        private static final class DronePilotingCommand extends LegacyPilotingCommandInfo {
+
+            @Expose
+            @SerializedName("flag")
+            int mFlag;
+        }
+
+        @Expose
+        @SerializedName("product_speed")
+        @NonNull
+        final SpeedInfo mSpeed;
+
+        @Expose
+        @SerializedName("product_angles")
+        @NonNull
+        final AttitudeInfo mAttitude;
+
+        @Expose
+        @SerializedName("product_alt")
+        double mAltitude;
+
+        @Expose
+        @SerializedName("product_height_above_ground")
+        float mHeightAboveGround;
+
+        @Expose
+        @SerializedName("device_pcmd")
+        @NonNull
+        final DronePilotingCommand mDronePcmd;
+
+        LegacyFlightData() {
+            mSpeed = new SpeedInfo();
+            mAttitude = new AttitudeInfo();
+            mDronePcmd = new DronePilotingCommand();
+        }
+
+        LegacyFlightData(@NonNull LegacyFlightData other) {
+            this();
+            mSpeed.mX = other.mSpeed.mX;
+            mSpeed.mY = other.mSpeed.mY;
+            mSpeed.mZ = other.mSpeed.mZ;
+            mAttitude.mRoll = other.mAttitude.mRoll;
+            mAttitude.mPitch = other.mAttitude.mPitch;
+            mAttitude.mYaw = other.mAttitude.mYaw;
+            mAltitude = other.mAltitude;
+            mHeightAboveGround = other.mHeightAboveGround;
+        }
+    }
+
+    @SuppressWarnings("unused") // read when serialized to json
+    private static final class LegacyEnvironmentData extends LegacyTimeStampedData {
+
+        private static final class RcPilotingCommand extends LegacyPilotingCommandInfo {
+
+            @Expose
+            @SerializedName("source")
+            int mSource;
+        }
+
+        @Expose
+        @SerializedName("product_gps")
+        @NonNull
+        LegacyLocationInfo mDroneLocation;
+
+        @Expose
+        @SerializedName("device_gps")
+        @NonNull
+        LegacyLocationInfo mControllerLocation;
+
+        @Expose
+        @SerializedName("mpp_pcmd")
+        @NonNull
+        final RcPilotingCommand mRemotePcmd;
+
+        @Expose
+        @SerializedName("wifi_rssi")
+        int mWifiSignal;
+
+        @Expose
+        @SerializedName("product_battery_voltage")
+        int mBatteryVoltage;
+
+        LegacyEnvironmentData() {
+            mDroneLocation = new LegacyLocationInfo(500, 500, 500);
+            mControllerLocation = new LegacyLocationInfo(500, 500, 500);
+            mRemotePcmd = new RcPilotingCommand();
+        }
+
+        LegacyEnvironmentData(@NonNull LegacyEnvironmentData other) {
+            this();
+            mDroneLocation = other.mDroneLocation;
+            mControllerLocation = other.mControllerLocation;
+            mRemotePcmd.mRoll = other.mRemotePcmd.mRoll;
+            mRemotePcmd.mPitch = other.mRemotePcmd.mPitch;
+            mRemotePcmd.mYaw = other.mRemotePcmd.mYaw;
+            mRemotePcmd.mGaz = other.mRemotePcmd.mGaz;
+            mRemotePcmd.mSource = other.mRemotePcmd.mSource;
+            mWifiSignal = other.mWifiSignal;
+            mBatteryVoltage = other.mBatteryVoltage;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SampleBufferTests {
+
+    @Test
+    public void testAppend() throws IOException {
+        TestBuffer buffer = new TestBuffer(3);
+        assertThat(buffer.write(), is("[]"));
+
+        buffer.add(1000, 1);
+        buffer.add(2000, 2);
+        assertThat(buffer.write(), is("[{\"value\":1,\"timestamp\":1.0},{\"value\":2,\"timestamp\":2.0}]"));
+    }
+
+    @Test
+    public void testSameTimeStampDiscarded() throws IOException {
+        TestBuffer buffer = new TestBuffer(3);
+
+        assertThat(buffer.add(1000, 1), is(true));
+        assertThat(buffer.add(1000, 2), is(false));
+        assertThat(buffer.write(), is("[{\"value\":1,\"timestamp\":1.0}]"));
+
+        // same timestamp as an older sample, but not the most recent one, is accepted
+        assertThat(buffer.add(2000, 3), is(true));
+        assertThat(buffer.add(1000, 4), is(true));
+        assertThat(buffer.write(), is("[{\"value\":1,\"timestamp\":1.0},{\"value\":3,\"timestamp\":2.0},"
+                                      + "{\"value\":4,\"timestamp\":1.0}]"));
+    }
+
+    @Test
+    public void testOverflow() throws IOException {
+        TestBuffer buffer = new TestBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 500, i);
+        }
+
+        // eldest samples should be overwritten, remaining ones written from eldest to most recent
+        assertThat(buffer.write(), is("[{\"value\":3,\"timestamp\":1.5},{\"value\":4,\"timestamp\":2.0},"
+                                      + "{\"value\":5,\"timestamp\":2.5}]"));
+
+        // same timestamp as the most recent sample should still be discarded after wrapping around
+        assertThat(buffer.add(2500, 6), is(false));
+        assertThat(buffer.add(3000, 7), is(true));
+        assertThat(buffer.write(), is("[{\"value\":4,\"timestamp\":2.0},{\"value\":5,\"timestamp\":2.5},"
+                                      + "{\"value\":7,\"timestamp\":3.0}]"));
+    }
+
+    @Test
+    public void testZeroCapacity() throws IOException {
+        TestBuffer buffer = new TestBuffer(0);
+        assertThat(buffer.add(1000, 1), is(false));
+        assertThat(buffer.write(), is("[]"));
+    }
+
+    @Test
+    public void testWriteFloat() throws IOException {
+        StringWriter json = new StringWriter();
+        JsonWriter writer = new JsonWriter(json);
+        writer.beginObject();
+        SampleBuffer.writeFloat(writer, "value", 0.1f);
+        writer.endObject();
+        writer.flush();
+
+        // float should not be widened to double, which would print 0.10000000149011612
+        assertThat(json.toString(), is("{\"value\":0.1}"));
+    }
+
+    private static final class TestBuffer extends SampleBuffer {
+
+        @NonNull
+        private final int[] mValues;
+
+        TestBuffer(int capacity) {
+            super(capacity);
+            mValues = new int[capacity];
+        }
+
+        boolean add(long timeStamp, int value) {
+            int slot = append(timeStamp);
+            if (slot < 0) {
+                return false;
+            }
+            mValues[slot] = value;
+            return true;
+        }
+
+        @Override
+        void writeSample(@NonNull JsonWriter out, int slot) throws IOException {
+            out.name("value").value(mValues[slot]);
+        }
+
+        @NonNull
+        String write() throws IOException {
+            StringWriter json = new StringWriter();
+            JsonWriter writer = new JsonWriter(json);
+            writeTo(writer);
+            writer.flush();
+            return json.toString();
+        }
+    }
+}
@@ -45,12 +45,17 @@ import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.anafi.AnafiManualPilot
 import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.anafi.AnafiReturnHomePilotingItf;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.device.pilotingitf.Activable;
+import com.parrot.drone.groundsdk.internal.device.pilotingitf.ManualCopterPilotingItfCore;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
 public class RealPilotingItfActivationControllerTests extends ArsdkEngineTestBase {
@@ -375,8 +380,33 @@ public class RealPilotingItfActivationControllerTests extends ArsdkEngineTestBas
         assertThat(mLookAtPilotingItf.deactivationCnt, is(0));
     }
 
+    @Test
+    public void testAtomicPilotingCommand() {
+        // mock that connection is complete, manual interface is active
+        mDroneController.onProtocolConnected();
+        ManualCopterPilotingItfCore pilotingItf = mManualPilotingItf.getPilotingItf();
+        assertThat(pilotingItf.getState(), is(Activable.State.ACTIVE));
+
+        pilotingItf.setRoll(10);
+        pilotingItf.setPitch(20);
+        pilotingItf.setYawRotationSpeed(30);
+        pilotingItf.setVerticalSpeed(40);
+        assertThat(mDroneController.pilotingCommands, contains(
+                Arrays.asList(10, 0, 0, 0),
+                Arrays.asList(10, 20, 0, 0),
+                Arrays.asList(10, 20, 30, 0),
+                Arrays.asList(10, 20, 30, 40)));
+        mDroneController.pilotingCommands.clear();
+
+        // hover should publish roll and pitch reset at once, so that the pcmd loop never encodes only one of them
+        pilotingItf.hover();
+        assertThat(mDroneController.pilotingCommands, contains(Arrays.asList(0, 0, 30, 40)));
+    }
+
     private static final class MockDroneController extends DroneController {
 
+        private final List<List<Integer>> pilotingCommands = new ArrayList<>();
+
         MockDroneController(@NonNull ArsdkEngine engine, @NonNull String droneUid, @NonNull Drone.Model model,
                             @NonNull String name,
                             @NonNull ActivablePilotingItfController.Factory defaultPilotingItfFactory) {
@@ -387,6 +417,13 @@ public class RealPilotingItfActivationControllerTests extends ArsdkEngineTestBas
         @Override
         void sendDate(@NonNull Date currentDate) {
         }
+
+        @Override
+        void onPilotingCommandChanged(@NonNull PilotingCommand pilotingCommand) {
+            super.onPilotingCommandChanged(pilotingCommand);
+            pilotingCommands.add(Arrays.asList(pilotingCommand.getRoll(), pilotingCommand.getPitch(),
+                    pilotingCommand.getYaw(), pilotingCommand.getGaz()));
+        }
     }
 
     private static final class MockAnafiManualPilotingItfItf extends AnafiManualPilotingItf {
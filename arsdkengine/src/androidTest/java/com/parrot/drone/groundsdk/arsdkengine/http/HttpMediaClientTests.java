@@ -43,6 +43,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.parrot.drone.groundsdk.DateParser;
 import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
+import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.http.HttpSession;
 import com.parrot.drone.groundsdk.internal.http.MockHttpService;
@@ -55,9 +56,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -65,6 +68,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.MediaType;
 import okhttp3.ResponseBody;
@@ -82,8 +86,14 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -199,6 +209,12 @@ public class HttpMediaClientTests {
     @Mock
     private HttpRequest.ProgressStatusCallback mProgressCb;
 
+    @Mock
+    private HttpRequest.ProgressResultCallback<File> mProgressFileCb;
+
+    @Mock
+    private ApplicationStorageProvider.MediaStoreEntry mMediaStoreEntry;
+
     @Mock
     private HttpSession.WebSocketSubscription mWebSocketSubscription;
 
@@ -790,6 +806,60 @@ public class HttpMediaClientTests {
         assertThat(DOWNLOADED_MEDIA.exists(), is(false));
     }
 
+    @Test
+    public void testDownloadToMediaStoreEntrySuccess() throws IOException {
+        openLockWhen(mProgressFileCb, mFgLock).onRequestComplete(any(), anyInt(), any());
+
+        ByteArrayOutputStream entryData = new ByteArrayOutputStream();
+        doReturn(entryData).when(mMediaStoreEntry).open();
+        doReturn(DOWNLOADED_MEDIA).when(mMediaStoreEntry).publish();
+
+        HttpRequest request = mClient.download(MEDIA_URL, mMediaStoreEntry, mProgressFileCb);
+        assertThat(request, notNullValue());
+
+        mMockService.assertPendingRequest(it -> it
+                .get()
+                .url("http://test" + MEDIA_URL));
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .body(ResponseBody.create(MEDIA_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        verify(mProgressFileCb).onRequestComplete(HttpRequest.Status.SUCCESS, 200, DOWNLOADED_MEDIA);
+        verify(mMediaStoreEntry).publish();
+        verify(mMediaStoreEntry, never()).discard();
+        assertThat(entryData.toByteArray(), is(MEDIA_DATA));
+    }
+
+    @Test
+    public void testDownloadToMediaStoreEntryRuntimeFailure() throws IOException {
+        openLockWhen(mProgressFileCb, mFgLock).onRequestComplete(any(), anyInt(), any());
+
+        // content resolver failures surface as runtime exceptions
+        doReturn(new ByteArrayOutputStream()).when(mMediaStoreEntry).open();
+        doThrow(new SecurityException("denied")).when(mMediaStoreEntry).publish();
+
+        HttpRequest request = mClient.download(MEDIA_URL, mMediaStoreEntry, mProgressFileCb);
+        assertThat(request, notNullValue());
+
+        mMockService.assertPendingRequest(it -> it
+                .get()
+                .url("http://test" + MEDIA_URL));
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .body(ResponseBody.create(MEDIA_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        verify(mProgressFileCb).onRequestComplete(
+                eq(HttpRequest.Status.FAILED), eq(HttpRequest.STATUS_CODE_UNKNOWN), isNull());
+        // pending entry must be cleaned up
+        verify(mMediaStoreEntry).discard();
+    }
+
     @Test
     public void testSetListener() {
         HttpMediaItem item = MOCK_PHOTO;
@@ -805,28 +875,34 @@ public class HttpMediaClientTests {
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.MediaCreated(item)));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onMediaAdded(argThat(mediaEquals(item)));
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.MediaDeleted(item.getId())));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onMediaRemoved(item.getId());
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.AllMediaDeleted()));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onAllMediaRemoved();
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.ResourceCreated(resource)));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onResourceAdded(argThat(mediaResourceEquals(resource)));
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(
                 new HttpMediaEvent.ResourceDeleted(resource.getId())));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onResourceRemoved(resource.getId());
 
         mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.IndexingStateChanged(
                 HttpMediaIndexingState.INDEXING, HttpMediaIndexingState.INDEXED)));
 
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
         verify(mMediaClientListener).onIndexingStateChanged(HttpMediaIndexingState.INDEXED);
 
         mClient.setListener(null);
@@ -834,6 +910,49 @@ public class HttpMediaClientTests {
         verify(mWebSocketSubscription).unsubscribe();
     }
 
+    @Test
+    public void testSetListenerCoalescesEvents() {
+        HttpMediaItem item = MOCK_PHOTO;
+        HttpMediaItem.Resource resource = item.iterator().next();
+        assert item.getId() != null;
+        assert resource != null;
+        assert resource.getId() != null;
+
+        mClient.setListener(mMediaClientListener);
+
+        verify(mMockService.mSession).listenToWebSocket(eq("/api/v1/media/notifications"),
+                mWebSocketListenerCaptor.capture());
+
+        mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.MediaCreated(item)));
+        mWebSocketListenerCaptor.getValue().onMessage("{\"name\": \"unknown_event\"}");
+        mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(
+                new HttpMediaEvent.ResourceDeleted(resource.getId())));
+        mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.MediaDeleted(item.getId())));
+
+        // nothing should be forwarded until the coalescing window expires
+        verifyZeroInteractions(mMediaClientListener);
+
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
+
+        // all events should be forwarded at once, in reception order
+        InOrder inOrder = inOrder(mMediaClientListener);
+        inOrder.verify(mMediaClientListener).onMediaAdded(argThat(mediaEquals(item)));
+        inOrder.verify(mMediaClientListener).onResourceRemoved(resource.getId());
+        inOrder.verify(mMediaClientListener).onMediaRemoved(item.getId());
+        verifyNoMoreInteractions(mMediaClientListener);
+
+        // pending events should be dropped when the listener is uninstalled
+        mWebSocketListenerCaptor.getValue().onMessage(GSON.toJson(new HttpMediaEvent.AllMediaDeleted()));
+
+        mClient.setListener(null);
+
+        verify(mWebSocketSubscription).unsubscribe();
+
+        TestExecutor.mockTimePasses(HttpMediaClient.EVENT_COALESCING_WINDOW, TimeUnit.MILLISECONDS);
+
+        verifyNoMoreInteractions(mMediaClientListener);
+    }
+
     @Test
     public void testMediaItemParcel() {
         MOCK_LIST.forEach(media -> {
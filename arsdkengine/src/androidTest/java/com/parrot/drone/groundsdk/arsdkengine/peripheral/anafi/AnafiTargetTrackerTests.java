@@ -32,11 +32,13 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi;
 
+import com.parrot.drone.groundsdk.MockTimeProvider;
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.device.peripheral.TargetTracker;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.groundsdk.internal.utility.SystemBarometer;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
 import com.parrot.drone.sdkcore.arsdk.Backend;
 import com.parrot.drone.sdkcore.arsdk.Expectation;
@@ -176,6 +178,37 @@ public class AnafiTargetTrackerTests extends ArsdkEngineTestBase {
         mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.followMeTargetImageDetection(
                 1.0f, 2.0f, 3.0f, 128, 1, 4L)));
         mTracker.sendTargetDetectionInfo(info);
+
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(1L));
+        assertThat(mTracker.getDroppedTargetDetectionInfoCount(), is(0L));
+
+        // info without timestamp should be stamped upon reception
+        MockTimeProvider time = new MockTimeProvider();
+        time.setTime(42);
+        TimeProvider.setInstance(time);
+
+        doReturn(false).when(info).isNewTarget();
+        doReturn(0L).when(info).getTimestamp();
+
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.followMeTargetImageDetection(
+                1.0f, 2.0f, 3.0f, 128, 0, 42L)));
+        mTracker.sendTargetDetectionInfo(info);
+
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(2L));
+        assertThat(mTracker.getDroppedTargetDetectionInfoCount(), is(0L));
+
+        TimeProvider.resetDefault();
+
+        // counts should be reset upon disconnection
+        disconnectDrone(mDrone, 1);
+
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(0L));
+        assertThat(mTracker.getDroppedTargetDetectionInfoCount(), is(0L));
+
+        // info should not be sent while disconnected
+        mTracker.sendTargetDetectionInfo(info);
+
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(0L));
     }
 
     @Test
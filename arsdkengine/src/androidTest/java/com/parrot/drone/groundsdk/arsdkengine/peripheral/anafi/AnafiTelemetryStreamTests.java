@@ -0,0 +1,171 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi;
+
+import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
+import com.parrot.drone.groundsdk.device.Drone;
+import com.parrot.drone.groundsdk.device.peripheral.TelemetryStream;
+import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
+import com.parrot.drone.sdkcore.arsdk.Backend;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notANumber;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class AnafiTelemetryStreamTests extends ArsdkEngineTestBase {
+
+    private DroneCore mDrone;
+
+    private TelemetryStream mTelemetryStream;
+
+    private int mChangeCnt;
+
+    private final List<TelemetryStream.Kind> mKinds = new ArrayList<>();
+
+    private final List<double[]> mValues = new ArrayList<>();
+
+    private final TelemetryStream.Sink mSink = (kind, timestamp, value1, value2, value3) -> {
+        mKinds.add(kind);
+        mValues.add(new double[] {value1, value2, value3});
+    };
+
+    @Override
+    public void setUp() {
+        super.setUp();
+
+        mArsdkEngine.start();
+        mMockArsdkCore.addDevice("123", Drone.Model.ANAFI_4K.id(), "Drone1", 1, Backend.TYPE_NET);
+        mDrone = mDroneStore.get("123");
+        assert mDrone != null;
+
+        mTelemetryStream = mDrone.getPeripheralStore().get(mMockSession, TelemetryStream.class);
+        mDrone.getPeripheralStore().registerObserver(TelemetryStream.class, () -> {
+            mTelemetryStream = mDrone.getPeripheralStore().get(mMockSession, TelemetryStream.class);
+            mChangeCnt++;
+        });
+
+        mChangeCnt = 0;
+        mKinds.clear();
+        mValues.clear();
+    }
+
+    @Test
+    public void testPublication() {
+        assertThat(mTelemetryStream, nullValue());
+        assertThat(mChangeCnt, is(0));
+
+        connectDrone(mDrone, 1);
+
+        assertThat(mTelemetryStream, notNullValue());
+        assertThat(mChangeCnt, is(1));
+
+        disconnectDrone(mDrone, 1);
+
+        assertThat(mTelemetryStream, nullValue());
+        assertThat(mChangeCnt, is(2));
+    }
+
+    @Test
+    public void testAttitudeSpeedAltitude() {
+        connectDrone(mDrone, 1);
+        TelemetryStream.Subscription subscription = mTelemetryStream.subscribe(10);
+
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateAttitudeChanged(
+                (float) Math.PI, (float) (Math.PI / 2), 0));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateSpeedChanged(1, 2, 3));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateAltitudeChanged(4));
+
+        assertThat(subscription.drain(mSink, 10), is(3));
+        assertThat(mKinds, contains(TelemetryStream.Kind.ATTITUDE, TelemetryStream.Kind.SPEED,
+                TelemetryStream.Kind.ALTITUDE));
+
+        assertThat(mValues.get(0)[0], closeTo(180, 0.001));
+        assertThat(mValues.get(0)[1], closeTo(90, 0.001));
+        assertThat(mValues.get(0)[2], closeTo(0, 0.001));
+
+        assertThat(mValues.get(1)[0], is(1.0));
+        assertThat(mValues.get(1)[1], is(2.0));
+        assertThat(mValues.get(1)[2], is(3.0));
+
+        assertThat(mValues.get(2)[0], is(4.0));
+        assertThat(mValues.get(2)[1], notANumber());
+        assertThat(mValues.get(2)[2], notANumber());
+
+        subscription.close();
+    }
+
+    @Test
+    public void testLocation() {
+        connectDrone(mDrone, 1);
+        TelemetryStream.Subscription subscription = mTelemetryStream.subscribe(10);
+
+        // unavailable location should not be queued
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStatePositionChanged(500, 500, 500));
+        assertThat(subscription.drain(mSink, 10), is(0));
+
+        // unavailable altitude should be reported as NaN
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStatePositionChanged(10, 20, 500));
+        assertThat(subscription.drain(mSink, 10), is(1));
+        assertThat(mKinds, contains(TelemetryStream.Kind.LOCATION));
+        assertThat(mValues.get(0)[0], is(10.0));
+        assertThat(mValues.get(0)[1], is(20.0));
+        assertThat(mValues.get(0)[2], notANumber());
+
+        // once GpsLocationChanged is received, PositionChanged should be ignored
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateGpsLocationChanged(
+                30, 40, 50, 1, 1, 1));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStatePositionChanged(60, 70, 80));
+        assertThat(subscription.drain(mSink, 10), is(1));
+        assertThat(mValues.get(1)[0], is(30.0));
+        assertThat(mValues.get(1)[1], is(40.0));
+        assertThat(mValues.get(1)[2], is(50.0));
+
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateGpsLocationChanged(
+                500, 500, 500, 1, 1, 1));
+        assertThat(subscription.drain(mSink, 10), is(0));
+
+        assertThat(mKinds.size(), is(2));
+
+        subscription.close();
+    }
+}
@@ -32,6 +32,8 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.flightdata;
 
+import androidx.test.core.app.ApplicationProvider;
+
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.arsdkengine.http.HttpPudClient;
 import com.parrot.drone.groundsdk.arsdkengine.http.HttpPudInfo;
@@ -39,6 +41,7 @@ import com.parrot.drone.groundsdk.arsdkengine.http.MockHttpPud;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.device.peripheral.FlightDataDownloader;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.http.MockHttpSession;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
@@ -49,7 +52,14 @@ import com.parrot.drone.sdkcore.arsdk.Backend;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -99,6 +109,8 @@ public class AnafiFlightDataDownloaderTests extends ArsdkEngineTestBase {
 
     private HttpPudClient mClient;
 
+    private FlightDataStorage mStorage;
+
     private int mChangeCnt;
 
     @SuppressWarnings("unchecked")
@@ -108,13 +120,16 @@ public class AnafiFlightDataDownloaderTests extends ArsdkEngineTestBase {
     private final ArgumentCaptor<HttpRequest.StatusCallback> mStatusCallbackCaptor =
             ArgumentCaptor.forClass(HttpRequest.StatusCallback.class);
 
+    private final ArgumentCaptor<HttpPudClient.PudAdapter> mAdapterCaptor =
+            ArgumentCaptor.forClass(HttpPudClient.PudAdapter.class);
+
     @Override
     public void setUp() {
         super.setUp();
 
-        FlightDataStorage mockStorage = mock(FlightDataStorage.class);
-        doReturn(FLIGHTDATA_STORAGE).when(mockStorage).getWorkDir();
-        mUtilities.registerUtility(FlightDataStorage.class, mockStorage);
+        mStorage = mock(FlightDataStorage.class);
+        doReturn(FLIGHTDATA_STORAGE).when(mStorage).getWorkDir();
+        mUtilities.registerUtility(FlightDataStorage.class, mStorage);
 
         mClient = mock(HttpPudClient.class);
         doReturn(DUMMY_REQUEST).when(mClient).listPuds(any());
@@ -209,6 +224,54 @@ public class AnafiFlightDataDownloaderTests extends ArsdkEngineTestBase {
         assertThat(mFlightDataDownloader, hasDownloadedSuccessfully(0));
     }
 
+    @Test
+    public void testSummarySaveError() throws IOException, InterruptedException {
+        File workDir = ApplicationProvider.getApplicationContext().getCacheDir();
+        doReturn(workDir).when(mStorage).getWorkDir();
+
+        connectDrone(mDrone, 1);
+
+        verify(mClient).listPuds(mResultCallbackCaptor.capture());
+
+        // mock listing successful result
+        mResultCallbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200, REPORT_LIST_1);
+
+        File dest = new File(workDir, "pud_1");
+        verify(mClient).downloadPud(eq("/data/pud/pud_1"), eq(dest), mAdapterCaptor.capture(),
+                mStatusCallbackCaptor.capture());
+
+        // summary cannot be written over a directory
+        File summaryFile = FlightDataSummaryCore.fileOf(dest);
+        assertThat(summaryFile.mkdirs(), is(true));
+        try {
+            byte[] header = ("{details_headers : [\n"
+                             + "  {\n"
+                             + "    name: \"time\",\n"
+                             + "    type: \"integer\",\n"
+                             + "    size: 4\n"
+                             + "  }\n"
+                             + "]}\0").getBytes(StandardCharsets.UTF_8);
+            InputStream input = new ByteArrayInputStream(
+                    ByteBuffer.wrap(new byte[header.length + 4])
+                              .order(ByteOrder.LITTLE_ENDIAN)
+                              .put(header).putInt(1000)
+                              .array());
+
+            // adapting should not fail
+            mAdapterCaptor.getValue().adapt(input, new ByteArrayOutputStream());
+        } finally {
+            assertThat(summaryFile.delete(), is(true));
+        }
+
+        // mock download completion
+        mStatusCallbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+
+        // file should be reported without summary
+        verify(mStorage).notifyFlightDataFileReady(dest, null);
+        verify(mClient).deletePud(eq("pud_1"), any());
+        assertThat(mFlightDataDownloader, hasDownloadedSuccessfully(1));
+    }
+
     @Test
     public void testDeleteError() {
         connectDrone(mDrone, 1);
@@ -412,6 +412,21 @@ public class PudAdapterTests {
         }
     }
 
+    @Test
+    public void testDate() {
+        assertThat(adaptDate("\"2019-06-20T104526+0200\""), is(1561020326000L));
+    }
+
+    @Test
+    public void testMissingDate() {
+        assertThat(adaptDate(null), is(0L));
+    }
+
+    @Test
+    public void testMalformedDate() {
+        assertThat(adaptDate("\"20/06/2019 10:45\""), is(0L));
+    }
+
     @Test
     public void testAlertCount() {
         byte[] header = ("{details_headers : [\n"
@@ -915,6 +930,29 @@ public class PudAdapterTests {
         // add more test files...
     }
 
+    private static long adaptDate(String date) {
+        byte[] header = ("{" + (date == null ? "" : "date: " + date + ",\n")
+                         + "details_headers : [\n"
+                         + "  {\n"
+                         + "    name: \"time\",\n"
+                         + "    type: \"integer\",\n"
+                         + "    size: 4\n"
+                         + "  }\n"
+                         + "]}\0").getBytes();
+
+        InputStream input = new ByteArrayInputStream(
+                ByteBuffer.wrap(new byte[header.length + 4])
+                          .order(ByteOrder.LITTLE_ENDIAN)
+                          .put(header).putInt(1000)
+                          .array());
+        OutputStream output = new ByteArrayOutputStream();
+        try {
+            return PudAdapter.adapt(input, output).getDate();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     private static void testRealValidPud(@RawRes int binaryPudRes, @RawRes int jsonPudRes) {
         Context context = ApplicationProvider.getApplicationContext();
 
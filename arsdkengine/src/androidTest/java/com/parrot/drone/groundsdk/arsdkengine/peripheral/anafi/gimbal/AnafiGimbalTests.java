@@ -35,6 +35,7 @@ package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.gimbal;
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.device.peripheral.Gimbal;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGimbal;
@@ -1026,6 +1027,84 @@ public class AnafiGimbalTests extends ArsdkEngineTestBase {
         mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
     }
 
+    @Test
+    public void testControlEmissionPeriod() {
+        int maxRepeatedSent = 10; // should be the same as GimbalControlCommandEncoder.GIMBAL_COMMANDS_REPETITIONS
+        int loopPeriod = 50; // should be the same as Anafi piloting command loop period
+        int tickDivider = 3;
+
+        // emit at most one control command every 3 loop ticks
+        GroundSdkConfig.get().setControlEmissionPeriod(2 * loopPeriod + 1);
+
+        connectDrone(mDrone, 1, () -> mMockArsdkCore.commandReceived(1,
+                encodeCapabilities(Axis.PITCH, Axis.ROLL)));
+
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeGimbalAttitude(0,
+                FrameOfReference.ABSOLUTE, FrameOfReference.ABSOLUTE, FrameOfReference.RELATIVE,
+                1, 2, 3, 10, 20, 30));
+
+        // check that stabilization update is only sent on the first emission tick
+        pollNoControlCommand(tickDivider - 1);
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.gimbalSetTarget(0, ControlMode.POSITION,
+                        FrameOfReference.NONE, 0, FrameOfReference.NONE, 0, FrameOfReference.NONE, 0)));
+        mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
+
+        // submit several targets during one emission period, only the latest one should be sent
+        mGimbal.control(Gimbal.ControlMode.POSITION, null, 5.0, null);
+        pollNoControlCommand(1);
+        mGimbal.control(Gimbal.ControlMode.POSITION, null, 10.0, null);
+        mGimbal.control(Gimbal.ControlMode.POSITION, null, 15.0, null);
+        pollNoControlCommand(tickDivider - 2);
+
+        // position target should be repeated on each emission tick only, up to the maximum repetition count
+        for (int i = 0; i < maxRepeatedSent; i++) {
+            mMockArsdkCore.expect(new Expectation.Command(1,
+                    ExpectedCmd.gimbalSetTarget(0, ControlMode.POSITION,
+                            FrameOfReference.NONE, 0, FrameOfReference.ABSOLUTE, 15, FrameOfReference.NONE, 0)));
+            mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
+            pollNoControlCommand(tickDivider - 1);
+        }
+        pollNoControlCommand(tickDivider);
+
+        // control in velocity, repeating the same target on each loop tick, as an application would do from touch
+        // events; command should keep being sent on each emission tick, beyond the maximum repetition count
+        for (int i = 0; i < 2 * maxRepeatedSent; i++) {
+            for (int j = 0; j < tickDivider - 1; j++) {
+                mGimbal.control(Gimbal.ControlMode.VELOCITY, null, 1.0, null);
+                pollNoControlCommand(1);
+            }
+            mGimbal.control(Gimbal.ControlMode.VELOCITY, null, 1.0, null);
+            mMockArsdkCore.expect(new Expectation.Command(1,
+                    ExpectedCmd.gimbalSetTarget(0, ControlMode.VELOCITY,
+                            FrameOfReference.NONE, 0, FrameOfReference.ABSOLUTE, 1, FrameOfReference.NONE, 0)));
+            mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
+        }
+
+        // latest velocity target submitted during the emission period should win
+        mGimbal.control(Gimbal.ControlMode.VELOCITY, null, 2.0, null);
+        pollNoControlCommand(1);
+        mGimbal.control(Gimbal.ControlMode.VELOCITY, null, 3.0, null);
+        pollNoControlCommand(tickDivider - 2);
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.gimbalSetTarget(0, ControlMode.VELOCITY,
+                        FrameOfReference.NONE, 0, FrameOfReference.ABSOLUTE, 3, FrameOfReference.NONE, 0)));
+        mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
+        mMockArsdkCore.assertNoExpectation();
+    }
+
+    /**
+     * Polls the gimbal control command encoder, checking that no command is sent.
+     *
+     * @param ticks number of command loop ticks to poll
+     */
+    private void pollNoControlCommand(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            mMockArsdkCore.assertNoExpectation();
+            mMockArsdkCore.pollNoAckCommands(1, GimbalControlCommandEncoder.class);
+        }
+    }
+
     @Test
     public void testAttitudeReceivedBeforeCapabilities() {
         // capabilities are received after attitude on connection
@@ -0,0 +1,102 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ControlCoalescerTests {
+
+    @Test
+    public void testTickDivider() {
+        ControlCoalescer coalescer = new ControlCoalescer();
+
+        // by default, emit on each tick
+        assertThat(coalescer.getTickDivider(), is(1));
+        assertThat(coalescer.isEmissionTick(), is(true));
+        assertThat(coalescer.isEmissionTick(), is(true));
+
+        // emission period is rounded up to loop period multiple
+        coalescer.setEmissionPeriod(60, 25);
+        assertThat(coalescer.getTickDivider(), is(3));
+        assertThat(coalescer.isEmissionTick(), is(false));
+        assertThat(coalescer.isEmissionTick(), is(false));
+        assertThat(coalescer.isEmissionTick(), is(true));
+        assertThat(coalescer.isEmissionTick(), is(false));
+
+        coalescer.setEmissionPeriod(50, 25);
+        assertThat(coalescer.getTickDivider(), is(2));
+
+        coalescer.setEmissionPeriod(0, 25);
+        assertThat(coalescer.getTickDivider(), is(1));
+
+        // disabled loop
+        coalescer.setEmissionPeriod(100, 0);
+        assertThat(coalescer.getTickDivider(), is(1));
+    }
+
+    @Test
+    public void testDroppedCount() {
+        ControlCoalescer coalescer = new ControlCoalescer();
+
+        assertThat(coalescer.getUpdateCount(), is(0L));
+        assertThat(coalescer.getDroppedCount(), is(0L));
+
+        // a single update consumed is not dropped
+        coalescer.onTargetUpdated();
+        coalescer.onTargetConsumed();
+        assertThat(coalescer.getUpdateCount(), is(1L));
+        assertThat(coalescer.getDroppedCount(), is(0L));
+
+        // consuming with no update does not drop anything
+        coalescer.onTargetConsumed();
+        assertThat(coalescer.getDroppedCount(), is(0L));
+
+        // only the latest of several updates is sent
+        coalescer.onTargetUpdated();
+        coalescer.onTargetUpdated();
+        coalescer.onTargetUpdated();
+        coalescer.onTargetConsumed();
+        assertThat(coalescer.getUpdateCount(), is(4L));
+        assertThat(coalescer.getDroppedCount(), is(2L));
+
+        // reset clears statistics but keeps cadence
+        coalescer.setEmissionPeriod(50, 25);
+        coalescer.reset();
+        assertThat(coalescer.getUpdateCount(), is(0L));
+        assertThat(coalescer.getDroppedCount(), is(0L));
+        assertThat(coalescer.getTickDivider(), is(2));
+    }
+}
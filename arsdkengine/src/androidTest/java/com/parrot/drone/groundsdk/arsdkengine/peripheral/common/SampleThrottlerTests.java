@@ -0,0 +1,146 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common;
+
+import com.parrot.drone.groundsdk.internal.tasks.TestExecutor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class SampleThrottlerTests {
+
+    private List<Integer> mEmitted;
+
+    private SampleThrottler<Integer> mThrottler;
+
+    @Before
+    public void setUp() {
+        TestExecutor.setup();
+        mEmitted = new ArrayList<>();
+        mThrottler = new SampleThrottler<>(mEmitted::add);
+    }
+
+    @After
+    public void teardown() {
+        TestExecutor.teardown();
+    }
+
+    @Test
+    public void testNoThrottling() {
+        // by default, each sample is emitted as soon as submitted
+        mThrottler.submit(1);
+        mThrottler.submit(2);
+        mThrottler.submit(3);
+
+        assertThat(mEmitted, contains(1, 2, 3));
+        assertThat(mThrottler.getSentCount(), is(3L));
+        assertThat(mThrottler.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void testThrottling() {
+        mThrottler.setEmissionPeriod(100);
+
+        // first sample is emitted immediately
+        mThrottler.submit(1);
+        assertThat(mEmitted, contains(1));
+
+        // subsequent samples are held until period ends, only the latest one is kept
+        mThrottler.submit(2);
+        mThrottler.submit(3);
+        mThrottler.submit(4);
+        assertThat(mEmitted, contains(1));
+        assertThat(mThrottler.getSentCount(), is(1L));
+        assertThat(mThrottler.getDroppedCount(), is(2L));
+
+        TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+        assertThat(mEmitted, contains(1, 4));
+        assertThat(mThrottler.getSentCount(), is(2L));
+        assertThat(mThrottler.getDroppedCount(), is(2L));
+
+        // a new period started with latest emission
+        mThrottler.submit(5);
+        assertThat(mEmitted, contains(1, 4));
+
+        TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+        assertThat(mEmitted, contains(1, 4, 5));
+
+        // period ends with nothing to emit
+        TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+        assertThat(mEmitted, contains(1, 4, 5));
+
+        // after a quiet period, next sample is emitted immediately
+        mThrottler.submit(6);
+        assertThat(mEmitted, contains(1, 4, 5, 6));
+        assertThat(mThrottler.getSentCount(), is(4L));
+        assertThat(mThrottler.getDroppedCount(), is(2L));
+    }
+
+    @Test
+    public void testReset() {
+        mThrottler.setEmissionPeriod(100);
+
+        mThrottler.submit(1);
+        mThrottler.submit(2);
+        mThrottler.submit(3);
+
+        // reset discards pending sample and clears statistics
+        mThrottler.reset();
+        assertThat(mThrottler.getSentCount(), is(0L));
+        assertThat(mThrottler.getDroppedCount(), is(0L));
+
+        TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+        assertThat(mEmitted, contains(1));
+
+        // cadence is kept
+        mEmitted.clear();
+        mThrottler.submit(4);
+        mThrottler.submit(5);
+        assertThat(mEmitted, contains(4));
+
+        mThrottler.reset();
+        mEmitted.clear();
+        TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+        assertThat(mEmitted, empty());
+    }
+}
@@ -46,6 +46,7 @@ import com.parrot.drone.groundsdk.internal.Cancelable;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.http.MockHttpSession;
+import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.groundsdk.internal.utility.FirmwareDownloader;
 import com.parrot.drone.groundsdk.internal.utility.FirmwareStore;
 import com.parrot.drone.groundsdk.internal.utility.SystemConnectivity;
@@ -55,7 +56,12 @@ import com.parrot.drone.sdkcore.arsdk.Backend;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -80,6 +86,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -100,8 +107,12 @@ public class UpdaterControllerTests extends ArsdkEngineTestBase {
             when(mock(FirmwareInfo.class).getFirmware()).thenReturn(VERSIONS[2]).getMock(),
             when(mock(FirmwareInfo.class).getFirmware()).thenReturn(VERSIONS[3]).getMock()};
 
+    private static final byte[] FIRMWARE_CONTENT = {0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08};
+
     private FirmwareStore mMockFirmwareStore;
 
+    private File mFirmwareFile;
+
     private FirmwareDownloader mMockFirmwareDownloader;
 
     private HttpUpdateClient mMockUpdateClient;
@@ -127,6 +138,16 @@ public class UpdaterControllerTests extends ArsdkEngineTestBase {
         mUtilities.registerUtility(FirmwareStore.class, mMockFirmwareStore)
                   .registerUtility(FirmwareDownloader.class, mMockFirmwareDownloader);
 
+        try {
+            mFirmwareFile = File.createTempFile("firmware", null);
+            try (OutputStream out = new FileOutputStream(mFirmwareFile)) {
+                out.write(FIRMWARE_CONTENT);
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        doReturn(Task.success(mFirmwareFile)).when(mMockFirmwareStore).getVerifiedFirmwareFile(any());
+
         mMockUpdateClient = mock(HttpUpdateClient.class);
         MockHttpSession.registerOnly(mMockUpdateClient);
 
@@ -153,6 +174,8 @@ public class UpdaterControllerTests extends ArsdkEngineTestBase {
     @Override
     public void teardown() {
         MockHttpSession.resetDefaultClients();
+        //noinspection ResultOfMethodCallIgnored
+        mFirmwareFile.delete();
         super.teardown();
     }
 
@@ -899,4 +922,122 @@ public class UpdaterControllerTests extends ArsdkEngineTestBase {
         assertThat(mChangeCnt, is(5));
         assertThat(mUpdater.currentUpdate(), nullValue());
     }
+
+    @Test
+    public void testNextFirmwarePreparedDuringInstallation() throws IOException {
+        assertThat(mChangeCnt, is(0));
+        // mock two applicable firmwares in store
+        doReturn(Arrays.asList(FIRMWARES[1], FIRMWARES[2]))
+                .when(mMockFirmwareStore)
+                .applicableUpdatesFor(any());
+
+        // mock firmware data
+        doReturn(mock(InputStream.class)).when(mMockFirmwareStore).getFirmwareStream(any());
+
+        // connect the drone
+        connectDrone(mDrone, 1);
+
+        assertThat(mChangeCnt, is(1));
+
+        Cancelable request = spy(HttpRequest.class);
+        ArgumentCaptor<InputStream> streamCaptor = ArgumentCaptor.forClass(InputStream.class);
+        ArgumentCaptor<HttpRequest.ProgressStatusCallback> callbackCaptor = ArgumentCaptor.forClass(
+                HttpRequest.ProgressStatusCallback.class);
+        doReturn(request).when(mMockUpdateClient).uploadFirmware(streamCaptor.capture(), callbackCaptor.capture());
+
+        // request an update
+        mUpdater.updateToLatestFirmware();
+
+        assertThat(mChangeCnt, is(2));
+
+        // next firmware should not be prepared yet
+        verify(mMockFirmwareStore, never()).getVerifiedFirmwareFile(any());
+
+        // mock upload completion
+        callbackCaptor.getValue().onRequestProgress(100);
+
+        // next firmware should be prepared while the device processes the current one
+        verify(mMockFirmwareStore).getVerifiedFirmwareFile(VERSIONS[2]);
+
+        // mock update success
+        callbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+
+        // next firmware should not be prepared again
+        verify(mMockFirmwareStore).getVerifiedFirmwareFile(any());
+
+        // mock disconnection, then reconnection with expected FIRMWARE[1]
+        disconnectDrone(mDrone, 1);
+        connectDrone(mDrone, 1, () -> mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeCommonSettingsStateProductVersionChanged(VERSIONS[1].getVersion().toString(), "")));
+
+        // update should proceed with next firmware, uploaded from the prepared file, without querying the store again
+        assertThat(mUpdater.currentUpdate(), allOf(
+                firmwareUpdateStateIs(Updater.Update.State.UPLOADING),
+                firmwareUpdateCurrentFirmwareIs(FIRMWARES[2]),
+                firmwareUpdateIndexIs(2),
+                firmwareUpdateTotalCountIs(2)));
+        verify(mMockFirmwareStore).getFirmwareStream(any());
+
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        try (InputStream stream = streamCaptor.getValue()) {
+            byte[] buffer = new byte[3];
+            int len;
+            while ((len = stream.read(buffer)) > 0) {
+                uploaded.write(buffer, 0, len);
+            }
+        }
+        assertThat(uploaded.toByteArray(), is(FIRMWARE_CONTENT));
+    }
+
+    @Test
+    public void testNextFirmwarePreparationFailure() {
+        assertThat(mChangeCnt, is(0));
+        // mock two applicable firmwares in store
+        doReturn(Arrays.asList(FIRMWARES[1], FIRMWARES[2]))
+                .when(mMockFirmwareStore)
+                .applicableUpdatesFor(any());
+
+        // mock firmware data, next firmware fails verification
+        doReturn(mock(InputStream.class)).when(mMockFirmwareStore).getFirmwareStream(any());
+        doReturn(Task.failure(new IOException("Checksum mismatch")))
+                .when(mMockFirmwareStore).getVerifiedFirmwareFile(any());
+
+        // connect the drone
+        connectDrone(mDrone, 1);
+
+        assertThat(mChangeCnt, is(1));
+
+        Cancelable request = spy(HttpRequest.class);
+        ArgumentCaptor<HttpRequest.ProgressStatusCallback> callbackCaptor = ArgumentCaptor.forClass(
+                HttpRequest.ProgressStatusCallback.class);
+        doReturn(request).when(mMockUpdateClient).uploadFirmware(any(), callbackCaptor.capture());
+
+        // request an update
+        mUpdater.updateToLatestFirmware();
+
+        assertThat(mChangeCnt, is(2));
+
+        // mock update success
+        callbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+
+        verify(mMockFirmwareStore).getVerifiedFirmwareFile(VERSIONS[2]);
+
+        // mock disconnection
+        disconnectDrone(mDrone, 1);
+
+        assertThat(mChangeCnt, is(3));
+
+        // mock reconnection, with expected FIRMWARE[1]
+        connectDrone(mDrone, 1, () -> mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeCommonSettingsStateProductVersionChanged(VERSIONS[1].getVersion().toString(), "")));
+
+        // update should proceed with next firmware, uploaded directly from the firmware store
+        assertThat(mUpdater.currentUpdate(), allOf(
+                firmwareUpdateStateIs(Updater.Update.State.UPLOADING),
+                firmwareUpdateCurrentFirmwareIs(FIRMWARES[2]),
+                firmwareUpdateIndexIs(2),
+                firmwareUpdateTotalCountIs(2)));
+        verify(mMockFirmwareStore).getFirmwareStream(VERSIONS[2]);
+        verify(mMockUpdateClient, times(2)).uploadFirmware(any(), any());
+    }
 }
@@ -38,9 +38,12 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.parrot.drone.groundsdk.MockTimeProvider;
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.device.RemoteControl;
+import com.parrot.drone.groundsdk.device.peripheral.GamepadLatencyDiagnostics;
+import com.parrot.drone.groundsdk.device.peripheral.Histogram;
 import com.parrot.drone.groundsdk.device.peripheral.SkyController3Gamepad;
 import com.parrot.drone.groundsdk.device.peripheral.VirtualGamepad;
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.AxisInterpolator;
@@ -53,13 +56,16 @@ import com.parrot.drone.groundsdk.device.peripheral.gamepad.skycontroller3.Butto
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.skycontroller3.ButtonsMappingEntry;
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.skycontroller3.MappingEntry;
 import com.parrot.drone.groundsdk.internal.ApplicationNotifier;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.RemoteControlCore;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGeneric;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureMapper;
 import com.parrot.drone.sdkcore.arsdk.Backend;
 import com.parrot.drone.sdkcore.arsdk.Expectation;
 import com.parrot.drone.sdkcore.arsdk.ExpectedCmd;
+import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 
 import org.junit.Test;
 
@@ -1640,6 +1646,118 @@ public class Sc3GamepadTests extends ArsdkEngineTestBase {
         assertThat(mSkyController3Gamepad.volatileMapping(), optionalBooleanSettingIsDisabled());
     }
 
+    @Test
+    public void testLatencyTracing() {
+        // received commands should not be stamped with their reception time unless tracing is enabled
+        assertThat(ArsdkCommand.isReceptionTimeTrackingEnabled(), is(false));
+
+        // latency diagnostics should not be published unless tracing is enabled
+        connectRemoteControl(mRemoteControl, 1);
+        assertThat(mRemoteControl.getPeripheralStore().get(mMockSession, GamepadLatencyDiagnostics.class),
+                nullValue());
+        disconnectRemoteControl(mRemoteControl, 1);
+
+        GroundSdkConfig.get().enableGamepadLatencyTracing(true);
+        assertThat(ArsdkCommand.isReceptionTimeTrackingEnabled(), is(true));
+        MockTimeProvider time = new MockTimeProvider();
+        time.setTime(1000);
+        TimeProvider.setInstance(time);
+        ApplicationNotifier.setInstance(mGamepadEventReceiver);
+
+        connectRemoteControl(mRemoteControl, 1);
+        GamepadLatencyDiagnostics diagnostics = mRemoteControl.getPeripheralStore().get(mMockSession,
+                GamepadLatencyDiagnostics.class);
+        assertThat(diagnostics, notNullValue());
+        for (GamepadLatencyDiagnostics.EventType type : GamepadLatencyDiagnostics.EventType.values()) {
+            assertThat(diagnostics.getDeliveryLatencies(type).getTotalCount(), is(0L));
+            assertThat(diagnostics.getHandlingDurations(type).getTotalCount(), is(0L));
+        }
+
+        // navigation events, waiting 4 and 6 ms for the main thread, application listener takes 5 ms to handle each
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.mapperGrab(NAVIGATION_BUTTONS_MASK, NAVIGATION_AXES_MASK), true));
+        mVirtualGamepad.grab((event, state) -> time.advance(5));
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeMapperGrabState(NAVIGATION_BUTTONS_MASK, NAVIGATION_AXES_MASK, 0));
+        receiveDelayed(time, 4, ArsdkEncoder.encodeMapperGrabButtonEvent(
+                Long.numberOfTrailingZeros(MASK_BUTTON_2), ArsdkFeatureMapper.ButtonEvent.PRESS));
+        receiveDelayed(time, 6, ArsdkEncoder.encodeMapperGrabButtonEvent(
+                Long.numberOfTrailingZeros(MASK_BUTTON_2), ArsdkFeatureMapper.ButtonEvent.RELEASE));
+
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.NAVIGATION).getTotalCount(),
+                is(2L));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.NAVIGATION).getMin(),
+                is(4L));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.NAVIGATION).getMax(),
+                is(6L));
+        assertThat(diagnostics.getHandlingDurations(GamepadLatencyDiagnostics.EventType.NAVIGATION).getTotalCount(),
+                is(2L));
+        assertThat(diagnostics.getHandlingDurations(GamepadLatencyDiagnostics.EventType.NAVIGATION).getMean(),
+                is(5.0));
+        assertThat(diagnostics.getHandlingDurations(GamepadLatencyDiagnostics.EventType.BUTTON).getTotalCount(),
+                is(0L));
+
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.mapperGrab(0, 0)));
+        mVirtualGamepad.release();
+
+        // grabbed button events, waiting 2 ms for the main thread, application listener takes 3 ms to handle each
+        mSkyController3Gamepad.setButtonEventListener((event, state) -> time.advance(3));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeMapperGrabState(ALL_BUTTONS_MASK, ALL_AXES_MASK, 0));
+        receiveDelayed(time, 2, ArsdkEncoder.encodeMapperGrabButtonEvent(
+                Long.numberOfTrailingZeros(MASK_BUTTON_0), ArsdkFeatureMapper.ButtonEvent.PRESS));
+
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.BUTTON).getTotalCount(),
+                is(1L));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.BUTTON).getMax(), is(2L));
+        assertThat(diagnostics.getHandlingDurations(GamepadLatencyDiagnostics.EventType.BUTTON).getMax(), is(3L));
+
+        // grabbed axis events, delivered immediately, application listener takes 50 ms, which goes to the overflow
+        // bucket
+        mSkyController3Gamepad.setAxisEventListener((event, value) -> time.advance(50));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeMapperGrabAxisEvent(
+                Long.numberOfTrailingZeros(MASK_AXIS_0), 42));
+
+        Histogram axisHandling = diagnostics.getHandlingDurations(
+                GamepadLatencyDiagnostics.EventType.AXIS);
+        assertThat(axisHandling.getTotalCount(), is(1L));
+        assertThat(axisHandling.getMax(), is(50L));
+        assertThat(axisHandling.getCount(axisHandling.getBucketCount() - 1), is(1L));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.AXIS).getMax(), is(0L));
+
+        // application events, waiting 7 ms for the main thread; broadcast is asynchronous so handling is not traced
+        receiveDelayed(time, 7,
+                ArsdkEncoder.encodeMapperApplicationButtonEvent(ArsdkFeatureMapper.ButtonAction.APP_1));
+
+        assertThat(mGamepadEventReceiver.mAction, is(ButtonsMappableAction.APP_ACTION_1));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.APPLICATION)
+                .getTotalCount(), is(1L));
+        assertThat(diagnostics.getDeliveryLatencies(GamepadLatencyDiagnostics.EventType.APPLICATION).getMax(),
+                is(7L));
+        assertThat(diagnostics.getHandlingDurations(GamepadLatencyDiagnostics.EventType.APPLICATION)
+                .getTotalCount(), is(0L));
+
+        // reset statistics
+        diagnostics.reset();
+        for (GamepadLatencyDiagnostics.EventType type : GamepadLatencyDiagnostics.EventType.values()) {
+            assertThat(diagnostics.getDeliveryLatencies(type).getTotalCount(), is(0L));
+            assertThat(diagnostics.getHandlingDurations(type).getTotalCount(), is(0L));
+        }
+
+        disconnectRemoteControl(mRemoteControl, 1);
+        assertThat(mRemoteControl.getPeripheralStore().get(mMockSession, GamepadLatencyDiagnostics.class),
+                nullValue());
+
+        ApplicationNotifier.setInstance(null);
+        TimeProvider.resetDefault();
+    }
+
+    private void receiveDelayed(@NonNull MockTimeProvider time, long delay, @NonNull ArsdkCommand command) {
+        // mock reception on the pomp thread, then waiting for the main thread before the command is processed
+        command.setReceptionTime(TimeProvider.elapsedRealtime());
+        time.advance(delay);
+        mMockArsdkCore.commandReceived(1, command);
+    }
+
     private void setSupportedDroneModels(Drone.Model... models) {
         // axis interpolators key set serves as the list of supported drone models
         // also initialize the map of inverted axes so that we can use the public API
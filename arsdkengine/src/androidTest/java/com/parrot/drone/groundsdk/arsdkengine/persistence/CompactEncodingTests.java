@@ -0,0 +1,132 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.arsdkengine.persistence;
+
+import android.util.Base64;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+public class CompactEncodingTests {
+
+    private enum OldEnum {
+        A, B, C, D
+    }
+
+    private enum NewEnum {
+        D, E, B, A
+    }
+
+    @Test
+    public void testRoundTrip() {
+        String encoded = new CompactEncoding.Writer()
+                .writeUnsigned(0)
+                .writeUnsigned(300)
+                .writeUnsigned(Integer.MAX_VALUE)
+                .writeBoolean(true)
+                .writeBoolean(false)
+                .writeDouble(-1.5)
+                .writeEnum(OldEnum.C)
+                .writeEnumSet(EnumSet.of(OldEnum.A, OldEnum.D), OldEnum.class)
+                .writeEnumSet(EnumSet.noneOf(OldEnum.class), OldEnum.class)
+                .encode();
+
+        CompactEncoding.Reader reader = new CompactEncoding.Reader(encoded);
+        assertThat(reader.readUnsigned(), is(0));
+        assertThat(reader.readUnsigned(), is(300));
+        assertThat(reader.readUnsigned(), is(Integer.MAX_VALUE));
+        assertThat(reader.readBoolean(), is(true));
+        assertThat(reader.readBoolean(), is(false));
+        assertThat(reader.readDouble(), is(-1.5));
+        assertThat(reader.readEnum(OldEnum.class), is(OldEnum.C));
+        assertThat(reader.readEnumSet(OldEnum.class), containsInAnyOrder(OldEnum.A, OldEnum.D));
+        assertThat(reader.readEnumSet(OldEnum.class), empty());
+    }
+
+    @Test
+    public void testEnumsResolvedByName() {
+        String encoded = new CompactEncoding.Writer()
+                .writeEnumSet(EnumSet.of(OldEnum.A, OldEnum.B, OldEnum.C), OldEnum.class)
+                .writeEnum(OldEnum.C)
+                .writeEnum(OldEnum.D)
+                .encode();
+
+        CompactEncoding.Reader reader = new CompactEncoding.Reader(encoded);
+        // C does not exist anymore, others are resolved regardless of their new ordinal
+        assertThat(reader.readEnumSet(NewEnum.class), containsInAnyOrder(NewEnum.A, NewEnum.B));
+        assertThat(reader.readEnum(NewEnum.class), nullValue());
+        assertThat(reader.readEnum(NewEnum.class), is(NewEnum.D));
+    }
+
+    @Test
+    public void testCollection() {
+        List<EnumSet<OldEnum>> sets = Arrays.asList(
+                EnumSet.of(OldEnum.A), EnumSet.of(OldEnum.B, OldEnum.C), EnumSet.allOf(OldEnum.class));
+
+        String encoded = Converter.serializeCompactCollection(sets,
+                (writer, set) -> writer.writeEnumSet(set, OldEnum.class));
+
+        assertThat(Converter.parseCompactCollection(encoded, ArrayList::new,
+                reader -> reader.readEnumSet(OldEnum.class)), contains(sets.toArray()));
+
+        // names are only stored once, so this should be smaller than the equivalent JSON
+        assertThat(encoded.length(), lessThan(Converter.serializeCollection(sets, Converter::serializeEnumSet)
+                                                       .toString().length()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedVersion() {
+        new CompactEncoding.Reader(Base64.encodeToString(new byte[] {2, 0}, Base64.NO_WRAP));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncated() {
+        String encoded = new CompactEncoding.Writer().writeDouble(1).encode();
+        byte[] data = Base64.decode(encoded, Base64.NO_WRAP);
+        new CompactEncoding.Reader(Base64.encodeToString(Arrays.copyOf(data, data.length - 1), Base64.NO_WRAP))
+                .readDouble();
+    }
+}
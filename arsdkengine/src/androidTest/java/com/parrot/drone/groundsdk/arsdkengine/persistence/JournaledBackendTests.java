@@ -0,0 +1,348 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.persistence;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.parrot.drone.groundsdk.MockSharedPreferences;
+import com.parrot.drone.groundsdk.internal.io.Files;
+import com.parrot.drone.groundsdk.internal.tasks.TestExecutor;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class JournaledBackendTests {
+
+    private File mRootDir;
+
+    private File mStoreDir;
+
+    @Before
+    public void setUp() {
+        TestExecutor.setup();
+        mRootDir = new File(ApplicationProvider.getApplicationContext().getFilesDir(), "journaledBackendTests");
+        mStoreDir = new File(mRootDir, "arsdkenginestore");
+        Files.deleteDirectoryTree(mRootDir);
+    }
+
+    @After
+    public void teardown() {
+        Files.deleteDirectoryTree(mRootDir);
+        TestExecutor.teardown();
+    }
+
+    @Test
+    public void testEmpty() {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        assertThat(backend.keys(), empty());
+        assertThat(backend.load("A"), nullValue());
+    }
+
+    @Test
+    public void testWriteBehind() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        backend.store("A", new JSONObject().put("x", 1), null);
+
+        // content is available immediately
+        assertThat(backend.keys(), containsInAnyOrder("A"));
+        assertThat(backend.load("A").getInt("x"), is(1));
+
+        // but not written yet
+        assertThat(new JournaledBackend(mStoreDir).keys(), empty());
+
+        TestExecutor.mockTimePasses(JournaledBackend.WRITE_BEHIND_DELAY, TimeUnit.MILLISECONDS);
+
+        JournaledBackend reloaded = new JournaledBackend(mStoreDir);
+        assertThat(reloaded.keys(), containsInAnyOrder("A"));
+        assertThat(reloaded.load("A").getInt("x"), is(1));
+    }
+
+    @Test
+    public void testLoadReturnsCopy() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        JSONObject content = new JSONObject().put("x", 1);
+        backend.store("A", content, null);
+
+        content.put("x", 2);
+        backend.load("A").put("x", 3);
+
+        assertThat(backend.load("A").getInt("x"), is(1));
+    }
+
+    @Test
+    public void testJournal() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        JSONObject content = new JSONObject().put("x", 1).put("y", new JSONObject().put("z", "a"));
+        backend.store("A", content, null);
+        backend.flush();
+
+        File snapshot = new File(mStoreDir, "A.json");
+        File journal = new File(mStoreDir, "A.journal");
+        long snapshotModified = snapshot.lastModified();
+        assertThat(snapshot.exists(), is(true));
+        assertThat(journal.exists(), is(false));
+
+        content.put("x", 2);
+        content.getJSONObject("y").put("z", "b");
+        backend.store("A", content, Collections.singleton("y"));
+        content.remove("x");
+        backend.store("A", content, Collections.singleton("x"));
+        backend.flush();
+
+        // only changes are appended to the journal
+        assertThat(snapshot.lastModified(), is(snapshotModified));
+        assertThat(journal.exists(), is(true));
+
+        JSONObject reloaded = new JournaledBackend(mStoreDir).load("A");
+        assertThat(reloaded, notNullValue());
+        assertThat(reloaded.has("x"), is(false));
+        assertThat(reloaded.getJSONObject("y").getString("z"), is("b"));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        JSONObject content = new JSONObject().put("x", 0);
+        backend.store("A", content, null);
+        backend.flush();
+
+        File journal = new File(mStoreDir, "A.journal");
+        for (int i = 1; i <= JournaledBackend.MAX_JOURNAL_RECORDS; i++) {
+            content.put("x", i);
+            backend.store("A", content, Collections.singleton("x"));
+            backend.flush();
+        }
+        assertThat(journal.exists(), is(true));
+
+        // one more record exceeds journal capacity
+        content.put("x", -1);
+        backend.store("A", content, Collections.singleton("x"));
+        backend.flush();
+
+        assertThat(journal.exists(), is(false));
+        assertThat(new JournaledBackend(mStoreDir).load("A").getInt("x"), is(-1));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        backend.store("A", new JSONObject().put("x", 1), null);
+        backend.store("B", new JSONObject().put("x", 2), null);
+        backend.flush();
+
+        backend.store("A", null, null);
+        assertThat(backend.keys(), containsInAnyOrder("B"));
+        backend.flush();
+
+        JournaledBackend reloaded = new JournaledBackend(mStoreDir);
+        assertThat(reloaded.keys(), containsInAnyOrder("B"));
+        assertThat(reloaded.load("A"), nullValue());
+    }
+
+    @Test
+    public void testTornJournal() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        JSONObject content = new JSONObject().put("x", 1);
+        backend.store("A", content, null);
+        backend.flush();
+        content.put("x", 2);
+        backend.store("A", content, Collections.singleton("x"));
+        backend.flush();
+
+        // mock interrupted journal append
+        try (FileOutputStream stream = new FileOutputStream(new File(mStoreDir, "A.journal"), true)) {
+            stream.write("{\"k\":\"x\",\"v\":".getBytes(StandardCharsets.UTF_8));
+        }
+
+        JournaledBackend reloaded = new JournaledBackend(mStoreDir);
+        assertThat(reloaded.load("A").getInt("x"), is(2));
+        // journal should have been compacted
+        assertThat(new File(mStoreDir, "A.journal").exists(), is(false));
+    }
+
+    @Test
+    public void testInterruptedSnapshot() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        backend.store("A", new JSONObject().put("x", 1), null);
+        backend.flush();
+
+        // mock snapshot completely written, interrupted before being renamed
+        writeFile(new File(mStoreDir, "A.json.tmp"), "{\"x\":2}");
+        assertThat(new JournaledBackend(mStoreDir).load("A").getInt("x"), is(2));
+
+        // mock snapshot partially written
+        writeFile(new File(mStoreDir, "A.json.tmp"), "{\"x\":");
+        assertThat(new JournaledBackend(mStoreDir).load("A").getInt("x"), is(2));
+        assertThat(new File(mStoreDir, "A.json.tmp").exists(), is(false));
+    }
+
+    @Test
+    public void testKeyEncoding() throws Exception {
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        backend.store("preset-a/b c", new JSONObject().put("x", 1), null);
+        backend.flush();
+
+        assertThat(new JournaledBackend(mStoreDir).keys(), containsInAnyOrder("preset-a/b c"));
+    }
+
+    @Test
+    public void testMigration() throws Exception {
+        Map<String, Object> legacyContent = new HashMap<>();
+        legacyContent.put("version", 1);
+        legacyContent.put("device-123", new JSONObject().put(PersistentStore.KEY_DEVICE_NAME, "name").toString());
+        legacyContent.put("preset-456", new JSONObject().put("x", 1).toString());
+        SharedPreferences prefs = mock(SharedPreferences.class);
+        SharedPreferences.Editor editor = mock(SharedPreferences.Editor.class, RETURNS_SELF);
+        doReturn(1).when(prefs).getInt("version", 0);
+        doReturn(legacyContent).when(prefs).getAll();
+        doReturn(editor).when(prefs).edit();
+        Context context = mock(Context.class);
+        doReturn(prefs).when(context).getSharedPreferences(any(), anyInt());
+        doReturn(mRootDir).when(context).getFilesDir();
+
+        PersistentStore store = new PersistentStore(context);
+
+        assertThat(store.getDevicesUid(), containsInAnyOrder("123"));
+        assertThat(store.getDevice("123").getString(PersistentStore.KEY_DEVICE_NAME), is("name"));
+        assertThat(store.getPreset("preset-456", null).getInt("x"), is(1));
+
+        // legacy store should be cleared
+        verify(editor).clear();
+        verify(editor).putInt("version", 2);
+        verify(editor).apply();
+
+        // content should be persisted in journaled store
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        assertThat(backend.keys(), containsInAnyOrder("device-123", "preset-456"));
+    }
+
+    @Test
+    public void testMigrationKeepsAlreadyMigratedContent() throws Exception {
+        // content persisted by a former, partially failed, migration, then updated
+        JournaledBackend backend = new JournaledBackend(mStoreDir);
+        backend.store("device-123", new JSONObject().put(PersistentStore.KEY_DEVICE_NAME, "new name"), null);
+        backend.flush();
+
+        Map<String, Object> legacyContent = new HashMap<>();
+        legacyContent.put("version", 1);
+        legacyContent.put("device-123", new JSONObject().put(PersistentStore.KEY_DEVICE_NAME, "name").toString());
+        legacyContent.put("preset-456", new JSONObject().put("x", 1).toString());
+        SharedPreferences prefs = mock(SharedPreferences.class);
+        SharedPreferences.Editor editor = mock(SharedPreferences.Editor.class, RETURNS_SELF);
+        doReturn(1).when(prefs).getInt("version", 0);
+        doReturn(legacyContent).when(prefs).getAll();
+        doReturn(editor).when(prefs).edit();
+        Context context = mock(Context.class);
+        doReturn(prefs).when(context).getSharedPreferences(any(), anyInt());
+        doReturn(mRootDir).when(context).getFilesDir();
+
+        PersistentStore store = new PersistentStore(context);
+
+        // already migrated content should not be overwritten, missing content should be migrated
+        assertThat(store.getDevice("123").getString(PersistentStore.KEY_DEVICE_NAME), is("new name"));
+        assertThat(store.getPreset("preset-456", null).getInt("x"), is(1));
+        verify(editor).clear();
+    }
+
+    @Test
+    public void testStoreClearThenPut() {
+        PersistentStore store = newStore();
+        store.getDevice("123").put("A", 1).put("B", 2).commit();
+        TestExecutor.mockTimePasses(JournaledBackend.WRITE_BEHIND_DELAY, TimeUnit.MILLISECONDS);
+
+        store.getDevice("123").clear().put("C", 3).commit();
+        TestExecutor.mockTimePasses(JournaledBackend.WRITE_BEHIND_DELAY, TimeUnit.MILLISECONDS);
+
+        // cleared entries should not come back after reload
+        PersistentStore.Dictionary device = newStore().getDevice("123");
+        assertThat(device.keys(), containsInAnyOrder("C"));
+        assertThat(device.getInt("C"), is(3));
+    }
+
+    @Test
+    public void testStoreNestedChange() {
+        PersistentStore store = newStore();
+        store.getDevice("123").getDictionary("A").getDictionary("B").put("x", 1).put("y", 1).commit();
+        TestExecutor.mockTimePasses(JournaledBackend.WRITE_BEHIND_DELAY, TimeUnit.MILLISECONDS);
+
+        // change a dictionary two levels deep, in place
+        store.getDevice("123").getDictionary("A").getDictionary("B").put("x", 2).commit();
+        assertThat(store.getDevice("123").getDictionary("A").getDictionary("B").getInt("x"), is(2));
+
+        TestExecutor.mockTimePasses(JournaledBackend.WRITE_BEHIND_DELAY, TimeUnit.MILLISECONDS);
+
+        PersistentStore.Dictionary nested = newStore().getDevice("123").getDictionary("A").getDictionary("B");
+        assertThat(nested.getInt("x"), is(2));
+        assertThat(nested.getInt("y"), is(1));
+    }
+
+    private PersistentStore newStore() {
+        Context context = mock(Context.class);
+        doReturn(new MockSharedPreferences()).when(context).getSharedPreferences(any(), anyInt());
+        doReturn(mRootDir).when(context).getFilesDir();
+        return new PersistentStore(context);
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            stream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
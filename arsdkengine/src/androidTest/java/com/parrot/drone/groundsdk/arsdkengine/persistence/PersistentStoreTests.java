@@ -154,6 +154,32 @@ public class PersistentStoreTests {
         assertThat(mPref.getChangeCnt(), is(1));
     }
 
+    @Test
+    public void testUpdateNestedChild() {
+        PersistentStore store = new PersistentStore(mContext);
+        createDeviceDict(store, "123", Drone.Model.ANAFI_4K, "name")
+                .getDictionary("SUB").getDictionary("SUB2").put("A", "A").commit();
+        mPref.clearChangeCnt();
+
+        store.getDevice("123").getDictionary("SUB").getDictionary("SUB2").put("A", "a").commit();
+
+        assertThat(store.getDevice("123").getDictionary("SUB").getDictionary("SUB2").getString("A"), is("a"));
+        assertThat(mPref.getChangeCnt(), is(1));
+    }
+
+    @Test
+    public void testUpdateNestedChildUnchanged() {
+        PersistentStore store = new PersistentStore(mContext);
+        createDeviceDict(store, "123", Drone.Model.ANAFI_4K, "name")
+                .getDictionary("SUB").getDictionary("SUB2").put("A", "A").commit();
+        mPref.clearChangeCnt();
+
+        store.getDevice("123").getDictionary("SUB").getDictionary("SUB2").put("A", "A").commit();
+        store.getDevice("123").put(PersistentStore.KEY_DEVICE_NAME, "name").commit();
+
+        assertThat(mPref.getChangeCnt(), is(0));
+    }
+
     @Test
     public void testClear() {
         PersistentStore store = new PersistentStore(mContext);
@@ -195,6 +221,109 @@ public class PersistentStoreTests {
         assertThat(mPref.getChangeCnt(), is(0));
     }
 
+    @Test
+    public void testParsedValueCache() {
+        PersistentStore store = new PersistentStore(mContext);
+        CountingEntry entry = new CountingEntry("A");
+        PersistentStore.Dictionary deviceDict = createDeviceDict(store, "123", Drone.Model.ANAFI_4K, "name");
+        entry.save(deviceDict.getDictionary("SUB"), "a");
+        deviceDict.put("B", "b");
+
+        // value is parsed once, including through different dictionary instances
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), is("a"));
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), is("a"));
+        assertThat(entry.mParseCnt, is(1));
+
+        // changes on other entries do not invalidate the value
+        deviceDict.put("B", "c");
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), is("a"));
+        assertThat(entry.mParseCnt, is(1));
+
+        // changes on the entry invalidate the value
+        deviceDict.getDictionary("SUB").put("A", "b");
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), is("b"));
+        assertThat(entry.mParseCnt, is(2));
+
+        // clearing invalidates the value
+        deviceDict.getDictionary("SUB").clear();
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), nullValue());
+        entry.save(deviceDict.getDictionary("SUB"), "c");
+        assertThat(entry.load(deviceDict.getDictionary("SUB")), is("c"));
+        assertThat(entry.mParseCnt, is(3));
+    }
+
+    @Test
+    public void testParsedValueCacheNestedChange() {
+        PersistentStore store = new PersistentStore(mContext);
+        CountingEntry entry = new CountingEntry("A");
+        PersistentStore.Dictionary deviceDict = createDeviceDict(store, "123", Drone.Model.ANAFI_4K, "name");
+        entry.save(deviceDict.getDictionary("SUB").getDictionary("SUB2"), "a");
+
+        assertThat(entry.load(deviceDict.getDictionary("SUB").getDictionary("SUB2")), is("a"));
+        assertThat(entry.mParseCnt, is(1));
+
+        // changes made two levels deep invalidate the value
+        deviceDict.getDictionary("SUB").getDictionary("SUB2").put("A", "b");
+        assertThat(entry.load(deviceDict.getDictionary("SUB").getDictionary("SUB2")), is("b"));
+        assertThat(entry.mParseCnt, is(2));
+    }
+
+    @Test
+    public void testPresetChangeReloadsChangedEntries() {
+        PersistentStore store = new PersistentStore(mContext);
+        CountingEntry entryA = new CountingEntry("A");
+        CountingEntry entryB = new CountingEntry("B");
+        PersistentStore.Dictionary preset = store.getPreset("preset", null);
+        entryA.save(preset.getDictionary("X"), "a");
+        entryB.save(preset.getDictionary("Y"), "b");
+
+        int[] changeCnt = new int[1];
+        PersistentStore.Dictionary observed = store.getPreset("preset", () -> changeCnt[0]++);
+        assertThat(entryA.load(observed.getDictionary("X")), is("a"));
+        assertThat(entryB.load(observed.getDictionary("Y")), is("b"));
+        assertThat(entryA.mParseCnt, is(1));
+        assertThat(entryB.mParseCnt, is(1));
+
+        entryA.save(preset.getDictionary("X"), "a2");
+        assertThat(changeCnt[0], is(1));
+
+        // only the changed entry should be parsed again
+        assertThat(entryA.load(observed.getDictionary("X")), is("a2"));
+        assertThat(entryB.load(observed.getDictionary("Y")), is("b"));
+        assertThat(entryA.mParseCnt, is(2));
+        assertThat(entryB.mParseCnt, is(1));
+
+        // clearing reloads everything
+        preset.clear().commit();
+        assertThat(changeCnt[0], is(2));
+        assertThat(entryA.load(observed.getDictionary("X")), nullValue());
+        assertThat(entryB.load(observed.getDictionary("Y")), nullValue());
+
+        observed.unregisterObserver();
+    }
+
+    private static final class CountingEntry extends StorageEntry<String> {
+
+        int mParseCnt;
+
+        CountingEntry(@NonNull String key) {
+            super(key);
+        }
+
+        @NonNull
+        @Override
+        protected String parse(@NonNull Object serializedObject) {
+            mParseCnt++;
+            return (String) serializedObject;
+        }
+
+        @NonNull
+        @Override
+        protected Object serialize(@NonNull String object) {
+            return object;
+        }
+    }
+
     @NonNull
     private static PersistentStore.Dictionary createDeviceDict(@NonNull PersistentStore store,
                                                                @NonNull String uid,
@@ -32,6 +32,8 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.pilotingitf.anafi;
 
+import androidx.test.core.app.ApplicationProvider;
+
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.arsdkengine.http.HttpFlightPlanClient;
 import com.parrot.drone.groundsdk.device.Drone;
@@ -40,6 +42,7 @@ import com.parrot.drone.groundsdk.device.pilotingitf.FlightPlanPilotingItf;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.http.MockHttpSession;
+import com.parrot.drone.groundsdk.internal.io.Files;
 import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureCommon;
 import com.parrot.drone.sdkcore.arsdk.Backend;
@@ -53,7 +56,10 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static com.parrot.drone.groundsdk.BooleanSettingMatcher.booleanSettingIsDisabled;
 import static com.parrot.drone.groundsdk.BooleanSettingMatcher.booleanSettingIsEnabled;
@@ -92,6 +98,9 @@ public class AnafiFlightPlanPilotingItfTests extends ArsdkEngineTestBase {
 
     private static final String FLIGHT_PLAN_UID = "flightPlanUid";
 
+    private static final File FLIGHTPLAN_FILE = new File(
+            ApplicationProvider.getApplicationContext().getCacheDir(), "fp.mavlink");
+
     private DroneCore mDrone;
 
     private FlightPlanPilotingItf mPilotingItf;
@@ -1389,6 +1398,136 @@ public class AnafiFlightPlanPilotingItfTests extends ArsdkEngineTestBase {
         assertThat(mPilotingItf.isPaused(), is(false));
     }
 
+    @Test
+    public void testUploadAlreadyUploadedFlightPlan() throws IOException, InterruptedException {
+        Files.writeFile(new ByteArrayInputStream(
+                "QGC WPL 120\n0\t0\t3\t16\t0\t5\t0\t0\t48.8\t2.3\t15\t1\n".getBytes(StandardCharsets.UTF_8)),
+                FLIGHTPLAN_FILE);
+
+        connectDrone(mDrone, 1, () -> mMockArsdkCore
+                .commandReceived(1, ArsdkEncoder.encodeCommonMavlinkStateMavlinkFilePlayingStateChanged(
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedState.STOPPED, "",
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedType.FLIGHTPLAN))
+                .commandReceived(1, ArsdkEncoder.encodeCommonFlightPlanStateAvailabilityStateChanged(1)));
+
+        assertThat(mChangeCnt, is(1));
+        assertThat(mPilotingItf.getState(), is(Activable.State.UNAVAILABLE));
+
+        // mock user uploads flight plan
+        mPilotingItf.uploadFlightPlan(FLIGHTPLAN_FILE);
+
+        verify(mMockUploadClient).uploadFlightPlan(eq(FLIGHTPLAN_FILE), mUploadCallbackCaptor.capture());
+        assertThat(mChangeCnt, is(2));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADING));
+
+        // mock upload complete
+        mUploadCallbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200, PLAN_UID_1);
+
+        assertThat(mChangeCnt, is(3));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADED));
+        assertThat(mPilotingItf.isFlightPlanFileKnown(), is(true));
+
+        // mock user uploads the same flight plan again
+        mPilotingItf.uploadFlightPlan(FLIGHTPLAN_FILE);
+
+        // file should not be uploaded again, former uid should be recalled instead
+        verify(mMockUploadClient, times(1)).uploadFlightPlan(any(), any());
+        assertThat(mChangeCnt, is(5));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADED));
+        assertThat(mPilotingItf.isFlightPlanFileKnown(), is(true));
+
+        // mock user activates interface, recalled uid should be used
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.commonMavlinkStart(PLAN_UID_1,
+                ArsdkFeatureCommon.MavlinkStartType.FLIGHTPLAN)));
+        assertThat(mPilotingItf.activate(false), is(true));
+        assertThat(mChangeCnt, is(5));
+
+        // mock drone reports that it does not have the file anymore
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeCommonFlightPlanStateComponentStateListChanged(
+                        ArsdkFeatureCommon.FlightplanstateComponentstatelistchangedComponent.MAVLINK_FILE, 0));
+
+        // file should be uploaded again, no activation error should be reported
+        verify(mMockUploadClient, times(2)).uploadFlightPlan(eq(FLIGHTPLAN_FILE), mUploadCallbackCaptor.capture());
+        assertThat(mChangeCnt, is(6));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADING));
+        assertThat(mPilotingItf.getLatestActivationError(), is(FlightPlanPilotingItf.ActivationError.NONE));
+        assertThat(mPilotingItf.isFlightPlanFileKnown(), is(false));
+
+        // mock upload complete, pending activation should start the uploaded flight plan
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.commonMavlinkStart(PLAN_UID_2,
+                ArsdkFeatureCommon.MavlinkStartType.FLIGHTPLAN)));
+        mUploadCallbackCaptor.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200, PLAN_UID_2);
+
+        assertThat(mChangeCnt, is(7));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADED));
+        assertThat(mPilotingItf.isFlightPlanFileKnown(), is(true));
+
+        // mock drone plays the flight plan
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeCommonMavlinkStateMavlinkFilePlayingStateChanged(
+                ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedState.PLAYING, PLAN_UID_2,
+                ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedType.FLIGHTPLAN));
+
+        assertThat(mChangeCnt, is(8));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getLatestActivationError(), is(FlightPlanPilotingItf.ActivationError.NONE));
+
+        // disconnect and reconnect the drone
+        disconnectDrone(mDrone, 1);
+        resetEngine();
+        connectDrone(mDrone, 1, () -> mMockArsdkCore
+                .commandReceived(1, ArsdkEncoder.encodeCommonMavlinkStateMavlinkFilePlayingStateChanged(
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedState.STOPPED, "",
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedType.FLIGHTPLAN))
+                .commandReceived(1, ArsdkEncoder.encodeCommonFlightPlanStateAvailabilityStateChanged(1)));
+
+        // mock user uploads the same flight plan again
+        mPilotingItf.uploadFlightPlan(FLIGHTPLAN_FILE);
+
+        // persisted uid should be recalled
+        verify(mMockUploadClient, times(2)).uploadFlightPlan(any(), any());
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.UPLOADED));
+
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.commonMavlinkStart(PLAN_UID_2,
+                ArsdkFeatureCommon.MavlinkStartType.FLIGHTPLAN)));
+        assertThat(mPilotingItf.activate(false), is(true));
+
+        // mock drone reports that it does not have the file anymore
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeCommonFlightPlanStateComponentStateListChanged(
+                        ArsdkFeatureCommon.FlightplanstateComponentstatelistchangedComponent.MAVLINK_FILE, 0));
+
+        verify(mMockUploadClient, times(3)).uploadFlightPlan(eq(FLIGHTPLAN_FILE), mUploadCallbackCaptor.capture());
+
+        // mock upload failure, pending activation should report an incorrect flight plan file
+        mUploadCallbackCaptor.getValue().onRequestComplete(HttpRequest.Status.FAILED, 500, null);
+
+        assertThat(mPilotingItf.getState(), is(Activable.State.UNAVAILABLE));
+        assertThat(mPilotingItf.getLatestUploadState(), is(FlightPlanPilotingItf.UploadState.FAILED));
+        assertThat(mPilotingItf.getLatestActivationError(),
+                is(FlightPlanPilotingItf.ActivationError.INCORRECT_FLIGHT_PLAN_FILE));
+        assertThat(mPilotingItf.isFlightPlanFileKnown(), is(false));
+
+        // once forgotten, the drone should not recall uploaded flight plans anymore
+        disconnectDrone(mDrone, 1);
+        mDrone.forget();
+        resetEngine();
+        connectDrone(mDrone, 1, () -> mMockArsdkCore
+                .commandReceived(1, ArsdkEncoder.encodeCommonMavlinkStateMavlinkFilePlayingStateChanged(
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedState.STOPPED, "",
+                        ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedType.FLIGHTPLAN)));
+
+        mPilotingItf.uploadFlightPlan(FLIGHTPLAN_FILE);
+
+        verify(mMockUploadClient, times(4)).uploadFlightPlan(eq(FLIGHTPLAN_FILE), any());
+
+        assertThat(FLIGHTPLAN_FILE.delete(), is(true));
+    }
+
     @Test
     public void testUploadError() {
         connectDrone(mDrone, 1, () -> mMockArsdkCore
@@ -32,6 +32,7 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.pilotingitf.anafi;
 
+import com.parrot.drone.groundsdk.MockTimeProvider;
 import com.parrot.drone.groundsdk.arsdkengine.ArsdkEngineTestBase;
 import com.parrot.drone.groundsdk.device.DeviceState;
 import com.parrot.drone.groundsdk.device.Drone;
@@ -43,11 +44,13 @@ import com.parrot.drone.groundsdk.device.pilotingitf.GuidedPilotingItf.LocationD
 import com.parrot.drone.groundsdk.device.pilotingitf.GuidedPilotingItf.LocationDirective.Orientation;
 import com.parrot.drone.groundsdk.device.pilotingitf.GuidedPilotingItf.RelativeMoveDirective;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkEncoder;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3.PilotingMovetoOrientationMode;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3.PilotingstateMovetochangedOrientationMode;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureMove;
+import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureRth;
 import com.parrot.drone.sdkcore.arsdk.Backend;
 import com.parrot.drone.sdkcore.arsdk.Expectation;
 import com.parrot.drone.sdkcore.arsdk.ExpectedCmd;
@@ -93,6 +96,12 @@ public class AnafiGuidedPilotingItfTests extends ArsdkEngineTestBase {
         mChangeCnt = 0;
     }
 
+    @Override
+    public void teardown() {
+        TimeProvider.resetDefault();
+        super.teardown();
+    }
+
     @Test
     public void testPublication() {
         // should be unavailable when the drone is not connected and not known
@@ -556,6 +565,212 @@ public class AnafiGuidedPilotingItfTests extends ArsdkEngineTestBase {
                 matchesFinishedRelativeMoveFlightInfo(false, 43.2f, -0.89f, 0.49f, -0.01f));
     }
 
+    @Test
+    public void testQueue() {
+        MockTimeProvider time = new MockTimeProvider();
+        TimeProvider.setInstance(time);
+
+        connectDrone(mDrone, 1, () -> mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingStateFlyingStateChanged(
+                        ArsdkFeatureArdrone3.PilotingstateFlyingstatechangedState.FLYING)));
+
+        // should be idle, with an empty queue
+        assertThat(mChangeCnt, is(1));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+
+        // queue a relative move while no guided flight is in progress, it should be sent immediately
+        time.setTime(1000);
+        RelativeMoveDirective first = new RelativeMoveDirective(10.0, 2.5, -5.0, 45.0, null);
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(10.0f, 2.5f, -5.0f, 0.7853982f), true));
+        mPilotingItf.queue(first);
+        assertThat(mChangeCnt, is(2));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(first));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+
+        // queue another relative move, it should wait for the first one to finish
+        time.setTime(1500);
+        RelativeMoveDirective second = new RelativeMoveDirective(1.0, 2.0, 3.0, 4.0, null);
+        mPilotingItf.queue(second);
+        assertThat(mChangeCnt, is(3));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(first));
+        assertThat(mPilotingItf.getQueuedDirectives(), contains(second));
+
+        // notify first relative move is done, second one should be sent right away and interface should stay active
+        time.setTime(3000);
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(1.0f, 2.0f, 3.0f, (float) Math.toRadians(4.0)), true));
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingEventMoveByEnd(10.01f, 2.48f, -5.03f, 0.7854023f,
+                        ArsdkFeatureArdrone3.PilotingeventMovebyendError.OK));
+        assertThat(mChangeCnt, is(4));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(second));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+        // the latest flight info should report first move timings
+        FinishedRelativeMoveFlightInfo flightInfo =
+                (FinishedRelativeMoveFlightInfo) mPilotingItf.getLatestFinishedFlightInfo();
+        assert flightInfo != null;
+        assertThat(flightInfo.getDirective(), matchesRelativeMoveDirective(10.0, 2.5, -5.0, 45.0));
+        assertThat(flightInfo,
+                matchesFinishedRelativeMoveFlightInfo(true, 10.01f, 2.48f, -5.03f, 0.7854023f));
+        assertThat(flightInfo.getQueuedDuration(), is(0L));
+        assertThat(flightInfo.getExecutionDuration(), is(2000L));
+
+        // queue a location move
+        time.setTime(3500);
+        LocationDirective third = new LocationDirective(48.0, 2.0, 10, Orientation.TO_TARGET, null);
+        mPilotingItf.queue(third);
+        assertThat(mChangeCnt, is(5));
+        assertThat(mPilotingItf.getQueuedDirectives(), contains(third));
+
+        // cancel queue, current move should be stopped
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(0.0f, 0.0f, 0.0f, 0.0f), true));
+        mPilotingItf.cancelQueue();
+        assertThat(mChangeCnt, is(6));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(second));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+
+        // notify that the second relative move is interrupted
+        time.setTime(4000);
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingEventMoveByEnd(0.5f, 1.0f, 1.5f, 0.0f,
+                        ArsdkFeatureArdrone3.PilotingeventMovebyendError.INTERRUPTED));
+        assertThat(mChangeCnt, is(7));
+        assertThat(mPilotingItf.getCurrentDirective(), nullValue());
+        // the latest flight info should report second move timings
+        flightInfo = (FinishedRelativeMoveFlightInfo) mPilotingItf.getLatestFinishedFlightInfo();
+        assert flightInfo != null;
+        assertThat(flightInfo.getDirective(), matchesRelativeMoveDirective(1.0, 2.0, 3.0, 4.0));
+        assertThat(flightInfo.wasSuccessful(), is(false));
+        assertThat(flightInfo.getQueuedDuration(), is(1500L));
+        assertThat(flightInfo.getExecutionDuration(), is(1000L));
+
+        // notify that the drone has actually stopped, no queued move should be sent
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingEventMoveByEnd(0.0f, 0.0f, 0.0f, 0.0f,
+                        ArsdkFeatureArdrone3.PilotingeventMovebyendError.OK));
+        assertThat(mChangeCnt, is(8));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+    }
+
+    @Test
+    public void testQueueWhileActivationDeferred() {
+        connectDrone(mDrone, 1, () -> mMockArsdkCore
+                .commandReceived(1, ArsdkEncoder.encodeArdrone3PilotingStateFlyingStateChanged(
+                        ArsdkFeatureArdrone3.PilotingstateFlyingstatechangedState.FLYING))
+                .commandReceived(1, ArsdkEncoder.encodeRthState(
+                        ArsdkFeatureRth.State.IN_PROGRESS,
+                        ArsdkFeatureRth.StateReason.USER_REQUEST)));
+
+        // return home is active, guided piloting should be idle
+        assertThat(mChangeCnt, is(1));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+
+        // queue a burst of relative moves, activation should wait for return home to be deactivated
+        RelativeMoveDirective first = new RelativeMoveDirective(1.0, 0.0, 0.0, 0.0, null);
+        RelativeMoveDirective second = new RelativeMoveDirective(2.0, 0.0, 0.0, 0.0, null);
+        RelativeMoveDirective third = new RelativeMoveDirective(3.0, 0.0, 0.0, 0.0, null);
+        mMockArsdkCore.expect(new Expectation.Command(1, ExpectedCmd.ardrone3PilotingNavigateHome(0)));
+        mPilotingItf.queue(first);
+        mPilotingItf.queue(second);
+        mPilotingItf.queue(third);
+
+        // no directive should be dropped
+        assertThat(mChangeCnt, is(3));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getQueuedDirectives(), contains(second, third));
+
+        // notify return home deactivated, first move should be sent
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(1.0f, 0.0f, 0.0f, 0.0f), true));
+        mMockArsdkCore.commandReceived(1, ArsdkEncoder.encodeRthState(
+                ArsdkFeatureRth.State.AVAILABLE,
+                ArsdkFeatureRth.StateReason.USER_REQUEST));
+        assertThat(mChangeCnt, is(4));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(first));
+        assertThat(mPilotingItf.getQueuedDirectives(), contains(second, third));
+
+        // notify first move done, second one should be sent
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(2.0f, 0.0f, 0.0f, 0.0f), true));
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingEventMoveByEnd(1.0f, 0.0f, 0.0f, 0.0f,
+                        ArsdkFeatureArdrone3.PilotingeventMovebyendError.OK));
+        assertThat(mChangeCnt, is(5));
+        assertThat(mPilotingItf.getCurrentDirective(), is(second));
+        assertThat(mPilotingItf.getQueuedDirectives(), contains(third));
+
+        // notify second move done, third one should be sent
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(3.0f, 0.0f, 0.0f, 0.0f), true));
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingEventMoveByEnd(2.0f, 0.0f, 0.0f, 0.0f,
+                        ArsdkFeatureArdrone3.PilotingeventMovebyendError.OK));
+        assertThat(mChangeCnt, is(6));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getCurrentDirective(), is(third));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+    }
+
+    @Test
+    public void testQueueDiscardedOnFailure() {
+        connectDrone(mDrone, 1, () -> mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingStateFlyingStateChanged(
+                        ArsdkFeatureArdrone3.PilotingstateFlyingstatechangedState.FLYING)));
+
+        // start a location move and queue a relative move
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveTo(48.0, 2.0, 10,
+                        PilotingMovetoOrientationMode.TO_TARGET, 0), true));
+        mPilotingItf.queue(new LocationDirective(48.0, 2.0, 10, Orientation.TO_TARGET, null));
+        mPilotingItf.queue(new RelativeMoveDirective(1.0, 2.0, 3.0, 4.0, null));
+        assertThat(mChangeCnt, is(3));
+        assertThat(mPilotingItf.getState(), is(Activable.State.ACTIVE));
+        assertThat(mPilotingItf.getQueuedDirectives().size(), is(1));
+
+        // notify location move failed, queue should be discarded and nothing sent
+        mMockArsdkCore.commandReceived(1,
+                ArsdkEncoder.encodeArdrone3PilotingStateMoveToChanged(48.0, 2.0, 10,
+                        PilotingstateMovetochangedOrientationMode.TO_TARGET, 0,
+                        ArsdkFeatureArdrone3.PilotingstateMovetochangedStatus.ERROR));
+        assertThat(mChangeCnt, is(4));
+        assertThat(mPilotingItf.getState(), is(Activable.State.IDLE));
+        assertThat(mPilotingItf.getCurrentDirective(), nullValue());
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+        GuidedPilotingItf.FinishedFlightInfo flightInfo = mPilotingItf.getLatestFinishedFlightInfo();
+        assert flightInfo != null;
+        assertThat(flightInfo.wasSuccessful(), is(false));
+
+        // queue a relative move, then a new move should discard it
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(1.0f, 2.0f, 3.0f, (float) Math.toRadians(4.0)), true));
+        mPilotingItf.queue(new RelativeMoveDirective(1.0, 2.0, 3.0, 4.0, null));
+        mPilotingItf.queue(new RelativeMoveDirective(5.0, 6.0, 7.0, 8.0, null));
+        assertThat(mChangeCnt, is(6));
+        assertThat(mPilotingItf.getQueuedDirectives().size(), is(1));
+
+        mMockArsdkCore.expect(new Expectation.Command(1,
+                ExpectedCmd.ardrone3PilotingMoveBy(10.0f, 2.5f, -5.0f, 0.7853982f), true));
+        mPilotingItf.move(new RelativeMoveDirective(10.0, 2.5, -5.0, 45.0, null));
+        assertThat(mChangeCnt, is(7));
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+
+        // disconnecting should also clear the queue
+        mPilotingItf.queue(new RelativeMoveDirective(5.0, 6.0, 7.0, 8.0, null));
+        assertThat(mPilotingItf.getQueuedDirectives().size(), is(1));
+        disconnectDrone(mDrone, 1);
+        connectDrone(mDrone, 1);
+        assertThat(mPilotingItf.getQueuedDirectives(), empty());
+    }
+
     @Test
     public void testUnavailabilityReasons() {
         connectDrone(mDrone, 1);
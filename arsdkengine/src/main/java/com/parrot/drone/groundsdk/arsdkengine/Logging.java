@@ -81,6 +81,12 @@ public final class Logging {
     /** Tag for camera logs. */
     public static final ULogTag TAG_CAMERA = new ULogTag("arsdkengine.camera");
 
+    /** Tag for firmware updater logs. */
+    public static final ULogTag TAG_UPDATER = new ULogTag("arsdkengine.updater");
+
+    /** Tag for flight data logs. */
+    public static final ULogTag TAG_FLIGHTDATA = new ULogTag("arsdkengine.flightdata");
+
     /**
      * Private constructor for static utility class.
      */
@@ -207,7 +207,7 @@ public final class BlackBoxDroneSession extends BlackBoxSession {
 
         @Override
         void sample() {
-            mBlackBox.addFlightInfo(mContext.mFlightInfo.build());
+            mBlackBox.addFlightInfo(mContext.mFlightInfo);
         }
 
         @Override
@@ -221,7 +221,7 @@ public final class BlackBoxDroneSession extends BlackBoxSession {
 
         @Override
         void sample() {
-            mBlackBox.addEnvironmentInfo(mContext.mEnvironmentInfo.build());
+            mBlackBox.addEnvironmentInfo(mContext.mEnvironmentInfo);
         }
 
         @Override
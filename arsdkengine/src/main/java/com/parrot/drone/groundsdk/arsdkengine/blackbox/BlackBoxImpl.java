@@ -33,67 +33,52 @@
 package com.parrot.drone.groundsdk.arsdkengine.blackbox;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonIOException;
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.EnvironmentData;
 import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.Event;
 import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.FlightData;
 import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.HeaderInfo;
-import com.parrot.drone.groundsdk.arsdkengine.blackbox.data.TimeStampedData;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.groundsdk.internal.utility.BlackBoxStorage;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.util.LinkedList;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_BLACKBOX;
 
 /**
  * Black box data.
  */
 class BlackBoxImpl implements BlackBoxStorage.BlackBox {
 
-    /** JSon serializer thread-safe singleton. */
-    private static final Gson JSON_SERIALIZER = new GsonBuilder()
-            .excludeFieldsWithModifiers(0)
-            .excludeFieldsWithoutExposeAnnotation()
-            .create();
+    /** Maximum amount of events kept in the black box. Eldest events are dropped past this limit. */
+    private static final int MAX_EVENTS = 1000;
 
     /** Black box header. */
-    @Expose
-    @SerializedName("header")
     @NonNull
     final HeaderInfo mHeader;
 
     /** Black box list of events. */
-    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection") // read when serialized to json
-    @Expose
-    @SerializedName("datas")
     @NonNull
-    private final LinkedList<Event> mEvents;
+    private final ArrayDeque<Event> mEvents;
 
     /** Black box flight data sample buffer. */
-    @Expose
-    @SerializedName("datas_5Hz")
     @NonNull
-    private final LinkedList<FlightData> mFlightInfos;
+    private final FlightData.Buffer mFlightInfos;
 
     /** Black box environment data sample buffer. */
-    @Expose
-    @SerializedName("datas_1Hz")
     @NonNull
-    private final LinkedList<EnvironmentData> mEnvironmentInfos;
-
-    /** Maximum amount of samples in the flight data circular buffer. */
-    private final int mMaxFlightSamples;
+    private final EnvironmentData.Buffer mEnvironmentInfos;
 
-    /** Maximum amount of samples in the environment data circular buffer. */
-    private final int mMaxEnvironmentSamples;
+    /** Amount of events dropped because the event list was full. */
+    private int mDroppedEvents;
 
     /**
      * Constructor.
@@ -103,73 +88,81 @@ class BlackBoxImpl implements BlackBoxStorage.BlackBox {
      */
     BlackBoxImpl(int bufferCapacity, @NonNull DroneCore drone) {
         mHeader = new HeaderInfo(drone);
-        mEvents = new LinkedList<>();
-        mFlightInfos = new LinkedList<>();
-        mEnvironmentInfos = new LinkedList<>();
-        mMaxFlightSamples = 5 * bufferCapacity;
-        mMaxEnvironmentSamples = bufferCapacity;
+        mEvents = new ArrayDeque<>();
+        mFlightInfos = new FlightData.Buffer(5 * bufferCapacity);
+        mEnvironmentInfos = new EnvironmentData.Buffer(bufferCapacity);
     }
 
     /**
      * Records an event in the black box.
+     * <p>
+     * If the black box already contains {@link #MAX_EVENTS} events, then the eldest event is dropped beforehand.
      *
      * @param event event to record
      */
     void addEvent(@NonNull Event event) {
-        mEvents.add(event);
+        if (mEvents.size() >= MAX_EVENTS) {
+            mEvents.removeFirst();
+            mDroppedEvents++;
+        }
+        mEvents.addLast(event);
     }
 
     /**
      * Records a new flight data sample in the black box.
+     * <p>
+     * The sample is discarded in case it has the same timestamp as the latest recorded flight data sample.
      *
-     * @param info flight data sample to record
+     * @param info flight data builder to record a sample from
      */
-    void addFlightInfo(@NonNull FlightData info) {
-        addInfo(info, mFlightInfos, mMaxFlightSamples);
+    void addFlightInfo(@NonNull FlightData.Builder info) {
+        mFlightInfos.add(info);
     }
 
     /**
      * Records a new environment data sample in the black box.
+     * <p>
+     * The sample is discarded in case it has the same timestamp as the latest recorded environment data sample.
      *
-     * @param info environment data sample to record
+     * @param info environment data builder to record a sample from
      */
-    void addEnvironmentInfo(@NonNull EnvironmentData info) {
-        addInfo(info, mEnvironmentInfos, mMaxEnvironmentSamples);
-    }
-
-    @Override
-    public void writeTo(@NonNull OutputStream stream) throws IOException {
-        try {
-            Writer writer = new OutputStreamWriter(stream);
-            JSON_SERIALIZER.toJson(this, writer);
-            writer.flush();
-        } catch (JsonIOException e) {
-            throw new IOException(e);
-        }
+    void addEnvironmentInfo(@NonNull EnvironmentData.Builder info) {
+        mEnvironmentInfos.add(info);
     }
 
     /**
-     * Records the given info sample to the given sample buffer.
-     * <p>
-     * This method compares the timestamps of the current buffer head and of the sample to be added; in case they are
-     * the same, then the sample is discarded.
-     * <p>
-     * This method ensures that the destination buffer never grows past a given capacity. If adding a new sample would
-     * exceed this capacity, then the eldest element is removed beforehand.
+     * Retrieves the amount of events dropped because the event list was full.
      *
-     * @param info           sample to record
-     * @param buffer         buffer to record to
-     * @param bufferCapacity buffer capacity to respect
-     * @param <T>            type of sample
+     * @return dropped events count
      */
-    private static <T extends TimeStampedData> void addInfo(@NonNull T info, @NonNull LinkedList<T> buffer,
-                                                            int bufferCapacity) {
-        TimeStampedData head = buffer.peekLast();
-        if (head == null || head.timeStampDiffersFrom(info)) {
-            if (buffer.size() >= bufferCapacity) {
-                buffer.removeFirst();
-            }
-            buffer.addLast(info);
+    @VisibleForTesting
+    int getDroppedEventCount() {
+        return mDroppedEvents;
+    }
+
+    @Override
+    public void writeTo(@NonNull OutputStream stream) throws IOException {
+        if (mDroppedEvents > 0 && ULog.w(TAG_BLACKBOX)) {
+            ULog.w(TAG_BLACKBOX, "Black box event list overflowed, " + mDroppedEvents + " eldest events dropped");
+        }
+        // Output is kept identical to the formerly used reflective GSON serializer's: strings are html-safe escaped
+        // and members are written in the order GSON wrote them on Android, that is subclass fields first, then for
+        // each class instance fields, then static fields, each sorted by field name.
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)));
+        writer.setHtmlSafe(true);
+        writer.beginObject();
+        writer.name("datas_1Hz");
+        mEnvironmentInfos.writeTo(writer);
+        writer.name("datas").beginArray();
+        for (Event event : mEvents) {
+            event.writeTo(writer);
         }
+        writer.endArray();
+        writer.name("datas_5Hz");
+        mFlightInfos.writeTo(writer);
+        writer.name("header");
+        mHeader.writeTo(writer);
+        writer.endObject();
+        writer.flush();
     }
-}
\ No newline at end of file
+}
@@ -36,8 +36,9 @@ import android.location.Location;
 
 import androidx.annotation.NonNull;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 /**
  * Black box environment data sample.
@@ -52,7 +53,7 @@ public final class EnvironmentData extends TimeStampedData {
      */
     public static final class Builder {
 
-        /** Mutable environment data, serves as a base to produce immutable samples. */
+        /** Mutable environment data, serves as a base to record samples. */
         @NonNull
         private final EnvironmentData mTemplate;
 
@@ -123,28 +124,13 @@ public final class EnvironmentData extends TimeStampedData {
                 mTemplate.stamp();
             }
         }
-
-        /**
-         * Generates a new sample from current data.
-         *
-         * @return a new immutable environment data sample.
-         */
-        @NonNull
-        public EnvironmentData build() {
-            return new EnvironmentData(mTemplate);
-        }
     }
 
-
     /** Drone geo location. */
-    @Expose
-    @SerializedName("product_gps")
     @NonNull
     private final LocationInfo mDroneLocation;
 
     /** Controller geo location. */
-    @Expose
-    @SerializedName("device_gps")
     @NonNull
     private final LocationInfo mControllerLocation;
 
@@ -154,8 +140,6 @@ public final class EnvironmentData extends TimeStampedData {
     private static final class RcPilotingCommand extends PilotingCommandInfo {
 
         /** Piloting command source. */
-        @Expose
-        @SerializedName("source")
         private int mSource;
 
         /**
@@ -177,38 +161,16 @@ public final class EnvironmentData extends TimeStampedData {
             }
             return changed;
         }
-
-        /**
-         * Default constructor.
-         */
-        RcPilotingCommand() {
-        }
-
-        /**
-         * Copy constructor.
-         *
-         * @param other piloting command info to copy data from
-         */
-        RcPilotingCommand(@NonNull RcPilotingCommand other) {
-            super(other);
-            mSource = other.mSource;
-        }
     }
 
     /** Controller piloting command. */
-    @Expose
-    @SerializedName("mpp_pcmd")
     @NonNull
     private final RcPilotingCommand mRemotePcmd;
 
     /** Wifi signal level. */
-    @Expose
-    @SerializedName("wifi_rssi")
     private int mWifiSignal;
 
     /** Battery voltage. */
-    @Expose
-    @SerializedName("product_battery_voltage")
     private int mBatteryVoltage;
 
     /**
@@ -221,16 +183,134 @@ public final class EnvironmentData extends TimeStampedData {
     }
 
     /**
-     * Copy constructor.
-     *
-     * @param other environment info to copy data from
+     * Circular buffer of environment data samples.
      */
-    private EnvironmentData(@NonNull EnvironmentData other) {
-        super(other);
-        mWifiSignal = other.mWifiSignal;
-        mBatteryVoltage = other.mBatteryVoltage;
-        mDroneLocation = new LocationInfo(other.mDroneLocation);
-        mControllerLocation = new LocationInfo(other.mControllerLocation);
-        mRemotePcmd = new RcPilotingCommand(other.mRemotePcmd);
+    public static final class Buffer extends SampleBuffer {
+
+        /** Drone geo location latitudes, indexed by slot. */
+        @NonNull
+        private final double[] mDroneLatitude;
+
+        /** Drone geo location longitudes, indexed by slot. */
+        @NonNull
+        private final double[] mDroneLongitude;
+
+        /** Drone geo location altitudes, indexed by slot. */
+        @NonNull
+        private final double[] mDroneAltitude;
+
+        /** Controller geo location latitudes, indexed by slot. */
+        @NonNull
+        private final double[] mControllerLatitude;
+
+        /** Controller geo location longitudes, indexed by slot. */
+        @NonNull
+        private final double[] mControllerLongitude;
+
+        /** Controller geo location altitudes, indexed by slot. */
+        @NonNull
+        private final double[] mControllerAltitude;
+
+        /** Controller piloting command sources, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdSource;
+
+        /** Controller piloting command rolls, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdRoll;
+
+        /** Controller piloting command pitches, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdPitch;
+
+        /** Controller piloting command yaws, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdYaw;
+
+        /** Controller piloting command gazes, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdGaz;
+
+        /** Wifi signal levels, indexed by slot. */
+        @NonNull
+        private final int[] mWifiSignal;
+
+        /** Battery voltages, indexed by slot. */
+        @NonNull
+        private final int[] mBatteryVoltage;
+
+        /**
+         * Constructor.
+         *
+         * @param capacity maximum amount of samples in the buffer
+         */
+        public Buffer(int capacity) {
+            super(capacity);
+            mDroneLatitude = new double[capacity];
+            mDroneLongitude = new double[capacity];
+            mDroneAltitude = new double[capacity];
+            mControllerLatitude = new double[capacity];
+            mControllerLongitude = new double[capacity];
+            mControllerAltitude = new double[capacity];
+            mPcmdSource = new int[capacity];
+            mPcmdRoll = new int[capacity];
+            mPcmdPitch = new int[capacity];
+            mPcmdYaw = new int[capacity];
+            mPcmdGaz = new int[capacity];
+            mWifiSignal = new int[capacity];
+            mBatteryVoltage = new int[capacity];
+        }
+
+        /**
+         * Records a new sample from the builder's current data.
+         * <p>
+         * The sample is discarded if its timestamp is the same as the most recent recorded sample's. If the buffer is
+         * full, the eldest sample is overwritten.
+         *
+         * @param builder builder to record current data from
+         */
+        public void add(@NonNull Builder builder) {
+            EnvironmentData data = builder.mTemplate;
+            int slot = append(data.getTimeStamp());
+            if (slot < 0) {
+                return;
+            }
+            mDroneLatitude[slot] = data.mDroneLocation.getLatitude();
+            mDroneLongitude[slot] = data.mDroneLocation.getLongitude();
+            mDroneAltitude[slot] = data.mDroneLocation.getAltitude();
+            mControllerLatitude[slot] = data.mControllerLocation.getLatitude();
+            mControllerLongitude[slot] = data.mControllerLocation.getLongitude();
+            mControllerAltitude[slot] = data.mControllerLocation.getAltitude();
+            mPcmdSource[slot] = data.mRemotePcmd.mSource;
+            mPcmdRoll[slot] = data.mRemotePcmd.getRoll();
+            mPcmdPitch[slot] = data.mRemotePcmd.getPitch();
+            mPcmdYaw[slot] = data.mRemotePcmd.getYaw();
+            mPcmdGaz[slot] = data.mRemotePcmd.getGaz();
+            mWifiSignal[slot] = data.mWifiSignal;
+            mBatteryVoltage[slot] = data.mBatteryVoltage;
+        }
+
+        @Override
+        void writeSample(@NonNull JsonWriter out, int slot) throws IOException {
+            out.name("product_battery_voltage").value(mBatteryVoltage[slot]);
+            out.name("device_gps").beginObject()
+               .name("altitude").value(mControllerAltitude[slot])
+               .name("latitude").value(mControllerLatitude[slot])
+               .name("longitude").value(mControllerLongitude[slot])
+               .endObject();
+            out.name("product_gps").beginObject()
+               .name("altitude").value(mDroneAltitude[slot])
+               .name("latitude").value(mDroneLatitude[slot])
+               .name("longitude").value(mDroneLongitude[slot])
+               .endObject();
+            out.name("mpp_pcmd").beginObject()
+               .name("source").value(mPcmdSource[slot])
+               .name("gaz").value(mPcmdGaz[slot])
+               .name("pitch").value(mPcmdPitch[slot])
+               .name("roll").value(mPcmdRoll[slot])
+               .name("yaw").value(mPcmdYaw[slot])
+               .endObject();
+            out.name("wifi_rssi").value(mWifiSignal[slot]);
+        }
     }
 }
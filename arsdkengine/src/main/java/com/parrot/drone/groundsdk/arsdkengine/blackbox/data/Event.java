@@ -32,16 +32,17 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.sdkcore.TimeProvider;
 
 import androidx.annotation.NonNull;
 
+import java.io.IOException;
+
 /**
  * Black box event factory.
  */
-public class Event {
+public abstract class Event {
 
     /**
      * Obtains an alert state change event.
@@ -310,15 +311,10 @@ public class Event {
     }
 
     /** Event timestamp, in seconds. TODO: this should be long milliseconds... */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("timestamp")
     private final double mTimeStamp;
 
     /** Event type. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("type")
+    @NonNull
     private final String mType;
 
     /**
@@ -331,15 +327,36 @@ public class Event {
         mType = type;
     }
 
+    /**
+     * Writes this event as a JSON object.
+     *
+     * @param out JSON writer to write to
+     *
+     * @throws IOException in case writing failed
+     */
+    public final void writeTo(@NonNull JsonWriter out) throws IOException {
+        out.beginObject();
+        writeData(out);
+        out.name("timestamp").value(mTimeStamp)
+           .name("type").value(mType)
+           .endObject();
+    }
+
+    /**
+     * Writes event specific data as JSON object members.
+     *
+     * @param out JSON writer to write to
+     *
+     * @throws IOException in case writing failed
+     */
+    abstract void writeData(@NonNull JsonWriter out) throws IOException;
+
     /**
      * An event with an integer data value.
      */
     private static final class IntEvent extends Event {
 
         /** Event data. */
-        @SuppressWarnings("unused") // read when serialized to json
-        @Expose
-        @SerializedName("datas")
         private final int mValue;
 
         /**
@@ -352,6 +369,11 @@ public class Event {
             super(type);
             mValue = value;
         }
+
+        @Override
+        void writeData(@NonNull JsonWriter out) throws IOException {
+            out.name("datas").value(mValue);
+        }
     }
 
     /**
@@ -360,9 +382,6 @@ public class Event {
     private static final class StringEvent extends Event {
 
         /** Event data. */
-        @SuppressWarnings("unused") // read when serialized to json
-        @Expose
-        @SerializedName("datas")
         @NonNull
         private final String mValue;
 
@@ -377,6 +396,11 @@ public class Event {
             mValue = value;
         }
 
+        @Override
+        void writeData(@NonNull JsonWriter out) throws IOException {
+            out.name("datas").value(mValue);
+        }
+
         /** Landing event immutable singleton. */
         static final Event LANDING = new StringEvent("app_command", "landing");
     }
@@ -387,9 +411,6 @@ public class Event {
     private static final class LocationEvent extends Event {
 
         /** Event data. */
-        @SuppressWarnings("unused") // read when serialized to json
-        @Expose
-        @SerializedName("datas")
         @NonNull
         private final LocationInfo mValue;
 
@@ -403,5 +424,11 @@ public class Event {
             super(type);
             mValue = value;
         }
+
+        @Override
+        void writeData(@NonNull JsonWriter out) throws IOException {
+            out.name("datas");
+            mValue.writeTo(out);
+        }
     }
 }
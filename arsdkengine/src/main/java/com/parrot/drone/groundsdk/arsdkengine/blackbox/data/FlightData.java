@@ -34,10 +34,11 @@ package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 
 import androidx.annotation.NonNull;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.PilotingCommand;
 
+import java.io.IOException;
+
 /**
  * Black box flight data sample.
  * <p>
@@ -50,7 +51,7 @@ public final class FlightData extends TimeStampedData {
      */
     public static final class Builder {
 
-        /** Mutable flight data, serves as a base to produce immutable samples. */
+        /** Mutable flight data, serves as a base to record samples. */
         @NonNull
         private final FlightData mTemplate;
 
@@ -122,16 +123,6 @@ public final class FlightData extends TimeStampedData {
                 mTemplate.stamp();
             }
         }
-
-        /**
-         * Generates a new sample from current data.
-         *
-         * @return a new immutable flight data sample.
-         */
-        @NonNull
-        public FlightData build() {
-            return new FlightData(mTemplate);
-        }
     }
 
     /**
@@ -140,18 +131,12 @@ public final class FlightData extends TimeStampedData {
     private static final class SpeedInfo {
 
         /** Drone speed X component. */
-        @Expose
-        @SerializedName("vx")
         private float mX;
 
         /** Drone speed Y component. */
-        @Expose
-        @SerializedName("vy")
         private float mY;
 
         /** Drone speed Z component. */
-        @Expose
-        @SerializedName("vz")
         private float mZ;
 
         /**
@@ -179,28 +164,9 @@ public final class FlightData extends TimeStampedData {
             }
             return changed;
         }
-
-        /**
-         * Default constructor.
-         */
-        SpeedInfo() {
-        }
-
-        /**
-         * Copy constructor.
-         *
-         * @param other speed info to copy data from
-         */
-        SpeedInfo(@NonNull SpeedInfo other) {
-            mX = other.mX;
-            mY = other.mY;
-            mZ = other.mZ;
-        }
     }
 
     /** Drone speed. */
-    @Expose
-    @SerializedName("product_speed")
     @NonNull
     private final SpeedInfo mSpeed;
 
@@ -210,18 +176,12 @@ public final class FlightData extends TimeStampedData {
     private static final class AttitudeInfo {
 
         /** Drone attitude roll. */
-        @Expose
-        @SerializedName("roll")
         private float mRoll;
 
         /** Drone attitude pitch. */
-        @Expose
-        @SerializedName("pitch")
         private float mPitch;
 
         /** Drone attitude yaw. */
-        @Expose
-        @SerializedName("yaw")
         private float mYaw;
 
         /**
@@ -249,39 +209,16 @@ public final class FlightData extends TimeStampedData {
             }
             return changed;
         }
-
-        /**
-         * Default constructor.
-         */
-        AttitudeInfo() {
-        }
-
-        /**
-         * Copy constructor.
-         *
-         * @param other attitude info to copy data from
-         */
-        AttitudeInfo(@NonNull AttitudeInfo other) {
-            mRoll = other.mRoll;
-            mPitch = other.mPitch;
-            mYaw = other.mYaw;
-        }
     }
 
     /** Drone attitude. */
-    @Expose
-    @SerializedName("product_angles")
     @NonNull
     private final AttitudeInfo mAttitude;
 
     /** Drone altitude. */
-    @Expose
-    @SerializedName("product_alt")
     private double mAltitude;
 
     /** Drone height above ground level. */
-    @Expose
-    @SerializedName("product_height_above_ground")
     private float mHeightAboveGround;
 
     /**
@@ -290,8 +227,6 @@ public final class FlightData extends TimeStampedData {
     private static final class DronePilotingCommand extends PilotingCommandInfo {
 
         /** Piloting command flag. */
-        @Expose
-        @SerializedName("flag")
         private int mFlag;
 
         /**
@@ -313,27 +248,9 @@ public final class FlightData extends TimeStampedData {
             }
             return changed;
         }
-
-        /**
-         * Default constructor.
-         */
-        DronePilotingCommand() {
-        }
-
-        /**
-         * Copy constructor.
-         *
-         * @param other piloting command info to copy data from
-         */
-        DronePilotingCommand(@NonNull DronePilotingCommand other) {
-            super(other);
-            mFlag = other.mFlag;
-        }
     }
 
     /** Drone piloting command. */
-    @Expose
-    @SerializedName("device_pcmd")
     @NonNull
     private final DronePilotingCommand mDronePcmd;
 
@@ -347,16 +264,134 @@ public final class FlightData extends TimeStampedData {
     }
 
     /**
-     * Copy constructor.
-     *
-     * @param other flight info to copy data from
+     * Circular buffer of flight data samples.
      */
-    private FlightData(@NonNull FlightData other) {
-        super(other);
-        mSpeed = new SpeedInfo(other.mSpeed);
-        mAttitude = new AttitudeInfo(other.mAttitude);
-        mAltitude = other.mAltitude;
-        mHeightAboveGround = other.mHeightAboveGround;
-        mDronePcmd = new DronePilotingCommand(other.mDronePcmd);
+    public static final class Buffer extends SampleBuffer {
+
+        /** Drone speed X components, indexed by slot. */
+        @NonNull
+        private final float[] mSpeedX;
+
+        /** Drone speed Y components, indexed by slot. */
+        @NonNull
+        private final float[] mSpeedY;
+
+        /** Drone speed Z components, indexed by slot. */
+        @NonNull
+        private final float[] mSpeedZ;
+
+        /** Drone attitude rolls, indexed by slot. */
+        @NonNull
+        private final float[] mRoll;
+
+        /** Drone attitude pitches, indexed by slot. */
+        @NonNull
+        private final float[] mPitch;
+
+        /** Drone attitude yaws, indexed by slot. */
+        @NonNull
+        private final float[] mYaw;
+
+        /** Drone altitudes, indexed by slot. */
+        @NonNull
+        private final double[] mAltitude;
+
+        /** Drone heights above ground level, indexed by slot. */
+        @NonNull
+        private final float[] mHeightAboveGround;
+
+        /** Drone piloting command flags, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdFlag;
+
+        /** Drone piloting command rolls, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdRoll;
+
+        /** Drone piloting command pitches, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdPitch;
+
+        /** Drone piloting command yaws, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdYaw;
+
+        /** Drone piloting command gazes, indexed by slot. */
+        @NonNull
+        private final int[] mPcmdGaz;
+
+        /**
+         * Constructor.
+         *
+         * @param capacity maximum amount of samples in the buffer
+         */
+        public Buffer(int capacity) {
+            super(capacity);
+            mSpeedX = new float[capacity];
+            mSpeedY = new float[capacity];
+            mSpeedZ = new float[capacity];
+            mRoll = new float[capacity];
+            mPitch = new float[capacity];
+            mYaw = new float[capacity];
+            mAltitude = new double[capacity];
+            mHeightAboveGround = new float[capacity];
+            mPcmdFlag = new int[capacity];
+            mPcmdRoll = new int[capacity];
+            mPcmdPitch = new int[capacity];
+            mPcmdYaw = new int[capacity];
+            mPcmdGaz = new int[capacity];
+        }
+
+        /**
+         * Records a new sample from the builder's current data.
+         * <p>
+         * The sample is discarded if its timestamp is the same as the most recent recorded sample's. If the buffer is
+         * full, the eldest sample is overwritten.
+         *
+         * @param builder builder to record current data from
+         */
+        public void add(@NonNull Builder builder) {
+            FlightData data = builder.mTemplate;
+            int slot = append(data.getTimeStamp());
+            if (slot < 0) {
+                return;
+            }
+            mSpeedX[slot] = data.mSpeed.mX;
+            mSpeedY[slot] = data.mSpeed.mY;
+            mSpeedZ[slot] = data.mSpeed.mZ;
+            mRoll[slot] = data.mAttitude.mRoll;
+            mPitch[slot] = data.mAttitude.mPitch;
+            mYaw[slot] = data.mAttitude.mYaw;
+            mAltitude[slot] = data.mAltitude;
+            mHeightAboveGround[slot] = data.mHeightAboveGround;
+            mPcmdFlag[slot] = data.mDronePcmd.mFlag;
+            mPcmdRoll[slot] = data.mDronePcmd.getRoll();
+            mPcmdPitch[slot] = data.mDronePcmd.getPitch();
+            mPcmdYaw[slot] = data.mDronePcmd.getYaw();
+            mPcmdGaz[slot] = data.mDronePcmd.getGaz();
+        }
+
+        @Override
+        void writeSample(@NonNull JsonWriter out, int slot) throws IOException {
+            out.name("product_alt").value(mAltitude[slot]);
+            out.name("product_angles").beginObject();
+            writeFloat(out, "pitch", mPitch[slot]);
+            writeFloat(out, "roll", mRoll[slot]);
+            writeFloat(out, "yaw", mYaw[slot]);
+            out.endObject();
+            out.name("device_pcmd").beginObject()
+               .name("flag").value(mPcmdFlag[slot])
+               .name("gaz").value(mPcmdGaz[slot])
+               .name("pitch").value(mPcmdPitch[slot])
+               .name("roll").value(mPcmdRoll[slot])
+               .name("yaw").value(mPcmdYaw[slot])
+               .endObject();
+            writeFloat(out, "product_height_above_ground", mHeightAboveGround[slot]);
+            out.name("product_speed").beginObject();
+            writeFloat(out, "vx", mSpeedX[slot]);
+            writeFloat(out, "vy", mSpeedY[slot]);
+            writeFloat(out, "vz", mSpeedZ[slot]);
+            out.endObject();
+        }
     }
 }
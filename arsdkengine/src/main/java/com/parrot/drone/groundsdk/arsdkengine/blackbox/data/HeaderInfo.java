@@ -37,11 +37,11 @@ import android.os.Build;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
 import com.parrot.drone.sdkcore.TimeProvider;
 
+import java.io.IOException;
 import java.text.Format;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -66,96 +66,54 @@ public final class HeaderInfo {
     };
 
     /** Black box version. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("blackbox_version")
     private static final String BLACKBOX_VERSION = "1.0.6";
 
     /** Android operating system version. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("device_os")
     private static final String OS_VERSION = "Android " + Build.VERSION.RELEASE;
 
     /** Android operating device model. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("device_model")
     private static final String OS_MODEL = Build.MODEL;
 
     /** Black box record date. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("date")
     @NonNull
     private final String mDate;
 
     /** Monotonic timestamps base. TODO : this field is new, check it is ok. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("timestamp_base")
     private final long mTimestampBase;
 
     /** Drone uid. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_serial")
     @NonNull
     private final String mUid;
 
     /** Drone model. TODO: this should be an int unique model id. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_id")
     @NonNull
     private final String mModel;
 
     /** Drone hardware version. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_fw_hard")
     @Nullable
     private String mHardwareVersion;
 
     /** Drone software version. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_fw_soft")
     @Nullable
     private String mSoftwareVersion;
 
     /** User academy id. TODO: defined here but needs academy integration. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("academy_id")
     @Nullable
     private String mAcademyId;
 
     /** Drone motor version. TODO: the providing arsdk callback is deprecated. Should we inject this field? */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_motor_version")
     @Nullable
     private String mMotorVersion;
 
     /** Drone GPS version. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("product_gps_version")
     @Nullable
     private String mGpsVersion;
 
     /** Drone boot id. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("boot_id")
     @Nullable
     private String mBootId;
 
     /** Remote controller info. */
-    @SuppressWarnings("unused") // read when serialized to json
-    @Expose
-    @SerializedName("remote_controller")
     @Nullable
     private RemoteControlInfo mRcInfo;
 
@@ -218,4 +176,49 @@ public final class HeaderInfo {
     public void setRcInfo(@NonNull RemoteControlInfo info) {
         mRcInfo = info;
     }
+
+    /**
+     * Writes this header as a JSON object.
+     *
+     * @param out JSON writer to write to
+     *
+     * @throws IOException in case writing failed
+     */
+    public void writeTo(@NonNull JsonWriter out) throws IOException {
+        out.beginObject();
+        writeOptional(out, "academy_id", mAcademyId);
+        writeOptional(out, "boot_id", mBootId);
+        out.name("date").value(mDate);
+        writeOptional(out, "product_gps_version", mGpsVersion);
+        writeOptional(out, "product_fw_hard", mHardwareVersion);
+        out.name("product_id").value(mModel);
+        writeOptional(out, "product_motor_version", mMotorVersion);
+        if (mRcInfo != null) {
+            out.name("remote_controller");
+            mRcInfo.writeTo(out);
+        }
+        writeOptional(out, "product_fw_soft", mSoftwareVersion);
+        out.name("timestamp_base").value(mTimestampBase)
+           .name("product_serial").value(mUid)
+           .name("blackbox_version").value(BLACKBOX_VERSION);
+        writeOptional(out, "device_model", OS_MODEL);
+        out.name("device_os").value(OS_VERSION)
+           .endObject();
+    }
+
+    /**
+     * Writes a string JSON object member, unless its value is {@code null}.
+     *
+     * @param out   JSON writer to write to
+     * @param name  JSON member name
+     * @param value value to write, {@code null} to omit the member
+     *
+     * @throws IOException in case writing failed
+     */
+    static void writeOptional(@NonNull JsonWriter out, @NonNull String name, @Nullable String value)
+            throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
 }
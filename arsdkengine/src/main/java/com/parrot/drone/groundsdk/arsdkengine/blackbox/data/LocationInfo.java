@@ -36,8 +36,9 @@ import android.location.Location;
 
 import androidx.annotation.NonNull;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 /**
  * Geo location information.
@@ -45,18 +46,12 @@ import com.google.gson.annotations.SerializedName;
 public final class LocationInfo {
 
     /** Latitude. */
-    @Expose
-    @SerializedName("latitude")
     private double mLatitude;
 
     /** Longitude. */
-    @Expose
-    @SerializedName("longitude")
     private double mLongitude;
 
     /** Altitude. */
-    @Expose
-    @SerializedName("altitude")
     private double mAltitude;
 
     /**
@@ -80,12 +75,45 @@ public final class LocationInfo {
     }
 
     /**
-     * Copy constructor.
+     * Retrieves latitude.
+     *
+     * @return latitude value
+     */
+    double getLatitude() {
+        return mLatitude;
+    }
+
+    /**
+     * Retrieves longitude.
+     *
+     * @return longitude value
+     */
+    double getLongitude() {
+        return mLongitude;
+    }
+
+    /**
+     * Retrieves altitude.
+     *
+     * @return altitude value
+     */
+    double getAltitude() {
+        return mAltitude;
+    }
+
+    /**
+     * Writes this location as a JSON object.
+     *
+     * @param out JSON writer to write to
      *
-     * @param other location info to copy data from
+     * @throws IOException in case writing failed
      */
-    LocationInfo(@NonNull LocationInfo other) {
-        this(other.mLatitude, other.mLongitude, other.mAltitude);
+    void writeTo(@NonNull JsonWriter out) throws IOException {
+        out.beginObject()
+           .name("altitude").value(mAltitude)
+           .name("latitude").value(mLatitude)
+           .name("longitude").value(mLongitude)
+           .endObject();
     }
 
     /**
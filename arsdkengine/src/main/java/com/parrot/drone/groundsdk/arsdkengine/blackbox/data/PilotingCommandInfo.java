@@ -32,34 +32,21 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 
-import androidx.annotation.NonNull;
-
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
-
 /**
  * Piloting command information.
  */
 class PilotingCommandInfo {
 
     /** Piloting command roll. */
-    @Expose
-    @SerializedName("roll")
     private int mRoll;
 
     /** Piloting command pitch. */
-    @Expose
-    @SerializedName("pitch")
     private int mPitch;
 
     /** Piloting command yaw. */
-    @Expose
-    @SerializedName("yaw")
     private int mYaw;
 
     /** Piloting command gaz. */
-    @Expose
-    @SerializedName("gaz")
     private int mGaz;
 
     /**
@@ -69,15 +56,39 @@ class PilotingCommandInfo {
     }
 
     /**
-     * Copy constructor.
+     * Retrieves piloting command roll.
+     *
+     * @return piloting command roll value
+     */
+    final int getRoll() {
+        return mRoll;
+    }
+
+    /**
+     * Retrieves piloting command pitch.
+     *
+     * @return piloting command pitch value
+     */
+    final int getPitch() {
+        return mPitch;
+    }
+
+    /**
+     * Retrieves piloting command yaw.
+     *
+     * @return piloting command yaw value
+     */
+    final int getYaw() {
+        return mYaw;
+    }
+
+    /**
+     * Retrieves piloting command gaz.
      *
-     * @param other piloting command info to copy data from
+     * @return piloting command gaz value
      */
-    PilotingCommandInfo(@NonNull PilotingCommandInfo other) {
-        mRoll = other.mRoll;
-        mPitch = other.mPitch;
-        mYaw = other.mYaw;
-        mGaz = other.mGaz;
+    final int getGaz() {
+        return mGaz;
     }
 
     /**
@@ -35,10 +35,11 @@ package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.groundsdk.internal.device.RemoteControlCore;
 
+import java.io.IOException;
+
 /**
  * Remote controller information.
  * <p>
@@ -47,16 +48,12 @@ import com.parrot.drone.groundsdk.internal.device.RemoteControlCore;
 public class RemoteControlInfo {
 
     /** Remote control uid. */
-    @Expose
-    @SerializedName("PI")
     @NonNull
     private final String mUid;
 
     /**
      * Remote control model.
      */
-    @Expose
-    @SerializedName("Model")
     @NonNull
     /*
      * TODO : in current blackboxes, this is a 'display name' of the model, such as 'SkyController 2'.
@@ -66,16 +63,10 @@ public class RemoteControlInfo {
     private final String mModel;
 
     /** Remote control software version. */
-    @SuppressWarnings("unused") // read when serializing to json
-    @Expose
-    @SerializedName("software_version")
     @Nullable
     private String mSoftwareVersion;
 
     /** Remote control hardware version. */
-    @SuppressWarnings("unused") // read when serializing to json
-    @Expose
-    @SerializedName("hardware_version")
     @Nullable
     private String mHardwareVersion;
 
@@ -111,4 +102,20 @@ public class RemoteControlInfo {
         mSoftwareVersion = softwareVersion;
         mHardwareVersion = hardwareVersion;
     }
+
+    /**
+     * Writes this info as a JSON object.
+     *
+     * @param out JSON writer to write to
+     *
+     * @throws IOException in case writing failed
+     */
+    void writeTo(@NonNull JsonWriter out) throws IOException {
+        out.beginObject();
+        HeaderInfo.writeOptional(out, "hardware_version", mHardwareVersion);
+        out.name("Model").value(mModel);
+        HeaderInfo.writeOptional(out, "software_version", mSoftwareVersion);
+        out.name("PI").value(mUid)
+           .endObject();
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Base class for black box sample circular buffers, such as {@link FlightData.Buffer} and
+ * {@link EnvironmentData.Buffer}.
+ * <p>
+ * Samples are stored column-wise in preallocated primitive arrays, so that recording a new sample does not allocate
+ * anything. This class manages the sample timestamps and the circular slot allocation; subclasses store the
+ * sample values, one array per field, using the slot returned by {@link #append}.
+ */
+public abstract class SampleBuffer {
+
+    /** Sample timestamps, in milliseconds, indexed by slot. */
+    @NonNull
+    private final long[] mTimeStamps;
+
+    /** Slot of the eldest sample in the buffer. */
+    private int mHead;
+
+    /** Current amount of samples in the buffer. */
+    private int mSize;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity maximum amount of samples in the buffer
+     */
+    SampleBuffer(int capacity) {
+        mTimeStamps = new long[capacity];
+    }
+
+    /**
+     * Allocates a slot for a new sample.
+     * <p>
+     * In case the given timestamp is the same as the most recent sample's, then no slot is allocated and the sample
+     * should be discarded.
+     * <p>
+     * In case the buffer is full, then the slot of the eldest sample is reused.
+     *
+     * @param timeStamp new sample timestamp, in milliseconds
+     *
+     * @return the slot where to store the new sample values, or {@code -1} if the sample should be discarded
+     */
+    final int append(long timeStamp) {
+        int capacity = mTimeStamps.length;
+        if (capacity == 0 || mSize > 0 && mTimeStamps[slotAt(mSize - 1)] == timeStamp) {
+            return -1;
+        }
+        int slot;
+        if (mSize < capacity) {
+            slot = slotAt(mSize++);
+        } else {
+            slot = mHead;
+            mHead = (mHead + 1) % capacity;
+        }
+        mTimeStamps[slot] = timeStamp;
+        return slot;
+    }
+
+    /**
+     * Writes the given sample values, excluding timestamp, as JSON object members.
+     *
+     * @param out  JSON writer to write to
+     * @param slot slot of the sample to write
+     *
+     * @throws IOException in case writing failed
+     */
+    abstract void writeSample(@NonNull JsonWriter out, int slot) throws IOException;
+
+    /**
+     * Writes all samples, from the eldest to the most recent one, as a JSON array.
+     *
+     * @param out JSON writer to write to
+     *
+     * @throws IOException in case writing failed
+     */
+    public final void writeTo(@NonNull JsonWriter out) throws IOException {
+        out.beginArray();
+        for (int i = 0; i < mSize; i++) {
+            int slot = slotAt(i);
+            out.beginObject();
+            writeSample(out, slot);
+            out.name("timestamp").value(mTimeStamps[slot] / 1000.0);
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    /**
+     * Computes the slot of the sample at the given position, {@code 0} being the eldest sample.
+     *
+     * @param position sample position
+     *
+     * @return sample slot
+     */
+    private int slotAt(int position) {
+        return (mHead + position) % mTimeStamps.length;
+    }
+
+    /**
+     * Writes a float value, formatted as {@link Float#toString(float)} does.
+     *
+     * @param out   JSON writer to write to
+     * @param name  JSON member name
+     * @param value value to write
+     *
+     * @throws IOException in case writing failed
+     */
+    static void writeFloat(@NonNull JsonWriter out, @NonNull String name, float value) throws IOException {
+        out.name(name).value(Float.valueOf(value));
+    }
+}
@@ -30,20 +30,11 @@
  *
  */
 
-package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 
-import androidx.annotation.NonNull;
+package com.parrot.drone.groundsdk.arsdkengine.blackbox.data;
 
-import com.google.gson.TypeAdapter;
-import com.google.gson.annotations.Expose;
-import com.google.gson.annotations.JsonAdapter;
-import com.google.gson.annotations.SerializedName;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
 import com.parrot.drone.sdkcore.TimeProvider;
 
-import java.io.IOException;
-
 /**
  * Base class for timestamped data samples, such as {@link EnvironmentData} and {@link FlightData}.
  * <p>
@@ -53,22 +44,8 @@ import java.io.IOException;
 public class TimeStampedData {
 
     /** Timestamp, in milliseconds. */
-    @Expose
-    @SerializedName("timestamp")
-    @JsonAdapter(TimeStampAdapter.class)
     private long mTimeStamp;
 
-    /**
-     * Tells whether this sample's timestamp differs from another one.
-     *
-     * @param other sample to compare the timestamp of
-     *
-     * @return {@code true} if timestamps differs, otherwise {@code false}
-     */
-    public final boolean timeStampDiffersFrom(@NonNull TimeStampedData other) {
-        return mTimeStamp != other.mTimeStamp;
-    }
-
     /**
      * Default constructor.
      */
@@ -77,12 +54,12 @@ public class TimeStampedData {
     }
 
     /**
-     * Copy constructor.
+     * Retrieves current timestamp.
      *
-     * @param other sample to copy data from
+     * @return current timestamp, in milliseconds
      */
-    TimeStampedData(@NonNull TimeStampedData other) {
-        mTimeStamp = other.mTimeStamp;
+    final long getTimeStamp() {
+        return mTimeStamp;
     }
 
     /**
@@ -91,21 +68,4 @@ public class TimeStampedData {
     void stamp() {
         mTimeStamp = TimeProvider.elapsedRealtime();
     }
-
-    /**
-     * A GSON adapter that allows to serialize the timestamp as a double in seconds.
-     */
-    // TODO: this should be changed in black boxes.
-    private static final class TimeStampAdapter extends TypeAdapter<Long> {
-
-        @Override
-        public void write(JsonWriter out, Long value) throws IOException {
-            out.value(value / 1000.0);
-        }
-
-        @Override
-        public Long read(JsonReader in) {
-            throw new UnsupportedOperationException();
-        }
-    }
 }
@@ -65,6 +65,7 @@ import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.AnafiLogControl;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.AnafiStreamServer;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.AnafiSystemInfo;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.AnafiTargetTracker;
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.AnafiTelemetryStream;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.camera.AnafiAntiFlicker;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.camera.AnafiCameraRouter;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.flightdata.AnafiFlightDataDownloader;
@@ -161,7 +162,8 @@ public class AnafiFamilyDroneController extends DroneController {
                 new AnafiBatteryGaugeUpdater(this),
                 new AnafiDri(this),
                 new AnafiLogControl(this),
-                new AnafiCertificateUploader(this)
+                new AnafiCertificateUploader(this),
+                new AnafiTelemetryStream(this)
         );
     }
 
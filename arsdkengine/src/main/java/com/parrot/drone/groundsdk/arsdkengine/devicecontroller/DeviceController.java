@@ -443,6 +443,15 @@ public abstract class DeviceController<D extends DeviceCore> {
         return mPresetDict;
     }
 
+    /**
+     * Gets the non-acknowledged command loop period.
+     *
+     * @return non-acknowledged command loop period, in milliseconds, {@code 0} if the loop is disabled
+     */
+    public final int getNoAckLoopPeriod() {
+        return mNoAckLoopPeriod;
+    }
+
     /**
      * Starts the controller.
      *
@@ -32,6 +32,8 @@
 
 package com.parrot.drone.groundsdk.arsdkengine.devicecontroller;
 
+import android.location.Location;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -42,13 +44,16 @@ import com.parrot.drone.groundsdk.arsdkengine.blackbox.BlackBoxRecorder;
 import com.parrot.drone.groundsdk.arsdkengine.blackbox.BlackBoxSession;
 import com.parrot.drone.groundsdk.arsdkengine.ephemeris.EphemerisStore;
 import com.parrot.drone.groundsdk.arsdkengine.ephemeris.EphemerisUploadProtocol;
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.common.SampleThrottler;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.PersistentStore;
 import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.ActivablePilotingItfController;
 import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.PilotingCommand;
 import com.parrot.drone.groundsdk.device.DeviceConnector;
 import com.parrot.drone.groundsdk.device.Drone;
 import com.parrot.drone.groundsdk.facility.firmware.FirmwareVersion;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.DroneCore;
+import com.parrot.drone.groundsdk.internal.device.peripheral.PilotingCommandDiagnosticsCore;
 import com.parrot.drone.groundsdk.internal.utility.DroneStore;
 import com.parrot.drone.groundsdk.internal.utility.SystemBarometer;
 import com.parrot.drone.groundsdk.internal.utility.SystemLocation;
@@ -78,6 +83,14 @@ public abstract class DroneController extends DeviceController<DroneCore> {
     @NonNull
     private final EphemerisUploadProtocol mEphemerisUploadProtocol;
 
+    /** Piloting command diagnostics peripheral, fed by the piloting command encoder. */
+    @NonNull
+    private final PilotingCommandDiagnosticsCore mPilotingCommandDiagnostics;
+
+    /** Throttles controller location sent to the drone. */
+    @NonNull
+    private final SampleThrottler<Location> mLocationThrottler;
+
     /** {@code true} when the controlled drone is landed or in emergency state. */
     private boolean mLanded;
 
@@ -100,6 +113,10 @@ public abstract class DroneController extends DeviceController<DroneCore> {
                 pcmdEncoder.getPilotingCommandLoopPeriod());
         mActivationController = new PilotingItfActivationController(this, pcmdEncoder, defaultPilotingItfFactory);
         mEphemerisUploadProtocol = ephemerisUploadProtocol;
+        mPilotingCommandDiagnostics = new PilotingCommandDiagnosticsCore(getDevice().getPeripheralStore(),
+                pcmdEncoder.getPilotingCommandLoopPeriod());
+        pcmdEncoder.setDiagnostics(mPilotingCommandDiagnostics);
+        mLocationThrottler = new SampleThrottler<>(this::sendLocation);
         mLanded = true;
     }
 
@@ -153,7 +170,10 @@ public abstract class DroneController extends DeviceController<DroneCore> {
     @Override
     void onProtocolConnected() {
         mActivationController.onConnected();
+        mPilotingCommandDiagnostics.reset();
+        mPilotingCommandDiagnostics.publish();
 
+        mLocationThrottler.setEmissionPeriod(GroundSdkConfig.get().getTrackingEmissionPeriod());
         SystemLocation location = getEngine().getUtility(SystemLocation.class);
         if (location != null) {
             location.monitorWith(mLocationMonitor);
@@ -180,12 +200,18 @@ public abstract class DroneController extends DeviceController<DroneCore> {
             location.disposeMonitor(mLocationMonitor);
             location.revokeWifiUsageDenial(this);
         }
+        if (ULog.d(TAG_CTRL)) {
+            ULog.d(TAG_CTRL, "Controller location: " + mLocationThrottler.getSentCount() + " sent, "
+                             + mLocationThrottler.getDroppedCount() + " dropped");
+        }
+        mLocationThrottler.reset();
 
         SystemBarometer barometer = getEngine().getUtility(SystemBarometer.class);
         if (barometer != null) {
             barometer.disposeMonitor(mBarometerMonitor);
         }
 
+        mPilotingCommandDiagnostics.unpublish();
         mActivationController.onDisconnected();
         // activation controller must be notified of disconnection before all piloting interfaces are notified
         super.onProtocolDisconnected();
@@ -342,8 +368,15 @@ public abstract class DroneController extends DeviceController<DroneCore> {
                 TimeUnit.NANOSECONDS.toMillis(measureTimeStamp)));
     };
 
-    /** Processes system geographic location changes and sends them to the drone. */
-    private final SystemLocation.Monitor mLocationMonitor = location -> {
+    /** Processes system geographic location changes and forwards them to the drone, at most at the throttled rate. */
+    private final SystemLocation.Monitor mLocationMonitor = location -> mLocationThrottler.submit(location);
+
+    /**
+     * Sends controller location to the drone.
+     *
+     * @param location controller location to send
+     */
+    private void sendLocation(@NonNull Location location) {
         double northSpeed = 0, eastSpeed = 0;
         if (location.hasSpeed() && location.hasBearing()) {
             double speed = location.getSpeed(), bearing = Math.toRadians(location.getBearing());
@@ -353,7 +386,7 @@ public abstract class DroneController extends DeviceController<DroneCore> {
         sendCommand(ArsdkFeatureControllerInfo.encodeGps(location.getLatitude(), location.getLongitude(),
                 (float) location.getAltitude(), location.getAccuracy(), -1, (float) northSpeed,
                 (float) eastSpeed, 0, TimeUnit.NANOSECONDS.toMillis(location.getElapsedRealtimeNanos())));
-    };
+    }
 
     @Override
     public void dump(@NonNull PrintWriter writer, @NonNull Set<String> args, @NonNull String prefix) {
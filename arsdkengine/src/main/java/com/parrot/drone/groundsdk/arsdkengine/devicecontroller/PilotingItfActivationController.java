@@ -218,9 +218,9 @@ public class PilotingItfActivationController {
      * @param roll        new roll value
      */
     public void onRoll(@NonNull ActivablePilotingItfController pilotingItf, int roll) {
-        if (pilotingItf == mCurrentPilotingItf && mPilotingCommandEncoder.setRoll(roll)) {
-            mDroneController.onPilotingCommandChanged(mPilotingCommandEncoder.getPilotingCommand());
-        }
+        PilotingCommand pilotingCommand = mPilotingCommandEncoder.getPilotingCommand();
+        onPilotingCommand(pilotingItf, roll, pilotingCommand.getPitch(), pilotingCommand.getYaw(),
+                pilotingCommand.getGaz());
     }
 
     /**
@@ -230,9 +230,9 @@ public class PilotingItfActivationController {
      * @param pitch       new pitch value
      */
     public void onPitch(@NonNull ActivablePilotingItfController pilotingItf, int pitch) {
-        if (pilotingItf == mCurrentPilotingItf && mPilotingCommandEncoder.setPitch(pitch)) {
-            mDroneController.onPilotingCommandChanged(mPilotingCommandEncoder.getPilotingCommand());
-        }
+        PilotingCommand pilotingCommand = mPilotingCommandEncoder.getPilotingCommand();
+        onPilotingCommand(pilotingItf, pilotingCommand.getRoll(), pitch, pilotingCommand.getYaw(),
+                pilotingCommand.getGaz());
     }
 
     /**
@@ -242,9 +242,9 @@ public class PilotingItfActivationController {
      * @param yaw         new yaw value
      */
     public void onYaw(@NonNull ActivablePilotingItfController pilotingItf, int yaw) {
-        if (pilotingItf == mCurrentPilotingItf && mPilotingCommandEncoder.setYaw(yaw)) {
-            mDroneController.onPilotingCommandChanged(mPilotingCommandEncoder.getPilotingCommand());
-        }
+        PilotingCommand pilotingCommand = mPilotingCommandEncoder.getPilotingCommand();
+        onPilotingCommand(pilotingItf, pilotingCommand.getRoll(), pilotingCommand.getPitch(), yaw,
+                pilotingCommand.getGaz());
     }
 
     /**
@@ -254,7 +254,37 @@ public class PilotingItfActivationController {
      * @param gaz         new gaz value
      */
     public void onGaz(@NonNull ActivablePilotingItfController pilotingItf, int gaz) {
-        if (pilotingItf == mCurrentPilotingItf && mPilotingCommandEncoder.setGaz(gaz)) {
+        PilotingCommand pilotingCommand = mPilotingCommandEncoder.getPilotingCommand();
+        onPilotingCommand(pilotingItf, pilotingCommand.getRoll(), pilotingCommand.getPitch(),
+                pilotingCommand.getYaw(), gaz);
+    }
+
+    /**
+     * Called back when a piloting interface forwards a simultaneous piloting command roll and pitch change.
+     * <p>
+     * The pcmd loop either sends both new values, or none of them.
+     *
+     * @param pilotingItf piloting interface from which the change originates
+     * @param roll        new roll value
+     * @param pitch       new pitch value
+     */
+    public void onRollAndPitch(@NonNull ActivablePilotingItfController pilotingItf, int roll, int pitch) {
+        PilotingCommand pilotingCommand = mPilotingCommandEncoder.getPilotingCommand();
+        onPilotingCommand(pilotingItf, roll, pitch, pilotingCommand.getYaw(), pilotingCommand.getGaz());
+    }
+
+    /**
+     * Publishes new piloting command values to the pcmd loop, all at once.
+     *
+     * @param pilotingItf piloting interface from which the change originates
+     * @param roll        new roll value
+     * @param pitch       new pitch value
+     * @param yaw         new yaw value
+     * @param gaz         new gaz value
+     */
+    private void onPilotingCommand(@NonNull ActivablePilotingItfController pilotingItf, int roll, int pitch, int yaw,
+                                   int gaz) {
+        if (pilotingItf == mCurrentPilotingItf && mPilotingCommandEncoder.set(roll, pitch, yaw, gaz)) {
             mDroneController.onPilotingCommandChanged(mPilotingCommandEncoder.getPilotingCommand());
         }
     }
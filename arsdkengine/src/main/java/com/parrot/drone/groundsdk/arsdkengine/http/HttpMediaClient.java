@@ -39,19 +39,23 @@ import androidx.annotation.VisibleForTesting;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
 import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
+import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 import com.parrot.drone.groundsdk.internal.http.HttpClient;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.http.HttpSession;
 import com.parrot.drone.groundsdk.internal.http.ProgressCaptor;
 import com.parrot.drone.groundsdk.internal.io.Files;
+import com.parrot.drone.groundsdk.internal.io.IoStreams;
 import com.parrot.drone.groundsdk.internal.tasks.Executor;
 import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.function.Function;
@@ -88,6 +92,13 @@ public class HttpMediaClient extends HttpClient {
     @VisibleForTesting // tests refer to this to test progress
     static final int CHUNK_SIZE = 8192; // we use the same size as Okio segments, for consistency
 
+    /**
+     * Time window, in milliseconds, during which received media events are coalesced in order to be forwarded to the
+     * listener at once.
+     */
+    @VisibleForTesting // tests refer to this to test event delivery
+    static final long EVENT_COALESCING_WINDOW = 50;
+
     /** An interface for receiving media events. */
     public interface Listener {
 
@@ -144,6 +155,10 @@ public class HttpMediaClient extends HttpClient {
     @Nullable
     private HttpSession.WebSocketSubscription mWebSocketSubscription;
 
+    /** Dispatcher of parsed media events to the installed listener. {@code null} if no listener is installed. */
+    @Nullable
+    private EventDispatcher mEventDispatcher;
+
     /** GSON instance used to parse received media items. */
     @NonNull
     private final Gson mGson;
@@ -158,6 +173,7 @@ public class HttpMediaClient extends HttpClient {
         mSession = session;
         mGson = new GsonBuilder()
                 .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                .registerTypeAdapter(HttpMediaEvent.class, HttpMediaEvent.DESERIALIZER)
                 .create();
         mService = session.create(new Retrofit.Builder().addConverterFactory(GsonConverterFactory.create(mGson)),
                 Service.class);
@@ -181,39 +197,22 @@ public class HttpMediaClient extends HttpClient {
     public void setListener(@Nullable Listener listener) {
         if (mWebSocketSubscription != null) {
             mWebSocketSubscription.unsubscribe();
+            mWebSocketSubscription = null;
+        }
+        if (mEventDispatcher != null) {
+            mEventDispatcher.cancel();
+            mEventDispatcher = null;
         }
         if (listener != null) {
+            EventDispatcher dispatcher = new EventDispatcher(listener);
+            mEventDispatcher = dispatcher;
             mWebSocketSubscription = mSession.listenToWebSocket(MEDIA_ENDPOINT_BASE + "notifications", message -> {
                 try {
                     HttpMediaEvent event = mGson.fromJson(message, HttpMediaEvent.class);
-                    if (event != null && event.getType() != null) {
-                        switch (event.getType()) {
-                            case MEDIA_CREATED:
-                                Executor.postOnMainThread(() -> listener.onMediaAdded(mGson.fromJson(
-                                        message, HttpMediaEvent.MediaCreated.class).getMedia()));
-                                break;
-                            case MEDIA_REMOVED:
-                                Executor.postOnMainThread(() -> listener.onMediaRemoved(mGson.fromJson(
-                                        message, HttpMediaEvent.MediaDeleted.class).getId()));
-                                break;
-                            case ALL_MEDIA_REMOVED:
-                                Executor.postOnMainThread(listener::onAllMediaRemoved);
-                                break;
-                            case RESOURCE_CREATED:
-                                Executor.postOnMainThread(() -> listener.onResourceAdded(mGson.fromJson(
-                                        message, HttpMediaEvent.ResourceCreated.class).getResource()));
-                                break;
-                            case RESOURCE_REMOVED:
-                                Executor.postOnMainThread(() -> listener.onResourceRemoved(mGson.fromJson(
-                                        message, HttpMediaEvent.ResourceDeleted.class).getId()));
-                                break;
-                            case INDEXING_STATE_CHANGED:
-                                Executor.postOnMainThread(() -> listener.onIndexingStateChanged(mGson.fromJson(
-                                        message, HttpMediaEvent.IndexingStateChanged.class).getCurrentState()));
-                                break;
-                        }
+                    if (event != null) {
+                        dispatcher.queue(event);
                     }
-                } catch (JsonSyntaxException e) {
+                } catch (JsonParseException e) {
                     if (ULog.w(TAG_HTTP)) {
                         ULog.w(TAG_HTTP, "Failed to parse media event [message: " + message + "]", e);
                     }
@@ -222,6 +221,80 @@ public class HttpMediaClient extends HttpClient {
         }
     }
 
+    /**
+     * Forwards media events to a listener, in batches.
+     * <p>
+     * Events are {@link #queue queued} from the web socket thread, once parsed. Events queued within
+     * {@link #EVENT_COALESCING_WINDOW} of the first pending event are delivered together to the listener, in reception
+     * order, from a single main thread post.
+     */
+    private static final class EventDispatcher {
+
+        /** Listener to forward events to. */
+        @NonNull
+        private final Listener mListener;
+
+        /** Events waiting to be forwarded. Accessed from both web socket and main threads, under lock. */
+        @NonNull
+        private final List<HttpMediaEvent> mPendingEvents;
+
+        /** {@code true} once canceled, in which case no event is forwarded anymore. Accessed on main thread. */
+        private boolean mCanceled;
+
+        /**
+         * Constructor.
+         *
+         * @param listener listener to forward events to
+         */
+        EventDispatcher(@NonNull Listener listener) {
+            mListener = listener;
+            mPendingEvents = new ArrayList<>();
+        }
+
+        /**
+         * Queues an event to be forwarded with the next batch.
+         * <p>
+         * Called from the web socket thread.
+         *
+         * @param event event to queue
+         */
+        void queue(@NonNull HttpMediaEvent event) {
+            boolean first;
+            synchronized (mPendingEvents) {
+                first = mPendingEvents.isEmpty();
+                mPendingEvents.add(event);
+            }
+            if (first) {
+                Executor.postOnMainThread(() -> Executor.schedule(mFlush, EVENT_COALESCING_WINDOW));
+            }
+        }
+
+        /**
+         * Cancels this dispatcher. Pending events are dropped.
+         * <p>
+         * Called from main thread.
+         */
+        void cancel() {
+            mCanceled = true;
+            Executor.unschedule(mFlush);
+            synchronized (mPendingEvents) {
+                mPendingEvents.clear();
+            }
+        }
+
+        /** Forwards all pending events to the listener. Runs on main thread. */
+        private final Runnable mFlush = () -> {
+            HttpMediaEvent[] events;
+            synchronized (mPendingEvents) {
+                events = mPendingEvents.toArray(new HttpMediaEvent[0]);
+                mPendingEvents.clear();
+            }
+            for (int i = 0; i < events.length && !mCanceled; i++) {
+                events[i].dispatch(mListener);
+            }
+        };
+    }
+
     /**
      * Browse available medias of a specific storage.
      *
@@ -524,6 +597,80 @@ public class HttpMediaClient extends HttpClient {
         });
     }
 
+    /**
+     * Downloads a media/resource directly into a platform media store entry.
+     * <p>
+     * Received data is streamed into the entry without any intermediate file. The entry is published when the download
+     * succeeds, and discarded otherwise.
+     *
+     * @param url      url of the media/resource to download
+     * @param dest     media store entry where to store the downloaded media/resource
+     * @param callback callback notified of request progress and completion status; the result is the file backing the
+     *                 published entry
+     *
+     * @return the ongoing request, that can be canceled
+     */
+    @NonNull
+    public HttpRequest download(@NonNull String url, @NonNull ApplicationStorageProvider.MediaStoreEntry dest,
+                                @NonNull HttpRequest.ProgressResultCallback<File> callback) {
+        Call<ResponseBody> downloadCall = mService.download(url);
+        Task<File> downloadTask = Executor.runInBackground(() -> {
+            Response<ResponseBody> response = downloadCall.execute();
+            if (downloadCall.isCanceled()) {
+                // retrofit call.execute silently eats InterruptedException, so we rely on the call canceled flag
+                // to restore the interruption status after the call
+                throw new InterruptedException("Canceled retrofit call");
+            }
+
+            ResponseBody body = response.body();
+            if (!response.isSuccessful()) {
+                throw new HttpException(response.message(), response.code());
+            }
+
+            assert body != null;
+            body = ProgressCaptor.captureOf(body,
+                    percent -> Executor.postOnMainThread(() -> callback.onRequestProgress(percent)));
+            File published = null;
+            try {
+                long received;
+                try (OutputStream stream = dest.open()) {
+                    received = IoStreams.transfer(body.byteStream(), stream, CHUNK_SIZE);
+                }
+                long expected = body.contentLength();
+                if (received != expected) {
+                    throw new IOException("Received content mismatch [expected: " + expected
+                                          + ", received: " + received + "]");
+                }
+                published = dest.publish();
+                return published;
+            } finally {
+                if (published == null) {
+                    // whatever went wrong (including runtime exceptions from the content resolver), ensure we
+                    // cleanup the pending entry before getting out of the background task
+                    dest.discard();
+                }
+                body.close();
+            }
+        }).whenComplete((result, error, canceled) -> {
+            if (error != null) {
+                if (ULog.e(TAG_HTTP)) {
+                    ULog.e(TAG_HTTP, "Download request failed [url:" + url + ", dest: media store]", error);
+                }
+                callback.onRequestComplete(HttpRequest.Status.FAILED, error instanceof HttpException ?
+                        ((HttpException) error).getCode() : HttpRequest.STATUS_CODE_UNKNOWN, null);
+            } else if (canceled) {
+                callback.onRequestComplete(HttpRequest.Status.CANCELED, HttpRequest.STATUS_CODE_UNKNOWN, null);
+            } else {
+                callback.onRequestComplete(HttpRequest.Status.SUCCESS, 200, result);
+            }
+        });
+
+        return bookRequest(() -> {
+            downloadCall.cancel();
+            downloadTask.cancel();
+        });
+    }
+
     @Nullable
     private static String convert(@Nullable MediaStore.StorageType storageType) {
         if (storageType == null) return null;
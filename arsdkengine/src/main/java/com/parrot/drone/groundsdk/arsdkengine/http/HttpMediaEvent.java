@@ -36,6 +36,8 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
 import com.google.gson.annotations.SerializedName;
 
 /**
@@ -47,36 +49,60 @@ import com.google.gson.annotations.SerializedName;
  * Private default constructors must be kept as they are used by GSON parser.
  */
 @SuppressWarnings({"NullableProblems", "unused"})
-class HttpMediaEvent {
+abstract class HttpMediaEvent {
 
     /** Media event type. */
     public enum Type {
 
         /** A media has been created. */
         @SerializedName("media_created")
-        MEDIA_CREATED,
+        MEDIA_CREATED(MediaCreated.class),
 
         /** A media has been deleted. */
         @SerializedName("media_removed")
-        MEDIA_REMOVED,
+        MEDIA_REMOVED(MediaDeleted.class),
 
         /** All media have been deleted. */
         @SerializedName("all_media_removed")
-        ALL_MEDIA_REMOVED,
+        ALL_MEDIA_REMOVED(AllMediaDeleted.class),
 
         /** A resource has been created. */
         @SerializedName("resource_created")
-        RESOURCE_CREATED,
+        RESOURCE_CREATED(ResourceCreated.class),
 
         /** A resource has been deleted. */
         @SerializedName("resource_removed")
-        RESOURCE_REMOVED,
+        RESOURCE_REMOVED(ResourceDeleted.class),
 
         /** Indexing state changed. */
         @SerializedName("indexing_state_changed")
-        INDEXING_STATE_CHANGED
+        INDEXING_STATE_CHANGED(IndexingStateChanged.class);
+
+        /** Class of events of this type. */
+        @NonNull
+        private final Class<? extends HttpMediaEvent> mEventClass;
+
+        /**
+         * Constructor.
+         *
+         * @param eventClass class of events of this type
+         */
+        Type(@NonNull Class<? extends HttpMediaEvent> eventClass) {
+            mEventClass = eventClass;
+        }
     }
 
+    /**
+     * Deserializes a media event in a single pass, directly as the specialized event class matching its type.
+     * <p>
+     * Yields {@code null} for events of unknown type.
+     */
+    static final JsonDeserializer<HttpMediaEvent> DESERIALIZER = (json, typeOfT, context) -> {
+        JsonElement name = json.isJsonObject() ? json.getAsJsonObject().get("name") : null;
+        Type type = name == null ? null : context.deserialize(name, Type.class);
+        return type == null ? null : context.deserialize(json, type.mEventClass);
+    };
+
     /** Event type. */
     @Nullable
     private Type name;
@@ -97,6 +123,13 @@ class HttpMediaEvent {
     private HttpMediaEvent() {
     }
 
+    /**
+     * Notifies this event to the given listener.
+     *
+     * @param listener listener to notify
+     */
+    abstract void dispatch(@NonNull HttpMediaClient.Listener listener);
+
     /**
      * Media created event, as received from the drone HTTP media service.
      */
@@ -141,6 +174,11 @@ class HttpMediaEvent {
         public HttpMediaItem getMedia() {
             return data.media;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onMediaAdded(data.media);
+        }
     }
 
     /**
@@ -187,20 +225,29 @@ class HttpMediaEvent {
         public String getId() {
             return data.mediaId;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onMediaRemoved(data.mediaId);
+        }
     }
 
     /**
-     * All media deleted event, for use in tests.
+     * All media deleted event, as received from the drone HTTP media service.
      */
-    @VisibleForTesting(otherwise = VisibleForTesting.NONE)
     static final class AllMediaDeleted extends HttpMediaEvent {
 
         /**
-         * Constructor.
+         * Constructor, also used by GSON deserializer.
          */
         AllMediaDeleted() {
             ((HttpMediaEvent) this).name = Type.ALL_MEDIA_REMOVED;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onAllMediaRemoved();
+        }
     }
 
     /**
@@ -247,6 +294,11 @@ class HttpMediaEvent {
         public HttpMediaItem.Resource getResource() {
             return data.resource;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onResourceAdded(data.resource);
+        }
     }
 
     /**
@@ -293,6 +345,11 @@ class HttpMediaEvent {
         public String getId() {
             return data.resourceId;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onResourceRemoved(data.resourceId);
+        }
     }
 
     /**
@@ -330,7 +387,6 @@ class HttpMediaEvent {
             data.newState = newState;
         }
 
-
         /**
          * Retrieves the current indexing state.
          *
@@ -350,5 +406,10 @@ class HttpMediaEvent {
         public HttpMediaIndexingState getFormerState() {
             return data.oldState;
         }
+
+        @Override
+        void dispatch(@NonNull HttpMediaClient.Listener listener) {
+            listener.onIndexingStateChanged(data.newState);
+        }
     }
 }
@@ -38,12 +38,18 @@ import androidx.annotation.NonNull;
 
 import com.parrot.drone.groundsdk.arsdkengine.devicecontroller.DroneController;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.DronePeripheralController;
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.common.SampleThrottler;
 import com.parrot.drone.groundsdk.device.peripheral.TargetTracker;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.peripheral.tracking.TargetTrackerCore;
 import com.parrot.drone.groundsdk.internal.engine.EngineBase;
 import com.parrot.drone.groundsdk.internal.utility.SystemLocation;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureFollowMe;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
+import com.parrot.drone.sdkcore.ulog.ULog;
+
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG;
 
 /** TargetTracker peripheral controller for Anafi family drones. */
 public class AnafiTargetTracker extends DronePeripheralController {
@@ -64,6 +70,16 @@ public class AnafiTargetTracker extends DronePeripheralController {
     /** Latest vertical framing position, as received from the drone. */
     private double mVerticalFraming;
 
+    /** Throttles target detection info sent to the drone. */
+    @NonNull
+    private final SampleThrottler<DetectionSample> mDetectionThrottler;
+
+    /**
+     * {@code true} when some target detection info reporting a new target was provided since latest emission, so that
+     * the flag is not lost when such info is dropped.
+     */
+    private boolean mNewTargetPending;
+
     /**
      * Constructor.
      *
@@ -73,6 +89,7 @@ public class AnafiTargetTracker extends DronePeripheralController {
         super(droneController);
         mHorizontalFraming = mVerticalFraming = TargetTrackerCore.DEFAULT_FRAMING_POSITION;
         mTracker = new TargetTrackerCore(mComponentStore, mBackend);
+        mDetectionThrottler = new SampleThrottler<>(this::sendTargetDetection);
 
         if (!mDeviceController.getDeviceDict().isNew()) {
             mTracker.publish();
@@ -81,6 +98,7 @@ public class AnafiTargetTracker extends DronePeripheralController {
 
     @Override
     protected void onConnected() {
+        mDetectionThrottler.setEmissionPeriod(GroundSdkConfig.get().getTrackingEmissionPeriod());
         // send controller tracking setting if different from received drone values
         if (mControllerTracking != mTargetIsController) {
             sendCommand(ArsdkFeatureFollowMe.encodeSetTargetIsController(mControllerTracking ? 1 : 0));
@@ -107,8 +125,16 @@ public class AnafiTargetTracker extends DronePeripheralController {
 
     @Override
     protected void onDisconnected() {
+        if (ULog.d(TAG)) {
+            ULog.d(TAG, "Target detection info: " + mDetectionThrottler.getSentCount() + " sent, "
+                        + mDetectionThrottler.getDroppedCount() + " dropped");
+        }
+        mDetectionThrottler.reset();
+        mNewTargetPending = false;
+
         mTracker.cancelSettingsRollbacks()
                 .clearTargetTrajectory()
+                .updateTargetDetectionInfoCounts(0, 0)
                 .notifyUpdated();
 
         if (mTargetIsController) {
@@ -148,6 +174,62 @@ public class AnafiTargetTracker extends DronePeripheralController {
                 (int) Math.round(horizontalPosition * 100), (int) Math.round(verticalPosition * 100)));
     }
 
+    /**
+     * Sends target detection info to the drone.
+     *
+     * @param sample target detection info to send
+     */
+    private void sendTargetDetection(@NonNull DetectionSample sample) {
+        sendCommand(ArsdkFeatureFollowMe.encodeTargetImageDetection(sample.mAzimuth, sample.mElevation,
+                sample.mChangeOfScale, sample.mConfidence, mNewTargetPending ? 1 : 0, sample.mTimestamp));
+        mNewTargetPending = false;
+        updateDetectionCounts();
+    }
+
+    /**
+     * Updates target detection info counts from the throttler.
+     */
+    private void updateDetectionCounts() {
+        mTracker.updateTargetDetectionInfoCounts(mDetectionThrottler.getSentCount(),
+                mDetectionThrottler.getDroppedCount());
+    }
+
+    /** Target detection info, copied from the info provided by the application. */
+    private static final class DetectionSample {
+
+        /** Target azimuth, in radians. */
+        final float mAzimuth;
+
+        /** Target elevation, in radians. */
+        final float mElevation;
+
+        /** Target change of scale, in hertz. */
+        final float mChangeOfScale;
+
+        /** Confidence level, in range [0, 255]. */
+        final int mConfidence;
+
+        /** Info timestamp, in milliseconds. */
+        final long mTimestamp;
+
+        /**
+         * Constructor.
+         *
+         * @param info      target detection info to copy
+         * @param timestamp info timestamp, in milliseconds
+         */
+        DetectionSample(@NonNull TargetTracker.TargetDetectionInfo info, long timestamp) {
+            mAzimuth = (float) info.getTargetAzimuth();
+            mElevation = (float) info.getTargetElevation();
+            mChangeOfScale = (float) info.getChangeOfScale();
+            // suppresses false positive lint error, to remove when lint is fixed
+            @SuppressLint("Range")
+            int confidence = (int) Math.round(255 * info.getConfidenceLevel());
+            mConfidence = confidence;
+            mTimestamp = timestamp;
+        }
+    }
+
     /** Callbacks called when a command of the feature ArsdkFeatureFollowMe is decoded. */
     private final ArsdkFeatureFollowMe.Callback mFollowMeCallback = new ArsdkFeatureFollowMe.Callback() {
 
@@ -210,12 +292,14 @@ public class AnafiTargetTracker extends DronePeripheralController {
 
         @Override
         public void sendTargetDetectionInfo(@NonNull TargetTracker.TargetDetectionInfo info) {
-            // suppresses false positive lint error, to remove when lint is fixed
-            @SuppressLint("Range")
-            int confidence = (int) Math.round(255 * info.getConfidenceLevel());
-            sendCommand(ArsdkFeatureFollowMe.encodeTargetImageDetection((float) info.getTargetAzimuth(),
-                    (float) info.getTargetElevation(), (float) info.getChangeOfScale(), confidence,
-                    info.isNewTarget() ? 1 : 0, info.getTimestamp()));
+            if (!isConnected()) {
+                return;
+            }
+            long timestamp = info.getTimestamp();
+            mNewTargetPending |= info.isNewTarget();
+            mDetectionThrottler.submit(new DetectionSample(info,
+                    timestamp == 0 ? TimeProvider.elapsedRealtime() : timestamp));
+            updateDetectionCounts();
         }
     };
 }
@@ -0,0 +1,133 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.arsdkengine.devicecontroller.DroneController;
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.DronePeripheralController;
+import com.parrot.drone.groundsdk.device.peripheral.TelemetryStream;
+import com.parrot.drone.groundsdk.internal.device.peripheral.TelemetryStreamCore;
+import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3;
+import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
+
+/** Telemetry stream peripheral controller for Anafi family drones. */
+public final class AnafiTelemetryStream extends DronePeripheralController {
+
+    /** Value sent by drone when latitude/longitude or altitude are not available. */
+    private static final double VALUE_UNAVAILABLE = 500;
+
+    /** Telemetry stream peripheral for which this object is the backend. */
+    @NonNull
+    private final TelemetryStreamCore mTelemetryStream;
+
+    /** Whether the drone sends its location with {@code GpsLocationChanged}, rather than {@code PositionChanged}. */
+    private boolean mUseOnGpsLocationChanged;
+
+    /**
+     * Constructor.
+     *
+     * @param droneController the drone controller that owns this peripheral controller.
+     */
+    public AnafiTelemetryStream(@NonNull DroneController droneController) {
+        super(droneController);
+        mTelemetryStream = new TelemetryStreamCore(mComponentStore);
+    }
+
+    @Override
+    protected void onConnected() {
+        mTelemetryStream.publish();
+    }
+
+    @Override
+    protected void onDisconnected() {
+        mUseOnGpsLocationChanged = false;
+        mTelemetryStream.unpublish();
+    }
+
+    @Override
+    protected void onCommandReceived(@NonNull ArsdkCommand command) {
+        if (command.getFeatureId() == ArsdkFeatureArdrone3.PilotingState.UID) {
+            ArsdkFeatureArdrone3.PilotingState.decode(command, mPilotingStateCallback);
+        }
+    }
+
+    /**
+     * Queues a location sample, unless the drone reports the location as unavailable.
+     *
+     * @param latitude  received latitude
+     * @param longitude received longitude
+     * @param altitude  received altitude
+     */
+    private void addLocationSample(double latitude, double longitude, double altitude) {
+        if (Double.compare(latitude, VALUE_UNAVAILABLE) != 0 && Double.compare(longitude, VALUE_UNAVAILABLE) != 0) {
+            mTelemetryStream.addSample(TelemetryStream.Kind.LOCATION, latitude, longitude,
+                    Double.compare(altitude, VALUE_UNAVAILABLE) == 0 ? Double.NaN : altitude);
+        }
+    }
+
+    /** Callbacks called when a command of the feature ArsdkFeatureArdrone3.PilotingState is decoded. */
+    private final ArsdkFeatureArdrone3.PilotingState.Callback mPilotingStateCallback =
+            new ArsdkFeatureArdrone3.PilotingState.Callback() {
+
+                @Override
+                public void onAttitudeChanged(float roll, float pitch, float yaw) {
+                    mTelemetryStream.addSample(TelemetryStream.Kind.ATTITUDE,
+                            Math.toDegrees(roll), Math.toDegrees(pitch), Math.toDegrees(yaw));
+                }
+
+                @Override
+                public void onSpeedChanged(float speedX, float speedY, float speedZ) {
+                    mTelemetryStream.addSample(TelemetryStream.Kind.SPEED, speedX, speedY, speedZ);
+                }
+
+                @Override
+                public void onAltitudeChanged(double altitude) {
+                    mTelemetryStream.addSample(TelemetryStream.Kind.ALTITUDE, altitude, Double.NaN, Double.NaN);
+                }
+
+                @Override
+                public void onPositionChanged(double latitude, double longitude, double altitude) {
+                    if (!mUseOnGpsLocationChanged) {
+                        addLocationSample(latitude, longitude, altitude);
+                    }
+                }
+
+                @Override
+                public void onGpsLocationChanged(double latitude, double longitude, double altitude,
+                                                 int latitudeAccuracy, int longitudeAccuracy, int altitudeAccuracy) {
+                    mUseOnGpsLocationChanged = true;
+                    addLocationSample(latitude, longitude, altitude);
+                }
+            };
+}
@@ -285,6 +285,15 @@ public final class AnafiCameraRouter extends DronePeripheralController {
             }
         }
 
+        /**
+         * Gives the non-acknowledged command loop period.
+         *
+         * @return non-acknowledged command loop period, in milliseconds, {@code 0} if the loop is disabled
+         */
+        final int getNoAckLoopPeriod() {
+            return mInfo.mRouter.mDeviceController.getNoAckLoopPeriod();
+        }
+
         /**
          * Unregisters an encoder from being executed in the non-acknowledged command loop.
          *
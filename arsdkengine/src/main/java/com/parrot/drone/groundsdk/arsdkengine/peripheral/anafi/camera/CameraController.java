@@ -47,6 +47,7 @@ import com.parrot.drone.groundsdk.device.peripheral.camera.CameraRecording;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraStyle;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraWhiteBalance;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraZoom;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.peripheral.camera.BlendedThermalCameraCore;
 import com.parrot.drone.groundsdk.internal.device.peripheral.camera.CameraAlignmentSettingCore;
 import com.parrot.drone.groundsdk.internal.device.peripheral.camera.CameraCore;
@@ -67,11 +68,14 @@ import com.parrot.drone.groundsdk.internal.value.OptionalBooleanSettingCore;
 import com.parrot.drone.groundsdk.value.DoubleRange;
 import com.parrot.drone.groundsdk.value.IntegerRange;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureCamera;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.EnumSet;
 
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG;
+
 /** Camera controller implementation. */
 final class CameraController extends AnafiCameraRouter.CameraControllerBase {
 
@@ -492,12 +496,17 @@ final class CameraController extends AnafiCameraRouter.CameraControllerBase {
         }
 
         if (active) {
+            mZoomController.setEmissionPeriod(GroundSdkConfig.get().getControlEmissionPeriod(), getNoAckLoopPeriod());
             registerNoAckCmdEncoder(mZoomController);
 
             mCamera.recording().updateBitrate(mRecordingBitrate);
         } else {
             unregisterNoAckCmdEncoder(mZoomController);
 
+            if (ULog.d(TAG)) {
+                ULog.d(TAG, "Zoom control targets: " + mZoomController.getUpdateCount() + " submitted, "
+                            + mZoomController.getDroppedCount() + " coalesced");
+            }
             mZoomController.reset();
 
             CameraZoomCore zoom = mCamera.zoom();
@@ -34,6 +34,7 @@ package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.camera;
 
 import androidx.annotation.NonNull;
 
+import com.parrot.drone.groundsdk.arsdkengine.persistence.CompactEncoding;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.Converter;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.StorageEntry;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraPhoto;
@@ -75,14 +76,26 @@ final class PhotoCapabilitiesStorageEntry extends StorageEntry<Collection<Camera
     @NonNull
     @Override
     protected Collection<CameraPhotoSettingCore.Capability> parse(@NonNull Object serializedObject) {
+        if (serializedObject instanceof String) {
+            return Converter.parseCompactCollection((String) serializedObject, ArrayList::new,
+                    PhotoCapabilitiesStorageEntry::readCapability);
+        }
+        // legacy JSON representation
         return Converter.parseCollection((JSONArray) serializedObject, ArrayList::new,
                 PhotoCapabilitiesStorageEntry::parseCapability);
     }
 
     @NonNull
     @Override
-    protected JSONArray serialize(@NonNull Collection<CameraPhotoSettingCore.Capability> capabilities) {
-        return Converter.serializeCollection(capabilities, PhotoCapabilitiesStorageEntry::serializeCapability);
+    protected Object serialize(@NonNull Collection<CameraPhotoSettingCore.Capability> capabilities) {
+        return Converter.serializeCompactCollection(capabilities, PhotoCapabilitiesStorageEntry::writeCapability);
+    }
+
+    @NonNull
+    @Override
+    protected Collection<CameraPhotoSettingCore.Capability> copy(
+            @NonNull Collection<CameraPhotoSettingCore.Capability> capabilities) {
+        return new ArrayList<>(capabilities);
     }
 
     /**
@@ -109,22 +122,34 @@ final class PhotoCapabilitiesStorageEntry extends StorageEntry<Collection<Camera
     }
 
     /**
-     * Serializes a {@code CameraPhotoSettingCore.Capability}.
+     * Reads a {@code CameraPhotoSettingCore.Capability} in compact format.
+     *
+     * @param reader reader to read the capability from
      *
-     * @param capability capability to serialize
+     * @return the read capability
      *
-     * @return a JSONObject representation of the given capability
+     * @throws IllegalArgumentException in case reading failed
      */
     @NonNull
-    private static JSONObject serializeCapability(@NonNull CameraPhotoSettingCore.Capability capability) {
-        try {
-            return new JSONObject()
-                    .put(KEY_MODES, Converter.serializeEnumSet(capability.mModes))
-                    .put(KEY_FORMATS, Converter.serializeEnumSet(capability.mFormats))
-                    .put(KEY_FILE_FORMATS, Converter.serializeEnumSet(capability.mFileFormats))
-                    .put(KEY_HDR, capability.mHdrAvailable);
-        } catch (JSONException e) {
-            throw new AssertionError(e); // never happens
-        }
+    private static CameraPhotoSettingCore.Capability readCapability(@NonNull CompactEncoding.Reader reader) {
+        return CameraPhotoSettingCore.Capability.of(
+                reader.readEnumSet(CameraPhoto.Mode.class),
+                reader.readEnumSet(CameraPhoto.Format.class),
+                reader.readEnumSet(CameraPhoto.FileFormat.class),
+                reader.readBoolean());
+    }
+
+    /**
+     * Writes a {@code CameraPhotoSettingCore.Capability} in compact format.
+     *
+     * @param writer     writer to write the capability to
+     * @param capability capability to write
+     */
+    private static void writeCapability(@NonNull CompactEncoding.Writer writer,
+                                        @NonNull CameraPhotoSettingCore.Capability capability) {
+        writer.writeEnumSet(capability.mModes, CameraPhoto.Mode.class)
+              .writeEnumSet(capability.mFormats, CameraPhoto.Format.class)
+              .writeEnumSet(capability.mFileFormats, CameraPhoto.FileFormat.class)
+              .writeBoolean(capability.mHdrAvailable);
     }
 }
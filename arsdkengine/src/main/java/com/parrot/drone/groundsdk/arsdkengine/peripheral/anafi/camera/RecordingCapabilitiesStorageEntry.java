@@ -34,6 +34,7 @@ package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.camera;
 
 import androidx.annotation.NonNull;
 
+import com.parrot.drone.groundsdk.arsdkengine.persistence.CompactEncoding;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.Converter;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.StorageEntry;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraRecording;
@@ -75,6 +76,11 @@ final class RecordingCapabilitiesStorageEntry extends StorageEntry<Collection<Ca
     @NonNull
     @Override
     protected Collection<CameraRecordingSettingCore.Capability> parse(@NonNull Object serializedObject) {
+        if (serializedObject instanceof String) {
+            return Converter.parseCompactCollection((String) serializedObject, ArrayList::new,
+                    RecordingCapabilitiesStorageEntry::readCapability);
+        }
+        // legacy JSON representation
         return Converter.parseCollection((JSONArray) serializedObject, ArrayList::new,
                 RecordingCapabilitiesStorageEntry::parseCapability);
     }
@@ -82,7 +88,14 @@ final class RecordingCapabilitiesStorageEntry extends StorageEntry<Collection<Ca
     @NonNull
     @Override
     protected Object serialize(@NonNull Collection<CameraRecordingSettingCore.Capability> capabilities) {
-        return Converter.serializeCollection(capabilities, RecordingCapabilitiesStorageEntry::serializeCapability);
+        return Converter.serializeCompactCollection(capabilities, RecordingCapabilitiesStorageEntry::writeCapability);
+    }
+
+    @NonNull
+    @Override
+    protected Collection<CameraRecordingSettingCore.Capability> copy(
+            @NonNull Collection<CameraRecordingSettingCore.Capability> capabilities) {
+        return new ArrayList<>(capabilities);
     }
 
     /**
@@ -110,22 +123,34 @@ final class RecordingCapabilitiesStorageEntry extends StorageEntry<Collection<Ca
     }
 
     /**
-     * Serializes a {@code CameraRecordingSettingCore.Capability}.
+     * Reads a {@code CameraRecordingSettingCore.Capability} in compact format.
+     *
+     * @param reader reader to read the capability from
      *
-     * @param capability capability to serialize
+     * @return the read capability
      *
-     * @return a JSONObject representation of the given capability
+     * @throws IllegalArgumentException in case reading failed
      */
     @NonNull
-    private static JSONObject serializeCapability(@NonNull CameraRecordingSettingCore.Capability capability) {
-        try {
-            return new JSONObject()
-                    .put(KEY_MODES, Converter.serializeEnumSet(capability.mModes))
-                    .put(KEY_RESOLUTIONS, Converter.serializeEnumSet(capability.mResolutions))
-                    .put(KEY_FRAMERATES, Converter.serializeEnumSet(capability.mFramerates))
-                    .put(KEY_HDR, capability.mHdrAvailable);
-        } catch (JSONException e) {
-            throw new AssertionError(e); // never happens
-        }
+    private static CameraRecordingSettingCore.Capability readCapability(@NonNull CompactEncoding.Reader reader) {
+        return CameraRecordingSettingCore.Capability.of(
+                reader.readEnumSet(CameraRecording.Mode.class),
+                reader.readEnumSet(CameraRecording.Resolution.class),
+                reader.readEnumSet(CameraRecording.Framerate.class),
+                reader.readBoolean());
+    }
+
+    /**
+     * Writes a {@code CameraRecordingSettingCore.Capability} in compact format.
+     *
+     * @param writer     writer to write the capability to
+     * @param capability capability to write
+     */
+    private static void writeCapability(@NonNull CompactEncoding.Writer writer,
+                                        @NonNull CameraRecordingSettingCore.Capability capability) {
+        writer.writeEnumSet(capability.mModes, CameraRecording.Mode.class)
+              .writeEnumSet(capability.mResolutions, CameraRecording.Resolution.class)
+              .writeEnumSet(capability.mFramerates, CameraRecording.Framerate.class)
+              .writeBoolean(capability.mHdrAvailable);
     }
 }
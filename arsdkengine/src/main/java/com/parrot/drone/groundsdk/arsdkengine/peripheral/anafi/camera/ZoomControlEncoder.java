@@ -35,6 +35,7 @@ package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.camera;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.common.ControlCoalescer;
 import com.parrot.drone.groundsdk.device.peripheral.camera.CameraZoom;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkNoAckCmdEncoder;
@@ -71,6 +72,13 @@ final class ZoomControlEncoder implements ArsdkNoAckCmdEncoder {
     /** Requested target. Access from main and pomp thread, under {@link ZoomControlEncoder} instance lock. */
     private double mTarget;
 
+    /**
+     * Coalesces zoom targets and throttles emission. Access from main and pomp thread, under
+     * {@link ZoomControlEncoder} instance lock, except for emission tick accounting which is done on pomp thread.
+     */
+    @NonNull
+    private final ControlCoalescer mCoalescer;
+
     /** Latest sent control mode. Accessed only from pomp thread. */
     @NonNull
     private CameraZoom.ControlMode mLatestControlMode;
@@ -89,16 +97,22 @@ final class ZoomControlEncoder implements ArsdkNoAckCmdEncoder {
     ZoomControlEncoder(@NonNull CommandEncoder encoder) {
         mEncoder = encoder;
         mControlMode = mLatestControlMode = CameraZoom.ControlMode.LEVEL;
+        mCoalescer = new ControlCoalescer();
     }
 
     @Override
     @Nullable
     public ArsdkCommand encodeNoAckCmd() {
+        if (!mCoalescer.isEmissionTick()) {
+            return null;
+        }
+
         CameraZoom.ControlMode controlMode;
         double target;
         synchronized (this) {
             controlMode = mControlMode;
             target = mTarget;
+            mCoalescer.onTargetConsumed();
         }
 
         // if control has changed or target has changed
@@ -119,17 +133,52 @@ final class ZoomControlEncoder implements ArsdkNoAckCmdEncoder {
 
     /**
      * Controls the zoom.
+     * <p>
+     * Only the latest target is sent on the next emission tick; targets that are superseded before being sent are
+     * accounted as {@link #getDroppedCount() dropped}.
      *
      * @param mode   control mode
      * @param target the target to use
      */
     void control(@NonNull CameraZoom.ControlMode mode, double target) {
         synchronized (this) {
+            if (mode != mControlMode || Double.compare(target, mTarget) != 0) {
+                mCoalescer.onTargetUpdated();
+            }
             mControlMode = mode;
             mTarget = target;
         }
     }
 
+    /**
+     * Configures zoom control command emission cadence.
+     *
+     * @param emissionPeriod minimal period between two zoom control commands, in milliseconds; {@code 0} to send a
+     *                       command on each loop tick
+     * @param loopPeriod     non-acknowledged command loop period, in milliseconds
+     */
+    void setEmissionPeriod(int emissionPeriod, int loopPeriod) {
+        mCoalescer.setEmissionPeriod(emissionPeriod, loopPeriod);
+    }
+
+    /**
+     * Gives the total number of zoom targets submitted since the latest reset.
+     *
+     * @return submitted zoom target count
+     */
+    synchronized long getUpdateCount() {
+        return mCoalescer.getUpdateCount();
+    }
+
+    /**
+     * Gives the number of zoom targets that were superseded before being sent, since the latest reset.
+     *
+     * @return dropped zoom target count
+     */
+    synchronized long getDroppedCount() {
+        return mCoalescer.getDroppedCount();
+    }
+
     /**
      * Resets the encoder.
      * <p>
@@ -139,5 +188,8 @@ final class ZoomControlEncoder implements ArsdkNoAckCmdEncoder {
         // we allow to modify this var outside of the pomp loop without synchronizing it because we just don't
         // want to send data anymore.
         mRepetitions = 0;
+        synchronized (this) {
+            mCoalescer.reset();
+        }
     }
 }
@@ -41,12 +41,18 @@ import com.parrot.drone.groundsdk.arsdkengine.http.HttpPudInfo;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.PeripheralController;
 import com.parrot.drone.groundsdk.device.peripheral.FlightDataDownloader;
 import com.parrot.drone.groundsdk.internal.device.peripheral.FlightDataDownloaderCore;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_FLIGHTDATA;
 
 /** FlightDataDownloader peripheral controller for Anafi family drones. */
 public final class AnafiFlightDataDownloader extends PeripheralController<DeviceController<?>> {
@@ -155,7 +161,20 @@ public final class AnafiFlightDataDownloader extends PeripheralController<Device
             String name = pud.getName();
             assert url != null && name != null;
             File dest = new File(mStorage.getWorkDir(), name);
-            mHttpClient.downloadPud(url, dest, PudAdapter::adapt, (status, code) -> {
+            // summary is computed and saved in background while adapting, then notified along with the file
+            AtomicReference<FlightDataSummaryCore> summary = new AtomicReference<>();
+            mHttpClient.downloadPud(url, dest, (input, output) -> {
+                FlightDataSummaryCore adapted = PudAdapter.adapt(input, output);
+                // summary is optional, failing to save it must not fail the download
+                try {
+                    adapted.save(dest);
+                    summary.set(adapted);
+                } catch (IOException e) {
+                    if (ULog.w(TAG_FLIGHTDATA)) {
+                        ULog.w(TAG_FLIGHTDATA, "Failed to save flight data summary [file: " + dest + "]", e);
+                    }
+                }
+            }, (status, code) -> {
                 if (status == HttpRequest.Status.CANCELED) {
                     mDownloader.updateDownloadingFlag(false)
                                .updateCompletionStatus(FlightDataDownloader.CompletionStatus.INTERRUPTED)
@@ -164,7 +183,7 @@ public final class AnafiFlightDataDownloader extends PeripheralController<Device
                     if (status == HttpRequest.Status.SUCCESS) {
                         mDownloadedCount++;
                         mDownloader.updateDownloadedCount(mDownloadedCount);
-                        mStorage.notifyFlightDataFileReady(dest);
+                        mStorage.notifyFlightDataFileReady(dest, summary.get());
                     }
                     // delete this pud
                     mHttpClient.deletePud(name, HttpRequest.StatusCallback.IGNORE);
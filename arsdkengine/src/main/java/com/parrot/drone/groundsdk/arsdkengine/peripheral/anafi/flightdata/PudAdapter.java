@@ -39,7 +39,6 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
@@ -47,8 +46,12 @@ import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonWriter;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
@@ -56,16 +59,20 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
-import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_FLIGHTDATA;
+
 /**
  * Adapts PUD received from the drone in their JSON/binary format, to the JSON format suitable for upload on server.
  */
@@ -75,14 +82,20 @@ final class PudAdapter {
      * Adapts PUD in JSON/binary format to FlightData full JSON format.
      * <p>
      * Caller is responsible to close both streams and in particular to flush the output before consumption.
+     * <p>
+     * This also computes a summary of the flight from the data collected while adapting, so that the flight can be
+     * listed without parsing the adapted output again.
      *
      * @param from input stream to read PUD from
      * @param to   output stream to write FlightData to
      *
+     * @return the flight summary, not bound to any file yet
+     *
      * @throws IOException in case adapting failed
      */
-    static void adapt(@NonNull InputStream from, @NonNull OutputStream to) throws IOException {
-        new PudAdapter(from, to).adapt();
+    @NonNull
+    static FlightDataSummaryCore adapt(@NonNull InputStream from, @NonNull OutputStream to) throws IOException {
+        return new PudAdapter(from, to).adapt();
     }
 
     /** Interval between two 'time' infos, over which the rest of binary data is considered invalid and dropped. */
@@ -92,6 +105,9 @@ final class PudAdapter {
     /** Marker value used when some time info is not known yet. */
     private static final long TIME_UNKNOWN = -1;
 
+    /** Format of the {@code date} field in {@link #mHeader}. */
+    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HHmmssZ";
+
     /** Name for the columns description field in both input {@link #mHeader} and output JSON. */
     private static final String COLUMNS_DESCRIPTION_TAG = "details_headers";
 
@@ -114,9 +130,13 @@ final class PudAdapter {
     @NonNull
     private final JsonObject mHeader;
 
-    /** Columns type descriptors, parsed from {@link #mHeader}. */
+    /** Binary data columns, in line order, built from the column descriptors parsed from {@link #mHeader}. */
+    @NonNull
+    private Column[] mColumns;
+
+    /** Receives the binary data of the line being parsed, reused for all lines. */
     @NonNull
-    private final List<ColumnDescriptor> mDescriptors;
+    private ByteBuffer mLine;
 
     /** Latest alert state parsed from input binary data. {@code null} if none. Used to compute {@link #mAlertCount}. */
     @Nullable
@@ -137,13 +157,21 @@ final class PudAdapter {
     /** Device GPS availability, parsed from input binary data. */
     private boolean mGpsAvailable;
 
-    /** First meaningful device location parsed from binary data. */
-    @Nullable
-    private Location mFirstDeviceLocation;
+    /** First meaningful device location parsed from binary data. Invalid until such a location is parsed. */
+    @NonNull
+    private final Location mFirstDeviceLocation;
 
     /** Latest meaningful controller location parsed from binary data. */
     @NonNull
-    private Location mLatestControllerLocation;
+    private final Location mLatestControllerLocation;
+
+    /** Device location as read in the line being parsed. */
+    @NonNull
+    private final Location mLineDeviceLocation;
+
+    /** Controller location as read in the line being parsed. */
+    @NonNull
+    private final Location mLineControllerLocation;
 
     /**
      * Constructor.
@@ -154,16 +182,20 @@ final class PudAdapter {
      * @throws IOException in case parsing input header failed
      */
     private PudAdapter(@NonNull InputStream input, @NonNull OutputStream output) throws IOException {
-        mInput = input;
-        mWriter = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        mInput = new BufferedInputStream(input);
+        mWriter = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
         mGson = new Gson();
-        mDescriptors = new ArrayList<>();
+        mColumns = new Column[0];
+        mLine = ByteBuffer.allocate(0);
+        mFirstDeviceLocation = new Location();
         mLatestControllerLocation = new Location();
+        mLineDeviceLocation = new Location();
+        mLineControllerLocation = new Location();
         mFlightStartTime = TIME_UNKNOWN;
 
         ByteArrayOutputStream headerBuffer = new ByteArrayOutputStream();
         int readByte;
-        while ((readByte = input.read()) > 0) { // read until EOF or first null separator marking end of JSON header
+        while ((readByte = mInput.read()) > 0) { // read until EOF or first null separator marking end of JSON header
             headerBuffer.write(readByte);
         }
 
@@ -177,9 +209,12 @@ final class PudAdapter {
     /**
      * Parses input PUD and adapts it to FlightData output.
      *
+     * @return the flight summary
+     *
      * @throws IOException in case parsing failed
      */
-    private void adapt() throws IOException {
+    @NonNull
+    private FlightDataSummaryCore adapt() throws IOException {
         // being output JSON object
         mWriter.beginObject();
 
@@ -193,7 +228,7 @@ final class PudAdapter {
         mHeader.addProperty("run_time", mFlyingTime);
         mHeader.addProperty("gps_available", mGpsAvailable);
 
-        Location location = mFirstDeviceLocation == null ? mLatestControllerLocation : mFirstDeviceLocation;
+        Location location = mFirstDeviceLocation.isValid() ? mFirstDeviceLocation : mLatestControllerLocation;
         mHeader.addProperty("gps_latitude", location.latitude);
         mHeader.addProperty("gps_longitude", location.longitude);
 
@@ -209,6 +244,45 @@ final class PudAdapter {
         // end output JSON object
         mWriter.endObject();
         mWriter.flush();
+
+        return new FlightDataSummaryCore(headerString("serial_number"), parseDate(headerString("date")), mLatestTime,
+                mFlyingTime, mAlertCount, mGpsAvailable, location.isValid(), location.latitude, location.longitude);
+    }
+
+    /**
+     * Retrieves a string property from {@link #mHeader}.
+     *
+     * @param name property name
+     *
+     * @return property value, {@code null} if absent or not a string
+     */
+    @Nullable
+    private String headerString(@NonNull String name) {
+        JsonElement element = mHeader.get(name);
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isString() ?
+                element.getAsString() : null;
+    }
+
+    /**
+     * Parses the flight date from the PUD header.
+     *
+     * @param date date, as found in the PUD header
+     *
+     * @return flight date in milliseconds since epoch, or {@code 0} if {@code date} is absent or malformed
+     */
+    private static long parseDate(@Nullable String date) {
+        if (date == null) {
+            return 0;
+        }
+        try {
+            Date parsed = new SimpleDateFormat(DATE_FORMAT, Locale.ROOT).parse(date);
+            return parsed == null ? 0 : parsed.getTime();
+        } catch (ParseException e) {
+            if (ULog.w(TAG_FLIGHTDATA)) {
+                ULog.w(TAG_FLIGHTDATA, "Malformed PUD date: " + date, e);
+            }
+            return 0;
+        }
     }
 
     /**
@@ -216,6 +290,9 @@ final class PudAdapter {
      * <p>
      * Note that descriptor without type pass validation, but they are not written to output and the corresponding field
      * in binary data won't be parsed and written to output.
+     * <p>
+     * This also builds the column table used to parse binary data lines, which locates each field in a line and tells
+     * how it must be processed.
      *
      * @throws IOException in case parsing failed
      */
@@ -234,7 +311,9 @@ final class PudAdapter {
             throw new IOException("Empty columns description");
         }
 
-        for (int i = 0, N = descriptors.size(); i < N; i++) {
+        Column[] columns = new Column[descriptors.size()];
+        int lineSize = 0;
+        for (int i = 0; i < columns.length; i++) {
             ColumnDescriptor descriptor = descriptors.get(i);
             if (descriptor == null) {
                 throw new IOException("Null column " + i + " descriptor");
@@ -242,15 +321,20 @@ final class PudAdapter {
             if (descriptor.getSize() <= 0) {
                 throw new IOException("Invalid column " + i + " descriptor size");
             }
-            if (TextUtils.isEmpty(descriptor.getName())) {
+            String name = descriptor.getName();
+            if (TextUtils.isEmpty(name)) {
                 throw new IOException("Invalid column " + i + " descriptor name");
             }
+            assert name != null;
             if (descriptor.getType() != null) { // add to final column description only if the type is known
-                mWriter.value(descriptor.getName());
+                mWriter.value(name);
             }
             // but keep track of it anyway in order to skip binary value during parsing
-            mDescriptors.add(descriptor);
+            columns[i] = new Column(descriptor, Column.Role.of(name), lineSize);
+            lineSize += descriptor.getSize();
         }
+        mColumns = columns;
+        mLine = ByteBuffer.allocate(lineSize).order(ByteOrder.LITTLE_ENDIAN);
 
         // write speed descriptor name
         mWriter.value("speed");
@@ -268,6 +352,10 @@ final class PudAdapter {
      * @throws IOException in case parsing failed
      */
     private void adaptBinaryData() throws IOException {
+        // data lines are written with the same settings GSON applies when serializing JSON elements
+        mWriter.setHtmlSafe(true);
+        mWriter.setLenient(true);
+
         // begin output data lines array
         mWriter.name("details_data").beginArray();
 
@@ -289,107 +377,96 @@ final class PudAdapter {
     /**
      * Parses the next binary data line and writes it, properly adapted, to JSON output.
      * <p>
-     * In case of EOF during line parsing, then the line is dropped, and this method returns {@code false} so that
-     * parsing stops.
+     * Fields are read and processed one at a time into the line buffer; the line is only written once it has been
+     * entirely read. In case of EOF during line parsing, then the line is dropped, and this method returns
+     * {@code false} so that parsing stops.
      *
      * @return {@code true} if parsing may proceed with the next line, otherwise {@code false}
      *
      * @throws IOException in case parsing failed.
      */
     private boolean adaptNextBinaryLine() throws IOException {
-        // Keeps track of device latitude & longitude as read in line.
-        Location deviceLocation = new Location();
-
-        // Keeps track of controller latitude & longitude as read in line.
-        Location controllerLocation = new Location();
-
-        // Keeps track of time as read in line
-        long time = TIME_UNKNOWN;
+        mLineDeviceLocation.reset();
+        mLineControllerLocation.reset();
 
         // will contain the sum of squared speeds from all axis read in line.
         double speedSquare = 0;
 
-        // JSON data line to write once parsing is successful.
-        JsonArray lineToWrite = new JsonArray();
-
         try {
-            for (ColumnDescriptor descriptor : mDescriptors) {
-                byte[] fieldData = descriptor.readNextField(mInput);
-
-                assert descriptor.getName() != null; // validated when mDescriptors is built
-                switch (descriptor.getName()) {
-                    case "time":
-                        time = descriptor.parseAsInt(fieldData);
+            for (Column column : mColumns) {
+                column.read(mInput, mLine);
+
+                switch (column.mRole) {
+                    case TIME:
+                        long time = column.parseAsInt(mLine);
+                        if (time != TIME_UNKNOWN) {
+                            if (time < mLatestTime || time > mLatestTime + MAX_TIME_INTERVAL) {
+                                return false; // stop parsing if time is incoherent
+                            }
+                            mLatestTime = time;
+                        }
                         break;
-                    case "speed_vx":
-                    case "speed_vy":
-                    case "speed_vz":
-                        speedSquare += Math.pow(descriptor.parseAsNumber(fieldData).doubleValue(), 2);
+                    case SPEED:
+                        speedSquare += Math.pow(column.parseAsNumber(mLine), 2);
                         break;
-                    case "product_gps_available":
-                        mGpsAvailable |= descriptor.parseAsBoolean(fieldData);
+                    case GPS_AVAILABLE:
+                        mGpsAvailable |= column.parseAsBoolean(mLine);
                         break;
-                    case "product_gps_latitude":
-                        deviceLocation.latitude = descriptor.parseAsDouble(fieldData);
+                    case DEVICE_LATITUDE:
+                        mLineDeviceLocation.latitude = column.parseAsDouble(mLine);
                         break;
-                    case "product_gps_longitude":
-                        deviceLocation.longitude = descriptor.parseAsDouble(fieldData);
+                    case DEVICE_LONGITUDE:
+                        mLineDeviceLocation.longitude = column.parseAsDouble(mLine);
                         break;
-                    case "controller_gps_latitude":
-                        controllerLocation.latitude = descriptor.parseAsDouble(fieldData);
+                    case CONTROLLER_LATITUDE:
+                        mLineControllerLocation.latitude = column.parseAsDouble(mLine);
                         break;
-                    case "controller_gps_longitude":
-                        controllerLocation.longitude = descriptor.parseAsDouble(fieldData);
+                    case CONTROLLER_LONGITUDE:
+                        mLineControllerLocation.longitude = column.parseAsDouble(mLine);
                         break;
-                    case "alert_state":
+                    case ALERT_STATE:
                         ArsdkFeatureArdrone3.PilotingstateAlertstatechangedState alert =
                                 ArsdkFeatureArdrone3.PilotingstateAlertstatechangedState.fromValue(
-                                        descriptor.parseAsInt(fieldData));
+                                        column.parseAsInt(mLine));
                         if (alert != null) {
                             processAlertState(alert);
                         }
                         break;
-                    case "flying_state":
+                    case FLYING_STATE:
                         ArsdkFeatureArdrone3.PilotingstateFlyingstatechangedState state =
                                 ArsdkFeatureArdrone3.PilotingstateFlyingstatechangedState.fromValue(
-                                        descriptor.parseAsInt(fieldData));
+                                        column.parseAsInt(mLine));
                         if (state != null) {
                             processFlyingState(state);
                         }
                         break;
+                    case NONE:
+                        break;
                 }
-
-                // update latest time
-                if (time != TIME_UNKNOWN) {
-                    if (time < mLatestTime || time > mLatestTime + MAX_TIME_INTERVAL) {
-                        return false; // stop parsing if time is incoherent
-                    }
-                    mLatestTime = time;
-                }
-
-                // write data
-                descriptor.appendData(fieldData, lineToWrite);
-            }
-
-            // update known device and controller location
-            if (controllerLocation.isValid()) {
-                mLatestControllerLocation = controllerLocation;
-            }
-            if (mFirstDeviceLocation == null && deviceLocation.isValid()) {
-                mFirstDeviceLocation = deviceLocation;
             }
-
-            // write computed speed value
-            lineToWrite.add(Math.sqrt(speedSquare));
-
-            // write line data array
-            mGson.toJson(lineToWrite, mWriter);
-
-            return true;
         } catch (EOFException e) {
             // could not parse line entirely, drop it and stop parsing
             return false;
         }
+
+        // update known device and controller location
+        if (mLineControllerLocation.isValid()) {
+            mLatestControllerLocation.set(mLineControllerLocation);
+        }
+        if (!mFirstDeviceLocation.isValid() && mLineDeviceLocation.isValid()) {
+            mFirstDeviceLocation.set(mLineDeviceLocation);
+        }
+
+        // write line data array
+        mWriter.beginArray();
+        for (Column column : mColumns) {
+            column.write(mLine, mWriter);
+        }
+        // write computed speed value
+        mWriter.value(Math.sqrt(speedSquare));
+        mWriter.endArray();
+
+        return true;
     }
 
     /**
@@ -447,89 +524,6 @@ final class PudAdapter {
         }
     }
 
-    /**
-     * Parses data as an UTF-8 string.
-     *
-     * @param data data to parse
-     *
-     * @return string representation of the given data
-     */
-    @NonNull
-    private static String parseString(@NonNull byte[] data) {
-        return new String(data, StandardCharsets.UTF_8);
-    }
-
-    /**
-     * Parses data as an integer.
-     *
-     * @param data data to parse
-     *
-     * @return integer representation of the given data
-     *
-     * @throws IOException in case the given data cannot be parsed to an integer
-     */
-    private static int parseInt(@NonNull byte[] data) throws IOException {
-        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
-        if (data.length == 1) {
-            return buffer.get();
-        } else if (data.length == 2) {
-            return buffer.getShort();
-        } else if (data.length == 4) {
-            return buffer.getInt();
-        }
-        throw new IOException("Cannot parse integer: " + Arrays.toString(data));
-    }
-
-    /**
-     * Parses data as a boolean.
-     *
-     * @param data data to parse
-     *
-     * @return boolean representation of the given data
-     *
-     * @throws IOException in case the given data cannot be parsed to a boolean
-     */
-    private static boolean parseBoolean(@NonNull byte[] data) throws IOException {
-        if (data.length > 0) {
-            return data[0] != 0;
-        }
-        throw new IOException("Cannot parse boolean: " + Arrays.toString(data));
-    }
-
-    /**
-     * Parses data as a float.
-     *
-     * @param data data to parse
-     *
-     * @return float representation of the given data
-     *
-     * @throws IOException in case the given data cannot be parsed to a float
-     */
-    private static float parseFloat(@NonNull byte[] data) throws IOException {
-        try {
-            return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).getFloat();
-        } catch (BufferOverflowException e) {
-            throw new IOException(e);
-        }
-    }
-
-    /**
-     * Parses data as a double.
-     *
-     * @param data data to parse
-     *
-     * @return double representation of the given data
-     *
-     * @throws IOException in case the given data cannot be parsed to a double
-     */
-    private static double parseDouble(@NonNull byte[] data) throws IOException {
-        try {
-            return ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).getDouble();
-        } catch (BufferOverflowException e) {
-            throw new IOException(e);
-        }
-    }
-
     /**
      * Data class representing a Location with a latitude and a longitude.
      */
@@ -548,10 +542,27 @@ final class PudAdapter {
          * Constructor.
          */
         Location() {
+            reset();
+        }
+
+        /**
+         * Resets both latitude and longitude to unknown values.
+         */
+        void reset() {
             latitude = COORD_UNKNOWN;
             longitude = COORD_UNKNOWN;
         }
 
+        /**
+         * Copies latitude and longitude from another location.
+         *
+         * @param other location to copy from
+         */
+        void set(@NonNull Location other) {
+            latitude = other.latitude;
+            longitude = other.longitude;
+        }
+
         /**
          * Tells whether the location data is valid, i.e. that both latitude and longitude have meaningful values
          *
@@ -636,93 +647,200 @@ final class PudAdapter {
         int getSize() {
             return mSize;
         }
+    }
+
+    /**
+     * A binary data column, built once from a validated {@link ColumnDescriptor}.
+     * <p>
+     * Locates the column field in a binary data line and tells how this field is processed.
+     */
+    private static final class Column {
+
+        /** Specific processing applied to a column field, determined from the column name. */
+        enum Role {
+
+            /** Field is only written to output. */
+            NONE,
+
+            /** Field is the line time, column {@code time}. */
+            TIME,
+
+            /** Field is a speed component, columns {@code speed_vx}, {@code speed_vy} and {@code speed_vz}. */
+            SPEED,
+
+            /** Field is the device GPS availability, column {@code product_gps_available}. */
+            GPS_AVAILABLE,
+
+            /** Field is the device latitude, column {@code product_gps_latitude}. */
+            DEVICE_LATITUDE,
+
+            /** Field is the device longitude, column {@code product_gps_longitude}. */
+            DEVICE_LONGITUDE,
+
+            /** Field is the controller latitude, column {@code controller_gps_latitude}. */
+            CONTROLLER_LATITUDE,
+
+            /** Field is the controller longitude, column {@code controller_gps_longitude}. */
+            CONTROLLER_LONGITUDE,
+
+            /** Field is the alert state, column {@code alert_state}. */
+            ALERT_STATE,
+
+            /** Field is the flying state, column {@code flying_state}. */
+            FLYING_STATE;
+
+            /**
+             * Retrieves the role of a column.
+             *
+             * @param name column name
+             *
+             * @return the role of the column
+             */
+            @NonNull
+            static Role of(@NonNull String name) {
+                switch (name) {
+                    case "time":
+                        return TIME;
+                    case "speed_vx":
+                    case "speed_vy":
+                    case "speed_vz":
+                        return SPEED;
+                    case "product_gps_available":
+                        return GPS_AVAILABLE;
+                    case "product_gps_latitude":
+                        return DEVICE_LATITUDE;
+                    case "product_gps_longitude":
+                        return DEVICE_LONGITUDE;
+                    case "controller_gps_latitude":
+                        return CONTROLLER_LATITUDE;
+                    case "controller_gps_longitude":
+                        return CONTROLLER_LONGITUDE;
+                    case "alert_state":
+                        return ALERT_STATE;
+                    case "flying_state":
+                        return FLYING_STATE;
+                }
+                return NONE;
+            }
+        }
+
+        /** Column name. */
+        @NonNull
+        private final String mName;
+
+        /** Column type, {@code null} if unknown, in which case the field is not written to output. */
+        @Nullable
+        private final ColumnDescriptor.Type mType;
+
+        /** Column size, in bytes. */
+        private final int mSize;
+
+        /** Column field offset in a binary data line, in bytes. */
+        private final int mOffset;
+
+        /** Column role. */
+        @NonNull
+        final Role mRole;
 
         /**
-         * Reads the next field corresponding to this descriptor.
+         * Constructor.
          *
-         * @param input input stream to read next field from
+         * @param descriptor validated column descriptor
+         * @param role       column role
+         * @param offset     column field offset in a binary data line, in bytes
+         */
+        Column(@NonNull ColumnDescriptor descriptor, @NonNull Role role, int offset) {
+            assert descriptor.getName() != null; // validated by caller
+            mName = descriptor.getName();
+            mType = descriptor.getType();
+            mSize = descriptor.getSize();
+            mOffset = offset;
+            mRole = role;
+        }
+
+        /**
+         * Reads this column field from input into the line buffer.
          *
-         * @return a byte array containing field data
+         * @param input input stream to read field from
+         * @param line  line buffer to read field into
          *
          * @throws IOException  in case reading failed
          * @throws EOFException in case the end of stream is reached
          */
-        @NonNull
-        byte[] readNextField(@NonNull InputStream input) throws IOException {
-            // read column data
-            byte[] data = new byte[mSize];
-            int remaining = data.length;
+        void read(@NonNull InputStream input, @NonNull ByteBuffer line) throws IOException {
+            byte[] data = line.array();
+            int end = mOffset + mSize;
+            int remaining = mSize;
             while (remaining > 0) {
-                int read = input.read(data, data.length - remaining, remaining);
+                int read = input.read(data, end - remaining, remaining);
                 if (read == -1) {
                     throw new EOFException("Binary data underflow");
                 }
                 remaining -= read;
             }
-            return data;
         }
 
         /**
-         * Parses data as an integer.
+         * Parses this column field as an integer.
          *
-         * @param data data to parse
+         * @param line line buffer containing the field
          *
-         * @return integer representation of the given data
+         * @return integer representation of the field
          *
-         * @throws IOException in case this descriptor type is not {@link Type#INTEGER}
+         * @throws IOException in case this column type is not {@link ColumnDescriptor.Type#INTEGER}
          */
-        int parseAsInt(@NonNull byte[] data) throws IOException {
-            checkType(Type.INTEGER);
-            return parseInt(data);
+        int parseAsInt(@NonNull ByteBuffer line) throws IOException {
+            checkType(ColumnDescriptor.Type.INTEGER);
+            return parseInt(line);
         }
 
         /**
-         * Parses data as a boolean.
+         * Parses this column field as a boolean.
          *
-         * @param data data to parse
+         * @param line line buffer containing the field
          *
-         * @return boolean representation of the given data
+         * @return boolean representation of the field
          *
-         * @throws IOException in case this descriptor type is not {@link Type#BOOLEAN}
+         * @throws IOException in case this column type is not {@link ColumnDescriptor.Type#BOOLEAN}
          */
-        boolean parseAsBoolean(@NonNull byte[] data) throws IOException {
-            checkType(Type.BOOLEAN);
-            return parseBoolean(data);
+        boolean parseAsBoolean(@NonNull ByteBuffer line) throws IOException {
+            checkType(ColumnDescriptor.Type.BOOLEAN);
+            return parseBoolean(line);
         }
 
         /**
-         * Parses data as a double.
+         * Parses this column field as a double.
          *
-         * @param data data to parse
+         * @param line line buffer containing the field
          *
-         * @return double representation of the given data
+         * @return double representation of the field
          *
-         * @throws IOException in case this descriptor type is not {@link Type#DOUBLE}
+         * @throws IOException in case this column type is not {@link ColumnDescriptor.Type#DOUBLE}
          */
-        double parseAsDouble(@NonNull byte[] data) throws IOException {
-            checkType(Type.DOUBLE);
-            return parseDouble(data);
+        double parseAsDouble(@NonNull ByteBuffer line) throws IOException {
+            checkType(ColumnDescriptor.Type.DOUBLE);
+            return parseDouble(line);
         }
 
         /**
-         * Parses data as any kind of number.
+         * Parses this column field as any kind of number.
          * <p>
-         * This method supports parsing any of {@link Type#INTEGER}, {@link Type#FLOAT} or {@link Type#DOUBLE}.
+         * This method supports parsing any of {@link ColumnDescriptor.Type#INTEGER},
+         * {@link ColumnDescriptor.Type#FLOAT} or {@link ColumnDescriptor.Type#DOUBLE}.
          *
-         * @param data data to parse
+         * @param line line buffer containing the field
          *
-         * @return Number representation of the given data
+         * @return double representation of the field
          *
-         * @throws IOException in case this descriptor type is not {@link Type#FLOAT}
+         * @throws IOException in case this column type is not a number type
          */
-        @NonNull
-        Number parseAsNumber(@NonNull byte[] data) throws IOException {
-            if (mType == Type.INTEGER) {
-                return parseInt(data);
-            } else if (mType == Type.FLOAT) {
-                return parseFloat(data);
-            } else if (mType == Type.DOUBLE) {
-                return parseDouble(data);
+        double parseAsNumber(@NonNull ByteBuffer line) throws IOException {
+            if (mType == ColumnDescriptor.Type.INTEGER) {
+                return parseInt(line);
+            } else if (mType == ColumnDescriptor.Type.FLOAT) {
+                return parseFloat(line);
+            } else if (mType == ColumnDescriptor.Type.DOUBLE) {
+                return parseDouble(line);
             } else {
                 throw new IOException("Cannot parse field [name: " + mName + ", size:" + mSize + ", type: " + mType
                                       + "] as number");
@@ -730,47 +848,112 @@ final class PudAdapter {
         }
 
         /**
-         * Checks this descriptor type against a specific type.
-         *
-         * @param type type to check against
-         *
-         * @throws IOException in case this descriptor is not of the specified type
-         */
-        private void checkType(@NonNull Type type) throws IOException {
-            if (mType != type) {
-                throw new IOException("Cannot parse field [name: " + mName + ", size:" + mSize + ", type: " + mType
-                                      + "] as " + type.name());
-            }
-        }
-
-        /**
-         * Adapts raw data to this descriptor format and appends it to a JSON array.
+         * Adapts this column field to the column format and writes it to JSON output.
          *
-         * @param data  data to adapt
-         * @param array JSON array to add adapted data to
+         * @param line   line buffer containing the field
+         * @param writer JSON writer to write adapted field to
          *
-         * @throws IOException in case data cannot be adapted to this descriptor format
+         * @throws IOException in case the field cannot be adapted to this column format
          */
-        void appendData(@NonNull byte[] data, @NonNull JsonArray array) throws IOException {
+        void write(@NonNull ByteBuffer line, @NonNull JsonWriter writer) throws IOException {
             if (mType != null) { // otherwise field data is not written (column is ignored)
                 switch (mType) {
                     case STRING:
-                        array.add(parseString(data));
+                        writer.value(new String(line.array(), mOffset, mSize, StandardCharsets.UTF_8));
                         break;
                     case INTEGER:
-                        array.add(parseInt(data));
+                        writer.value(parseInt(line));
                         break;
                     case BOOLEAN:
-                        array.add(parseBoolean(data));
+                        writer.value(parseBoolean(line));
                         break;
                     case FLOAT:
-                        array.add(parseFloat(data));
+                        // written as a Float so that formatting matches Float.toString
+                        writer.value(Float.valueOf(parseFloat(line)));
                         break;
                     case DOUBLE:
-                        array.add(parseDouble(data));
+                        writer.value(parseDouble(line));
                         break;
                 }
             }
         }
+
+        /**
+         * Checks this column type against a specific type.
+         *
+         * @param type type to check against
+         *
+         * @throws IOException in case this column is not of the specified type
+         */
+        private void checkType(@NonNull ColumnDescriptor.Type type) throws IOException {
+            if (mType != type) {
+                throw new IOException("Cannot parse field [name: " + mName + ", size:" + mSize + ", type: " + mType
+                                      + "] as " + type.name());
+            }
+        }
+
+        /**
+         * Parses this column field as an integer, regardless of the column type.
+         *
+         * @param line line buffer containing the field
+         *
+         * @return integer representation of the field
+         *
+         * @throws IOException in case the field size does not fit an integer
+         */
+        private int parseInt(@NonNull ByteBuffer line) throws IOException {
+            if (mSize == 1) {
+                return line.get(mOffset);
+            } else if (mSize == 2) {
+                return line.getShort(mOffset);
+            } else if (mSize == 4) {
+                return line.getInt(mOffset);
+            }
+            throw new IOException("Cannot parse integer: "
+                                  + Arrays.toString(Arrays.copyOfRange(line.array(), mOffset, mOffset + mSize)));
+        }
+
+        /**
+         * Parses this column field as a boolean, regardless of the column type.
+         *
+         * @param line line buffer containing the field
+         *
+         * @return boolean representation of the field
+         */
+        private boolean parseBoolean(@NonNull ByteBuffer line) {
+            return line.get(mOffset) != 0;
+        }
+
+        /**
+         * Parses this column field as a float, regardless of the column type.
+         *
+         * @param line line buffer containing the field
+         *
+         * @return float representation of the field
+         *
+         * @throws IOException in case the field is too small to contain a float
+         */
+        private float parseFloat(@NonNull ByteBuffer line) throws IOException {
+            if (mSize < Float.BYTES) {
+                throw new IOException("Cannot parse float from " + mSize + " bytes");
+            }
+            return line.getFloat(mOffset);
+        }
+
+        /**
+         * Parses this column field as a double, regardless of the column type.
+         *
+         * @param line line buffer containing the field
+         *
+         * @return double representation of the field
+         *
+         * @throws IOException in case the field is too small to contain a double
+         */
+        private double parseDouble(@NonNull ByteBuffer line) throws IOException {
+            if (mSize < Double.BYTES) {
+                throw new IOException("Cannot parse double from " + mSize + " bytes");
+            }
+            return line.getDouble(mOffset);
+        }
     }
 }
@@ -42,6 +42,7 @@ import com.parrot.drone.groundsdk.arsdkengine.persistence.PersistentStore;
 import com.parrot.drone.groundsdk.arsdkengine.persistence.StorageEntry;
 import com.parrot.drone.groundsdk.device.peripheral.Gimbal;
 import com.parrot.drone.groundsdk.device.peripheral.Gimbal.Axis;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.peripheral.GimbalCore;
 import com.parrot.drone.groundsdk.value.DoubleRange;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGimbal;
@@ -49,6 +50,7 @@ import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGimbal.FrameOfReference;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.stream.Collectors;
@@ -115,21 +117,21 @@ public final class AnafiGimbal extends DronePeripheralController {
     @NonNull
     private final EnumSet<Axis> mPendingStabilizationChanges;
 
-    /** Absolute attitude by axis. */
+    /** Absolute attitude, indexed by axis ordinal. Only meaningful once attitude has been received. */
     @NonNull
-    private final EnumMap<Axis, Double> mAbsoluteAttitude;
+    private final double[] mAbsoluteAttitude;
 
-    /** Relative attitude by axis. */
+    /** Relative attitude, indexed by axis ordinal. Only meaningful once attitude has been received. */
     @NonNull
-    private final EnumMap<Axis, Double> mRelativeAttitude;
+    private final double[] mRelativeAttitude;
 
     /** Absolute attitude bounds by axis. */
     @NonNull
-    private final EnumMap<Axis, DoubleRange> mAbsoluteAttitudeBounds;
+    private final AttitudeBounds mAbsoluteAttitudeBounds;
 
     /** Relative attitude bounds by axis. */
     @NonNull
-    private final EnumMap<Axis, DoubleRange> mRelativeAttitudeBounds;
+    private final AttitudeBounds mRelativeAttitudeBounds;
 
     /** Offset setting value by axis. */
     @NonNull
@@ -152,10 +154,10 @@ public final class AnafiGimbal extends DronePeripheralController {
 
         mMaxSpeeds = new EnumMap<>(Axis.class);
         mPendingStabilizationChanges = EnumSet.noneOf(Axis.class);
-        mAbsoluteAttitude = new EnumMap<>(Axis.class);
-        mRelativeAttitude = new EnumMap<>(Axis.class);
-        mAbsoluteAttitudeBounds = new EnumMap<>(Axis.class);
-        mRelativeAttitudeBounds = new EnumMap<>(Axis.class);
+        mAbsoluteAttitude = new double[Axis.values().length];
+        mRelativeAttitude = new double[Axis.values().length];
+        mAbsoluteAttitudeBounds = new AttitudeBounds();
+        mRelativeAttitudeBounds = new AttitudeBounds();
         mOffsets = new EnumMap<>(Axis.class);
 
         loadPersistedData();
@@ -168,6 +170,8 @@ public final class AnafiGimbal extends DronePeripheralController {
     protected void onConnected() {
         applyPresets();
 
+        mGimbalControlEncoder.setEmissionPeriod(GroundSdkConfig.get().getControlEmissionPeriod(),
+                mDeviceController.getNoAckLoopPeriod());
         DeviceController.Backend backend = mDeviceController.getProtocolBackend();
         if (backend != null) {
             backend.registerNoAckCommandEncoders(mGimbalControlEncoder);
@@ -192,8 +196,8 @@ public final class AnafiGimbal extends DronePeripheralController {
         }
 
         mPendingStabilizationChanges.clear();
-        mAbsoluteAttitude.clear();
-        mRelativeAttitude.clear();
+        Arrays.fill(mAbsoluteAttitude, 0);
+        Arrays.fill(mRelativeAttitude, 0);
         mRelativeAttitudeBounds.clear();
         mOffsets.clear();
         mAttitudeReceived = false;
@@ -202,6 +206,10 @@ public final class AnafiGimbal extends DronePeripheralController {
         if (backend != null) {
             backend.unregisterNoAckCommandEncoders(mGimbalControlEncoder);
         }
+        if (ULog.d(TAG)) {
+            ULog.d(TAG, "Gimbal control targets: " + mGimbalControlEncoder.getUpdateCount() + " submitted, "
+                        + mGimbalControlEncoder.getDroppedCount() + " coalesced");
+        }
         mGimbalControlEncoder.reset();
 
         mGimbal.updateOffsetCorrectionProcessState(false);
@@ -351,24 +359,15 @@ public final class AnafiGimbal extends DronePeripheralController {
             stabilized = mStabilizedAxes.contains(axis);
         }
 
-        Double attitude = stabilized ? mAbsoluteAttitude.get(axis) : mRelativeAttitude.get(axis);
+        AttitudeBounds bounds = stabilized ? mAbsoluteAttitudeBounds : mRelativeAttitudeBounds;
 
         boolean updating = false;
         if (stabilized != mStabilizedAxes.contains(axis) && isConnected() && mAttitudeReceived) {
-            double targetAttitude;
-            DoubleRange bounds = stabilized ? mAbsoluteAttitudeBounds.get(axis) : mRelativeAttitudeBounds.get(axis);
-            if (bounds != null) {
-                if (attitude != null) {
-                    // if range and current attitude is known, the target attitude is the current attitude clamped into
-                    // the range
-                    targetAttitude = bounds.clamp(attitude);
-                } else {
-                    // if no current attitude, take the mid-range
-                    targetAttitude = (bounds.getUpper() + bounds.getLower()) / 2.0;
-                }
-            } else {
-                targetAttitude = 0;
-            }
+            // if range is known, the target attitude is the current attitude (always known at this point) clamped
+            // into the range
+            double targetAttitude = bounds.isKnown(axis) ?
+                    bounds.clamp(axis, stabilized ? mAbsoluteAttitude[axis.ordinal()]
+                            : mRelativeAttitude[axis.ordinal()]) : 0;
             mGimbalControlEncoder.setStabilization(axis, stabilized, targetAttitude);
             updating = true;
             mPendingStabilizationChanges.add(axis);
@@ -381,9 +380,7 @@ public final class AnafiGimbal extends DronePeripheralController {
         }
 
         // Update the attitude bounds to take the correct frame of reference according to the new stab
-        mGimbal.updateStabilization(mStabilizedAxes)
-               .updateAttitudeBounds(axis, stabilized ? mAbsoluteAttitudeBounds.get(axis)
-                       : mRelativeAttitudeBounds.get(axis));
+        bounds.applyTo(mGimbal.updateStabilization(mStabilizedAxes), axis);
 
         return updating;
     }
@@ -468,14 +465,14 @@ public final class AnafiGimbal extends DronePeripheralController {
             }
 
             // store the values as they may be used later (when axis stabilization changes)
-            mRelativeAttitudeBounds.put(Axis.YAW, DoubleRange.of(minYaw, maxYaw));
-            mRelativeAttitudeBounds.put(Axis.PITCH, DoubleRange.of(minPitch, maxPitch));
-            mRelativeAttitudeBounds.put(Axis.ROLL, DoubleRange.of(minRoll, maxRoll));
+            mRelativeAttitudeBounds.set(Axis.YAW, minYaw, maxYaw);
+            mRelativeAttitudeBounds.set(Axis.PITCH, minPitch, maxPitch);
+            mRelativeAttitudeBounds.set(Axis.ROLL, minRoll, maxRoll);
 
             // update the bounds on the axes that are not stabilized (i.e.: frame of reference is relative)
             if (mStabilizedAxes != null) {
                 for (Axis axis : EnumSet.complementOf(mStabilizedAxes)) {
-                    mGimbal.updateAttitudeBounds(axis, mRelativeAttitudeBounds.get(axis));
+                    mRelativeAttitudeBounds.applyTo(mGimbal, axis);
                 }
             }
             mGimbal.notifyUpdated();
@@ -490,14 +487,14 @@ public final class AnafiGimbal extends DronePeripheralController {
             }
 
             // store the values as they may be used later (when axis stabilization changes)
-            mAbsoluteAttitudeBounds.put(Axis.YAW, DoubleRange.of(minYaw, maxYaw));
-            mAbsoluteAttitudeBounds.put(Axis.PITCH, DoubleRange.of(minPitch, maxPitch));
-            mAbsoluteAttitudeBounds.put(Axis.ROLL, DoubleRange.of(minRoll, maxRoll));
+            mAbsoluteAttitudeBounds.set(Axis.YAW, minYaw, maxYaw);
+            mAbsoluteAttitudeBounds.set(Axis.PITCH, minPitch, maxPitch);
+            mAbsoluteAttitudeBounds.set(Axis.ROLL, minRoll, maxRoll);
 
             // update the bounds on the axes that are stabilized (i.e.: frame of reference is absolute)
             if (mStabilizedAxes != null) {
                 for (Axis axis : mStabilizedAxes) {
-                    mGimbal.updateAttitudeBounds(axis, mAbsoluteAttitudeBounds.get(axis));
+                    mAbsoluteAttitudeBounds.applyTo(mGimbal, axis);
                 }
             }
             mGimbal.notifyUpdated();
@@ -550,12 +547,12 @@ public final class AnafiGimbal extends DronePeripheralController {
             }
 
             // Store internally the current attitude on each frame of reference
-            mRelativeAttitude.put(Axis.YAW, (double) roundToSecondDecimal(yawRelative));
-            mRelativeAttitude.put(Axis.PITCH, (double) roundToSecondDecimal(pitchRelative));
-            mRelativeAttitude.put(Axis.ROLL, (double) roundToSecondDecimal(rollRelative));
-            mAbsoluteAttitude.put(Axis.YAW, (double) roundToSecondDecimal(yawAbsolute));
-            mAbsoluteAttitude.put(Axis.PITCH, (double) roundToSecondDecimal(pitchAbsolute));
-            mAbsoluteAttitude.put(Axis.ROLL, (double) roundToSecondDecimal(rollAbsolute));
+            mRelativeAttitude[Axis.YAW.ordinal()] = roundToSecondDecimal(yawRelative);
+            mRelativeAttitude[Axis.PITCH.ordinal()] = roundToSecondDecimal(pitchRelative);
+            mRelativeAttitude[Axis.ROLL.ordinal()] = roundToSecondDecimal(rollRelative);
+            mAbsoluteAttitude[Axis.YAW.ordinal()] = roundToSecondDecimal(yawAbsolute);
+            mAbsoluteAttitude[Axis.PITCH.ordinal()] = roundToSecondDecimal(pitchAbsolute);
+            mAbsoluteAttitude[Axis.ROLL.ordinal()] = roundToSecondDecimal(rollAbsolute);
 
             mReceivedStabilizedAxes.clear();
             if (yawFrameOfReference == FrameOfReference.ABSOLUTE) {
@@ -603,11 +600,9 @@ public final class AnafiGimbal extends DronePeripheralController {
                 }
 
                 // Update the attitude bounds according to the frame of reference that has been requested
-                //noinspection ConstantConditions: validated by mStabilizedAxes.contains
-                mGimbal.updateAbsoluteAttitude(axis, mAbsoluteAttitude.get(axis))
-                       .updateRelativeAttitude(axis, mRelativeAttitude.get(axis))
-                       .updateAttitudeBounds(axis, mStabilizedAxes.contains(axis) ?
-                               mAbsoluteAttitudeBounds.get(axis) : mRelativeAttitudeBounds.get(axis));
+                (mStabilizedAxes.contains(axis) ? mAbsoluteAttitudeBounds : mRelativeAttitudeBounds).applyTo(
+                        mGimbal.updateAbsoluteAttitude(axis, mAbsoluteAttitude[axis.ordinal()])
+                               .updateRelativeAttitude(axis, mRelativeAttitude[axis.ordinal()]), axis);
             }
 
             if (settingChanged && isConnected()) {
@@ -759,6 +754,93 @@ public final class AnafiGimbal extends DronePeripheralController {
         return Math.round(value * 100f) / 100f;
     }
 
+    /**
+     * Attitude bounds of all axes in a given frame of reference.
+     * <p>
+     * Bounds are stored as primitives indexed by axis ordinal, so that bounds events can be processed without
+     * allocating.
+     */
+    private static final class AttitudeBounds {
+
+        /** Lower bound by axis ordinal, {@code NaN} when unknown. */
+        @NonNull
+        private final double[] mLower;
+
+        /** Upper bound by axis ordinal, {@code NaN} when unknown. */
+        @NonNull
+        private final double[] mUpper;
+
+        /**
+         * Constructor.
+         */
+        AttitudeBounds() {
+            mLower = new double[Axis.values().length];
+            mUpper = new double[Axis.values().length];
+            clear();
+        }
+
+        /**
+         * Sets bounds of an axis.
+         *
+         * @param axis  axis whose bounds are set
+         * @param lower lower bound, in degrees
+         * @param upper upper bound, in degrees
+         */
+        void set(@NonNull Axis axis, double lower, double upper) {
+            mLower[axis.ordinal()] = lower;
+            mUpper[axis.ordinal()] = upper;
+        }
+
+        /**
+         * Tells whether bounds of an axis are known.
+         *
+         * @param axis axis to query
+         *
+         * @return {@code true} if bounds of the axis are known, otherwise {@code false}
+         */
+        boolean isKnown(@NonNull Axis axis) {
+            return !Double.isNaN(mLower[axis.ordinal()]);
+        }
+
+        /**
+         * Clamps a value into the bounds of an axis.
+         * <p>
+         * Bounds of the axis must be {@link #isKnown known}.
+         *
+         * @param axis  axis whose bounds apply
+         * @param value value to clamp, in degrees
+         *
+         * @return clamped value
+         */
+        double clamp(@NonNull Axis axis, double value) {
+            return Math.max(mLower[axis.ordinal()], Math.min(mUpper[axis.ordinal()], value));
+        }
+
+        /**
+         * Forwards bounds of an axis to the gimbal component.
+         * <p>
+         * Unknown bounds reset the component's bounds for that axis to their default value.
+         *
+         * @param gimbal gimbal to update
+         * @param axis   axis whose bounds are forwarded
+         */
+        void applyTo(@NonNull GimbalCore gimbal, @NonNull Axis axis) {
+            if (isKnown(axis)) {
+                gimbal.updateAttitudeBounds(axis, mLower[axis.ordinal()], mUpper[axis.ordinal()]);
+            } else {
+                gimbal.updateAttitudeBounds(axis, null);
+            }
+        }
+
+        /**
+         * Forgets all bounds.
+         */
+        void clear() {
+            Arrays.fill(mLower, Double.NaN);
+            Arrays.fill(mUpper, Double.NaN);
+        }
+    }
+
     /** Backend of GimbalCore implementation. */
     @SuppressWarnings("FieldCanBeLocal")
     private final GimbalCore.Backend mBackend = new GimbalCore.Backend() {
@@ -35,6 +35,7 @@ package com.parrot.drone.groundsdk.arsdkengine.peripheral.anafi.gimbal;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.parrot.drone.groundsdk.arsdkengine.peripheral.common.ControlCoalescer;
 import com.parrot.drone.groundsdk.device.peripheral.Gimbal;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGimbal;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGimbal.FrameOfReference;
@@ -43,6 +44,7 @@ import com.parrot.drone.sdkcore.arsdk.command.ArsdkNoAckCmdEncoder;
 
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Objects;
 
 /** Gimbal control command encoder. */
 class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
@@ -63,6 +65,10 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
     /** Desired targets. Value for an axis is null if this axis should not be controlled. */
     @NonNull
     private final EnumMap<Gimbal.Axis, Double> mTargets;
+
+    /** Coalesces control targets and throttles emission. */
+    @NonNull
+    private final ControlCoalescer mCoalescer;
     // endregion synchronized vars
 
     // region pomp loop access only vars
@@ -97,11 +103,16 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
         mLatestTargets = new EnumMap<>(Gimbal.Axis.class);
         mLatestStabilizedAxes = EnumSet.noneOf(Gimbal.Axis.class);
         mFramesOfReference = new EnumMap<>(Gimbal.Axis.class);
+        mCoalescer = new ControlCoalescer();
     }
 
     @Nullable
     @Override
     public ArsdkCommand encodeNoAckCmd() {
+        if (!mCoalescer.isEmissionTick()) {
+            return null;
+        }
+
         ArsdkFeatureGimbal.ControlMode controlMode;
         EnumSet<Gimbal.Axis> stabilizedAxes;
         EnumMap<Gimbal.Axis, Double> targets;
@@ -109,6 +120,7 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
             controlMode = mControlMode;
             stabilizedAxes = mStabilizedAxes;
             targets = mTargets;
+            mCoalescer.onTargetConsumed();
         }
 
         // if control, target or stabilization has changed
@@ -173,6 +185,9 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
 
     /**
      * Controls the gimbal.
+     * <p>
+     * Only the latest target is sent on the next emission tick; targets that are superseded before being sent are
+     * accounted as {@link #getDroppedCount() dropped}.
      *
      * @param mode  the control mode
      * @param yaw   the yaw target, or {@code null} if yaw should not change
@@ -181,14 +196,21 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
      */
     synchronized void control(@NonNull Gimbal.ControlMode mode, @Nullable Double yaw, @Nullable Double pitch,
                               @Nullable Double roll) {
+        ArsdkFeatureGimbal.ControlMode controlMode = mControlMode;
         switch (mode) {
             case POSITION:
-                mControlMode = ArsdkFeatureGimbal.ControlMode.POSITION;
+                controlMode = ArsdkFeatureGimbal.ControlMode.POSITION;
                 break;
             case VELOCITY:
-                mControlMode = ArsdkFeatureGimbal.ControlMode.VELOCITY;
+                controlMode = ArsdkFeatureGimbal.ControlMode.VELOCITY;
                 break;
         }
+        if (controlMode != mControlMode || !Objects.equals(yaw, mTargets.get(Gimbal.Axis.YAW))
+            || !Objects.equals(pitch, mTargets.get(Gimbal.Axis.PITCH))
+            || !Objects.equals(roll, mTargets.get(Gimbal.Axis.ROLL))) {
+            mCoalescer.onTargetUpdated();
+        }
+        mControlMode = controlMode;
         mTargets.put(Gimbal.Axis.YAW, yaw);
         mTargets.put(Gimbal.Axis.PITCH, pitch);
         mTargets.put(Gimbal.Axis.ROLL, roll);
@@ -217,6 +239,35 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
         }
     }
 
+    /**
+     * Configures control command emission cadence.
+     *
+     * @param emissionPeriod minimal period between two control commands, in milliseconds; {@code 0} to send a
+     *                       command on each loop tick
+     * @param loopPeriod     non-acknowledged command loop period, in milliseconds
+     */
+    void setEmissionPeriod(int emissionPeriod, int loopPeriod) {
+        mCoalescer.setEmissionPeriod(emissionPeriod, loopPeriod);
+    }
+
+    /**
+     * Gives the total number of control targets submitted since the latest reset.
+     *
+     * @return submitted control target count
+     */
+    synchronized long getUpdateCount() {
+        return mCoalescer.getUpdateCount();
+    }
+
+    /**
+     * Gives the number of control targets that were superseded before being sent, since the latest reset.
+     *
+     * @return dropped control target count
+     */
+    synchronized long getDroppedCount() {
+        return mCoalescer.getDroppedCount();
+    }
+
     /**
      * Resets the encoder.
      * <p>
@@ -231,5 +282,6 @@ class GimbalControlCommandEncoder implements ArsdkNoAckCmdEncoder {
         mStabilizedAxes.clear();
         mLatestStabilizedAxes.clear();
         mRepetitions = 0;
+        mCoalescer.reset();
     }
 }
@@ -44,6 +44,7 @@ import com.parrot.drone.groundsdk.arsdkengine.http.HttpMediaIndexingState;
 import com.parrot.drone.groundsdk.arsdkengine.http.HttpMediaItem;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.DronePeripheralController;
 import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
+import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 import com.parrot.drone.groundsdk.internal.device.peripheral.media.MediaItemCore;
 import com.parrot.drone.groundsdk.internal.device.peripheral.media.MediaRequest;
 import com.parrot.drone.groundsdk.internal.device.peripheral.media.MediaResourceCore;
@@ -54,7 +55,9 @@ import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_MEDIA;
 
@@ -69,9 +72,12 @@ public final class AnafiMediaStore extends DronePeripheralController {
     @Nullable
     private HttpMediaClient mMediaClient;
 
-    /** Caches last media list browse result, when content changes are being watched; {@code null} otherwise. */
-    @Nullable
-    private List<MediaItemImpl> mCachedMediaList;
+    /**
+     * Caches last media list browse result, by storage type ({@code null} key for all storages), when content changes
+     * are being watched; empty otherwise.
+     */
+    @NonNull
+    private final Map<MediaStore.StorageType, List<MediaItemImpl>> mCachedMediaLists;
 
     /**
      * Constructor.
@@ -81,6 +87,7 @@ public final class AnafiMediaStore extends DronePeripheralController {
     public AnafiMediaStore(@NonNull DroneController droneController) {
         super(droneController);
         mMediaStore = new MediaStoreCore(mComponentStore, mBackend);
+        mCachedMediaLists = new HashMap<>();
     }
 
     @Override
@@ -101,7 +108,7 @@ public final class AnafiMediaStore extends DronePeripheralController {
     @Override
     protected void onDisconnecting() {
         mMediaStore.unpublish();
-        mCachedMediaList = null;
+        mCachedMediaLists.clear();
         if (mMediaClient != null) {
             mMediaClient.dispose();
         }
@@ -205,7 +212,7 @@ public final class AnafiMediaStore extends DronePeripheralController {
      * Clears cached media list and notifies store content change.
      */
     private void clearCachedMediaList() {
-        mCachedMediaList = null;
+        mCachedMediaLists.clear();
         mMediaStore.notifyObservers();
     }
 
@@ -229,7 +236,7 @@ public final class AnafiMediaStore extends DronePeripheralController {
             if (mMediaClient != null) {
                 mMediaClient.setListener(null);
                 mWatching = false;
-                mCachedMediaList = null;
+                mCachedMediaLists.clear();
             }
         }
 
@@ -238,8 +245,9 @@ public final class AnafiMediaStore extends DronePeripheralController {
         public MediaRequest browse(@Nullable MediaStore.StorageType storageType,
                                    @NonNull MediaRequest.ResultCallback<List<? extends MediaItemCore>> callback) {
             MediaRequest request = null;
-            if (mCachedMediaList != null) {
-                callback.onRequestComplete(MediaRequest.Status.SUCCESS, mCachedMediaList);
+            List<MediaItemImpl> cachedList = mCachedMediaLists.get(storageType);
+            if (cachedList != null) {
+                callback.onRequestComplete(MediaRequest.Status.SUCCESS, cachedList);
             } else if (mMediaClient == null) {
                 callback.onRequestComplete(MediaRequest.Status.FAILED, null);
             } else {
@@ -249,7 +257,7 @@ public final class AnafiMediaStore extends DronePeripheralController {
                             assert result != null;
                             List<MediaItemImpl> list = MediaItemImpl.from(result);
                             if (mWatching) {
-                                mCachedMediaList = list;
+                                mCachedMediaLists.put(storageType, list);
                             }
                             callback.onRequestComplete(MediaRequest.Status.SUCCESS, list);
                             break;
@@ -302,6 +310,43 @@ public final class AnafiMediaStore extends DronePeripheralController {
                     })::cancel;
         }
 
+        @Nullable
+        @Override
+        public MediaRequest downloadToMediaStore(@NonNull MediaResourceCore resource,
+                                                 @NonNull ApplicationStorageProvider.MediaStoreEntry entry,
+                                                 @NonNull MediaRequest.ProgressResultCallback<File> callback) {
+            if (mMediaClient == null) {
+                callback.onRequestComplete(MediaRequest.Status.FAILED, null);
+                return null;
+            }
+
+            return mMediaClient.download(MediaResourceImpl.unwrap(resource).getDownloadUrl(), entry,
+                    new HttpRequest.ProgressResultCallback<File>() {
+
+                        @Override
+                        public void onRequestProgress(int progress) {
+                            callback.onRequestProgress(progress);
+                        }
+
+                        @Override
+                        public void onRequestComplete(@NonNull HttpRequest.Status status, int code,
+                                                      @Nullable File result) {
+                            switch (status) {
+                                case SUCCESS:
+                                    callback.onRequestComplete(MediaRequest.Status.SUCCESS, result);
+                                    break;
+                                case FAILED:
+                                    callback.onRequestComplete(code == HttpRequest.STATUS_CODE_SERVER_ERROR ?
+                                            MediaRequest.Status.ABORTED : MediaRequest.Status.FAILED, null);
+                                    break;
+                                case CANCELED:
+                                    callback.onRequestComplete(MediaRequest.Status.CANCELED, null);
+                                    break;
+                            }
+                        }
+                    })::cancel;
+        }
+
         @Nullable
         @Override
         public MediaRequest fetchThumbnail(@NonNull MediaItemCore media,
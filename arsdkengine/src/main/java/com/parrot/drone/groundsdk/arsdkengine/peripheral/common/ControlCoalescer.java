@@ -0,0 +1,170 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common;
+
+import androidx.annotation.IntRange;
+
+/**
+ * Coalesces control targets submitted to a non-acknowledged command encoder.
+ * <p>
+ * Control targets (such as gimbal or zoom targets) may be submitted by the application at a much higher rate than
+ * the non-acknowledged command loop period. An encoder only ever sends the latest submitted target; this class keeps
+ * track of how many intermediate targets were superseded before being sent, and allows to throttle emission to one
+ * command every N loop ticks, so that emission stays aligned with the loop.
+ * <p>
+ * {@link #onTargetUpdated()} and {@link #onTargetConsumed()} must be called under the owning encoder's lock, which
+ * also guards the target they account for. {@link #isEmissionTick()} must only be called from the command loop.
+ */
+public final class ControlCoalescer {
+
+    /** Number of loop ticks between two emissions. Written from main thread, read from command loop. */
+    private volatile int mTickDivider;
+
+    /** Number of loop ticks since latest emission. Accessed only from command loop. */
+    private int mTickCount;
+
+    /** Number of target updates since latest consumption. Accessed under owning encoder lock. */
+    private int mPendingUpdates;
+
+    /** Total number of target updates. Accessed under owning encoder lock. */
+    private long mUpdateCount;
+
+    /** Total number of target updates superseded before being sent. Accessed under owning encoder lock. */
+    private long mDroppedCount;
+
+    /**
+     * Constructor.
+     * <p>
+     * By default, emission is allowed on each loop tick.
+     */
+    public ControlCoalescer() {
+        mTickDivider = 1;
+    }
+
+    /**
+     * Configures emission cadence.
+     * <p>
+     * The emission period is rounded up to a whole number of command loop periods, so that commands are always emitted
+     * on a loop tick.
+     *
+     * @param emissionPeriod minimal period between two emissions, in milliseconds; {@code 0} to emit on each tick
+     * @param loopPeriod     non-acknowledged command loop period, in milliseconds
+     */
+    public void setEmissionPeriod(@IntRange(from = 0) int emissionPeriod, @IntRange(from = 0) int loopPeriod) {
+        mTickDivider = loopPeriod <= 0 ? 1 : Math.max(1, (emissionPeriod + loopPeriod - 1) / loopPeriod);
+    }
+
+    /**
+     * Gives the number of command loop ticks between two emissions.
+     *
+     * @return tick divider
+     */
+    public int getTickDivider() {
+        return mTickDivider;
+    }
+
+    /**
+     * Tells whether a command may be emitted on the current loop tick.
+     * <p>
+     * Must be called once per loop tick, from the command loop.
+     *
+     * @return {@code true} if a command may be emitted on this tick, otherwise {@code false}
+     */
+    public boolean isEmissionTick() {
+        if (++mTickCount < mTickDivider) {
+            return false;
+        }
+        mTickCount = 0;
+        return true;
+    }
+
+    /**
+     * Notifies that the application submitted a new target.
+     * <p>
+     * Must be called under the owning encoder lock.
+     */
+    public void onTargetUpdated() {
+        mPendingUpdates++;
+        mUpdateCount++;
+    }
+
+    /**
+     * Notifies that the encoder read the latest target in order to send it.
+     * <p>
+     * All targets submitted since the previous consumption but the latest one are accounted as dropped.
+     * <p>
+     * Must be called under the owning encoder lock.
+     */
+    public void onTargetConsumed() {
+        if (mPendingUpdates > 1) {
+            mDroppedCount += mPendingUpdates - 1;
+        }
+        mPendingUpdates = 0;
+    }
+
+    /**
+     * Gives the total number of submitted targets.
+     * <p>
+     * Must be called under the owning encoder lock.
+     *
+     * @return submitted target count
+     */
+    public long getUpdateCount() {
+        return mUpdateCount;
+    }
+
+    /**
+     * Gives the total number of submitted targets that were superseded by a newer one before being sent.
+     * <p>
+     * Must be called under the owning encoder lock.
+     *
+     * @return dropped target count
+     */
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    /**
+     * Resets coalescing state and statistics.
+     * <p>
+     * Configured emission cadence is kept.
+     * <p>
+     * Must be called under the owning encoder lock, while the encoder is not registered in the command loop.
+     */
+    public void reset() {
+        mTickCount = 0;
+        mPendingUpdates = 0;
+        mUpdateCount = 0;
+        mDroppedCount = 0;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.internal.tasks.Executor;
+
+/**
+ * Throttles emission of samples submitted by the application to the drone.
+ * <p>
+ * Samples (such as target detection info or controller location) may be submitted at a much higher rate than the
+ * drone is able to process them. This class forwards at most one sample per emission period: the first sample
+ * submitted after a quiet period is emitted immediately, then, until the period elapses, only the latest submitted
+ * sample is kept and gets emitted at the end of the period. Superseded samples are accounted as dropped.
+ * <p>
+ * This class is not thread-safe and must be used from the main thread.
+ *
+ * @param <T> type of samples
+ */
+public final class SampleThrottler<T> {
+
+    /**
+     * Emits samples to the drone.
+     *
+     * @param <T> type of samples
+     */
+    public interface Emitter<T> {
+
+        /**
+         * Emits a sample.
+         *
+         * @param sample sample to emit
+         */
+        void emit(@NonNull T sample);
+    }
+
+    /** Emits samples. */
+    @NonNull
+    private final Emitter<T> mEmitter;
+
+    /** Minimal period between two emissions, in milliseconds. {@code 0} to emit each sample as submitted. */
+    @IntRange(from = 0)
+    private int mEmissionPeriod;
+
+    /** Latest sample submitted during current emission period, {@code null} if none. */
+    @Nullable
+    private T mPendingSample;
+
+    /** {@code true} while an emission period is running, i.e. until {@link #mPeriodEnd} executes. */
+    private boolean mInPeriod;
+
+    /** Total number of emitted samples. */
+    private long mSentCount;
+
+    /** Total number of samples superseded by a newer one before being emitted. */
+    private long mDroppedCount;
+
+    /**
+     * Constructor.
+     * <p>
+     * By default, each sample is emitted as soon as submitted.
+     *
+     * @param emitter emits samples
+     */
+    public SampleThrottler(@NonNull Emitter<T> emitter) {
+        mEmitter = emitter;
+    }
+
+    /**
+     * Configures emission cadence.
+     * <p>
+     * Takes effect from the next emission period.
+     *
+     * @param emissionPeriod minimal period between two emissions, in milliseconds; {@code 0} to emit each sample as
+     *                       soon as submitted
+     */
+    public void setEmissionPeriod(@IntRange(from = 0) int emissionPeriod) {
+        mEmissionPeriod = emissionPeriod;
+    }
+
+    /**
+     * Submits a sample for emission.
+     * <p>
+     * The sample is emitted immediately if no emission occurred during the current period, otherwise it replaces any
+     * sample pending for emission at the end of the period.
+     *
+     * @param sample sample to submit
+     */
+    public void submit(@NonNull T sample) {
+        if (mInPeriod) {
+            if (mPendingSample != null) {
+                mDroppedCount++;
+            }
+            mPendingSample = sample;
+        } else {
+            emit(sample);
+        }
+    }
+
+    /**
+     * Gives the total number of emitted samples.
+     *
+     * @return sent sample count
+     */
+    public long getSentCount() {
+        return mSentCount;
+    }
+
+    /**
+     * Gives the total number of submitted samples that were superseded by a newer one before being emitted.
+     *
+     * @return dropped sample count
+     */
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    /**
+     * Resets throttling state and statistics.
+     * <p>
+     * Any pending sample is discarded without being accounted as dropped. Configured emission cadence is kept.
+     */
+    public void reset() {
+        Executor.unschedule(mPeriodEnd);
+        mInPeriod = false;
+        mPendingSample = null;
+        mSentCount = 0;
+        mDroppedCount = 0;
+    }
+
+    /**
+     * Emits a sample and starts a new emission period if required.
+     *
+     * @param sample sample to emit
+     */
+    private void emit(@NonNull T sample) {
+        mSentCount++;
+        if (mEmissionPeriod > 0) {
+            mInPeriod = true;
+            Executor.schedule(mPeriodEnd, mEmissionPeriod);
+        }
+        mEmitter.emit(sample);
+    }
+
+    /** Ends current emission period, emitting the pending sample, if any. */
+    private final Runnable mPeriodEnd = () -> {
+        mInPeriod = false;
+        T sample = mPendingSample;
+        if (sample != null) {
+            mPendingSample = null;
+            emit(sample);
+        }
+    };
+}
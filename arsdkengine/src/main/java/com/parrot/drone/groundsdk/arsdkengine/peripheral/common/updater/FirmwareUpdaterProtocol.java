@@ -104,6 +104,40 @@ public abstract class FirmwareUpdaterProtocol {
     abstract Cancelable doUpdate(@NonNull FirmwareIdentifier firmware, @NonNull FirmwareStore store,
                                  @NonNull Callback callback);
 
+    /**
+     * Requests a firmware update of the device, using a firmware update file that was prepared beforehand.
+     *
+     * @param firmware prepared firmware to update the device with
+     * @param callback callback notified when the update operation state changes
+     *
+     * @return a cancelable that allows to cancel the update request, if the update did properly start, otherwise {@code
+     *         null}, in which case the update failed immediately and the callback has been notified with the
+     *         corresponding status
+     */
+    @Nullable
+    Cancelable updateWith(@NonNull PreparedFirmware firmware, @NonNull Callback callback) {
+        if (firmware.getFirmware().getDeviceModel() == mController.getDevice().getModel()) {
+            return doUpdate(firmware, callback);
+        }
+        callback.onUpdateEnd(Callback.Status.FAILED);
+        return null;
+    }
+
+    /**
+     * Requests a firmware update of the device, using a firmware update file that was prepared beforehand.
+     * <p>
+     * Concrete protocol implementation must override this method to implement the protocol-dependent update operation
+     *
+     * @param firmware prepared firmware to update the device with
+     * @param callback callback notified when the update operation state changes
+     *
+     * @return a cancelable that allows to cancel the update request, if the update did properly start, otherwise {@code
+     *         null}, in which case the update failed immediately and the callback has been notified with the
+     *         corresponding status
+     */
+    @Nullable
+    abstract Cancelable doUpdate(@NonNull PreparedFirmware firmware, @NonNull Callback callback);
+
     /**
      * Firmware update callbacks.
      */
@@ -167,7 +201,32 @@ public abstract class FirmwareUpdaterProtocol {
                 callback.onUpdateEnd(Callback.Status.FAILED);
                 return null;
             }
+            return upload(client, firmwareStream, callback);
+        }
+
+        @Override
+        @Nullable
+        Cancelable doUpdate(@NonNull PreparedFirmware firmware, @NonNull Callback callback) {
+            HttpUpdateClient client = mController.getHttpClient(HttpUpdateClient.class);
+            if (client == null) {
+                callback.onUpdateEnd(Callback.Status.FAILED);
+                return null;
+            }
+            return upload(client, firmware.openStream(), callback);
+        }
 
+        /**
+         * Uploads a firmware update file to the device.
+         *
+         * @param client         HTTP update client
+         * @param firmwareStream stream providing firmware update file content
+         * @param callback       callback notified when the update operation state changes
+         *
+         * @return a cancelable that allows to cancel the upload
+         */
+        @NonNull
+        private static Cancelable upload(@NonNull HttpUpdateClient client, @NonNull InputStream firmwareStream,
+                                         @NonNull Callback callback) {
             return client.uploadFirmware(firmwareStream, new HttpRequest.ProgressStatusCallback() {
 
                 @Override
@@ -218,33 +277,7 @@ public abstract class FirmwareUpdaterProtocol {
             ArsdkRequest[] uploadRequest = {null};
             fileRequest.whenComplete((firmwareFile, error, canceled) -> {
                 if (firmwareFile != null) {
-                    uploadRequest[0] = mController.updateFirmware(firmwareFile,
-                            new ArsdkFirmwareUploadRequest.Listener() {
-
-                                @Override
-                                public void onRequestProgress(float progress) {
-                                    callback.onUploadProgress(Math.round(progress));
-                                }
-
-                                @Override
-                                public void onRequestComplete(@ArsdkFirmwareUploadRequest.Status int status) {
-                                    switch (status) {
-                                        case ArsdkFirmwareUploadRequest.STATUS_OK:
-                                            callback.onUpdateEnd(Callback.Status.SUCCESS);
-                                            break;
-                                        case ArsdkFirmwareUploadRequest.STATUS_CANCELED:
-                                        case ArsdkFirmwareUploadRequest.STATUS_ABORTED:
-                                            callback.onUpdateEnd(Callback.Status.CANCELED);
-                                            break;
-                                        case ArsdkFirmwareUploadRequest.STATUS_FAILED:
-                                            callback.onUpdateEnd(Callback.Status.FAILED);
-                                            break;
-                                    }
-                                }
-                            });
-                    if (uploadRequest[0] == null) {
-                        callback.onUpdateEnd(Callback.Status.FAILED);
-                    }
+                    uploadRequest[0] = upload(firmwareFile, callback);
                 } else {
                     callback.onUpdateEnd(Callback.Status.FAILED);
                 }
@@ -257,5 +290,53 @@ public abstract class FirmwareUpdaterProtocol {
                 }
             };
         }
+
+        @Nullable
+        @Override
+        Cancelable doUpdate(@NonNull PreparedFirmware firmware, @NonNull Callback callback) {
+            ArsdkRequest uploadRequest = upload(firmware.getFile(), callback);
+            return uploadRequest == null ? null : uploadRequest::cancel;
+        }
+
+        /**
+         * Uploads a firmware update file to the device.
+         *
+         * @param firmwareFile firmware update file
+         * @param callback     callback notified when the update operation state changes
+         *
+         * @return the upload request, if the upload did properly start, otherwise {@code null}, in which case the
+         *         callback has been notified of the failure
+         */
+        @Nullable
+        private ArsdkRequest upload(@NonNull File firmwareFile, @NonNull Callback callback) {
+            ArsdkRequest uploadRequest = mController.updateFirmware(firmwareFile,
+                    new ArsdkFirmwareUploadRequest.Listener() {
+
+                        @Override
+                        public void onRequestProgress(float progress) {
+                            callback.onUploadProgress(Math.round(progress));
+                        }
+
+                        @Override
+                        public void onRequestComplete(@ArsdkFirmwareUploadRequest.Status int status) {
+                            switch (status) {
+                                case ArsdkFirmwareUploadRequest.STATUS_OK:
+                                    callback.onUpdateEnd(Callback.Status.SUCCESS);
+                                    break;
+                                case ArsdkFirmwareUploadRequest.STATUS_CANCELED:
+                                case ArsdkFirmwareUploadRequest.STATUS_ABORTED:
+                                    callback.onUpdateEnd(Callback.Status.CANCELED);
+                                    break;
+                                case ArsdkFirmwareUploadRequest.STATUS_FAILED:
+                                    callback.onUpdateEnd(Callback.Status.FAILED);
+                                    break;
+                            }
+                        }
+                    });
+            if (uploadRequest == null) {
+                callback.onUpdateEnd(Callback.Status.FAILED);
+            }
+            return uploadRequest;
+        }
     }
 }
@@ -0,0 +1,182 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common.updater;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.facility.firmware.FirmwareIdentifier;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A firmware update file, ready to be sent to a device.
+ * <p>
+ * The update file has been verified by the firmware store and its content is memory-mapped, so that uploading it does
+ * not need to go through the firmware store again.
+ */
+final class PreparedFirmware {
+
+    /**
+     * Memory-maps a firmware update file.
+     *
+     * @param firmware identifies the firmware
+     * @param file     firmware update file, verified
+     *
+     * @return a new {@code PreparedFirmware} instance
+     *
+     * @throws IOException in case the file could not be mapped
+     */
+    @NonNull
+    static PreparedFirmware map(@NonNull FirmwareIdentifier firmware, @NonNull File file) throws IOException {
+        try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+            // mapping stays valid after the channel is closed
+            return new PreparedFirmware(firmware, file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Identifies the firmware. */
+    @NonNull
+    private final FirmwareIdentifier mFirmware;
+
+    /** Firmware update file. */
+    @NonNull
+    private final File mFile;
+
+    /** Memory-mapped firmware update file content. */
+    @NonNull
+    private final ByteBuffer mContent;
+
+    /**
+     * Constructor.
+     *
+     * @param firmware identifies the firmware
+     * @param file     firmware update file
+     * @param content  memory-mapped firmware update file content
+     */
+    private PreparedFirmware(@NonNull FirmwareIdentifier firmware, @NonNull File file, @NonNull ByteBuffer content) {
+        mFirmware = firmware;
+        mFile = file;
+        mContent = content;
+    }
+
+    /**
+     * Identifies the firmware.
+     *
+     * @return firmware identifier
+     */
+    @NonNull
+    FirmwareIdentifier getFirmware() {
+        return mFirmware;
+    }
+
+    /**
+     * Retrieves the firmware update file.
+     *
+     * @return firmware update file
+     */
+    @NonNull
+    File getFile() {
+        return mFile;
+    }
+
+    /**
+     * Opens a stream over the memory-mapped firmware update file content.
+     * <p>
+     * Each call returns a new, independent stream that reads the content from its beginning.
+     *
+     * @return a new input stream over the firmware update file content
+     */
+    @NonNull
+    InputStream openStream() {
+        return new ContentStream(mContent.duplicate());
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return mFirmware + " [file: " + mFile + "]";
+    }
+
+    /** Input stream reading from a byte buffer. */
+    private static final class ContentStream extends InputStream {
+
+        /** Byte buffer to read from. */
+        @NonNull
+        private final ByteBuffer mBuffer;
+
+        /**
+         * Constructor.
+         *
+         * @param buffer byte buffer to read from, owned by the stream
+         */
+        ContentStream(@NonNull ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return mBuffer.hasRemaining() ? mBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NonNull byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, mBuffer.remaining());
+            mBuffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, mBuffer.remaining()));
+            mBuffer.position(mBuffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return mBuffer.remaining();
+        }
+    }
+}
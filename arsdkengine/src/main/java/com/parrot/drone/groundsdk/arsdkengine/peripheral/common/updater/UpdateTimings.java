@@ -0,0 +1,148 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.arsdkengine.peripheral.common.updater;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.sdkcore.TimeProvider;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Measures the time spent in each stage of a single firmware update.
+ */
+final class UpdateTimings {
+
+    /** Firmware update stage. */
+    enum Stage {
+
+        /** Firmware update file is being uploaded to the device. */
+        UPLOAD,
+
+        /** Device is processing the uploaded firmware update file. */
+        PROCESSING,
+
+        /** Device is rebooting to install the firmware update. */
+        REBOOT,
+
+        /** Device has rebooted and is reconnecting. */
+        RECONNECT
+    }
+
+    /** Time spent in each stage, in milliseconds. */
+    @NonNull
+    private final Map<Stage, Long> mDurations;
+
+    /** Current stage, {@code null} when not measuring. */
+    @Nullable
+    private Stage mStage;
+
+    /** Time when current stage started, in milliseconds, based on {@link TimeProvider#elapsedRealtime()}. */
+    private long mStageStart;
+
+    /**
+     * Constructor.
+     */
+    UpdateTimings() {
+        mDurations = new EnumMap<>(Stage.class);
+    }
+
+    /**
+     * Starts measuring a new firmware update.
+     * <p>
+     * Any previous measurement is discarded and the {@link Stage#UPLOAD upload} stage begins.
+     */
+    void begin() {
+        mDurations.clear();
+        mStage = Stage.UPLOAD;
+        mStageStart = TimeProvider.elapsedRealtime();
+    }
+
+    /**
+     * Moves to a further stage.
+     * <p>
+     * This does nothing unless measuring, or if the given stage is not after the current one.
+     *
+     * @param stage stage to move to
+     */
+    void advance(@NonNull Stage stage) {
+        if (mStage != null && stage.compareTo(mStage) > 0) {
+            closeStage();
+            mStage = stage;
+        }
+    }
+
+    /**
+     * Ends the current measurement.
+     *
+     * @return a summary of the time spent in each stage, {@code null} if not measuring
+     */
+    @Nullable
+    String end() {
+        if (mStage == null) {
+            return null;
+        }
+        closeStage();
+        mStage = null;
+        StringBuilder summary = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            Long duration = mDurations.get(stage);
+            if (duration != null) {
+                summary.append(summary.length() == 0 ? "" : ", ")
+                       .append(stage.name().toLowerCase()).append(": ").append(duration).append("ms");
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Discards the current measurement.
+     */
+    void reset() {
+        mDurations.clear();
+        mStage = null;
+    }
+
+    /**
+     * Records the time spent in the current stage, and starts measuring the next one.
+     */
+    private void closeStage() {
+        assert mStage != null;
+        long now = TimeProvider.elapsedRealtime();
+        mDurations.put(mStage, now - mStageStart);
+        mStageStart = now;
+    }
+}
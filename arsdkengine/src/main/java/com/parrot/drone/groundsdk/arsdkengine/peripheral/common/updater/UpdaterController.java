@@ -50,16 +50,23 @@ import com.parrot.drone.groundsdk.internal.device.DeviceCore;
 import com.parrot.drone.groundsdk.internal.device.peripheral.UpdaterCore;
 import com.parrot.drone.groundsdk.internal.utility.FirmwareDownloader;
 import com.parrot.drone.groundsdk.internal.utility.FirmwareStore;
+import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.groundsdk.internal.utility.SystemConnectivity;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.Function;
 
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_UPDATER;
+
 /**
  * Abstract Updater implementation.
  */
@@ -131,6 +138,24 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
     @Nullable
     private Cancelable mCurrentUpdate;
 
+    /**
+     * Ongoing preparation of the next firmware in {@link #mUpdateQueue}, while the current one is being installed.
+     * {@code null} when no preparation is ongoing.
+     */
+    @Nullable
+    private Task<File> mPreparation;
+
+    /** Next firmware in {@link #mUpdateQueue}, once prepared. {@code null} if not prepared yet. */
+    @Nullable
+    private PreparedFirmware mPreparedFirmware;
+
+    /** {@code true} when preparation of the next firmware in {@link #mUpdateQueue} failed. */
+    private boolean mPreparationFailed;
+
+    /** Measures the time spent in each stage of the current firmware update. */
+    @NonNull
+    private final UpdateTimings mTimings;
+
     /**
      * Constructor.
      *
@@ -150,6 +175,7 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
         mUpdateQueue = new LinkedList<>();
         mConnectivity = deviceController.getEngine().getUtilityOrThrow(SystemConnectivity.class);
         mUpdateUnavailabilityReasons = EnumSet.noneOf(Updater.Update.UnavailabilityReason.class);
+        mTimings = new UpdateTimings();
 
         mConnectivity.monitorWith(mInternetMonitor);
         processInternetAvailability(mConnectivity.isInternetAvailable());
@@ -164,6 +190,14 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
         }
     }
 
+    @Override
+    protected void onConnecting() {
+        super.onConnecting();
+        if (!mUpdateQueue.isEmpty()) {
+            mTimings.advance(UpdateTimings.Stage.RECONNECT);
+        }
+    }
+
     @Override
     protected void onConnected() {
         super.onConnected();
@@ -173,6 +207,10 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
 
         FirmwareInfo expected = mUpdateQueue.poll();
         if (expected != null) {
+            String timings = mTimings.end();
+            if (timings != null && ULog.i(TAG_UPDATER)) {
+                ULog.i(TAG_UPDATER, "Firmware " + expected.getFirmware() + " update timings [" + timings + "]");
+            }
             if (!mDeviceController.getDevice().getFirmwareVersion().equals(expected.getFirmware().getVersion())) {
                 // inconsistent, mark update failed
                 onUpdateEnd(Updater.Update.State.FAILED);
@@ -182,9 +220,7 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
             } else if (mUpdateUnavailabilityReasons.isEmpty()) {
                 // continue update
                 mUpdater.continueUpdate();
-                assert mUpdateQueue.peek() != null;
-                mCurrentUpdate = mUpdaterProtocol.updateWith(mUpdateQueue.peek().getFirmware(), mFirmwareStore,
-                        mUpdaterCallback);
+                startUpdate();
             } else {
                 // cannot continue, fail
                 onUpdateEnd(Updater.Update.State.FAILED);
@@ -199,6 +235,7 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
         onUnavailabilityReason(Updater.Update.UnavailabilityReason.NOT_CONNECTED, true);
 
         if (!mUpdateQueue.isEmpty()) {
+            mTimings.advance(UpdateTimings.Stage.REBOOT);
             mUpdater.updateUpdateState(Updater.Update.State.WAITING_FOR_REBOOT);
         }
         mUpdater.notifyUpdated();
@@ -268,6 +305,90 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
         mUpdater.endUpdate()
                 .notifyUpdated();
         mUpdateQueue.clear();
+        clearPreparation();
+        mTimings.reset();
+    }
+
+    /**
+     * Starts updating the device with the firmware at the head of the update queue.
+     * <p>
+     * If that firmware was prepared beforehand, then it is uploaded right away. If it is still being prepared, then
+     * the upload starts as soon as the preparation completes. If the preparation failed, then the firmware is uploaded
+     * directly from the firmware store, as if it had never been prepared.
+     */
+    private void startUpdate() {
+        FirmwareInfo firmware = mUpdateQueue.peek();
+        assert firmware != null;
+        if (mPreparation != null) {
+            mCurrentUpdate = mPendingPreparation;
+            return;
+        }
+        PreparedFirmware prepared = mPreparedFirmware;
+        boolean preparationFailed = mPreparationFailed;
+        clearPreparation();
+        mTimings.begin();
+        if (prepared != null && prepared.getFirmware().equals(firmware.getFirmware())) {
+            mCurrentUpdate = mUpdaterProtocol.updateWith(prepared, mUpdaterCallback);
+        } else {
+            if (preparationFailed && ULog.w(TAG_UPDATER)) {
+                ULog.w(TAG_UPDATER, "Firmware " + firmware.getFirmware() + " could not be prepared, "
+                                    + "uploading from firmware store");
+            }
+            mCurrentUpdate = mUpdaterProtocol.updateWith(firmware.getFirmware(), mFirmwareStore, mUpdaterCallback);
+        }
+    }
+
+    /**
+     * Starts preparing the firmware that follows the current one in the update queue, if any.
+     * <p>
+     * The firmware update file is obtained from the firmware store, which verifies its checksum, then memory-mapped,
+     * so that it can be uploaded as soon as the device reconnects after having installed the current firmware.
+     */
+    private void prepareNextFirmware() {
+        if (mPreparation != null || mPreparedFirmware != null || mPreparationFailed || mUpdateQueue.size() < 2) {
+            return;
+        }
+        Iterator<FirmwareInfo> iterator = mUpdateQueue.iterator();
+        iterator.next();
+        FirmwareIdentifier next = iterator.next().getFirmware();
+        Task<File> preparation = mFirmwareStore.getVerifiedFirmwareFile(next);
+        mPreparation = preparation;
+        preparation.whenComplete((file, error, canceled) -> {
+            if (mPreparation != preparation) {
+                return;
+            }
+            mPreparation = null;
+            if (file != null) {
+                try {
+                    mPreparedFirmware = PreparedFirmware.map(next, file);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (mPreparedFirmware == null) {
+                mPreparationFailed = true;
+                if (ULog.e(TAG_UPDATER)) {
+                    ULog.e(TAG_UPDATER, "Failed to prepare firmware " + next, error);
+                }
+            }
+            if (mCurrentUpdate == mPendingPreparation) {
+                mCurrentUpdate = null;
+                startUpdate();
+            }
+        });
+    }
+
+    /**
+     * Cancels any ongoing preparation of the next firmware and forgets about any prepared firmware.
+     */
+    private void clearPreparation() {
+        Task<File> preparation = mPreparation;
+        mPreparation = null;
+        if (preparation != null) {
+            preparation.cancel();
+        }
+        mPreparedFirmware = null;
+        mPreparationFailed = false;
     }
 
     /**
@@ -318,9 +439,7 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
             Set<FirmwareInfo> uniqueFirmwares = new LinkedHashSet<>(firmwares);
             mUpdateQueue.addAll(uniqueFirmwares);
             mUpdater.beginUpdate(uniqueFirmwares);
-            assert mUpdateQueue.peek() != null;
-            mCurrentUpdate = mUpdaterProtocol.updateWith(mUpdateQueue.peek().getFirmware(), mFirmwareStore,
-                    mUpdaterCallback);
+            startUpdate();
             mUpdater.notifyUpdated();
         }
 
@@ -342,6 +461,8 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
             mUpdater.updateUploadProgress(progress);
             if (progress == 100) {
                 mUpdater.updateUpdateState(Updater.Update.State.PROCESSING);
+                mTimings.advance(UpdateTimings.Stage.PROCESSING);
+                prepareNextFirmware();
             }
             mUpdater.notifyUpdated();
         }
@@ -351,7 +472,9 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
             mCurrentUpdate = null;
             switch (status) {
                 case SUCCESS:
-                    // nothing to do, just wait for reboot.
+                    // wait for reboot, meanwhile prepare next firmware, if not done yet
+                    mTimings.advance(UpdateTimings.Stage.PROCESSING);
+                    prepareNextFirmware();
                     break;
                 case FAILED:
                     UpdaterController.this.onUpdateEnd(Updater.Update.State.FAILED);
@@ -363,6 +486,21 @@ public abstract class UpdaterController extends PeripheralController<DeviceContr
         }
     };
 
+    /**
+     * Stands for the current update request while waiting for the next firmware to be prepared.
+     * <p>
+     * Canceling it cancels the preparation and ends the update.
+     */
+    @NonNull
+    private final Cancelable mPendingPreparation = new Cancelable() {
+
+        @Override
+        public void cancel() {
+            clearPreparation();
+            mUpdaterCallback.onUpdateEnd(FirmwareUpdaterProtocol.Callback.Status.CANCELED);
+        }
+    };
+
     /** Receives firmware store change notifications. */
     @NonNull
     private final FirmwareStore.Monitor mFirmwaresMonitor = new FirmwareStore.Monitor() {
@@ -46,12 +46,16 @@ import com.parrot.drone.groundsdk.arsdkengine.devicecontroller.RCController;
 import com.parrot.drone.groundsdk.arsdkengine.peripheral.RCPeripheralController;
 import com.parrot.drone.groundsdk.device.DeviceModel;
 import com.parrot.drone.groundsdk.device.Drone;
+import com.parrot.drone.groundsdk.device.peripheral.GamepadLatencyDiagnostics;
 import com.parrot.drone.groundsdk.device.peripheral.VirtualGamepad;
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.AxisInterpolator;
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.AxisMappableAction;
 import com.parrot.drone.groundsdk.device.peripheral.gamepad.ButtonsMappableAction;
+import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.device.DeviceModels;
+import com.parrot.drone.groundsdk.internal.device.peripheral.gamepad.GamepadLatencyDiagnosticsCore;
 import com.parrot.drone.groundsdk.internal.device.peripheral.gamepad.VirtualGamepadCore;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureGeneric;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureMapper;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
@@ -238,6 +242,16 @@ abstract class GamepadControllerBase extends RCPeripheralController {
     /** {@code true} when the VirtualGamepad is currently grabbed, or would be grabbed if not preempted. */
     private boolean mVirtualGamepadGrabbed;
 
+    /** GamepadLatencyDiagnostics peripheral, {@code null} unless gamepad latency tracing is enabled. */
+    @Nullable
+    private GamepadLatencyDiagnosticsCore mLatencyDiagnostics;
+
+    /**
+     * Time at which the mapper event being processed was received from the remote control, before being dispatched to
+     * the main thread, in milliseconds. Only set when tracing is enabled.
+     */
+    private long mEventReceptionTime;
+
     /**
      * Constructor.
      *
@@ -254,12 +268,22 @@ abstract class GamepadControllerBase extends RCPeripheralController {
     @Override
     protected void onConnected() {
         mVirtualGamepad.publish();
+        if (GroundSdkConfig.get().isGamepadLatencyTracingEnabled()) {
+            if (mLatencyDiagnostics == null) {
+                mLatencyDiagnostics = new GamepadLatencyDiagnosticsCore(mComponentStore);
+            }
+            mLatencyDiagnostics.reset();
+            mLatencyDiagnostics.publish();
+        }
     }
 
     @CallSuper
     @Override
     protected void onDisconnected() {
         mVirtualGamepad.unpublish();
+        if (mLatencyDiagnostics != null) {
+            mLatencyDiagnostics.unpublish();
+        }
         mGrabRequestFromVirtualGamepad = mVirtualGamepadGrabbed = mVirtualGamepadPreempted = false;
     }
 
@@ -267,6 +291,9 @@ abstract class GamepadControllerBase extends RCPeripheralController {
     protected void onCommandReceived(@NonNull ArsdkCommand command) {
         int featureId = command.getFeatureId();
         if (featureId == ArsdkFeatureMapper.UID) {
+            if (mLatencyDiagnostics != null) {
+                mEventReceptionTime = command.getReceptionTime();
+            }
             ArsdkFeatureMapper.decode(command, mMapperCallbacks);
         }
     }
@@ -671,6 +698,8 @@ abstract class GamepadControllerBase extends RCPeripheralController {
             if (appAction == null) {
                 ULog.w(TAG_GAMEPAD, "Invalid application action " + action + ", dropping event");
             } else {
+                // application events are broadcast asynchronously, so only their delivery latency can be traced
+                beginDelivery(GamepadLatencyDiagnostics.EventType.APPLICATION);
                 VirtualGamepadCore.notifyAppEvent(appAction);
             }
         }
@@ -868,11 +897,15 @@ abstract class GamepadControllerBase extends RCPeripheralController {
         if (!mVirtualGamepadPreempted && mVirtualGamepadGrabbed) {
             VirtualGamepad.Event event = mNavEventTranslator.eventFrom(button);
             if (event != null) {
+                long deliveryTime = beginDelivery(GamepadLatencyDiagnostics.EventType.NAVIGATION);
                 mVirtualGamepad.notifyNavigationEvent(event,
                         pressed ? VirtualGamepad.Event.State.PRESSED : VirtualGamepad.Event.State.RELEASED);
+                endDelivery(GamepadLatencyDiagnostics.EventType.NAVIGATION, deliveryTime);
             }
         } else {
+            long deliveryTime = beginDelivery(GamepadLatencyDiagnostics.EventType.BUTTON);
             onButtonEvent(button, pressed);
+            endDelivery(GamepadLatencyDiagnostics.EventType.BUTTON, deliveryTime);
         }
     }
 
@@ -884,7 +917,44 @@ abstract class GamepadControllerBase extends RCPeripheralController {
      */
     private void processAxisEvent(@AxisMask long axis, @IntRange(from = -100, to = 100) int value) {
         if (mVirtualGamepadPreempted || !mVirtualGamepadGrabbed) {
+            long deliveryTime = beginDelivery(GamepadLatencyDiagnostics.EventType.AXIS);
             onAxisEvent(axis, value);
+            endDelivery(GamepadLatencyDiagnostics.EventType.AXIS, deliveryTime);
+        }
+    }
+
+    /**
+     * Called right before an input event is delivered to the application.
+     * <p>
+     * When latency tracing is enabled, records the delay since the event was received from the remote control, which
+     * includes the time spent waiting for the main thread.
+     *
+     * @param type kind of input event being delivered
+     *
+     * @return delivery start time, to be forwarded to {@link #endDelivery}, {@code 0} when tracing is disabled
+     */
+    private long beginDelivery(@NonNull GamepadLatencyDiagnostics.EventType type) {
+        if (mLatencyDiagnostics == null) {
+            return 0;
+        }
+        long now = TimeProvider.elapsedRealtime();
+        if (mEventReceptionTime != 0) {
+            mLatencyDiagnostics.recordDeliveryLatency(type, now - mEventReceptionTime);
+        }
+        return now;
+    }
+
+    /**
+     * Called right after an input event has been delivered to the application.
+     * <p>
+     * When latency tracing is enabled, records the time spent by the application handling the event.
+     *
+     * @param type         kind of delivered input event
+     * @param deliveryTime delivery start time, as returned by {@link #beginDelivery}
+     */
+    private void endDelivery(@NonNull GamepadLatencyDiagnostics.EventType type, long deliveryTime) {
+        if (mLatencyDiagnostics != null) {
+            mLatencyDiagnostics.recordHandlingDuration(type, TimeProvider.elapsedRealtime() - deliveryTime);
         }
     }
 
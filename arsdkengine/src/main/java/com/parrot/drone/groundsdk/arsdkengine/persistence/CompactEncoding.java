@@ -0,0 +1,462 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.arsdkengine.persistence;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact, versioned binary encoding for values stored in a {@link PersistentStore.Dictionary}.
+ * <p>
+ * Encoded content is stored as a Base64 string and is laid out as follows: <ul>
+ * <li>a format version byte,</li>
+ * <li>a name table for each enum type referenced in the payload, which lists the names of all constants of that type
+ * that appear in the payload,</li>
+ * <li>the payload, where integers are encoded as varints, enums as indexes in their name table and enum sets as
+ * bitsets over their name table.</li>
+ * </ul>
+ * Name tables are shared by all values of the same type in the payload, so that large collections of enum sets, such
+ * as capability matrices, only store each constant name once. They also allow content to be decoded after enum
+ * constants have been added, removed or reordered: constants are resolved by name when decoding, and constants that
+ * do not exist anymore are dropped.
+ */
+public final class CompactEncoding {
+
+    /** Current format version. */
+    private static final int VERSION = 1;
+
+    /**
+     * Allows to encode values in compact format.
+     * <p>
+     * Values must be decoded in the same order they are written, using a {@link Reader}.
+     */
+    public static final class Writer {
+
+        /** Name tables, by enum type. Each table maps referenced constants to their index in the table. */
+        @NonNull
+        private final Map<Class<? extends Enum<?>>, Map<Enum<?>, Integer>> mTables;
+
+        /** Name tables indexes, by enum type. */
+        @NonNull
+        private final Map<Class<? extends Enum<?>>, Integer> mTableIndexes;
+
+        /** Encoded payload. */
+        @NonNull
+        private final ByteArrayOutputStream mPayload;
+
+        /**
+         * Constructor.
+         */
+        public Writer() {
+            mTables = new LinkedHashMap<>();
+            mTableIndexes = new HashMap<>();
+            mPayload = new ByteArrayOutputStream();
+        }
+
+        /**
+         * Writes an unsigned integer.
+         *
+         * @param value value to write, must be positive or zero
+         *
+         * @return this writer, to allow chained calls
+         */
+        @NonNull
+        public Writer writeUnsigned(int value) {
+            writeVarint(mPayload, value);
+            return this;
+        }
+
+        /**
+         * Writes a boolean.
+         *
+         * @param value value to write
+         *
+         * @return this writer, to allow chained calls
+         */
+        @NonNull
+        public Writer writeBoolean(boolean value) {
+            mPayload.write(value ? 1 : 0);
+            return this;
+        }
+
+        /**
+         * Writes a double.
+         *
+         * @param value value to write
+         *
+         * @return this writer, to allow chained calls
+         */
+        @NonNull
+        public Writer writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int i = 0; i < Long.BYTES; i++) {
+                mPayload.write((int) (bits >>> (i * 8)));
+            }
+            return this;
+        }
+
+        /**
+         * Writes an enum value.
+         *
+         * @param value value to write
+         * @param <E>   type of the enum
+         *
+         * @return this writer, to allow chained calls
+         */
+        @NonNull
+        public <E extends Enum<E>> Writer writeEnum(@NonNull E value) {
+            Map<Enum<?>, Integer> table = table(value.getDeclaringClass());
+            writeVarint(mPayload, index(table, value));
+            return this;
+        }
+
+        /**
+         * Writes an enum set.
+         *
+         * @param set  enum set to write
+         * @param type class of the enum type in the set
+         * @param <E>  type of enum in the set
+         *
+         * @return this writer, to allow chained calls
+         */
+        @NonNull
+        public <E extends Enum<E>> Writer writeEnumSet(@NonNull Set<E> set, @NonNull Class<E> type) {
+            Map<Enum<?>, Integer> table = table(type);
+            int[] indexes = new int[set.size()];
+            int maxIndex = -1, i = 0;
+            for (E value : set) {
+                indexes[i] = index(table, value);
+                maxIndex = Math.max(maxIndex, indexes[i++]);
+            }
+            byte[] bits = new byte[(maxIndex + 8) / 8];
+            for (int index : indexes) {
+                bits[index / 8] |= 1 << (index % 8);
+            }
+            writeVarint(mPayload, bits.length);
+            mPayload.write(bits, 0, bits.length);
+            return this;
+        }
+
+        /**
+         * Encodes all values written so far.
+         *
+         * @return a string representation of written values, suitable for insertion in a {@link
+         *         PersistentStore.Dictionary}
+         */
+        @NonNull
+        public String encode() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(mPayload.size() + 64);
+            out.write(VERSION);
+            writeVarint(out, mTables.size());
+            for (Map<Enum<?>, Integer> table : mTables.values()) {
+                writeVarint(out, table.size());
+                for (Enum<?> constant : table.keySet()) {
+                    byte[] name = constant.name().getBytes(StandardCharsets.UTF_8);
+                    writeVarint(out, name.length);
+                    out.write(name, 0, name.length);
+                }
+            }
+            byte[] payload = mPayload.toByteArray();
+            out.write(payload, 0, payload.length);
+            return Base64.encodeToString(out.toByteArray(), Base64.NO_WRAP);
+        }
+
+        /**
+         * Retrieves the name table for the given enum type, registering a new table if needed.
+         * <p>
+         * The table index is written to the payload.
+         *
+         * @param type enum type
+         *
+         * @return name table
+         */
+        @NonNull
+        private Map<Enum<?>, Integer> table(@NonNull Class<? extends Enum<?>> type) {
+            Map<Enum<?>, Integer> table = mTables.get(type);
+            if (table == null) {
+                table = new LinkedHashMap<>();
+                mTableIndexes.put(type, mTables.size());
+                mTables.put(type, table);
+            }
+            //noinspection ConstantConditions
+            writeVarint(mPayload, mTableIndexes.get(type));
+            return table;
+        }
+
+        /**
+         * Retrieves the index of the given constant in a name table, registering the constant in the table if needed.
+         *
+         * @param table    name table
+         * @param constant enum constant
+         *
+         * @return constant index in the table
+         */
+        private static int index(@NonNull Map<Enum<?>, Integer> table, @NonNull Enum<?> constant) {
+            Integer index = table.get(constant);
+            if (index == null) {
+                index = table.size();
+                table.put(constant, index);
+            }
+            return index;
+        }
+
+        /**
+         * Writes an unsigned varint.
+         *
+         * @param out   stream to write to
+         * @param value value to write
+         */
+        private static void writeVarint(@NonNull ByteArrayOutputStream out, int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value: " + value);
+            }
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    /**
+     * Allows to decode values encoded in compact format.
+     * <p>
+     * All reading methods throw {@link IllegalArgumentException} in case the encoded content is malformed or
+     * truncated.
+     */
+    public static final class Reader {
+
+        /** Decoded content. */
+        @NonNull
+        private final byte[] mData;
+
+        /** Name tables, by index. */
+        @NonNull
+        private final List<String[]> mTables;
+
+        /** Name tables resolved to current enum constants, by table index. */
+        @NonNull
+        private final Map<Integer, Enum<?>[]> mResolvedTables;
+
+        /** Read position in {@link #mData}. */
+        private int mPosition;
+
+        /**
+         * Constructor.
+         *
+         * @param encoded encoded content to decode
+         *
+         * @throws IllegalArgumentException in case the content is malformed or its version is not supported
+         */
+        public Reader(@NonNull String encoded) {
+            mData = Base64.decode(encoded, Base64.NO_WRAP);
+            mResolvedTables = new HashMap<>();
+            int version = readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported compact encoding version: " + version);
+            }
+            int tableCount = readUnsigned();
+            mTables = new ArrayList<>(tableCount);
+            for (int i = 0; i < tableCount; i++) {
+                String[] names = new String[readUnsigned()];
+                for (int j = 0; j < names.length; j++) {
+                    int length = readUnsigned();
+                    require(length);
+                    names[j] = new String(mData, mPosition, length, StandardCharsets.UTF_8);
+                    mPosition += length;
+                }
+                mTables.add(names);
+            }
+        }
+
+        /**
+         * Reads an unsigned integer.
+         *
+         * @return read value
+         */
+        public int readUnsigned() {
+            int value = 0;
+            for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        /**
+         * Reads a boolean.
+         *
+         * @return read value
+         */
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        /**
+         * Reads a double.
+         *
+         * @return read value
+         */
+        public double readDouble() {
+            require(Long.BYTES);
+            long bits = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                bits |= (mData[mPosition++] & 0xFFL) << (i * 8);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        /**
+         * Reads an enum value.
+         *
+         * @param type class of the enum type
+         * @param <E>  type of the enum
+         *
+         * @return read value, {@code null} if the encoded constant does not exist anymore in the given enum type
+         */
+        @Nullable
+        public <E extends Enum<E>> E readEnum(@NonNull Class<E> type) {
+            E[] constants = resolve(readUnsigned(), type);
+            int index = readUnsigned();
+            if (index >= constants.length) {
+                throw new IllegalArgumentException("Enum index out of bounds: " + index);
+            }
+            return constants[index];
+        }
+
+        /**
+         * Reads an enum set.
+         * <p>
+         * Encoded constants that do not exist anymore in the given enum type are dropped.
+         *
+         * @param type class of the enum type in the set
+         * @param <E>  type of enum in the set
+         *
+         * @return read value
+         */
+        @NonNull
+        public <E extends Enum<E>> EnumSet<E> readEnumSet(@NonNull Class<E> type) {
+            E[] constants = resolve(readUnsigned(), type);
+            int length = readUnsigned();
+            require(length);
+            EnumSet<E> set = EnumSet.noneOf(type);
+            for (int i = 0, N = Math.min(constants.length, length * 8); i < N; i++) {
+                if ((mData[mPosition + i / 8] & (1 << (i % 8))) != 0 && constants[i] != null) {
+                    set.add(constants[i]);
+                }
+            }
+            mPosition += length;
+            return set;
+        }
+
+        /**
+         * Resolves a name table to the constants of the given enum type.
+         *
+         * @param table name table index
+         * @param type  class of the enum type
+         * @param <E>   type of the enum
+         *
+         * @return the enum constants matching each name in the table, {@code null} for names that do not match any
+         *         constant
+         */
+        @NonNull
+        private <E extends Enum<E>> E[] resolve(int table, @NonNull Class<E> type) {
+            if (table >= mTables.size()) {
+                throw new IllegalArgumentException("Name table index out of bounds: " + table);
+            }
+            @SuppressWarnings("unchecked")
+            E[] constants = (E[]) mResolvedTables.get(table);
+            if (constants == null) {
+                String[] names = mTables.get(table);
+                @SuppressWarnings("unchecked")
+                E[] resolved = (E[]) Array.newInstance(type, names.length);
+                for (int i = 0; i < names.length; i++) {
+                    try {
+                        resolved[i] = Enum.valueOf(type, names[i]);
+                    } catch (IllegalArgumentException ignored) {
+                        // constant does not exist anymore, leave null
+                    }
+                }
+                mResolvedTables.put(table, resolved);
+                constants = resolved;
+            } else if (constants.getClass().getComponentType() != type) {
+                throw new IllegalArgumentException("Name table " + table + " does not match " + type);
+            }
+            return constants;
+        }
+
+        /**
+         * Reads a single byte.
+         *
+         * @return read byte, as an unsigned value
+         */
+        private int readByte() {
+            require(1);
+            return mData[mPosition++] & 0xFF;
+        }
+
+        /**
+         * Ensures that enough bytes remain to be read.
+         *
+         * @param length required amount of bytes
+         */
+        private void require(int length) {
+            if (length < 0 || mData.length - mPosition < length) {
+                throw new IllegalArgumentException("Truncated content");
+            }
+        }
+    }
+
+    /**
+     * Private constructor for static utility class.
+     */
+    private CompactEncoding() {
+    }
+}
@@ -48,6 +48,7 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -358,6 +359,51 @@ public final class Converter {
         }
     }
 
+    /**
+     * Serializes a collection of values in compact format.
+     *
+     * @param collection    collection to serialize
+     * @param elementWriter function that writes each collection element
+     * @param <T>           type of elements in the collection
+     *
+     * @return a {@link CompactEncoding compact} String representation of the given collection, suitable for insertion
+     *         in a {@link PersistentStore.Dictionary}.
+     */
+    @NonNull
+    public static <T> String serializeCompactCollection(@NonNull Collection<T> collection,
+                                                        @NonNull BiConsumer<CompactEncoding.Writer, T> elementWriter) {
+        CompactEncoding.Writer writer = new CompactEncoding.Writer().writeUnsigned(collection.size());
+        for (T value : collection) {
+            elementWriter.accept(writer, value);
+        }
+        return writer.encode();
+    }
+
+    /**
+     * Parses a compact String representation of a collection of values.
+     *
+     * @param serializedCollection compact String representation of the collection to parse
+     * @param collectionFactory    function that creates the destination collection
+     * @param elementReader        function that reads each element
+     * @param <T>                  type of elements in the collection
+     * @param <C>                  type of the returned collection
+     *
+     * @return the corresponding collection
+     *
+     * @throws IllegalArgumentException in case parsing failed
+     */
+    @NonNull
+    public static <T, C extends Collection<T>> C parseCompactCollection(
+            @NonNull String serializedCollection, @NonNull Supplier<C> collectionFactory,
+            @NonNull Function<CompactEncoding.Reader, T> elementReader) {
+        CompactEncoding.Reader reader = new CompactEncoding.Reader(serializedCollection);
+        C collection = collectionFactory.get();
+        for (int i = 0, N = reader.readUnsigned(); i < N; i++) {
+            collection.add(elementReader.apply(reader));
+        }
+        return collection;
+    }
+
     /**
      * Serializes a map of keys to values.
      *
@@ -0,0 +1,592 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.arsdkengine.persistence;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.parrot.drone.groundsdk.internal.io.Files;
+import com.parrot.drone.groundsdk.internal.tasks.Executor;
+import com.parrot.drone.sdkcore.ulog.ULog;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_STORAGE;
+
+/**
+ * Persistent store backend that persists each root dictionary in its own files.
+ * <p>
+ * Each root dictionary is persisted as a snapshot file containing its whole json content, plus an append-only journal
+ * file where each record describes a change on one of the dictionary top-level entries. When the journal grows too
+ * large, it is compacted into a new snapshot.
+ * <p>
+ * Content is entirely loaded in memory upon construction. Then, stored changes are applied in memory immediately and
+ * written behind in background, at most {@link #WRITE_BEHIND_DELAY} milliseconds after the first unwritten change.
+ */
+final class JournaledBackend implements PersistentStore.Backend {
+
+    /** Extension of snapshot files. */
+    private static final String SNAPSHOT_EXT = ".json";
+
+    /** Extension of journal files. */
+    private static final String JOURNAL_EXT = ".journal";
+
+    /** Extension of snapshot files being written. */
+    private static final String TEMP_EXT = ".tmp";
+
+    /** Json key of the changed top-level entry key in journal records (String). */
+    private static final String RECORD_KEY = "k";
+
+    /** Json key of the changed top-level entry value in journal records (any json, absent if entry was removed). */
+    private static final String RECORD_VALUE = "v";
+
+    /** Delay, in milliseconds, after which stored changes are written to files. */
+    @VisibleForTesting
+    static final long WRITE_BEHIND_DELAY = 500;
+
+    /** Maximum amount of records in a journal; above this amount the journal is compacted into a new snapshot. */
+    @VisibleForTesting
+    static final int MAX_JOURNAL_RECORDS = 64;
+
+    /** A persisted root dictionary. */
+    private static final class Entry {
+
+        /** Current dictionary content. */
+        @NonNull
+        JSONObject mContent;
+
+        /** Journal records not written yet. */
+        @NonNull
+        final List<String> mPendingRecords;
+
+        /** {@code true} when the whole content must be written as a new snapshot. */
+        boolean mRewrite;
+
+        /** Amount of records in the journal file. */
+        int mJournalLength;
+
+        /**
+         * Constructor.
+         *
+         * @param content dictionary content
+         */
+        Entry(@NonNull JSONObject content) {
+            mContent = content;
+            mPendingRecords = new ArrayList<>();
+        }
+    }
+
+    /** Directory where files are persisted. */
+    @NonNull
+    private final File mDirectory;
+
+    /** Persisted dictionaries, by key. Guarded by {@code this}. */
+    @NonNull
+    private final Map<String, Entry> mEntries;
+
+    /** Keys of removed dictionaries, whose files must be deleted. Guarded by {@code this}. */
+    @NonNull
+    private final Set<String> mDeletedKeys;
+
+    /** Lock held while writing files, ensuring that changes are written in order. */
+    @NonNull
+    private final Object mIoLock;
+
+    /** {@code true} when writing changes to files is scheduled. Accessed on main thread only. */
+    private boolean mFlushScheduled;
+
+    /**
+     * Constructor.
+     * <p>
+     * Loads all dictionaries persisted in the given directory.
+     *
+     * @param directory directory where files are persisted
+     */
+    JournaledBackend(@NonNull File directory) {
+        mDirectory = directory;
+        mEntries = new HashMap<>();
+        mDeletedKeys = new HashSet<>();
+        mIoLock = new Object();
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            Set<String> names = new HashSet<>();
+            for (File file : files) {
+                String fileName = file.getName();
+                if (fileName.endsWith(SNAPSHOT_EXT)) {
+                    names.add(fileName.substring(0, fileName.length() - SNAPSHOT_EXT.length()));
+                } else if (fileName.endsWith(JOURNAL_EXT)) {
+                    names.add(fileName.substring(0, fileName.length() - JOURNAL_EXT.length()));
+                } else if (fileName.endsWith(SNAPSHOT_EXT + TEMP_EXT)) {
+                    names.add(fileName.substring(0, fileName.length() - SNAPSHOT_EXT.length() - TEMP_EXT.length()));
+                }
+            }
+            for (String name : names) {
+                String key = nameToKey(name);
+                Entry entry = key == null ? null : recover(name);
+                if (entry != null) {
+                    mEntries.put(key, entry);
+                }
+            }
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized Set<String> keys() {
+        return new HashSet<>(mEntries.keySet());
+    }
+
+    @Nullable
+    @Override
+    public synchronized JSONObject load(@NonNull String key) {
+        Entry entry = mEntries.get(key);
+        return entry == null ? null : copy(entry.mContent);
+    }
+
+    @Override
+    public void store(@NonNull String key, @Nullable JSONObject content, @Nullable Set<String> changedKeys) {
+        synchronized (this) {
+            Entry entry = mEntries.get(key);
+            if (content == null) {
+                if (entry != null) {
+                    mEntries.remove(key);
+                    mDeletedKeys.add(key);
+                }
+            } else if (entry == null || changedKeys == null) {
+                if (entry == null) {
+                    entry = new Entry(copy(content));
+                    mEntries.put(key, entry);
+                } else {
+                    entry.mContent = copy(content);
+                    entry.mPendingRecords.clear();
+                }
+                entry.mRewrite = true;
+            } else {
+                try {
+                    for (String changedKey : changedKeys) {
+                        String record = new JSONObject()
+                                .put(RECORD_KEY, changedKey)
+                                .putOpt(RECORD_VALUE, content.opt(changedKey))
+                                .toString();
+                        // apply parsed record rather than content, so that stored content is a copy
+                        apply(new JSONObject(record), entry.mContent);
+                        if (!entry.mRewrite) {
+                            entry.mPendingRecords.add(record);
+                        }
+                    }
+                } catch (JSONException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        scheduleFlush();
+    }
+
+    @NonNull
+    @Override
+    public synchronized Map<String, ?> content() {
+        Map<String, String> content = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : mEntries.entrySet()) {
+            content.put(entry.getKey(), entry.getValue().mContent.toString());
+        }
+        return content;
+    }
+
+    /**
+     * Writes all stored changes to files.
+     * <p>
+     * This method performs I/O and blocks until all changes are written.
+     *
+     * @return {@code true} if all changes were written, {@code false} if writing some of them failed, in which case
+     *         they will be written again during next flush
+     */
+    boolean flush() {
+        synchronized (mIoLock) {
+            Set<String> deletedKeys;
+            Map<String, String> snapshots = new HashMap<>();
+            Map<String, List<String>> journals = new HashMap<>();
+            synchronized (this) {
+                deletedKeys = new HashSet<>(mDeletedKeys);
+                mDeletedKeys.clear();
+                for (Map.Entry<String, Entry> mapEntry : mEntries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    if (entry.mRewrite
+                        || entry.mJournalLength + entry.mPendingRecords.size() > MAX_JOURNAL_RECORDS) {
+                        snapshots.put(mapEntry.getKey(), entry.mContent.toString());
+                        entry.mJournalLength = 0;
+                    } else if (!entry.mPendingRecords.isEmpty()) {
+                        journals.put(mapEntry.getKey(), new ArrayList<>(entry.mPendingRecords));
+                        entry.mJournalLength += entry.mPendingRecords.size();
+                    }
+                    entry.mPendingRecords.clear();
+                    entry.mRewrite = false;
+                }
+            }
+
+            boolean success = true;
+            for (String key : deletedKeys) {
+                String name = keyToName(key);
+                if (!deleteIfExists(snapshotFile(name)) | !deleteIfExists(journalFile(name))) {
+                    ULog.e(TAG_STORAGE, "Failed to delete persisted content [key: " + key + "]");
+                    success = false;
+                }
+            }
+
+            if (snapshots.isEmpty() && journals.isEmpty()) {
+                return success;
+            }
+
+            try {
+                Files.makeDirectories(mDirectory);
+            } catch (IOException e) {
+                ULog.e(TAG_STORAGE, "Failed to create store directory", e);
+                rewriteLater(snapshots.keySet());
+                rewriteLater(journals.keySet());
+                return false;
+            }
+
+            for (Map.Entry<String, String> snapshot : snapshots.entrySet()) {
+                try {
+                    writeSnapshot(keyToName(snapshot.getKey()), snapshot.getValue());
+                } catch (IOException e) {
+                    ULog.e(TAG_STORAGE, "Failed to write snapshot [key: " + snapshot.getKey() + "]", e);
+                    rewriteLater(Collections.singleton(snapshot.getKey()));
+                    success = false;
+                }
+            }
+
+            for (Map.Entry<String, List<String>> journal : journals.entrySet()) {
+                try {
+                    appendJournal(keyToName(journal.getKey()), journal.getValue());
+                } catch (IOException e) {
+                    ULog.e(TAG_STORAGE, "Failed to append journal [key: " + journal.getKey() + "]", e);
+                    rewriteLater(Collections.singleton(journal.getKey()));
+                    success = false;
+                }
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Schedules stored changes to be written to files, unless already scheduled.
+     */
+    private void scheduleFlush() {
+        if (!mFlushScheduled) {
+            mFlushScheduled = true;
+            Executor.schedule(mFlushTrigger, WRITE_BEHIND_DELAY);
+        }
+    }
+
+    /** Writes stored changes to files in background. Runs on main thread. */
+    private final Runnable mFlushTrigger = () -> {
+        mFlushScheduled = false;
+        Executor.runInBackground(this::flush);
+    };
+
+    /**
+     * Marks dictionaries so that their whole content is written as a new snapshot during next flush.
+     * <p>
+     * Used when writing some dictionary failed, so that persisted content gets consistent again.
+     *
+     * @param keys keys of the dictionaries to rewrite
+     */
+    private synchronized void rewriteLater(@NonNull Set<String> keys) {
+        for (String key : keys) {
+            Entry entry = mEntries.get(key);
+            if (entry != null) {
+                entry.mRewrite = true;
+            }
+        }
+    }
+
+    /**
+     * Recovers a dictionary from its files.
+     * <p>
+     * Completes or rolls back any interrupted snapshot write. Journal records that cannot be parsed, as well as any
+     * subsequent records, are dropped; in such a case, the journal is compacted right away.
+     *
+     * @param name base name of the dictionary files
+     *
+     * @return recovered dictionary, or {@code null} if it does not exist
+     */
+    @Nullable
+    private Entry recover(@NonNull String name) {
+        File snapshotFile = snapshotFile(name);
+        File journalFile = journalFile(name);
+        File tempFile = tempFile(name);
+
+        if (tempFile.exists()) {
+            // snapshot write was interrupted; journal is only deleted once the new snapshot is completely written
+            if (journalFile.exists() || readJson(tempFile) == null) {
+                deleteIfExists(tempFile);
+            } else if (!tempFile.renameTo(snapshotFile)) {
+                ULog.e(TAG_STORAGE, "Failed to recover snapshot: " + tempFile);
+            }
+        }
+
+        if (!snapshotFile.exists() && !journalFile.exists()) {
+            return null;
+        }
+
+        JSONObject content = snapshotFile.exists() ? readJson(snapshotFile) : null;
+        Entry entry = new Entry(content == null ? new JSONObject() : content);
+
+        if (journalFile.exists()) {
+            boolean complete = true;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null && complete; line = reader.readLine()) {
+                    try {
+                        apply(new JSONObject(line), entry.mContent);
+                        entry.mJournalLength++;
+                    } catch (JSONException e) {
+                        ULog.w(TAG_STORAGE, "Dropping journal tail [file: " + journalFile + "]", e);
+                        complete = false;
+                    }
+                }
+            } catch (IOException e) {
+                ULog.e(TAG_STORAGE, "Failed to read journal: " + journalFile, e);
+                complete = false;
+            }
+            if (!complete) {
+                try {
+                    writeSnapshot(name, entry.mContent.toString());
+                    entry.mJournalLength = 0;
+                } catch (IOException e) {
+                    ULog.e(TAG_STORAGE, "Failed to compact journal: " + journalFile, e);
+                    entry.mRewrite = true;
+                }
+            }
+        }
+
+        return entry.mContent.length() == 0 && !entry.mRewrite ? null : entry;
+    }
+
+    /**
+     * Writes a new snapshot, and deletes the journal.
+     *
+     * @param name     base name of the dictionary files
+     * @param snapshot snapshot content to write
+     *
+     * @throws IOException in case writing failed
+     */
+    private void writeSnapshot(@NonNull String name, @NonNull String snapshot) throws IOException {
+        File tempFile = tempFile(name);
+        try (FileOutputStream stream = new FileOutputStream(tempFile)) {
+            stream.write(snapshot.getBytes(StandardCharsets.UTF_8));
+            stream.getFD().sync();
+        }
+        if (!deleteIfExists(journalFile(name))) {
+            throw new IOException("Could not delete journal of " + name);
+        }
+        if (!tempFile.renameTo(snapshotFile(name))) {
+            throw new IOException("Could not rename " + tempFile);
+        }
+    }
+
+    /**
+     * Appends records to the journal.
+     *
+     * @param name    base name of the dictionary files
+     * @param records records to append
+     *
+     * @throws IOException in case writing failed
+     */
+    private void appendJournal(@NonNull String name, @NonNull List<String> records) throws IOException {
+        StringBuilder data = new StringBuilder();
+        for (String record : records) {
+            data.append(record).append('\n');
+        }
+        try (FileOutputStream stream = new FileOutputStream(journalFile(name), true)) {
+            stream.write(data.toString().getBytes(StandardCharsets.UTF_8));
+            stream.getFD().sync();
+        }
+    }
+
+    /**
+     * Applies a journal record to some dictionary content.
+     *
+     * @param record  record to apply
+     * @param content content to apply the record to
+     *
+     * @throws JSONException in case the record is malformed
+     */
+    private static void apply(@NonNull JSONObject record, @NonNull JSONObject content) throws JSONException {
+        String key = record.getString(RECORD_KEY);
+        Object value = record.opt(RECORD_VALUE);
+        if (value == null) {
+            content.remove(key);
+        } else {
+            content.put(key, value);
+        }
+    }
+
+    /**
+     * Reads json content from a file.
+     *
+     * @param file file to read
+     *
+     * @return read json content, or {@code null} if the file could not be read or parsed
+     */
+    @Nullable
+    private static JSONObject readJson(@NonNull File file) {
+        byte[] data = new byte[(int) file.length()];
+        try (FileInputStream stream = new FileInputStream(file)) {
+            int offset = 0;
+            for (int read = 0; read != -1 && offset < data.length; offset += read) {
+                read = stream.read(data, offset, data.length - offset);
+            }
+            return new JSONObject(new String(data, StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            ULog.e(TAG_STORAGE, "Failed to read " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Copies some json content.
+     *
+     * @param content content to copy
+     *
+     * @return a deep copy of the given content
+     */
+    @NonNull
+    private static JSONObject copy(@NonNull JSONObject content) {
+        try {
+            return new JSONObject(content.toString());
+        } catch (JSONException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deletes a file, if it exists.
+     *
+     * @param file file to delete
+     *
+     * @return {@code true} if the file does not exist anymore, otherwise {@code false}
+     */
+    private static boolean deleteIfExists(@NonNull File file) {
+        return file.delete() || !file.exists();
+    }
+
+    /**
+     * Gets the snapshot file of a dictionary.
+     *
+     * @param name base name of the dictionary files
+     *
+     * @return snapshot file
+     */
+    @NonNull
+    private File snapshotFile(@NonNull String name) {
+        return new File(mDirectory, name + SNAPSHOT_EXT);
+    }
+
+    /**
+     * Gets the journal file of a dictionary.
+     *
+     * @param name base name of the dictionary files
+     *
+     * @return journal file
+     */
+    @NonNull
+    private File journalFile(@NonNull String name) {
+        return new File(mDirectory, name + JOURNAL_EXT);
+    }
+
+    /**
+     * Gets the temporary snapshot file of a dictionary.
+     *
+     * @param name base name of the dictionary files
+     *
+     * @return temporary snapshot file
+     */
+    @NonNull
+    private File tempFile(@NonNull String name) {
+        return new File(mDirectory, name + SNAPSHOT_EXT + TEMP_EXT);
+    }
+
+    /**
+     * Converts a dictionary key to the base name of its files.
+     *
+     * @param key dictionary key
+     *
+     * @return files base name
+     */
+    @NonNull
+    private static String keyToName(@NonNull String key) {
+        try {
+            return URLEncoder.encode(key, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e); // UTF-8 is always supported
+        }
+    }
+
+    /**
+     * Converts the base name of dictionary files to the dictionary key.
+     *
+     * @param name files base name
+     *
+     * @return dictionary key, or {@code null} if the name is invalid
+     */
+    @Nullable
+    private static String nameToKey(@NonNull String name) {
+        try {
+            return URLDecoder.decode(name, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
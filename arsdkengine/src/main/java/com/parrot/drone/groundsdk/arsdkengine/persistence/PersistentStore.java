@@ -40,11 +40,16 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.parrot.drone.groundsdk.device.DeviceModel;
+import com.parrot.drone.groundsdk.internal.tasks.Executor;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
 import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -52,8 +57,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_STORAGE;
+
 /**
- * A persistent store backed by a shared preferences file storing json data.
+ * A persistent store of json data, organized as root dictionaries for each known device and preset.
  */
 public class PersistentStore {
 
@@ -101,6 +108,60 @@ public class PersistentStore {
         /** {@code true} when the dictionary is new, i.e. it has not been persisted to the store. */
         private boolean mNew;
 
+        /** Root dictionary of the tree this dictionary belongs to; {@code this} for root dictionaries. */
+        @NonNull
+        private final Dictionary mRoot;
+
+        /** Key of the root dictionary entry containing this dictionary; {@code null} for root dictionaries. */
+        @Nullable
+        private final String mTopLevelKey;
+
+        /** Path to this dictionary from the root dictionary, used to key cached parsed values. */
+        @NonNull
+        private final String mPath;
+
+        /** Parsed values cache, by path. Only maintained by root dictionaries, {@code null} until needed. */
+        @Nullable
+        private Map<String, ParsedValue> mParsedValues;
+
+        /** Content revision of each top-level entry. Only maintained by root dictionaries. */
+        @Nullable
+        private Map<String, Long> mRevisions;
+
+        /** Content revision of top-level entries without specific revision. Only maintained by root dictionaries. */
+        private long mBaseRevision;
+
+        /** Latest allocated content revision. Only maintained by root dictionaries. */
+        private long mLastRevision;
+
+        /** A value parsed by some storage entry, along with the content revision it was parsed from. */
+        private static final class ParsedValue {
+
+            /** Storage entry that parsed the value. */
+            @NonNull
+            final StorageEntry<?> mEntry;
+
+            /** Parsed value. */
+            @NonNull
+            final Object mValue;
+
+            /** Content revision the value was parsed from. */
+            final long mRevision;
+
+            /**
+             * Constructor.
+             *
+             * @param entry    storage entry that parsed the value
+             * @param value    parsed value
+             * @param revision content revision the value was parsed from
+             */
+            ParsedValue(@NonNull StorageEntry<?> entry, @NonNull Object value, long revision) {
+                mEntry = entry;
+                mValue = value;
+                mRevision = revision;
+            }
+        }
+
         /**
          * Constructor.
          *
@@ -113,6 +174,15 @@ public class PersistentStore {
             mJson = json;
             mParent = parent;
             mNew = mJson == null;
+            if (parent == null) {
+                mRoot = this;
+                mTopLevelKey = null;
+                mPath = "";
+            } else {
+                mRoot = parent.mRoot;
+                mTopLevelKey = parent.mTopLevelKey == null ? key : parent.mTopLevelKey;
+                mPath = parent.mPath + key + '/';
+            }
         }
 
         /**
@@ -329,6 +399,8 @@ public class PersistentStore {
                 mJson = null;
                 if (mParent != null) {
                     mParent.doUpdate(mKey, null);
+                } else {
+                    invalidateParsedValues(null);
                 }
             }
             return this;
@@ -360,30 +432,173 @@ public class PersistentStore {
         void doUpdate(@NonNull String key, @Nullable Object value) {
             Object previousContent = mJson == null ? null : mJson.opt(key);
             if (!Objects.equals(previousContent, value)) {
-                if (mJson == null) {
-                    mJson = new JSONObject();
-                }
-                try {
-                    mJson.put(key, value);
-                } catch (JSONException e) {
-                    throw new RuntimeException(e);
-                }
-                if (mJson.length() == 0) {
-                    mJson = null;
+                // invalidate from here, since parents do not see in place changes of their sub-dictionaries
+                mRoot.invalidateParsedValues(Collections.singleton(mTopLevelKey == null ? key : mTopLevelKey));
+                doChange(key, value);
+            }
+        }
+
+        /**
+         * Changes an entry and reports the change up to the root dictionary.
+         * <p>
+         * Child dictionaries call this method on their parent once their content actually changed. Since they change
+         * that content in place, the parent entry may still reference the same instance, so no comparison is made.
+         *
+         * @param key   key of the entry to change
+         * @param value new entry value, null to remove this key from the dictionary
+         */
+        void doChange(@NonNull String key, @Nullable Object value) {
+            if (mJson == null) {
+                mJson = new JSONObject();
+            }
+            try {
+                mJson.put(key, value);
+            } catch (JSONException e) {
+                throw new RuntimeException(e);
+            }
+            if (mJson.length() == 0) {
+                mJson = null;
+            }
+            if (mParent != null) {
+                mParent.doChange(mKey, mJson);
+            }
+        }
+
+        /**
+         * Retrieves a value previously parsed by the given storage entry.
+         *
+         * @param key   key of the entry
+         * @param entry storage entry that parsed the value
+         * @param <T>   type of parsed value
+         *
+         * @return cached parsed value, or {@code null} if no such value exists, or the entry content changed since the
+         *         value was parsed
+         */
+        @Nullable
+        final <T> T getParsedValue(@NonNull String key, @NonNull StorageEntry<T> entry) {
+            ParsedValue parsed = mRoot.mParsedValues == null ? null : mRoot.mParsedValues.get(mPath + key);
+            if (parsed == null || parsed.mEntry != entry || parsed.mRevision != revision(key)) {
+                return null;
+            }
+            @SuppressWarnings("unchecked") // ensured by entry identity
+            T value = (T) parsed.mValue;
+            return value;
+        }
+
+        /**
+         * Caches a value parsed by the given storage entry.
+         * <p>
+         * The cached value remains valid until the content it was parsed from changes.
+         *
+         * @param key   key of the entry
+         * @param entry storage entry that parsed the value
+         * @param value parsed value
+         * @param <T>   type of parsed value
+         */
+        final <T> void putParsedValue(@NonNull String key, @NonNull StorageEntry<T> entry, @NonNull T value) {
+            if (mRoot.mParsedValues == null) {
+                mRoot.mParsedValues = new HashMap<>();
+            }
+            mRoot.mParsedValues.put(mPath + key, new ParsedValue(entry, value, revision(key)));
+        }
+
+        /**
+         * Invalidates cached parsed values.
+         * <p>
+         * Must only be called on root dictionaries.
+         *
+         * @param keys keys of the top-level entries whose content changed, {@code null} if the whole content changed
+         */
+        final void invalidateParsedValues(@Nullable Collection<String> keys) {
+            if (keys == null) {
+                mParsedValues = null;
+                mRevisions = null;
+                mBaseRevision = ++mLastRevision;
+            } else if (mParsedValues != null) {
+                if (mRevisions == null) {
+                    mRevisions = new HashMap<>();
                 }
-                if (mParent != null) {
-                    mParent.doUpdate(mKey, mJson);
+                for (String key : keys) {
+                    mRevisions.put(key, ++mLastRevision);
                 }
             }
         }
+
+        /**
+         * Retrieves the content revision of an entry of this dictionary.
+         *
+         * @param key key of the entry
+         *
+         * @return entry content revision
+         */
+        private long revision(@NonNull String key) {
+            String topLevelKey = mTopLevelKey == null ? key : mTopLevelKey;
+            Long revision = mRoot.mRevisions == null ? null : mRoot.mRevisions.get(topLevelKey);
+            return revision == null ? mRoot.mBaseRevision : revision;
+        }
+    }
+
+    /**
+     * Backend storing the content of root dictionaries.
+     */
+    interface Backend {
+
+        /**
+         * Gets the keys of all stored root dictionaries.
+         *
+         * @return a mutable set containing all stored keys
+         */
+        @NonNull
+        Set<String> keys();
+
+        /**
+         * Loads the content stored at the given key.
+         *
+         * @param key the key to the content to load
+         *
+         * @return a new JSONObject instance holding the content, or {@code null} if nothing is stored for that key or
+         *         it could not be parsed
+         */
+        @Nullable
+        JSONObject load(@NonNull String key);
+
+        /**
+         * Stores content at the given key.
+         * <p>
+         * {@code changedKeys}, when provided, allows backends to only persist the top-level entries of {@code content}
+         * that did change since content was last stored at that key.
+         *
+         * @param key         the key where to store the content
+         * @param content     content to store, {@code null} to remove the key from the store
+         * @param changedKeys keys of top-level entries that changed in {@code content}, {@code null} if the whole
+         *                    content must be considered as changed
+         */
+        void store(@NonNull String key, @Nullable JSONObject content, @Nullable Set<String> changedKeys);
+
+        /**
+         * Retrieves a raw view of the whole store content, for debug and tests.
+         *
+         * @return store content, a map of each key to the corresponding content
+         */
+        @NonNull
+        Map<String, ?> content();
     }
 
     /** Shared preferences file name. */
     private static final String STORE_NAME = "arsdkenginestore";
 
+    /** Name of the directory, in application files directory, where the journaled store content is persisted. */
+    private static final String STORE_DIRECTORY = "arsdkenginestore";
+
     /** Shared preferences key for version (int). */
     private static final String KEY_VERSION = "version";
 
+    /** Version of a store whose content is persisted in shared preferences. */
+    private static final int VERSION_SHARED_PREFERENCES = 1;
+
+    /** Version of a store whose content has been migrated to a journaled store. */
+    private static final int VERSION_JOURNALED = 2;
+
     /** shared preferences key prefix for each device (content: json as String). */
     private static final String KEY_DEVICE_PREFIX = "device-";
 
@@ -394,9 +609,9 @@ public class PersistentStore {
     @NonNull
     final Context mContext;
 
-    /** Shared preferences backing the preference store. */
+    /** Backend persisting the store content. */
     @NonNull
-    private final SharedPreferences mPrefs;
+    private final Backend mBackend;
 
     /** Dictionary observers, by root dictionary. */
     @NonNull
@@ -404,18 +619,63 @@ public class PersistentStore {
 
     /**
      * Constructor.
+     * <p>
+     * Content is persisted in a {@link JournaledBackend journaled store}, located in the application files directory.
+     * Content from former versions, that was persisted in shared preferences, is migrated to the journaled store
+     * the first time. <br>
+     * In case the application files directory is not available, content is persisted in shared preferences.
      *
      * @param context application context
      */
     public PersistentStore(@NonNull Context context) {
         mContext = context;
-        mPrefs = context.getSharedPreferences(STORE_NAME, Context.MODE_PRIVATE);
         mObservers = new HashMap<>();
-        int version = mPrefs.getInt(KEY_VERSION, 0);
-        if (version == 0) {
-            version = 1;
-            mPrefs.edit().putInt(KEY_VERSION, version).apply();
+        SharedPreferences prefs = context.getSharedPreferences(STORE_NAME, Context.MODE_PRIVATE);
+        File filesDir = context.getFilesDir();
+        if (filesDir == null) {
+            if (prefs.getInt(KEY_VERSION, 0) == 0) {
+                prefs.edit().putInt(KEY_VERSION, VERSION_SHARED_PREFERENCES).apply();
+            }
+            mBackend = new SharedPreferencesBackend(prefs);
+        } else {
+            JournaledBackend backend = new JournaledBackend(new File(filesDir, STORE_DIRECTORY));
+            if (prefs.getInt(KEY_VERSION, 0) < VERSION_JOURNALED) {
+                migrate(prefs, backend);
+            }
+            mBackend = backend;
+        }
+    }
+
+    /**
+     * Migrates content persisted in shared preferences to a journaled store.
+     * <p>
+     * Migrated content is written to files in background; shared preferences are cleared once it is completely
+     * persisted in the journaled store.
+     *
+     * @param prefs   shared preferences to migrate content from
+     * @param backend journaled store to migrate content to
+     */
+    private static void migrate(@NonNull SharedPreferences prefs, @NonNull JournaledBackend backend) {
+        Set<String> migratedKeys = backend.keys();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            Object content = entry.getValue();
+            // content already in the journaled store comes from a former, partially failed, migration and may have
+            // been updated since, so it must not be overwritten
+            if (content instanceof String && !migratedKeys.contains(entry.getKey())) {
+                try {
+                    backend.store(entry.getKey(), new JSONObject((String) content), null);
+                } catch (JSONException e) {
+                    ULog.w(TAG_STORAGE, "Dropping unparsable content [key: " + entry.getKey() + "]", e);
+                }
+            }
         }
+        Executor.runInBackground(backend::flush).whenComplete((success, error, canceled) -> {
+            if (Boolean.TRUE.equals(success)) {
+                prefs.edit().clear().putInt(KEY_VERSION, VERSION_JOURNALED).apply();
+            } else if (ULog.w(TAG_STORAGE)) {
+                ULog.w(TAG_STORAGE, "Migration incomplete, will be resumed on next launch");
+            }
+        });
     }
 
     /**
@@ -426,7 +686,7 @@ public class PersistentStore {
     @NonNull
     public final Set<String> getDevicesUid() {
         Set<String> uids = new HashSet<>();
-        for (String key : mPrefs.getAll().keySet()) {
+        for (String key : mBackend.keys()) {
             if (key.startsWith(KEY_DEVICE_PREFIX)) {
                 uids.add(keyToDeviceUid(key));
             }
@@ -509,16 +769,7 @@ public class PersistentStore {
      */
     @Nullable
     JSONObject loadContent(@NonNull String key) {
-        String content = mPrefs.getString(key, null);
-        JSONObject json = null;
-        if (content != null) {
-            try {
-                json = new JSONObject(content);
-            } catch (JSONException e) {
-                // ignore
-            }
-        }
-        return json;
+        return mBackend.load(key);
     }
 
     /**
@@ -528,13 +779,7 @@ public class PersistentStore {
      * @param content JSON content to store
      */
     void storeContent(@NonNull String key, @Nullable JSONObject content) {
-        SharedPreferences.Editor editor = mPrefs.edit();
-        if (content == null) {
-            editor.remove(key);
-        } else {
-            editor.putString(key, content.toString());
-        }
-        editor.apply();
+        mBackend.store(key, content, null);
     }
 
     /**
@@ -543,12 +788,13 @@ public class PersistentStore {
      * The dictionary from which the change originates is <strong>NOT</strong> notified.
      *
      * @param changedDict the dictionary that triggered the change
+     * @param changedKeys keys of changed top-level entries, {@code null} if the whole content changed
      */
-    private void notifyDictionaryChange(@NonNull RootDictionary changedDict) {
+    private void notifyDictionaryChange(@NonNull RootDictionary changedDict, @Nullable Set<String> changedKeys) {
         for (RootDictionary dict : mObservers.keySet()) {
             if (dict.mKey.equals(changedDict.mKey) && dict != changedDict) {
                 //noinspection ConstantConditions: mObservers values never null
-                mObservers.get(dict.reload()).onChange();
+                mObservers.get(dict.reload(changedKeys)).onChange();
             }
         }
     }
@@ -593,9 +839,16 @@ public class PersistentStore {
         @NonNull
         private final PersistentStore mPersistentStore;
 
+        /** Keys of top-level entries changed since last commit. */
+        @NonNull
+        private final Set<String> mChangedKeys;
+
         /** {@code true} when the dictionary has been changed. */
         private boolean mChanged;
 
+        /** {@code true} when the dictionary has been cleared since last commit. */
+        private boolean mCleared;
+
         /**
          * Constructor.
          *
@@ -605,22 +858,25 @@ public class PersistentStore {
         RootDictionary(@NonNull String key, @NonNull PersistentStore persistentStore) {
             super(key, persistentStore.loadContent(key), null);
             mPersistentStore = persistentStore;
+            mChangedKeys = new HashSet<>();
         }
 
         @Override
         public void commit() {
             super.commit();
             if (mChanged) {
-                mPersistentStore.storeContent(mKey, mJson);
-                mChanged = false;
-                mPersistentStore.notifyDictionaryChange(this);
+                Set<String> changedKeys = mCleared ? null : new HashSet<>(mChangedKeys);
+                mPersistentStore.mBackend.store(mKey, mJson, changedKeys);
+                mChangedKeys.clear();
+                mChanged = mCleared = false;
+                mPersistentStore.notifyDictionaryChange(this, changedKeys);
             }
         }
 
         @NonNull
         @Override
         public Dictionary clear() {
-            mChanged = true;
+            mChanged = mCleared = true;
             return super.clear();
         }
 
@@ -630,18 +886,42 @@ public class PersistentStore {
         }
 
         @Override
-        protected void doUpdate(@NonNull String key, @Nullable Object value) {
-            super.doUpdate(key, value);
+        void doChange(@NonNull String key, @Nullable Object value) {
+            super.doChange(key, value);
+            mChangedKeys.add(key);
             mChanged = true;
         }
 
         /**
          * Reloads dictionary content from backing persistent store.
+         * <p>
+         * When {@code changedKeys} are provided, only the corresponding top-level entries are reloaded; values parsed
+         * from other entries remain cached.
+         *
+         * @param changedKeys keys of top-level entries to reload, {@code null} to reload the whole content
          *
          * @return {@code this}, to allow chained calls
          */
-        RootDictionary reload() {
-            mJson = mPersistentStore.loadContent(mKey);
+        RootDictionary reload(@Nullable Set<String> changedKeys) {
+            JSONObject content = mPersistentStore.loadContent(mKey);
+            if (changedKeys == null || content == null || mJson == null) {
+                mJson = content;
+                invalidateParsedValues(null);
+            } else {
+                try {
+                    for (String key : changedKeys) {
+                        mJson.put(key, content.opt(key));
+                    }
+                } catch (JSONException e) {
+                    throw new RuntimeException(e);
+                }
+                if (mJson.length() == 0) {
+                    mJson = null;
+                }
+                invalidateParsedValues(changedKeys);
+            }
+            mChangedKeys.clear();
+            mCleared = false;
             return this;
         }
     }
@@ -658,7 +938,7 @@ public class PersistentStore {
             writer.write("\t--fake: dumps drones as fake drones\n");
         } else if (args.contains("--persistent-store") || args.contains("--all")) {
             writer.write("Persistent store:\n");
-            writer.write("\t" + mPrefs.getAll() + "\n");
+            writer.write("\t" + mBackend.content() + "\n");
         }
     }
 
@@ -673,6 +953,63 @@ public class PersistentStore {
     @VisibleForTesting(otherwise = VisibleForTesting.NONE)
     @NonNull
     Map<String, ?> content() {
-        return mPrefs.getAll();
+        return mBackend.content();
+    }
+
+    /** Backend persisting content in shared preferences, each root dictionary content being stored as a string. */
+    private static final class SharedPreferencesBackend implements Backend {
+
+        /** Shared preferences backing the store. */
+        @NonNull
+        private final SharedPreferences mPrefs;
+
+        /**
+         * Constructor.
+         *
+         * @param prefs shared preferences backing the store
+         */
+        SharedPreferencesBackend(@NonNull SharedPreferences prefs) {
+            mPrefs = prefs;
+        }
+
+        @NonNull
+        @Override
+        public Set<String> keys() {
+            Set<String> keys = new HashSet<>(mPrefs.getAll().keySet());
+            keys.remove(KEY_VERSION);
+            return keys;
+        }
+
+        @Nullable
+        @Override
+        public JSONObject load(@NonNull String key) {
+            String content = mPrefs.getString(key, null);
+            JSONObject json = null;
+            if (content != null) {
+                try {
+                    json = new JSONObject(content);
+                } catch (JSONException e) {
+                    // ignore
+                }
+            }
+            return json;
+        }
+
+        @Override
+        public void store(@NonNull String key, @Nullable JSONObject content, @Nullable Set<String> changedKeys) {
+            SharedPreferences.Editor editor = mPrefs.edit();
+            if (content == null) {
+                editor.remove(key);
+            } else {
+                editor.putString(key, content.toString());
+            }
+            editor.apply();
+        }
+
+        @NonNull
+        @Override
+        public Map<String, ?> content() {
+            return mPrefs.getAll();
+        }
     }
 }
@@ -46,6 +46,7 @@ import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG;
 
@@ -171,7 +172,7 @@ public abstract class StorageEntry<T> {
     public static <E extends Enum<E>> StorageEntry<EnumSet<E>> ofEnumSet(@NonNull String key, @NonNull Class<E> type) {
         return of(key,
                 (JSONArray serializedEnumSet) -> Converter.parseEnumSet(serializedEnumSet, type),
-                Converter::serializeEnumSet);
+                Converter::serializeEnumSet, EnumSet::clone);
     }
 
     /**
@@ -190,7 +191,7 @@ public abstract class StorageEntry<T> {
             @NonNull String key, @NonNull Class<K> keyType, @NonNull Class<V> valueType) {
         return of(key,
                 (JSONObject serializedEnumMap) -> Converter.parseEnumMap(serializedEnumMap, keyType, valueType),
-                Converter::serializeEnumMap);
+                Converter::serializeEnumMap, EnumMap::clone);
     }
 
     /**
@@ -207,7 +208,7 @@ public abstract class StorageEntry<T> {
             @NonNull String key, @NonNull Class<K> keyType) {
         return of(key,
                 (JSONObject serializedEnumMap) -> Converter.parseEnumToDoubleMap(serializedEnumMap, keyType),
-                Converter::serializeEnumToDoubleMap);
+                Converter::serializeEnumToDoubleMap, EnumMap::clone);
     }
 
     /**
@@ -224,7 +225,7 @@ public abstract class StorageEntry<T> {
             @NonNull String key, @NonNull Class<K> keyType) {
         return of(key,
                 (JSONObject serializedEnumMap) -> Converter.parseEnumToDoubleRangeMap(serializedEnumMap, keyType),
-                Converter::serializeEnumToDoubleRangeMap);
+                Converter::serializeEnumToDoubleRangeMap, EnumMap::clone);
     }
 
     /** Key to the stored value in storage. */
@@ -257,12 +258,11 @@ public abstract class StorageEntry<T> {
      */
     @Nullable
     public final T load(@Nullable PersistentStore.Dictionary store) {
-        Object serializedObject = store == null ? null : store.getObject(mKey);
-        if (serializedObject != null) {
+        if (store != null) {
             try {
-                return parse(serializedObject);
+                return parseFrom(store);
             } catch (IllegalArgumentException e) {
-                ULog.w(TAG, "Storage Entry: error parsing stored value: " + serializedObject, e);
+                ULog.w(TAG, "Storage Entry: error parsing stored value: " + store.getObject(mKey), e);
             }
         }
         return null;
@@ -284,8 +284,7 @@ public abstract class StorageEntry<T> {
      */
     @Nullable
     public final T loadOrThrow(@Nullable PersistentStore.Dictionary store) {
-        Object serializedObject = store == null ? null : store.getObject(mKey);
-        return serializedObject == null ? null : parse(serializedObject);
+        return store == null ? null : parseFrom(store);
     }
 
     /**
@@ -447,6 +446,46 @@ public abstract class StorageEntry<T> {
     @NonNull
     protected abstract Object serialize(@NonNull T object);
 
+    /**
+     * Copies a parsed value.
+     * <p>
+     * Parsed values are cached in the dictionary they were loaded from, until the corresponding content changes. This
+     * method is called to provide each loader with its own instance. <br>
+     * Default implementation returns the given value, which is only appropriate for immutable values; subclasses that
+     * parse mutable values must override this method.
+     *
+     * @param value parsed value to copy
+     *
+     * @return a copy of the given value
+     */
+    @NonNull
+    protected T copy(@NonNull T value) {
+        return value;
+    }
+
+    /**
+     * Parses the value from the given store, or obtains it from the store parsed values cache.
+     *
+     * @param store storage dictionary to load the value from
+     *
+     * @return the stored value, if any, or {@code null} if none
+     *
+     * @throws IllegalArgumentException in case a value is stored but could not be parsed successfully
+     */
+    @Nullable
+    private T parseFrom(@NonNull PersistentStore.Dictionary store) {
+        T value = store.getParsedValue(mKey, this);
+        if (value == null) {
+            Object serializedObject = store.getObject(mKey);
+            if (serializedObject == null) {
+                return null;
+            }
+            value = parse(serializedObject);
+            store.putParsedValue(mKey, this, value);
+        }
+        return copy(value);
+    }
+
     /**
      * Creates a new storage entry.
      *
@@ -460,6 +499,24 @@ public abstract class StorageEntry<T> {
      */
     private static <T, U> StorageEntry<T> of(@NonNull String key, @NonNull Function<? super U, ? extends T> parser,
                                              @NonNull Function<? super T, ? extends U> serializer) {
+        return of(key, parser, serializer, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a new storage entry for mutable values.
+     *
+     * @param key        storage entry key
+     * @param parser     function used to parse the storage json representation to the appropriate value
+     * @param serializer function used to serialize a value to its storage json representation
+     * @param copier     function used to copy a parsed value
+     * @param <T>        type of the stored value
+     * @param <U>        type of raw JSON value read from store (JSONObject, JSONArray, String, Boolean, Number)
+     *
+     * @return a new {@code StorageEntry} instance
+     */
+    private static <T, U> StorageEntry<T> of(@NonNull String key, @NonNull Function<? super U, ? extends T> parser,
+                                             @NonNull Function<? super T, ? extends U> serializer,
+                                             @NonNull UnaryOperator<T> copier) {
         return new StorageEntry<T>(key) {
 
             @SuppressWarnings("unchecked") // trust the caller
@@ -474,6 +531,12 @@ public abstract class StorageEntry<T> {
             protected Object serialize(@NonNull T object) {
                 return serializer.apply(object);
             }
+
+            @NonNull
+            @Override
+            protected T copy(@NonNull T value) {
+                return copier.apply(value);
+            }
         };
     }
 }
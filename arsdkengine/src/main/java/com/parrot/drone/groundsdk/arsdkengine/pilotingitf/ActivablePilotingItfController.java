@@ -229,6 +229,22 @@ public abstract class ActivablePilotingItfController extends PilotingItfControll
         return this;
     }
 
+    /**
+     * Sets both the current piloting command roll and pitch values for this piloting interface.
+     * <p>
+     * Contrary to subsequent {@link #setRoll} and {@link #setPitch} calls, this ensures that the drone never receives
+     * a piloting command where only one of both values is updated.
+     *
+     * @param roll  piloting command roll
+     * @param pitch piloting command pitch
+     *
+     * @return {@code this}, to allow call chaining
+     */
+    protected final ActivablePilotingItfController setRollAndPitch(int roll, int pitch) {
+        mActivationController.onRollAndPitch(this, roll, pitch);
+        return this;
+    }
+
     /** ActivablePilotingItfCore base backend implementation. */
     protected class Backend implements ActivablePilotingItfCore.Backend {
 
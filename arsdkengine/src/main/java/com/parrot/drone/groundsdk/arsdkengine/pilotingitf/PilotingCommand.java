@@ -34,31 +34,47 @@ package com.parrot.drone.groundsdk.arsdkengine.pilotingitf;
 
 import androidx.annotation.CallSuper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.internal.device.peripheral.PilotingCommandDiagnosticsCore;
 
 import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkNoAckCmdEncoder;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A generic piloting command that may be encoded into various specific piloting ArsdkCommands.
  * <p>
- * Note that the piloting command value fields are written to from the main thread while they are read from the pcmd
- * loop that runs in the pomp loop thread.
+ * Note that the piloting command values are written to from the main thread while they are read from the pcmd
+ * loop that runs in the pomp loop thread. All four values are packed in a single {@code long} field, so that the pcmd
+ * loop always reads a consistent set of values, which cannot mix axes from two different updates.
  */
 public final class PilotingCommand {
 
-    /** Piloting command common roll value. */
-    private volatile int mRoll;
+    /** Bit shift of the roll value in a packed piloting command. */
+    private static final int ROLL_SHIFT = 0;
+
+    /** Bit shift of the pitch value in a packed piloting command. */
+    private static final int PITCH_SHIFT = 16;
 
-    /** Piloting command common pitch value. */
-    private volatile int mPitch;
+    /** Bit shift of the yaw value in a packed piloting command. */
+    private static final int YAW_SHIFT = 32;
 
-    /** Piloting command common yaw value. */
-    private volatile int mYaw;
+    /** Bit shift of the gaz value in a packed piloting command. */
+    private static final int GAZ_SHIFT = 48;
 
-    /** Piloting command common gaz value. */
-    private volatile int mGaz;
+    /** Mask of a single value in a packed piloting command, once shifted. */
+    private static final long VALUE_MASK = 0xFFFFL;
+
+    /**
+     * Piloting command roll, pitch, yaw and gaz values, packed as signed 16 bits integers.
+     * <p>
+     * Only written from the main thread.
+     */
+    private volatile long mValues;
 
     /**
      * Retrieves the current flag value.
@@ -66,7 +82,7 @@ public final class PilotingCommand {
      * @return flag value
      */
     public int getFlag() {
-        return mRoll == 0 && mPitch == 0 ? 0 : 1;
+        return flagOf(mValues);
     }
 
     /**
@@ -75,7 +91,7 @@ public final class PilotingCommand {
      * @return roll value
      */
     public int getRoll() {
-        return mRoll;
+        return rollOf(mValues);
     }
 
     /**
@@ -84,7 +100,7 @@ public final class PilotingCommand {
      * @return roll value
      */
     public int getPitch() {
-        return mPitch;
+        return pitchOf(mValues);
     }
 
     /**
@@ -93,7 +109,7 @@ public final class PilotingCommand {
      * @return roll value
      */
     public int getYaw() {
-        return mYaw;
+        return yawOf(mValues);
     }
 
     /**
@@ -102,11 +118,84 @@ public final class PilotingCommand {
      * @return gaz value
      */
     public int getGaz() {
-        return mGaz;
+        return gazOf(mValues);
+    }
+
+    /**
+     * Packs piloting command values.
+     *
+     * @param roll  roll value
+     * @param pitch pitch value
+     * @param yaw   yaw value
+     * @param gaz   gaz value
+     *
+     * @return packed piloting command
+     */
+    private static long pack(int roll, int pitch, int yaw, int gaz) {
+        return ((roll & VALUE_MASK) << ROLL_SHIFT) | ((pitch & VALUE_MASK) << PITCH_SHIFT)
+               | ((yaw & VALUE_MASK) << YAW_SHIFT) | ((gaz & VALUE_MASK) << GAZ_SHIFT);
+    }
+
+    /**
+     * Extracts the flag value from a packed piloting command.
+     *
+     * @param values packed piloting command
+     *
+     * @return flag value
+     */
+    private static int flagOf(long values) {
+        return rollOf(values) == 0 && pitchOf(values) == 0 ? 0 : 1;
+    }
+
+    /**
+     * Extracts the roll value from a packed piloting command.
+     *
+     * @param values packed piloting command
+     *
+     * @return roll value
+     */
+    private static int rollOf(long values) {
+        return (short) (values >>> ROLL_SHIFT);
+    }
+
+    /**
+     * Extracts the pitch value from a packed piloting command.
+     *
+     * @param values packed piloting command
+     *
+     * @return pitch value
+     */
+    private static int pitchOf(long values) {
+        return (short) (values >>> PITCH_SHIFT);
+    }
+
+    /**
+     * Extracts the yaw value from a packed piloting command.
+     *
+     * @param values packed piloting command
+     *
+     * @return yaw value
+     */
+    private static int yawOf(long values) {
+        return (short) (values >>> YAW_SHIFT);
+    }
+
+    /**
+     * Extracts the gaz value from a packed piloting command.
+     *
+     * @param values packed piloting command
+     *
+     * @return gaz value
+     */
+    private static int gazOf(long values) {
+        return (short) (values >>> GAZ_SHIFT);
     }
 
     /**
      * Abstract base for a PilotingCommand encoder.
+     * <p>
+     * The encoder also measures the piloting command loop regularity and the latency between a piloting command change
+     * and the moment it is encoded, and reports them to the {@link #setDiagnostics diagnostics} peripheral, if any.
      */
     public abstract static class Encoder implements ArsdkNoAckCmdEncoder {
 
@@ -114,11 +203,26 @@ public final class PilotingCommand {
         @NonNull
         final PilotingCommand mPCmd;
 
+        /**
+         * Time of the eldest piloting command change not yet encoded, in the
+         * {@link TimeProvider#elapsedRealtime()} time base. {@code 0} when all changes have been encoded.
+         */
+        @NonNull
+        private final AtomicLong mPendingChangeTime;
+
+        /** Receives piloting command loop metrics. Written from main thread, read from pcmd loop. */
+        @Nullable
+        private volatile PilotingCommandDiagnosticsCore mDiagnostics;
+
+        /** Time of the latest encoding, {@code 0} if none since latest reset. Accessed only from pcmd loop. */
+        private long mLatestEncodeTime;
+
         /**
          * Constructor.
          */
         private Encoder() {
             mPCmd = new PilotingCommand();
+            mPendingChangeTime = new AtomicLong();
         }
 
         /**
@@ -132,62 +236,43 @@ public final class PilotingCommand {
         }
 
         /**
-         * Updates the current piloting command roll value.
+         * Sets the peripheral that receives piloting command loop metrics.
          *
-         * @param roll roll value to set
-         *
-         * @return {@code true} if setting this value changed the piloting command, otherwise {@code false}
+         * @param diagnostics diagnostics peripheral, {@code null} to stop reporting metrics
          */
-        public final boolean setRoll(int roll) {
-            if (mPCmd.mRoll == roll) {
-                return false;
-            }
-            mPCmd.mRoll = roll;
-            return true;
+        public final void setDiagnostics(@Nullable PilotingCommandDiagnosticsCore diagnostics) {
+            mDiagnostics = diagnostics;
         }
 
         /**
-         * Updates the current piloting command pitch value.
+         * Updates all current piloting command values at once.
+         * <p>
+         * The pcmd loop either encodes all the new values, or none of them.
          *
+         * @param roll  roll value to set
          * @param pitch pitch value to set
+         * @param yaw   yaw value to set
+         * @param gaz   gaz value to set
          *
-         * @return {@code true} if setting this value changed the piloting command, otherwise {@code false}
+         * @return {@code true} if setting these values changed the piloting command, otherwise {@code false}
          */
-        public final boolean setPitch(int pitch) {
-            if (mPCmd.mPitch == pitch) {
-                return false;
-            }
-            mPCmd.mPitch = pitch;
-            return true;
-        }
-
-        /**
-         * Updates the current piloting command yaw value.
-         *
-         * @param yaw yaw value to set
-         *
-         * @return {@code true} if setting this value changed the piloting command, otherwise {@code false}
-         */
-        public final boolean setYaw(int yaw) {
-            if (mPCmd.mYaw == yaw) {
-                return false;
-            }
-            mPCmd.mYaw = yaw;
-            return true;
+        public final boolean set(int roll, int pitch, int yaw, int gaz) {
+            return update(pack(roll, pitch, yaw, gaz));
         }
 
         /**
-         * Updates the current piloting command gaz value.
+         * Publishes new piloting command values to the pcmd loop.
          *
-         * @param gaz gaz value to set
+         * @param values new packed piloting command values
          *
-         * @return {@code true} if setting this value changed the piloting command, otherwise {@code false}
+         * @return {@code true} if the piloting command changed, otherwise {@code false}
          */
-        public final boolean setGaz(int gaz) {
-            if (mPCmd.mGaz == gaz) {
+        private boolean update(long values) {
+            if (mPCmd.mValues == values) {
                 return false;
             }
-            mPCmd.mGaz = gaz;
+            mPCmd.mValues = values;
+            mPendingChangeTime.compareAndSet(0, TimeProvider.elapsedRealtime());
             return true;
         }
 
@@ -203,7 +288,35 @@ public final class PilotingCommand {
          */
         @CallSuper
         public void reset() {
-            mPCmd.mRoll = mPCmd.mPitch = mPCmd.mGaz = mPCmd.mYaw = 0;
+            mPCmd.mValues = 0;
+            mPendingChangeTime.set(0);
+            mLatestEncodeTime = 0;
+        }
+
+        /**
+         * Acquires the piloting command values to encode.
+         * <p>
+         * Must be called once per pcmd loop iteration, from the pcmd loop. Loop interval and latency of the acquired
+         * change, if any, are reported to the diagnostics peripheral.
+         *
+         * @return packed piloting command values to encode
+         */
+        final long acquire() {
+            long now = TimeProvider.elapsedRealtime();
+            // clear pending change before reading values, so that a concurrent change is accounted on next iteration
+            long changeTime = mPendingChangeTime.getAndSet(0);
+            long values = mPCmd.mValues;
+            PilotingCommandDiagnosticsCore diagnostics = mDiagnostics;
+            if (diagnostics != null) {
+                if (mLatestEncodeTime != 0) {
+                    diagnostics.recordLoopInterval(now - mLatestEncodeTime);
+                }
+                if (changeTime != 0) {
+                    diagnostics.recordCommandLatency(now - changeTime);
+                }
+            }
+            mLatestEncodeTime = now;
+            return values;
         }
 
         /**
@@ -230,10 +343,11 @@ public final class PilotingCommand {
             @NonNull
             @Override
             public ArsdkCommand encodeNoAckCmd() {
+                long values = acquire();
                 // negate pitch: positive pitch from the drone POV means tilted towards ground (i.e. forward move),
                 // negative pitch means tilted towards sky (i.e. backward move)
-                return ArsdkFeatureArdrone3.Piloting.encodePCMD(mPCmd.getFlag(), mPCmd.mRoll, -mPCmd.mPitch, mPCmd.mYaw,
-                        mPCmd.mGaz, nextSequenceNumber());
+                return ArsdkFeatureArdrone3.Piloting.encodePCMD(flagOf(values), rollOf(values), -pitchOf(values),
+                        yawOf(values), gazOf(values), nextSequenceNumber());
             }
 
             /**
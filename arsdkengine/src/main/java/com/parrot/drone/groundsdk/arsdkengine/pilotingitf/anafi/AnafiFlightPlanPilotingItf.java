@@ -45,6 +45,9 @@ import com.parrot.drone.groundsdk.device.pilotingitf.FlightPlanPilotingItf.Unava
 import com.parrot.drone.groundsdk.device.pilotingitf.FlightPlanPilotingItf.UploadState;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.flightplan.FlightPlanPilotingItfCore;
 import com.parrot.drone.groundsdk.internal.http.HttpRequest;
+import com.parrot.drone.groundsdk.internal.io.Md5;
+import com.parrot.drone.groundsdk.internal.tasks.Executor;
+import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureCommon;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedState;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureCommon.MavlinkstateMavlinkfileplayingstatechangedType;
@@ -52,6 +55,10 @@ import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
 
 import static com.parrot.drone.groundsdk.arsdkengine.Logging.TAG_FLIGHTPLAN;
 
@@ -61,6 +68,12 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
     /** Key used to access preset and range dictionaries for this piloting interface settings. */
     private static final String SETTINGS_KEY = "flightPlan";
 
+    /** Key used to access the device dictionary mapping uploaded flight plans content hash to their drone uid. */
+    private static final String UPLOADS_KEY = "flightPlanUploads";
+
+    /** Maximum amount of uploaded flight plans remembered per drone; the whole record is dropped when exceeded. */
+    private static final int MAX_REMEMBERED_UPLOADS = 64;
+
     // preset store bindings
 
     /** Preferred target preset entry. */
@@ -81,6 +94,10 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
     @Nullable
     private final PersistentStore.Dictionary mDeviceDict;
 
+    /** Persists uploaded flight plans uids for this drone, indexed by flight plan file content hash. */
+    @NonNull
+    private final PersistentStore.Dictionary mUploadsDict;
+
     /** Persists current preset values for this piloting interface. */
     @Nullable
     private PersistentStore.Dictionary mPresetDict;
@@ -97,6 +114,30 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
     @Nullable
     private String mFlightPlanUid;
 
+    /** Flight plan file from which {@link #mFlightPlanUid} was obtained, {@code null} if unknown. */
+    @Nullable
+    private File mFlightPlanFile;
+
+    /** Content hash of {@link #mFlightPlanFile}, {@code null} if unknown. */
+    @Nullable
+    private String mFlightPlanHash;
+
+    /**
+     * {@code true} when {@link #mFlightPlanUid} was recalled from a previous upload instead of being returned by an
+     * actual upload, and the drone did not confirm yet that it still has the corresponding file.
+     */
+    private boolean mFlightPlanRecalled;
+
+    /**
+     * {@code true} when a start request was sent to the drone and the flight plan did not start playing yet. In case
+     * the drone reports the recalled flight plan missing meanwhile, the flight plan is started once uploaded again.
+     */
+    private boolean mStartPending;
+
+    /** Background task computing the content hash of the flight plan file being uploaded, {@code null} if none. */
+    @Nullable
+    private Task<String> mHashTask;
+
     /** {@code true} when the drone reports that all conditions to start a Flight Plan hold. */
     private boolean mFlightPlanAvailable;
 
@@ -118,6 +159,7 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
         super(activationController, false);
         mPresetDict = offlineSettingsEnabled() ? mDeviceController.getPresetDict().getDictionary(SETTINGS_KEY) : null;
         mDeviceDict = offlineSettingsEnabled() ? mDeviceController.getDeviceDict().getDictionary(SETTINGS_KEY) : null;
+        mUploadsDict = mDeviceController.getDeviceDict().getDictionary(UPLOADS_KEY);
         mPilotingItf = new FlightPlanPilotingItfCore(mComponentStore, new Backend());
         loadPersistedData();
         if (isPersisted()) {
@@ -160,6 +202,14 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
         mRestart = false;
         mPlaying = false;
         mStopped = false;
+        mStartPending = false;
+        mFlightPlanRecalled = false;
+        mFlightPlanFile = null;
+        mFlightPlanHash = null;
+        if (mHashTask != null) {
+            mHashTask.cancel();
+            mHashTask = null;
+        }
 
         mPilotingItf.cancelSettingsRollbacks()
                     .resetUnavailabilityReasons()
@@ -189,6 +239,7 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
         if (mDeviceDict != null) {
             mDeviceDict.clear().commit();
         }
+        mUploadsDict.clear().commit();
         mPilotingItf.unpublish();
     }
 
@@ -208,7 +259,7 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
      * Requests the device to start executing the flight plan.
      */
     private void sendStart() {
-        sendCommand(ArsdkFeatureCommon.Mavlink.encodeStart(mFlightPlanUid,
+        mStartPending = sendCommand(ArsdkFeatureCommon.Mavlink.encodeStart(mFlightPlanUid,
                 ArsdkFeatureCommon.MavlinkStartType.FLIGHTPLAN));
     }
 
@@ -374,6 +425,15 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
                                 reason = UnavailabilityReason.DRONE_NOT_CALIBRATED;
                                 break;
                             case MAVLINK_FILE:
+                                if (state == 0 && mFlightPlanRecalled) {
+                                    // drone does not have the recalled flight plan anymore, upload it again
+                                    forgetRecalledFlightPlan();
+                                    return;
+                                }
+                                if (state == 0) {
+                                    // drone refused to start the flight plan
+                                    mStartPending = false;
+                                }
                                 error = ActivationError.INCORRECT_FLIGHT_PLAN_FILE;
                                 break;
                             case TAKEOFF:
@@ -422,6 +482,12 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
                     mPlaying = state == MavlinkstateMavlinkfileplayingstatechangedState.PLAYING;
                     if (filepath == null || mFlightPlanUid == null || !filepath.endsWith(mFlightPlanUid)) {
                         mFlightPlanUid = null;
+                    } else if (mPlaying) {
+                        // drone plays the flight plan, so it does have the file
+                        mFlightPlanRecalled = false;
+                    }
+                    if (mPlaying) {
+                        mStartPending = false;
                     }
                     mPilotingItf.updateFlightPlanKnown(mFlightPlanUid != null);
                     updateMissingFileReason();
@@ -490,6 +556,9 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
 
     /**
      * Uploads a flight plan to the drone.
+     * <p>
+     * In case the exact same flight plan content has already been uploaded to the drone, the uid of that former upload
+     * is recalled instead of uploading the file again.
      *
      * @param flightPlan flight plan file to upload
      */
@@ -499,28 +568,31 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
                     .notifyUpdated();
         if (mStopped) {
             mFlightPlanToUpload = null;
-            HttpFlightPlanClient client = mDeviceController.getHttpClient(HttpFlightPlanClient.class);
-            if (client == null) {
-                // Invalid state, drone not connected
-                return;
+            if (mHashTask != null) {
+                mHashTask.cancel();
             }
-            client.uploadFlightPlan(flightPlan, (status, code, flightPlanUid) -> {
-                boolean success = status == HttpRequest.Status.SUCCESS;
-                if (ULog.d(TAG_FLIGHTPLAN)) {
-                    ULog.d(TAG_FLIGHTPLAN, "uploadFlightPlan complete [success: " + success
-                                           + ", uid: " + flightPlanUid + "]");
+            Task<String> hashTask = Executor.runInBackground(() -> computeHash(flightPlan));
+            mHashTask = hashTask;
+            hashTask.whenComplete((hash, error, canceled) -> {
+                if (canceled) {
+                    return;
                 }
-                mFlightPlanUid = success ? flightPlanUid : null;
-                mPilotingItf.updateUploadState(success ? UploadState.UPLOADED : UploadState.FAILED)
-                            .updateFlightPlanKnown(mFlightPlanUid != null)
-                            .updatePaused(false);
-                updateMissingFileReason();
-                if (canDeactivate()) { // pause flight plan if necessary
-                    requestDeactivation();
+                mHashTask = null;
+                if (error != null) {
+                    ULog.w(TAG_FLIGHTPLAN, "Could not compute flight plan hash [file: " + flightPlan + "]", error);
+                }
+                String uid = hash == null ? null : mUploadsDict.getString(hash);
+                if (uid == null) {
+                    sendFlightPlan(flightPlan, hash);
                 } else {
-                    updateAvailability();
+                    if (ULog.d(TAG_FLIGHTPLAN)) {
+                        ULog.d(TAG_FLIGHTPLAN, "Flight plan already uploaded [uid: " + uid + "]");
+                    }
+                    mFlightPlanFile = flightPlan;
+                    mFlightPlanHash = hash;
+                    mFlightPlanRecalled = true;
+                    onUploadComplete(uid);
                 }
-                mPilotingItf.notifyUpdated();
             });
         } else {
             // stop current flight plan, if any, before uploading the file
@@ -529,6 +601,116 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
         }
     }
 
+    /**
+     * Sends a flight plan file to the drone.
+     *
+     * @param flightPlan flight plan file to send
+     * @param hash       flight plan file content hash, {@code null} if unknown
+     */
+    private void sendFlightPlan(@NonNull File flightPlan, @Nullable String hash) {
+        HttpFlightPlanClient client = mDeviceController.getHttpClient(HttpFlightPlanClient.class);
+        if (client == null) {
+            // Invalid state, drone not connected
+            return;
+        }
+        client.uploadFlightPlan(flightPlan, (status, code, flightPlanUid) -> {
+            boolean success = status == HttpRequest.Status.SUCCESS;
+            if (ULog.d(TAG_FLIGHTPLAN)) {
+                ULog.d(TAG_FLIGHTPLAN, "uploadFlightPlan complete [success: " + success
+                                       + ", uid: " + flightPlanUid + "]");
+            }
+            mFlightPlanFile = flightPlan;
+            mFlightPlanHash = hash;
+            mFlightPlanRecalled = false;
+            if (success && flightPlanUid != null && hash != null) {
+                if (mUploadsDict.keys().size() >= MAX_REMEMBERED_UPLOADS) {
+                    mUploadsDict.clear();
+                }
+                mUploadsDict.put(hash, flightPlanUid).commit();
+            }
+            onUploadComplete(success ? flightPlanUid : null);
+        });
+    }
+
+    /**
+     * Called when a flight plan upload completes.
+     * <p>
+     * In case a start request is pending, the uploaded flight plan is started, or, if the upload failed, an
+     * {@link ActivationError#INCORRECT_FLIGHT_PLAN_FILE incorrect flight plan file} activation error is reported.
+     *
+     * @param flightPlanUid uid of the uploaded flight plan, {@code null} if the upload failed
+     */
+    private void onUploadComplete(@Nullable String flightPlanUid) {
+        mFlightPlanUid = flightPlanUid;
+        mPilotingItf.updateUploadState(flightPlanUid != null ? UploadState.UPLOADED : UploadState.FAILED)
+                    .updateFlightPlanKnown(mFlightPlanUid != null)
+                    .updatePaused(false);
+        updateMissingFileReason();
+        if (canDeactivate()) { // pause flight plan if necessary
+            requestDeactivation();
+        } else {
+            updateAvailability();
+        }
+        if (mStartPending) {
+            mStartPending = false;
+            if (flightPlanUid != null) {
+                sendStart();
+            } else {
+                mPilotingItf.updateActivationError(ActivationError.INCORRECT_FLIGHT_PLAN_FILE);
+            }
+        }
+        mPilotingItf.notifyUpdated();
+    }
+
+    /**
+     * Forgets the recalled flight plan that the drone reports missing, and uploads it again.
+     * <p>
+     * In case a start request is pending, it is kept so that the flight plan gets started once uploaded again.
+     */
+    private void forgetRecalledFlightPlan() {
+        if (mFlightPlanHash != null) {
+            mUploadsDict.put(mFlightPlanHash, null).commit();
+        }
+        File flightPlan = mFlightPlanFile;
+        mFlightPlanUid = null;
+        mFlightPlanFile = null;
+        mFlightPlanHash = null;
+        mFlightPlanRecalled = false;
+        mPilotingItf.updateFlightPlanKnown(false);
+        updateMissingFileReason();
+        if (flightPlan != null) {
+            uploadFlightPlan(flightPlan);
+        } else {
+            if (mStartPending) {
+                mStartPending = false;
+                mPilotingItf.updateActivationError(ActivationError.INCORRECT_FLIGHT_PLAN_FILE);
+            }
+            updateAvailability();
+            mPilotingItf.notifyUpdated();
+        }
+    }
+
+    /**
+     * Computes the content hash of a flight plan file.
+     * <p>
+     * Must be called from a background thread.
+     *
+     * @param flightPlan flight plan file
+     *
+     * @return flight plan file content hash, as an hexadecimal string
+     *
+     * @throws IOException          in case reading the file failed
+     * @throws InterruptedException if the current thread is interrupted while this method executes
+     */
+    @NonNull
+    private static String computeHash(@NonNull File flightPlan) throws IOException, InterruptedException {
+        MessageDigest digest = Md5.newDigest();
+        try (InputStream src = new FileInputStream(flightPlan)) {
+            Md5.update(digest, src);
+        }
+        return Md5.toHex(digest.digest());
+    }
+
     /** Callbacks called when a command of the feature ArsdkFeatureCommon.FlightPlanSettingsState is decoded. */
     private final ArsdkFeatureCommon.FlightPlanSettingsState.Callback mFlightPlanSettingStateCallback =
             new ArsdkFeatureCommon.FlightPlanSettingsState.Callback() {
@@ -551,6 +733,7 @@ public class AnafiFlightPlanPilotingItf extends ActivablePilotingItfController {
 
         @Override
         public void uploadFlightPlan(@NonNull File flightPlan) {
+            mStartPending = false;
             AnafiFlightPlanPilotingItf.this.uploadFlightPlan(flightPlan);
         }
 
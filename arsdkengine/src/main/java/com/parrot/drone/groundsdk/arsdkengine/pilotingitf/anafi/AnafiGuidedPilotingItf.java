@@ -37,16 +37,20 @@ import androidx.annotation.Nullable;
 
 import com.parrot.drone.groundsdk.arsdkengine.devicecontroller.PilotingItfActivationController;
 import com.parrot.drone.groundsdk.arsdkengine.pilotingitf.ActivablePilotingItfController;
+import com.parrot.drone.groundsdk.device.pilotingitf.Activable;
 import com.parrot.drone.groundsdk.device.pilotingitf.GuidedPilotingItf;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.ActivablePilotingItfCore;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.guided.GuidedPilotingItfCore;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.guided.FinishedFlightInfoCore;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.guided.FinishedFlightInfoCore.Relative;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureArdrone3;
 import com.parrot.drone.sdkcore.arsdk.ArsdkFeatureMove;
 import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 
+import java.util.ArrayDeque;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -60,6 +64,12 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     /** Whether guided flight is started. */
     private boolean mGuidedFlightOngoing;
 
+    /**
+     * {@code true} while activation was requested to execute the current directive, but waits for another piloting
+     * interface to deactivate.
+     */
+    private boolean mActivationPending;
+
     /** {@code true} if the drone is flying. */
     private boolean mDroneFlying;
 
@@ -75,6 +85,22 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     @Nullable
     private GuidedPilotingItf.FinishedFlightInfo mLatestFinishedFlightInfo;
 
+    /** Directives waiting for the current guided flight to finish, in execution order. */
+    @NonNull
+    private final ArrayDeque<QueuedDirective> mDirectiveQueue;
+
+    /** Time at which the current directive was sent to the drone, in milliseconds, {@code -1} if unknown. */
+    private long mCurrentSendTime;
+
+    /** Time spent in queue by the current directive, in milliseconds. */
+    private long mCurrentQueuedDuration;
+
+    /** Time at which the previous directive was sent to the drone, in milliseconds, {@code -1} if unknown. */
+    private long mPreviousSendTime;
+
+    /** Time spent in queue by the previous directive, in milliseconds. */
+    private long mPreviousQueuedDuration;
+
     /**
      * Constructor.
      *
@@ -83,6 +109,8 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     public AnafiGuidedPilotingItf(@NonNull PilotingItfActivationController activationController) {
         super(activationController, false);
         mPilotingItf = new GuidedPilotingItfCore(mComponentStore, new Backend());
+        mDirectiveQueue = new ArrayDeque<>();
+        mCurrentSendTime = mPreviousSendTime = -1;
     }
 
     @NonNull
@@ -100,8 +128,12 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     @Override
     public void onDisconnected() {
         mGuidedFlightOngoing = false;
+        mActivationPending = false;
         mCurrentDirective = null;
         mPreviousDirective = null;
+        mCurrentSendTime = mPreviousSendTime = -1;
+        mCurrentQueuedDuration = mPreviousQueuedDuration = 0;
+        discardQueuedDirectives();
         mPilotingItf.updateCurrentDirective(null);
         mPilotingItf.updateUnavailabilityReasons(EnumSet.noneOf(GuidedPilotingItf.UnavailabilityReason.class));
         mPilotingItf.unpublish();
@@ -122,6 +154,7 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     @Override
     public void requestActivation() {
         super.requestActivation();
+        mActivationPending = false;
         if (mCurrentDirective != null) {
             sendDirective(mCurrentDirective);
             mPilotingItf.updateCurrentDirective(mCurrentDirective);
@@ -133,6 +166,7 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     @Override
     public void requestDeactivation() {
         super.requestDeactivation();
+        discardQueuedDirectives();
         if (mCurrentDirective == null) {
             notifyIdle();
         } else switch (mCurrentDirective.getType()) {
@@ -143,6 +177,7 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
                 sendCommand(ArsdkFeatureArdrone3.Piloting.encodeMoveBy(0, 0, 0, 0));
                 break;
         }
+        mPilotingItf.notifyUpdated();
     }
 
     /**
@@ -193,7 +228,8 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     private void onLocationMoveFinished(boolean success) {
         if (mCurrentDirective != null && mCurrentDirective.getType() == GuidedPilotingItf.Type.ABSOLUTE_LOCATION) {
             mLatestFinishedFlightInfo = new FinishedFlightInfoCore.Location(
-                    (GuidedPilotingItf.LocationDirective) mCurrentDirective, success);
+                    (GuidedPilotingItf.LocationDirective) mCurrentDirective, success, mCurrentQueuedDuration,
+                    executionDuration(mCurrentSendTime));
             mCurrentDirective = null;
             mPilotingItf.updateCurrentDirective(null);
             mPilotingItf.updateLatestFinishedFlightInfo(mLatestFinishedFlightInfo);
@@ -212,7 +248,8 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     private void onRelativeMoveFinished(boolean success, float dx, float dy, float dz, float dpsi) {
         if (mCurrentDirective != null && mCurrentDirective.getType() == GuidedPilotingItf.Type.RELATIVE_MOVE) {
             mLatestFinishedFlightInfo = new Relative(
-                    (GuidedPilotingItf.RelativeMoveDirective) mCurrentDirective, success, dx, dy, dz, dpsi);
+                    (GuidedPilotingItf.RelativeMoveDirective) mCurrentDirective, success, dx, dy, dz, dpsi,
+                    mCurrentQueuedDuration, executionDuration(mCurrentSendTime));
             mCurrentDirective = null;
             mPilotingItf.updateCurrentDirective(null);
             mPilotingItf.updateLatestFinishedFlightInfo(mLatestFinishedFlightInfo);
@@ -234,18 +271,78 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
     private void onRelativeMoveInterrupted(double actualDx, double actualDy, double actualDz, double actualDpsi) {
         if (mPreviousDirective != null && mPreviousDirective.getType() == GuidedPilotingItf.Type.RELATIVE_MOVE) {
             mLatestFinishedFlightInfo = new Relative(
-                    (GuidedPilotingItf.RelativeMoveDirective) mPreviousDirective, false, actualDx, actualDy, actualDz, actualDpsi);
+                    (GuidedPilotingItf.RelativeMoveDirective) mPreviousDirective, false, actualDx, actualDy, actualDz,
+                    actualDpsi, mPreviousQueuedDuration, executionDuration(mPreviousSendTime));
             mPreviousDirective = null;
             mPilotingItf.updateLatestFinishedFlightInfo(mLatestFinishedFlightInfo);
         } else if (mCurrentDirective != null && mCurrentDirective.getType() == GuidedPilotingItf.Type.RELATIVE_MOVE) {
             mLatestFinishedFlightInfo = new Relative(
-                    (GuidedPilotingItf.RelativeMoveDirective) mCurrentDirective, false, actualDx, actualDy, actualDz, actualDpsi);
+                    (GuidedPilotingItf.RelativeMoveDirective) mCurrentDirective, false, actualDx, actualDy, actualDz,
+                    actualDpsi, mCurrentQueuedDuration, executionDuration(mCurrentSendTime));
             mCurrentDirective = null;
             mPilotingItf.updateCurrentDirective(null);
+            discardQueuedDirectives();
             mPilotingItf.updateLatestFinishedFlightInfo(mLatestFinishedFlightInfo);
         }
     }
 
+    /**
+     * Called when the current guided flight is finished.
+     * <p>
+     * If the flight succeeded and guided piloting is still available, the next queued directive, if any, is sent to
+     * the drone right away, so that the interface remains {@code ACTIVE}. Otherwise, all queued directives are
+     * discarded.
+     *
+     * @param success {@code true} if the flight was successful, {@code false} otherwise
+     */
+    private void onGuidedFlightFinished(boolean success) {
+        mGuidedFlightOngoing = false;
+        QueuedDirective next = success && isGuidedPilotingAvailable() ? mDirectiveQueue.poll() : null;
+        if (next == null) {
+            discardQueuedDirectives();
+        } else {
+            mPreviousDirective = null;
+            mCurrentDirective = next.mDirective;
+            mCurrentQueuedDuration = TimeProvider.elapsedRealtime() - next.mQueueTime;
+            sendDirective(mCurrentDirective);
+            mGuidedFlightOngoing = true;
+            mPilotingItf.updateCurrentDirective(mCurrentDirective)
+                        .updateQueuedDirectives(queuedDirectives());
+        }
+    }
+
+    /**
+     * Discards all queued directives.
+     * <p>
+     * {@link GuidedPilotingItfCore#notifyUpdated()} must be called afterwards to notify the change.
+     */
+    private void discardQueuedDirectives() {
+        mDirectiveQueue.clear();
+        mPilotingItf.updateQueuedDirectives(queuedDirectives());
+    }
+
+    /**
+     * Lists currently queued directives.
+     *
+     * @return queued directives, in execution order
+     */
+    @NonNull
+    private List<GuidedPilotingItf.Directive> queuedDirectives() {
+        return mDirectiveQueue.stream().map(it -> it.mDirective).collect(Collectors.toList());
+    }
+
+    /**
+     * Computes the execution duration of a guided flight that finishes now.
+     *
+     * @param sendTime time at which the flight directive was sent to the drone, in milliseconds, {@code -1} if
+     *                 unknown
+     *
+     * @return the flight execution duration, in milliseconds, {@code -1} if unknown
+     */
+    private static long executionDuration(long sendTime) {
+        return sendTime < 0 ? -1 : TimeProvider.elapsedRealtime() - sendTime;
+    }
+
     /**
      * Converts a groundsdk {@link GuidedPilotingItf.LocationDirective.Orientation orientation mode} into its arsdk
      * {@link ArsdkFeatureArdrone3.PilotingMovetoOrientationMode representation}.
@@ -392,6 +489,11 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
                         && Double.compare(longitude, UNKNOWN_COORDINATE) != 0
                         && Double.compare(altitude, UNKNOWN_COORDINATE) != 0
                         && orientationMode != null) {
+                        if (mCurrentDirective == null) {
+                            // location move not started by us, we cannot tell when it was sent
+                            mCurrentSendTime = -1;
+                            mCurrentQueuedDuration = 0;
+                        }
                         GuidedPilotingItf.LocationDirective.Orientation orientation = null;
                         switch (orientationMode) {
                             case NONE:
@@ -418,12 +520,12 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
                             break;
                         case DONE:
                             onLocationMoveFinished(true);
-                            mGuidedFlightOngoing = false;
+                            onGuidedFlightFinished(true);
                             break;
                         case CANCELED:
                         case ERROR:
                             onLocationMoveFinished(false);
-                            mGuidedFlightOngoing = false;
+                            onGuidedFlightFinished(false);
                             break;
                     }
                     updateState(); // will call notifyUpdated()
@@ -440,13 +542,13 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
                     if (error != null) switch (error) {
                         case OK:
                             onRelativeMoveFinished(true, dx, dy, dz, dpsi);
-                            mGuidedFlightOngoing = false;
+                            onGuidedFlightFinished(true);
                             break;
                         case UNKNOWN:
                         case BUSY:
                         case NOTAVAILABLE:
                             onRelativeMoveFinished(false, dx, dy, dz, dpsi);
-                            mGuidedFlightOngoing = false;
+                            onGuidedFlightFinished(false);
                             break;
                         case INTERRUPTED:
                             onRelativeMoveInterrupted(dx, dy, dz, dpsi);
@@ -482,20 +584,68 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
 
         @Override
         public void move(@NonNull GuidedPilotingItf.Directive directive) {
+            discardQueuedDirectives();
             mPreviousDirective = mCurrentDirective;
+            mPreviousSendTime = mCurrentSendTime;
+            mPreviousQueuedDuration = mCurrentQueuedDuration;
             mCurrentDirective = directive;
+            mCurrentSendTime = -1;
+            mCurrentQueuedDuration = 0;
             switch (mPilotingItf.getState()) {
                 case IDLE:
-                    activate();
+                    // activation is deferred in case another piloting interface must be deactivated first
+                    mActivationPending = activate() && !mGuidedFlightOngoing;
                     break;
                 case ACTIVE:
                     sendDirective(mCurrentDirective);
                     mPilotingItf.updateCurrentDirective(mCurrentDirective).notifyUpdated();
                     break;
                 case UNAVAILABLE:
+                    mPilotingItf.notifyUpdated();
                     break;
             }
         }
+
+        @Override
+        public void queue(@NonNull GuidedPilotingItf.Directive directive) {
+            if (mGuidedFlightOngoing || mActivationPending) {
+                mDirectiveQueue.add(new QueuedDirective(directive, TimeProvider.elapsedRealtime()));
+                mPilotingItf.updateQueuedDirectives(queuedDirectives()).notifyUpdated();
+            } else {
+                move(directive);
+            }
+        }
+
+        @Override
+        public void cancelQueue() {
+            discardQueuedDirectives();
+            if (mPilotingItf.getState() == Activable.State.ACTIVE) {
+                deactivate();
+            }
+            mPilotingItf.notifyUpdated();
+        }
+    }
+
+    /** A directive waiting in queue. */
+    private static final class QueuedDirective {
+
+        /** Queued directive. */
+        @NonNull
+        final GuidedPilotingItf.Directive mDirective;
+
+        /** Time at which the directive was queued, in milliseconds. */
+        final long mQueueTime;
+
+        /**
+         * Constructor.
+         *
+         * @param directive queued directive
+         * @param queueTime time at which the directive was queued, in milliseconds
+         */
+        QueuedDirective(@NonNull GuidedPilotingItf.Directive directive, long queueTime) {
+            mDirective = directive;
+            mQueueTime = queueTime;
+        }
     }
 
     /**
@@ -504,6 +654,7 @@ public class AnafiGuidedPilotingItf extends ActivablePilotingItfController {
      * @param directive directive to send
      */
     private void sendDirective(@NonNull GuidedPilotingItf.Directive directive) {
+        mCurrentSendTime = TimeProvider.elapsedRealtime();
         GuidedPilotingItf.Directive.Speed speed = directive.getSpeed();
         switch (directive.getType()) {
             case ABSOLUTE_LOCATION:
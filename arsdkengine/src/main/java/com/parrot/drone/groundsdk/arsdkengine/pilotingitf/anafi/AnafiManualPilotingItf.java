@@ -730,8 +730,7 @@ public class AnafiManualPilotingItf extends ActivablePilotingItfController {
 
         @Override
         public void hover() {
-            AnafiManualPilotingItf.this.setPitch(0);
-            AnafiManualPilotingItf.this.setRoll(0);
+            setRollAndPitch(0, 0);
         }
     }
 }
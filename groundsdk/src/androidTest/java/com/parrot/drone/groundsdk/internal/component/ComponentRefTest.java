@@ -32,15 +32,21 @@
 
 package com.parrot.drone.groundsdk.internal.component;
 
+import com.parrot.drone.groundsdk.MockTimeProvider;
 import com.parrot.drone.groundsdk.internal.session.MockSession;
+import com.parrot.drone.groundsdk.internal.tasks.TestExecutor;
+import com.parrot.drone.sdkcore.TimeProvider;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * Test componentRef.
@@ -117,5 +123,59 @@ public class ComponentRefTest {
         mainCompRef.release();
         subCompRef.release();
     }
-}
 
+    @Test
+    public void testRateLimitedComponentRef() {
+        TestExecutor.setup();
+        MockTimeProvider time = new MockTimeProvider();
+        TimeProvider.setInstance(time);
+        try {
+            // 10 Hz for main components
+            mMockSession.setMaxNotificationFrequency(MainComp.class, 10);
+            ComponentRef<CompType, MainComp> mainCompRef =
+                    new ComponentRef<>(mMockSession, obj -> mainChangeCnt++, mStore, MainComp.class);
+
+            // add main component, check notified immediately
+            mStore.add(new MainCompImpl(), MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(1));
+
+            // update component right after, check not notified yet
+            mStore.notifyUpdated(MainCompImpl.DESC);
+            mStore.notifyUpdated(MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(1));
+
+            // check latest update is notified once the interval elapsed
+            time.setTime(100);
+            TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+            assertThat(mainChangeCnt, is(2));
+
+            // update component after the interval, check notified immediately
+            time.setTime(250);
+            mStore.notifyUpdated(MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(3));
+
+            // update then remove component, check removal notified immediately
+            mStore.notifyUpdated(MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(3));
+            mStore.remove(MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(4));
+            assertThat(mainCompRef.get(), is(nullValue()));
+
+            // check no pending notification remains
+            TestExecutor.mockTimePasses(100, TimeUnit.MILLISECONDS);
+            assertThat(mainChangeCnt, is(4));
+
+            // remove limit on this ref, check updates notified immediately
+            mStore.add(new MainCompImpl(), MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(5));
+            mainCompRef.setMaxNotificationFrequency(0);
+            mStore.notifyUpdated(MainCompImpl.DESC);
+            assertThat(mainChangeCnt, is(6));
+
+            mainCompRef.release();
+        } finally {
+            TimeProvider.resetDefault();
+            TestExecutor.teardown();
+        }
+    }
+}
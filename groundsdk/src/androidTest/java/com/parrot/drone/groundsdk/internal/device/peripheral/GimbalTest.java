@@ -65,6 +65,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class GimbalTest {
 
@@ -471,6 +472,55 @@ public class GimbalTest {
         assertThat(mGimbal.getAttitude(Gimbal.Axis.PITCH), is(3.0));
     }
 
+    @Test
+    public void testAttitudeEpsilon() {
+        mGimbalImpl.updateSupportedAxes(EnumSet.of(Gimbal.Axis.YAW, Gimbal.Axis.PITCH));
+        mGimbalImpl.publish();
+
+        assertThat(mComponentChangeCnt, is(1));
+
+        // test update attitude and bounds from backend
+        mGimbalImpl.updateAbsoluteAttitude(Gimbal.Axis.YAW, 2.0)
+                   .updateRelativeAttitude(Gimbal.Axis.PITCH, 4.0)
+                   .updateAttitudeBounds(Gimbal.Axis.YAW, -10.0, 10.0)
+                   .notifyUpdated();
+        assertThat(mComponentChangeCnt, is(2));
+        assertThat(mGimbal.getAttitudeLowerBound(Gimbal.Axis.YAW), is(-10.0));
+        assertThat(mGimbal.getAttitudeUpperBound(Gimbal.Axis.YAW), is(10.0));
+        assertThat(mGimbal.getAttitudeBounds(Gimbal.Axis.YAW), doubleRangeIs(-10.0, 10.0));
+        assertThat(mGimbal.getAttitudeLowerBound(Gimbal.Axis.PITCH), is(0.0));
+        assertThat(mGimbal.getAttitudeUpperBound(Gimbal.Axis.PITCH), is(0.0));
+
+        double[] attitudes = new double[Gimbal.Axis.values().length];
+        assertThat(mGimbal.getAttitudes(Gimbal.FrameOfReference.ABSOLUTE, attitudes), sameInstance(attitudes));
+        assertThat(attitudes[Gimbal.Axis.YAW.ordinal()], is(2.0));
+        assertThat(attitudes[Gimbal.Axis.PITCH.ordinal()], is(0.0));
+        assertThat(attitudes[Gimbal.Axis.ROLL.ordinal()], is(0.0));
+        mGimbal.getAttitudes(Gimbal.FrameOfReference.RELATIVE, attitudes);
+        assertThat(attitudes[Gimbal.Axis.YAW.ordinal()], is(0.0));
+        assertThat(attitudes[Gimbal.Axis.PITCH.ordinal()], is(4.0));
+        assertThat(attitudes[Gimbal.Axis.ROLL.ordinal()], is(0.0));
+
+        // check that updating with values within epsilon does not trigger a notification
+        mGimbalImpl.updateAbsoluteAttitude(Gimbal.Axis.YAW, 2.0001)
+                   .updateRelativeAttitude(Gimbal.Axis.PITCH, 3.9999)
+                   .updateAttitudeBounds(Gimbal.Axis.YAW, -10.0001, 10.0001)
+                   .notifyUpdated();
+        assertThat(mComponentChangeCnt, is(2));
+        assertThat(mGimbal.getAttitude(Gimbal.Axis.YAW, Gimbal.FrameOfReference.ABSOLUTE), is(2.0));
+        assertThat(mGimbal.getAttitude(Gimbal.Axis.PITCH, Gimbal.FrameOfReference.RELATIVE), is(4.0));
+        assertThat(mGimbal.getAttitudeBounds(Gimbal.Axis.YAW), doubleRangeIs(-10.0, 10.0));
+
+        // check that updating with values beyond epsilon triggers a notification
+        mGimbalImpl.updateAbsoluteAttitude(Gimbal.Axis.YAW, 2.01).notifyUpdated();
+        assertThat(mComponentChangeCnt, is(3));
+        assertThat(mGimbal.getAttitude(Gimbal.Axis.YAW, Gimbal.FrameOfReference.ABSOLUTE), is(2.01));
+
+        mGimbalImpl.updateAttitudeBounds(Gimbal.Axis.YAW, -10.0, 20.0).notifyUpdated();
+        assertThat(mComponentChangeCnt, is(4));
+        assertThat(mGimbal.getAttitudeBounds(Gimbal.Axis.YAW), doubleRangeIs(-10.0, 20.0));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAttitudeOfUnsupportedAxis() {
         mGimbalImpl.updateSupportedAxes(EnumSet.of(Gimbal.Axis.YAW, Gimbal.Axis.PITCH));
@@ -0,0 +1,149 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral;
+
+import com.parrot.drone.groundsdk.device.peripheral.Histogram;
+import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.device.peripheral.PilotingCommandDiagnostics;
+import com.parrot.drone.groundsdk.internal.MockComponentStore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class PilotingCommandDiagnosticsTest {
+
+    private MockComponentStore<Peripheral> mStore;
+
+    private PilotingCommandDiagnosticsCore mDiagnosticsImpl;
+
+    private PilotingCommandDiagnostics mDiagnostics;
+
+    private int mComponentChangeCnt;
+
+    @Before
+    public void setUp() {
+        mStore = new MockComponentStore<>();
+        mDiagnosticsImpl = new PilotingCommandDiagnosticsCore(mStore, 50);
+        mDiagnostics = mStore.get(PilotingCommandDiagnostics.class);
+        mStore.registerObserver(PilotingCommandDiagnostics.class, () -> {
+            mComponentChangeCnt++;
+            mDiagnostics = mStore.get(PilotingCommandDiagnostics.class);
+        });
+        mComponentChangeCnt = 0;
+    }
+
+    @Test
+    public void testPublication() {
+        assertThat(mDiagnostics, nullValue());
+        assertThat(mComponentChangeCnt, is(0));
+
+        mDiagnosticsImpl.publish();
+        assertThat(mDiagnostics, notNullValue());
+        assertThat(mComponentChangeCnt, is(1));
+
+        mDiagnosticsImpl.unpublish();
+        assertThat(mDiagnostics, nullValue());
+        assertThat(mComponentChangeCnt, is(2));
+    }
+
+    @Test
+    public void testLoopIntervals() {
+        mDiagnosticsImpl.publish();
+
+        assertThat(mDiagnostics.getLoopPeriod(), is(50));
+        Histogram intervals = mDiagnostics.getLoopIntervals();
+        assertThat(intervals.getBucketCount(), is(21));
+        assertThat(intervals.getBucketWidth(), is(5));
+        assertThat(intervals.getTotalCount(), is(0L));
+        assertThat(intervals.getMean(), is(0.0));
+        assertThat(intervals.getPercentile(50), is(0L));
+
+        mDiagnosticsImpl.recordLoopInterval(49);
+        mDiagnosticsImpl.recordLoopInterval(50);
+        mDiagnosticsImpl.recordLoopInterval(51);
+        mDiagnosticsImpl.recordLoopInterval(150);
+
+        // recording does not notify component changes
+        assertThat(mComponentChangeCnt, is(1));
+
+        assertThat(intervals.getTotalCount(), is(4L));
+        assertThat(intervals.getCount(9), is(1L));
+        assertThat(intervals.getCount(10), is(2L));
+        assertThat(intervals.getCount(20), is(1L));
+        assertThat(intervals.getMin(), is(49L));
+        assertThat(intervals.getMax(), is(150L));
+        assertThat(intervals.getMean(), is(75.0));
+        assertThat(intervals.getPercentile(25), is(50L));
+        assertThat(intervals.getPercentile(50), is(55L));
+        assertThat(intervals.getPercentile(100), is(150L));
+
+        // latencies are accounted separately
+        assertThat(mDiagnostics.getCommandLatencies().getTotalCount(), is(0L));
+
+        mDiagnostics.reset();
+        assertThat(intervals.getTotalCount(), is(0L));
+        assertThat(intervals.getCount(10), is(0L));
+        assertThat(intervals.getMax(), is(0L));
+    }
+
+    @Test
+    public void testCommandLatencies() {
+        mDiagnosticsImpl.publish();
+
+        Histogram latencies = mDiagnostics.getCommandLatencies();
+
+        mDiagnosticsImpl.recordCommandLatency(0);
+        mDiagnosticsImpl.recordCommandLatency(12);
+        mDiagnosticsImpl.recordCommandLatency(-3);
+
+        assertThat(latencies.getTotalCount(), is(3L));
+        assertThat(latencies.getCount(0), is(2L));
+        assertThat(latencies.getCount(2), is(1L));
+        assertThat(latencies.getMin(), is(0L));
+        assertThat(latencies.getMax(), is(12L));
+        assertThat(latencies.getMean(), is(4.0));
+        assertThat(mDiagnostics.getLoopIntervals().getTotalCount(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        mDiagnosticsImpl.publish();
+
+        mDiagnostics.getLoopIntervals().getPercentile(101);
+    }
+}
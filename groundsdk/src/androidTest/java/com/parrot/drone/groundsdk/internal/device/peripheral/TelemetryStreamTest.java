@@ -0,0 +1,164 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral;
+
+import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.device.peripheral.TelemetryStream;
+import com.parrot.drone.groundsdk.internal.MockComponentStore;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TelemetryStreamTest {
+
+    private MockComponentStore<Peripheral> mStore;
+
+    private TelemetryStreamCore mTelemetryStreamImpl;
+
+    private TelemetryStream mTelemetryStream;
+
+    private int mComponentChangeCnt;
+
+    private List<String> mSamples;
+
+    private final TelemetryStream.Sink mSink = (kind, timestamp, value1, value2, value3) ->
+            mSamples.add(kind + " " + value1 + " " + value2 + " " + value3);
+
+    @Before
+    public void setUp() {
+        mStore = new MockComponentStore<>();
+        mTelemetryStreamImpl = new TelemetryStreamCore(mStore);
+        mTelemetryStream = mStore.get(TelemetryStream.class);
+        mStore.registerObserver(TelemetryStream.class, () -> {
+            mComponentChangeCnt++;
+            mTelemetryStream = mStore.get(TelemetryStream.class);
+        });
+        mComponentChangeCnt = 0;
+        mSamples = new ArrayList<>();
+    }
+
+    @Test
+    public void testPublication() {
+        assertThat(mTelemetryStream, nullValue());
+        assertThat(mComponentChangeCnt, is(0));
+
+        mTelemetryStreamImpl.publish();
+        assertThat(mTelemetryStream, notNullValue());
+        assertThat(mComponentChangeCnt, is(1));
+
+        mTelemetryStreamImpl.unpublish();
+        assertThat(mTelemetryStream, nullValue());
+        assertThat(mComponentChangeCnt, is(2));
+    }
+
+    @Test
+    public void testDrain() {
+        mTelemetryStreamImpl.publish();
+        TelemetryStream.Subscription subscription = mTelemetryStream.subscribe(4);
+
+        assertThat(subscription.drain(mSink, Integer.MAX_VALUE), is(0));
+        assertThat(mSamples, empty());
+
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.ATTITUDE, 1, 2, 3);
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.SPEED, 4, 5, 6);
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.ALTITUDE, 7, Double.NaN, Double.NaN);
+
+        // samples do not notify component changes
+        assertThat(mComponentChangeCnt, is(1));
+
+        // partial drain
+        assertThat(subscription.drain(mSink, 2), is(2));
+        assertThat(mSamples, contains("ATTITUDE 1.0 2.0 3.0", "SPEED 4.0 5.0 6.0"));
+
+        // remaining samples
+        mSamples.clear();
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.LOCATION, 8, 9, 10);
+        assertThat(subscription.drain(mSink, Integer.MAX_VALUE), is(2));
+        assertThat(mSamples, contains("ALTITUDE 7.0 NaN NaN", "LOCATION 8.0 9.0 10.0"));
+        assertThat(subscription.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void testOverflow() {
+        mTelemetryStreamImpl.publish();
+        // capacity rounds up to 4
+        TelemetryStream.Subscription subscription = mTelemetryStream.subscribe(3);
+
+        for (int i = 0; i < 6; i++) {
+            mTelemetryStreamImpl.addSample(TelemetryStream.Kind.ALTITUDE, i, Double.NaN, Double.NaN);
+        }
+
+        // eldest samples are kept, latest are dropped
+        assertThat(subscription.getDroppedCount(), is(2L));
+        assertThat(subscription.drain(mSink, Integer.MAX_VALUE), is(4));
+        assertThat(mSamples, contains("ALTITUDE 0.0 NaN NaN", "ALTITUDE 1.0 NaN NaN", "ALTITUDE 2.0 NaN NaN",
+                "ALTITUDE 3.0 NaN NaN"));
+
+        // room is available again
+        mSamples.clear();
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.ALTITUDE, 6, Double.NaN, Double.NaN);
+        assertThat(subscription.drain(mSink, Integer.MAX_VALUE), is(1));
+        assertThat(mSamples, contains("ALTITUDE 6.0 NaN NaN"));
+        assertThat(subscription.getDroppedCount(), is(2L));
+    }
+
+    @Test
+    public void testClose() {
+        mTelemetryStreamImpl.publish();
+        TelemetryStream.Subscription subscription1 = mTelemetryStream.subscribe(8);
+        TelemetryStream.Subscription subscription2 = mTelemetryStream.subscribe(8);
+
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.SPEED, 1, 2, 3);
+        subscription1.close();
+        mTelemetryStreamImpl.addSample(TelemetryStream.Kind.SPEED, 4, 5, 6);
+
+        // samples queued before close can still be drained
+        assertThat(subscription1.drain(mSink, Integer.MAX_VALUE), is(1));
+        assertThat(mSamples, contains("SPEED 1.0 2.0 3.0"));
+
+        // other subscriptions are unaffected
+        mSamples.clear();
+        assertThat(subscription2.drain(mSink, Integer.MAX_VALUE), is(2));
+        assertThat(mSamples, contains("SPEED 1.0 2.0 3.0", "SPEED 4.0 5.0 6.0"));
+    }
+}
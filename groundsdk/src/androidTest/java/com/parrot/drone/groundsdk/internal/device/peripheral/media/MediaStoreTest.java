@@ -36,6 +36,7 @@ import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.test.core.app.ApplicationProvider;
 
 import com.parrot.drone.groundsdk.MediaStoreWiperMatcher;
@@ -47,6 +48,7 @@ import com.parrot.drone.groundsdk.device.peripheral.media.MediaDeleter;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDestination;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDownloader;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaQuery;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaStoreWiper;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaTaskStatus;
 import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
@@ -66,6 +68,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -74,6 +77,7 @@ import java.util.stream.Stream;
 
 import static com.parrot.drone.groundsdk.MediaDeleterMatcher.hasCurrentDeletionIndex;
 import static com.parrot.drone.groundsdk.MediaDeleterMatcher.hasDeletionStatus;
+import static com.parrot.drone.groundsdk.MediaDeleterMatcher.hasFailedResources;
 import static com.parrot.drone.groundsdk.MediaDeleterMatcher.hasTotalDeletionCount;
 import static com.parrot.drone.groundsdk.MediaDownloaderMatcher.hasCurrentFileProgress;
 import static com.parrot.drone.groundsdk.MediaDownloaderMatcher.hasCurrentMedia;
@@ -88,6 +92,7 @@ import static com.parrot.drone.groundsdk.MediaDownloaderMatcher.hasTotalResource
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -95,6 +100,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -368,6 +375,123 @@ public class MediaStoreTest {
         assertThat(listRef.get(), nullValue());
     }
 
+    @Test
+    public void testMediaQuery() {
+        doReturn(new Date(3000)).when(mMedia1).getCreationDate();
+        doReturn(MediaItem.Type.PHOTO).when(mMedia1).getType();
+        doReturn(MediaItem.PhotoMode.SINGLE).when(mMedia1).getPhotoMode();
+        doReturn("run1").when(mMedia1).getRunUid();
+
+        doReturn(new Date(1000)).when(mMedia2).getCreationDate();
+        doReturn(MediaItem.Type.VIDEO).when(mMedia2).getType();
+        doReturn("run1").when(mMedia2).getRunUid();
+
+        doReturn(new Date(2000)).when(mMedia3).getCreationDate();
+        doReturn(MediaItem.Type.PHOTO).when(mMedia3).getType();
+        doReturn(MediaItem.PhotoMode.BURST).when(mMedia3).getPhotoMode();
+        doReturn("run2").when(mMedia3).getRunUid();
+
+        mMediaStoreImpl.publish();
+        assertThat(mComponentChangeCnt, is(1));
+
+        // query all media on removable storage
+        Ref<List<MediaItem>> allRef = mMediaStore.browse(
+                MediaQuery.all().onStorage(MediaStore.StorageType.REMOVABLE), obj -> mChangeCnt++);
+
+        assertThat(allRef.get(), nullValue());
+        assertThat(mChangeCnt, is(0));
+
+        // content change observation should start
+        verify(mBackend).startWatchingContentChange();
+        // browsing should start
+        verify(mBackend).browse(eq(MediaStore.StorageType.REMOVABLE), mBrowseCb.capture());
+
+        // query latest photo of the same storage
+        MediaQuery query = MediaQuery.all()
+                                     .onStorage(MediaStore.StorageType.REMOVABLE)
+                                     .ofType(MediaItem.Type.PHOTO)
+                                     .sortedBy(MediaQuery.Order.NEWEST_FIRST)
+                                     .limit(1);
+        Ref<List<MediaItem>> photoRef = mMediaStore.browse(query, obj -> mChangeCnt++);
+
+        // changing the query afterwards should have no effect on the issued ref
+        query.limit(2);
+
+        // browse request should be shared
+        verify(mBackend).browse(any(), any());
+
+        // mock successful list reception
+        mBrowseCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, Arrays.asList(mMedia1, mMedia2, mMedia3));
+
+        assertThat(mChangeCnt, is(2));
+        // media should be sorted by creation date
+        assertThat(allRef.get(), contains(mMedia2, mMedia3, mMedia1));
+        assertThat(photoRef.get(), contains(mMedia1));
+
+        // further queries should be answered from the index directly
+        Ref<List<MediaItem>> runRef = mMediaStore.browse(MediaQuery.all()
+                                                                   .onStorage(MediaStore.StorageType.REMOVABLE)
+                                                                   .ofRun("run1")
+                                                                   .offset(1), obj -> mChangeCnt++);
+        assertThat(mChangeCnt, is(3));
+        assertThat(runRef.get(), contains(mMedia1));
+
+        Ref<List<MediaItem>> modeRef = mMediaStore.browse(MediaQuery.all()
+                                                                    .onStorage(MediaStore.StorageType.REMOVABLE)
+                                                                    .withPhotoMode(MediaItem.PhotoMode.BURST,
+                                                                            MediaItem.PhotoMode.SINGLE)
+                                                                    .createdBetween(new Date(1500), new Date(3000)),
+                obj -> mChangeCnt++);
+        assertThat(mChangeCnt, is(4));
+        assertThat(modeRef.get(), contains(mMedia3));
+
+        // an inverted date interval should match nothing
+        Ref<List<MediaItem>> invertedRef = mMediaStore.browse(MediaQuery.all()
+                                                                        .onStorage(MediaStore.StorageType.REMOVABLE)
+                                                                        .createdBetween(new Date(3000), new Date(1500)),
+                obj -> mChangeCnt++);
+        assertThat(mChangeCnt, is(5));
+        assertThat(invertedRef.get(), empty());
+
+        Ref<List<MediaItem>> invertedPhotoRef = mMediaStore.browse(MediaQuery.all()
+                                                                             .onStorage(
+                                                                                     MediaStore.StorageType.REMOVABLE)
+                                                                             .ofType(MediaItem.Type.PHOTO)
+                                                                             .createdBetween(new Date(3000),
+                                                                                     new Date(1500)),
+                obj -> mChangeCnt++);
+        assertThat(mChangeCnt, is(6));
+        assertThat(invertedPhotoRef.get(), empty());
+        invertedRef.close();
+        invertedPhotoRef.close();
+
+        verify(mBackend).browse(any(), any());
+
+        // mock a content change
+        mMediaStoreImpl.notifyObservers();
+
+        // a single new browse request should be emitted
+        verify(mBackend, times(2)).browse(eq(MediaStore.StorageType.REMOVABLE), mBrowseCb.capture());
+
+        // mock successful list reception
+        mBrowseCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, Arrays.asList(mMedia1, mMedia2));
+
+        assertThat(mChangeCnt, is(8));
+        assertThat(allRef.get(), contains(mMedia2, mMedia1));
+        assertThat(photoRef.get(), contains(mMedia1));
+        assertThat(runRef.get(), contains(mMedia1));
+        assertThat(modeRef.get(), empty());
+
+        // close all refs
+        allRef.close();
+        photoRef.close();
+        runRef.close();
+        modeRef.close();
+
+        // content change observation should stop
+        verify(mBackend).stopWatchingContentChange();
+    }
+
     @Test
     public void testMediaThumbnail() {
         mMediaStoreImpl.publish();
@@ -640,6 +764,58 @@ public class MediaStoreTest {
         ApplicationStorageProvider.setInstance(null);
     }
 
+    @Test
+    public void testDownloadToPlatformMediaStore() {
+        doReturn("file1").when(mResource1).getUid();
+        ApplicationStorageProvider.MediaStoreEntry entry = mock(ApplicationStorageProvider.MediaStoreEntry.class);
+        ApplicationStorageProvider storageProvider = spy(new MockAppStorageProvider() {
+
+            @Override
+            public MediaStoreEntry createPlatformMediaStoreEntry(@Nullable String album, @NonNull String fileName) {
+                return entry;
+            }
+        });
+        ApplicationStorageProvider.setInstance(storageProvider);
+        doReturn(mock(MediaRequest.class)).when(mBackend).downloadToMediaStore(any(), any(), any());
+
+        mMediaStoreImpl.publish();
+        assertThat(mComponentChangeCnt, is(1));
+
+        Ref<MediaDownloader> downloaderRef = mMediaStore.download(Collections.singletonList(mResource1),
+                MediaDestination.platformMediaStore("album"), obj -> mChangeCnt++);
+
+        // entry should be created for the resource
+        verify(storageProvider).createPlatformMediaStoreEntry("album", "file1");
+
+        // resource should be streamed directly to the media store entry
+        verify(mBackend).downloadToMediaStore(eq(mResource1), eq(entry), mDownloadCb.capture());
+        verify(mBackend, never()).download(any(), any(), any());
+
+        assertThat(mChangeCnt, is(1));
+        assertThat(downloaderRef.get(), allOf(
+                hasDownloadStatus(MediaTaskStatus.RUNNING),
+                hasCurrentResource(mResource1)));
+
+        // mock request progress
+        mDownloadCb.getValue().onRequestProgress(50);
+
+        assertThat(mChangeCnt, is(2));
+        assertThat(downloaderRef.get(), allOf(
+                hasDownloadStatus(MediaTaskStatus.RUNNING),
+                hasCurrentFileProgress(50)));
+
+        // mock download success
+        mDownloadCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, new File("/tmp/album/file1"));
+
+        assertThat(mChangeCnt, is(4));
+        assertThat(downloaderRef.get(), allOf(
+                hasDownloadStatus(MediaTaskStatus.COMPLETE),
+                hasTotalProgress(100)));
+
+        // media store entry is already known by the platform, no need to notify
+        verify(storageProvider, never()).notifyFileAdded(any());
+    }
+
     @Test
     public void testDownloadCancel() {
         MediaRequest mockRequest = mock(MediaRequest.class);
@@ -777,6 +953,74 @@ public class MediaStoreTest {
         assertThat(deleterRef.get(), nullValue());
     }
 
+    @Test
+    public void testBatchedDeleteMedia() {
+        mMediaStoreImpl.publish();
+        assertThat(mComponentChangeCnt, is(1));
+
+        int[] storeChangeCnt = new int[1];
+        mMediaStoreImpl.registerObserver(() -> storeChangeCnt[0]++);
+
+        Ref<MediaDeleter> deleterRef = mMediaStore.delete(
+                Stream.of(mMedia1, mMedia2, mMedia3).map(MediaItem::getResources).flatMap(Collection::stream)
+                      .collect(Collectors.toList()),
+                2, obj -> mChangeCnt++);
+
+        // first two media deletion requests should fire concurrently
+        ArgumentCaptor<MediaRequest.StatusCallback> media1Cb =
+                ArgumentCaptor.forClass(MediaRequest.StatusCallback.class);
+        ArgumentCaptor<MediaRequest.StatusCallback> media2Cb =
+                ArgumentCaptor.forClass(MediaRequest.StatusCallback.class);
+        verify(mBackend).delete(eq(mMedia1), media1Cb.capture());
+        verify(mBackend).delete(eq(mMedia2), media2Cb.capture());
+        verify(mBackend, never()).delete(eq(mMedia3), any());
+
+        assertThat(mChangeCnt, is(1));
+        assertThat(deleterRef.get(), allOf(
+                hasDeletionStatus(MediaTaskStatus.RUNNING),
+                hasTotalDeletionCount(3),
+                hasCurrentDeletionIndex(2),
+                hasFailedResources(empty())));
+
+        // mock second media deletion failure, task should proceed with third media
+        media2Cb.getValue().onRequestComplete(MediaRequest.Status.FAILED);
+
+        ArgumentCaptor<MediaRequest.StatusCallback> media3Cb =
+                ArgumentCaptor.forClass(MediaRequest.StatusCallback.class);
+        verify(mBackend).delete(eq(mMedia3), media3Cb.capture());
+
+        assertThat(mChangeCnt, is(2));
+        assertThat(deleterRef.get(), allOf(
+                hasDeletionStatus(MediaTaskStatus.RUNNING),
+                hasCurrentDeletionIndex(3),
+                hasFailedResources(contains((MediaItem.Resource) mResource3))));
+
+        // mock content changes while deleting, store observers should not be notified yet
+        mMediaStoreImpl.notifyObservers();
+        media1Cb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS);
+        mMediaStoreImpl.notifyObservers();
+
+        assertThat(storeChangeCnt[0], is(0));
+        assertThat(mChangeCnt, is(2));
+
+        // mock last media deletion success
+        media3Cb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS);
+
+        assertThat(mChangeCnt, is(3));
+        assertThat(deleterRef.get(), allOf(
+                hasDeletionStatus(MediaTaskStatus.COMPLETE),
+                hasTotalDeletionCount(3),
+                hasCurrentDeletionIndex(3),
+                hasFailedResources(contains((MediaItem.Resource) mResource3))));
+
+        // store observers should be notified once
+        assertThat(storeChangeCnt[0], is(1));
+
+        // further content changes are notified directly
+        mMediaStoreImpl.notifyObservers();
+        assertThat(storeChangeCnt[0], is(2));
+    }
+
     @Test
     public void testDeleteResource() {
         mMediaStoreImpl.publish();
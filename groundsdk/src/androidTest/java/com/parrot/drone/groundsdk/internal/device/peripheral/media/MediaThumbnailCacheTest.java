@@ -47,6 +47,9 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -54,6 +57,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -289,4 +293,85 @@ public class MediaThumbnailCacheTest {
 
         verify(mRequestCb1, times(2)).onThumbnailAvailable(BITMAP);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWindowPriority() {
+        MediaItemCore media1 = mock(MediaItemCore.class), media2 = mock(MediaItemCore.class),
+                media3 = mock(MediaItemCore.class);
+
+        mCache.getThumbnail(ThumbnailProvider.wrap(mMedia), mRequestCb1);
+
+        verify(mBackend).fetchThumbnail(eq(mMedia), mFetchCb.capture());
+
+        // queue requests while first fetch is in progress
+        mCache.getThumbnail(ThumbnailProvider.wrap(media1), mRequestCb2);
+        mCache.getThumbnail(ThumbnailProvider.wrap(media2), mRequestCb2);
+        mCache.getThumbnail(ThumbnailProvider.wrap(media3), mRequestCb2);
+
+        // only media3 is visible now
+        mCache.setWindow(Collections.singletonList(ThumbnailProvider.wrap(media3)), Collections.emptyList());
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        // visible media should be fetched first
+        verify(mBackend).fetchThumbnail(eq(media3), mFetchCb.capture());
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        // off-screen requests should be held back
+        verify(mBackend, never()).fetchThumbnail(eq(media1), any());
+        verify(mBackend, never()).fetchThumbnail(eq(media2), any());
+
+        // media2 becomes visible
+        mCache.setWindow(Collections.singletonList(ThumbnailProvider.wrap(media2)), Collections.emptyList());
+
+        verify(mBackend).fetchThumbnail(eq(media2), mFetchCb.capture());
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        verify(mBackend, never()).fetchThumbnail(eq(media1), any());
+
+        // clearing the window should release held back requests
+        mCache.clearWindow();
+
+        verify(mBackend).fetchThumbnail(eq(media1), mFetchCb.capture());
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        verify(mRequestCb2, times(3)).onThumbnailAvailable(BITMAP);
+    }
+
+    @Test
+    public void testPrefetch() {
+        MediaItemCore media1 = mock(MediaItemCore.class), media2 = mock(MediaItemCore.class);
+
+        mCache.setWindow(Collections.singletonList(ThumbnailProvider.wrap(mMedia)),
+                Arrays.asList(ThumbnailProvider.wrap(media1), ThumbnailProvider.wrap(media2)));
+
+        // first prefetch should start, although nobody requested it
+        verify(mBackend).fetchThumbnail(eq(media1), mFetchCb.capture());
+
+        // visible media request should be processed before remaining prefetch
+        mCache.getThumbnail(ThumbnailProvider.wrap(mMedia), mRequestCb1);
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        verify(mBackend).fetchThumbnail(eq(mMedia), mFetchCb.capture());
+
+        // move window away before media2 gets prefetched
+        mCache.setWindow(Collections.singletonList(ThumbnailProvider.wrap(media1)), Collections.emptyList());
+
+        mFetchCb.getValue().onRequestComplete(MediaRequest.Status.SUCCESS, BITMAP);
+
+        verify(mRequestCb1).onThumbnailAvailable(BITMAP);
+
+        // media2 prefetch should have been dropped
+        verify(mBackend, never()).fetchThumbnail(eq(media2), any());
+
+        // prefetched thumbnail should be served from the cache
+        assertThat(mCache.getThumbnail(ThumbnailProvider.wrap(media1), mRequestCb2), nullValue());
+
+        verify(mRequestCb2).onThumbnailAvailable(BITMAP);
+        verify(mBackend, times(1)).fetchThumbnail(eq(media1), any());
+    }
+}
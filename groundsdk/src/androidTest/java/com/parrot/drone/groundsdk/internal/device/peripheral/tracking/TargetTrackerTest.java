@@ -266,6 +266,23 @@ public class TargetTrackerTest {
         verify(mMockBackend).sendTargetDetectionInfo(info);
     }
 
+    @Test
+    public void testTargetDetectionInfoCounts() {
+        mTrackerImpl.publish();
+
+        // test initial values
+        assertThat(mComponentChangeCnt, is(1));
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(0L));
+        assertThat(mTracker.getDroppedTargetDetectionInfoCount(), is(0L));
+
+        // test update from low-level, counts are polled, so no change is expected even after notify
+        mTrackerImpl.updateTargetDetectionInfoCounts(3, 2).notifyUpdated();
+
+        assertThat(mComponentChangeCnt, is(1));
+        assertThat(mTracker.getSentTargetDetectionInfoCount(), is(3L));
+        assertThat(mTracker.getDroppedTargetDetectionInfoCount(), is(2L));
+    }
+
     @Test
     public void testTargetTrajectory() {
         mTrackerImpl.publish();
@@ -42,7 +42,11 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -51,6 +55,7 @@ import static com.parrot.drone.groundsdk.FinishedRelativeMoveFlightInfoMatcher.m
 import static com.parrot.drone.groundsdk.LocationDirectiveMatcher.matchesLocationDirective;
 import static com.parrot.drone.groundsdk.RelativeMoveDirectiveMatcher.matchesRelativeMoveDirective;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.instanceOf;
@@ -121,7 +126,8 @@ public class GuidedPilotingItfTest {
                         GuidedPilotingItf.LocationDirective.Orientation.TO_TARGET));
 
         // location move is finished: update current directive and latest finished flight info
-        GuidedPilotingItf.FinishedLocationFlightInfo flightInfo = new FinishedFlightInfoCore.Location(directive, true);
+        GuidedPilotingItf.FinishedLocationFlightInfo flightInfo =
+                new FinishedFlightInfoCore.Location(directive, true, 0, 2000);
         mPilotingItfImpl.updateCurrentDirective(null).updateLatestFinishedFlightInfo(flightInfo).notifyUpdated();
         assertThat(mChangeCnt, is(3));
         assertThat(itf.getCurrentDirective(), nullValue());
@@ -131,6 +137,8 @@ public class GuidedPilotingItfTest {
         assertThat(flightInfo.getDirective(), matchesLocationDirective(48.0, 2.0, 10,
                 GuidedPilotingItf.LocationDirective.Orientation.TO_TARGET));
         assertThat(flightInfo.wasSuccessful(), is(true));
+        assertThat(flightInfo.getQueuedDuration(), is(0L));
+        assertThat(flightInfo.getExecutionDuration(), is(2000L));
     }
 
     @Test
@@ -161,7 +169,7 @@ public class GuidedPilotingItfTest {
 
         // relative move is finished: update current directive and latest finished flight info
         GuidedPilotingItf.FinishedRelativeMoveFlightInfo flightInfo =
-                new FinishedFlightInfoCore.Relative(directive, true, 50.01, -0.998, 0.502, 0.0);
+                new FinishedFlightInfoCore.Relative(directive, true, 50.01, -0.998, 0.502, 0.0, 500, -1);
         mPilotingItfImpl.updateCurrentDirective(null).updateLatestFinishedFlightInfo(flightInfo).notifyUpdated();
         assertThat(mChangeCnt, is(3));
         assertThat(itf.getCurrentDirective(), nullValue());
@@ -170,6 +178,8 @@ public class GuidedPilotingItfTest {
         assert flightInfo != null;
         assertThat(flightInfo.getDirective(), matchesRelativeMoveDirective(50.0, -1.0, 0.5, 0.0));
         assertThat(flightInfo, matchesFinishedRelativeMoveFlightInfo(true, 50.01, -0.998, 0.502, 0.0));
+        assertThat(flightInfo.getQueuedDuration(), is(500L));
+        assertThat(flightInfo.getExecutionDuration(), is(-1L));
     }
 
     @Test
@@ -227,11 +237,59 @@ public class GuidedPilotingItfTest {
         assertThat(mBackend.mCurrentDirective, is(directive));
     }
 
+    @Test
+    public void testQueue() {
+        mPilotingItfImpl.publish();
+        GuidedPilotingItf itf = mStore.get(GuidedPilotingItf.class);
+        assert itf != null;
+
+        // test initial value
+        assertThat(mChangeCnt, is(1));
+        assertThat(itf.getQueuedDirectives(), empty());
+
+        // queue directives
+        GuidedPilotingItf.Directive first = new GuidedPilotingItf.RelativeMoveDirective(1, 2, 3, 4, null);
+        GuidedPilotingItf.Directive second = new GuidedPilotingItf.LocationDirective(1, 2, 3,
+                GuidedPilotingItf.LocationDirective.Orientation.NONE, null);
+        itf.queue(first);
+        itf.queue(second);
+        assertThat(mChangeCnt, is(1));
+        assertThat(mBackend.mQueuedDirectives, contains(first, second));
+
+        // update queued directives
+        mPilotingItfImpl.updateQueuedDirectives(Arrays.asList(first, second)).notifyUpdated();
+        assertThat(mChangeCnt, is(2));
+        assertThat(itf.getQueuedDirectives(), contains(first, second));
+
+        // update to same queued directives
+        mPilotingItfImpl.updateQueuedDirectives(Arrays.asList(first, second)).notifyUpdated();
+        assertThat(mChangeCnt, is(2));
+        assertThat(itf.getQueuedDirectives(), contains(first, second));
+
+        // change order
+        mPilotingItfImpl.updateQueuedDirectives(Arrays.asList(second, first)).notifyUpdated();
+        assertThat(mChangeCnt, is(3));
+        assertThat(itf.getQueuedDirectives(), contains(second, first));
+
+        // cancel queue
+        itf.cancelQueue();
+        assertThat(mBackend.mQueueCanceled, is(true));
+
+        mPilotingItfImpl.updateQueuedDirectives(Collections.emptyList()).notifyUpdated();
+        assertThat(mChangeCnt, is(4));
+        assertThat(itf.getQueuedDirectives(), empty());
+    }
+
     private static final class Backend implements GuidedPilotingItfCore.Backend {
 
         @Nullable
         private GuidedPilotingItf.Directive mCurrentDirective;
 
+        @NonNull
+        private final List<GuidedPilotingItf.Directive> mQueuedDirectives = new ArrayList<>();
+
+        private boolean mQueueCanceled;
+
         @Override
         public boolean activate() {
             return false;
@@ -246,5 +304,15 @@ public class GuidedPilotingItfTest {
         public void move(@NonNull GuidedPilotingItf.Directive directive) {
             mCurrentDirective = directive;
         }
+
+        @Override
+        public void queue(@NonNull GuidedPilotingItf.Directive directive) {
+            mQueuedDirectives.add(directive);
+        }
+
+        @Override
+        public void cancelQueue() {
+            mQueueCanceled = true;
+        }
     }
 }
@@ -332,7 +332,7 @@ public class FirmwareDownloaderTest {
 
         clearInvocations(mObserver);
 
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
         // mock progress
         mHttpCallback.getValue().onRequestProgress(20);
 
@@ -383,7 +383,7 @@ public class FirmwareDownloaderTest {
 
         clearInvocations(mObserver);
 
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // mock success
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
@@ -418,7 +418,7 @@ public class FirmwareDownloaderTest {
 
         clearInvocations(mObserver);
 
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // mock some progress first
         mHttpCallback.getValue().onRequestProgress(75);
@@ -458,7 +458,7 @@ public class FirmwareDownloaderTest {
 
         clearInvocations(mObserver);
 
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // mock some progress first
         mHttpCallback.getValue().onRequestProgress(75);
@@ -533,7 +533,7 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         FirmwareDownloader.Task task = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
 
@@ -654,7 +654,7 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // launch a first download task
         FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
@@ -744,8 +744,8 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
-        doReturn(request).when(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
+        doReturn(request).when(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // launch a first download task
         FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
@@ -779,7 +779,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // second firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // task 2 observer should be notified
         verify(mObserver, times(2)).onChange(task2);
@@ -810,7 +810,7 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // launch a first download task
         FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
@@ -900,7 +900,7 @@ public class FirmwareDownloaderTest {
 
         HttpRequest request = mock(HttpRequest.class);
 
-        doReturn(request).when(mHttpClient).download(any(), any(), mHttpCallback.capture());
+        doReturn(request).when(mHttpClient).download(any(), any(), any(), mHttpCallback.capture());
 
         // launch  download task with multiple firmwares
         FirmwareDownloader.Task task = mDownloader.downloadFromIds(
@@ -909,7 +909,7 @@ public class FirmwareDownloaderTest {
         assertThat(task, notNullValue());
 
         // first firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver).onChange(task);
@@ -952,7 +952,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // third firmware download should start (since second is already local)
-        verify(mHttpClient).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver, times(3)).onChange(task);
@@ -1029,7 +1029,7 @@ public class FirmwareDownloaderTest {
 
         HttpRequest request = mock(HttpRequest.class);
 
-        doReturn(request).when(mHttpClient).download(any(), any(), mHttpCallback.capture());
+        doReturn(request).when(mHttpClient).download(any(), any(), any(), mHttpCallback.capture());
 
         // launch  download task with multiple firmwares
         FirmwareDownloader.Task task = mDownloader.downloadFromIds(
@@ -1038,7 +1038,7 @@ public class FirmwareDownloaderTest {
         assertThat(task, notNullValue());
 
         // first firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver).onChange(task);
@@ -1061,7 +1061,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // second firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver, times(2)).onChange(task);
@@ -1118,7 +1118,7 @@ public class FirmwareDownloaderTest {
                 firmwareDownloaderTaskOverallProgressIs(35)));
 
         // third firmware should not be downloaded
-        verify(mHttpClient, never()).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient, never()).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
     }
 
     @Test
@@ -1140,7 +1140,7 @@ public class FirmwareDownloaderTest {
 
         HttpRequest request = mock(HttpRequest.class);
 
-        doReturn(request).when(mHttpClient).download(any(), any(), mHttpCallback.capture());
+        doReturn(request).when(mHttpClient).download(any(), any(), any(), mHttpCallback.capture());
 
         // launch  download task with multiple firmwares
         FirmwareDownloader.Task task = mDownloader.downloadFromIds(
@@ -1149,7 +1149,7 @@ public class FirmwareDownloaderTest {
         assertThat(task, notNullValue());
 
         // first firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver).onChange(task);
@@ -1172,7 +1172,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // second firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // task observer should be notified
         verify(mObserver, times(2)).onChange(task);
@@ -1235,7 +1235,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.CANCELED, HttpRequest.STATUS_CODE_UNKNOWN);
 
         // third firmware should not be downloaded
-        verify(mHttpClient, never()).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient, never()).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
 
         // task should not change any further
         verify(mObserver, times(4)).onChange(task);
@@ -1269,7 +1269,7 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // launch a first task
         FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
@@ -1329,7 +1329,7 @@ public class FirmwareDownloaderTest {
                 firmwareDownloaderTaskOverallProgressIs(0)));
 
         // second firmware download should not start
-        verify(mHttpClient, never()).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient, never()).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // observer for task2 should be notified
         verify(mObserver, times(2)).onChange(task2);
@@ -1360,7 +1360,7 @@ public class FirmwareDownloaderTest {
         HttpRequest request = mock(HttpRequest.class);
 
         doReturn(request).when(mHttpClient)
-                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), mHttpCallback.capture());
+                         .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), mHttpCallback.capture());
 
         // launch a download task
         mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), mObserver);
@@ -1405,7 +1405,7 @@ public class FirmwareDownloaderTest {
 
         HttpRequest request = mock(HttpRequest.class);
 
-        doReturn(request).when(mHttpClient).download(any(), any(), mHttpCallback.capture());
+        doReturn(request).when(mHttpClient).download(any(), any(), any(), mHttpCallback.capture());
 
         // launch tasks
         FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(new LinkedHashSet<>(Arrays.asList(
@@ -1424,7 +1424,7 @@ public class FirmwareDownloaderTest {
         assertThat(task3, notNullValue());
 
         // first firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), any());
 
         // all task observers should be notified
         verify(mObserver, times(1)).onChange(task1);
@@ -1477,7 +1477,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // third firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
 
         // task 1 observer should be notified
         verify(mObserver, times(2)).onChange(task1);
@@ -1533,7 +1533,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.FAILED, 500);
 
         // second firmware download should start
-        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
 
         // task 1 observer should be notified
         verify(mObserver, times(3)).onChange(task1);
@@ -1642,7 +1642,7 @@ public class FirmwareDownloaderTest {
         mHttpCallback.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
 
         // third firmware download should start (again)
-        verify(mHttpClient, times(2)).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any());
+        verify(mHttpClient, times(2)).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
 
         // task 1 observer should be notified
         verify(mObserver, times(5)).onChange(task1);
@@ -1905,4 +1905,86 @@ public class FirmwareDownloaderTest {
                 firmwareDownloaderTaskCurrentDownloadProgressIs(20),
                 firmwareDownloaderTaskOverallProgressIs(60)));
     }
+
+    @Test
+    public void testConcurrentDownloads() {
+        // test that distinct firmwares are downloaded concurrently, up to the configured limit
+        mDownloader = new FirmwareDownloaderCore(mEngine, 2);
+
+        // mock both internet and remote uri
+        doReturn(mHttpClient).when(mEngine).httpClient();
+        ENTRIES[0].setUri(URI.create("https://server/firmware1"));
+        ENTRIES[1].setUri(URI.create("https://server/firmware2"));
+        ENTRIES[2].setUri(URI.create("https://server/firmware3"));
+        assert ENTRIES[0].getRemoteUri() != null;
+        assert ENTRIES[1].getRemoteUri() != null;
+        assert ENTRIES[2].getRemoteUri() != null;
+
+        doReturn(ENTRIES[0]).when(mStore).getEntry(FIRMWARES[0]);
+        doReturn(ENTRIES[1]).when(mStore).getEntry(FIRMWARES[1]);
+        doReturn(ENTRIES[2]).when(mStore).getEntry(FIRMWARES[2]);
+
+        HttpRequest request1 = mock(HttpRequest.class);
+        HttpRequest request2 = mock(HttpRequest.class);
+        ArgumentCaptor<HttpRequest.ProgressStatusCallback> callback1 = ArgumentCaptor.forClass(
+                HttpRequest.ProgressStatusCallback.class);
+        ArgumentCaptor<HttpRequest.ProgressStatusCallback> callback2 = ArgumentCaptor.forClass(
+                HttpRequest.ProgressStatusCallback.class);
+        doReturn(request1).when(mHttpClient)
+                          .download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), callback1.capture());
+        doReturn(request2).when(mHttpClient)
+                          .download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), callback2.capture());
+        doReturn(mock(HttpRequest.class)).when(mHttpClient)
+                                         .download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
+
+        FirmwareDownloader.Task.Observer observer1 = mock(FirmwareDownloader.Task.Observer.class);
+        FirmwareDownloader.Task.Observer observer2 = mock(FirmwareDownloader.Task.Observer.class);
+        FirmwareDownloader.Task.Observer observer3 = mock(FirmwareDownloader.Task.Observer.class);
+
+        // launch three single firmware tasks
+        FirmwareDownloader.Task task1 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[0]), observer1);
+        FirmwareDownloader.Task task2 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[1]), observer2);
+        FirmwareDownloader.Task task3 = mDownloader.downloadFromIds(Collections.singleton(FIRMWARES[2]), observer3);
+
+        assertThat(task1, notNullValue());
+        assertThat(task2, notNullValue());
+        assertThat(task3, notNullValue());
+
+        // first two firmware downloads should start, third should wait
+        verify(mHttpClient).download(eq(ENTRIES[0].getRemoteUri().toString()), any(), any(), any());
+        verify(mHttpClient).download(eq(ENTRIES[1].getRemoteUri().toString()), any(), any(), any());
+        verify(mHttpClient, never()).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
+
+        assertThat(task1, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.DOWNLOADING));
+        assertThat(task2, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.DOWNLOADING));
+        assertThat(task3, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.QUEUED));
+
+        // mock progress on each download, each task should report its own progress
+        callback1.getValue().onRequestProgress(20);
+        callback2.getValue().onRequestProgress(70);
+
+        assertThat(task1, firmwareDownloaderTaskCurrentDownloadProgressIs(20));
+        assertThat(task2, firmwareDownloaderTaskCurrentDownloadProgressIs(70));
+
+        // cancel first task, only the first download should be canceled
+        task1.cancel();
+
+        verify(request1).cancel();
+        verify(request2, never()).cancel();
+
+        // mock cancel completion
+        callback1.getValue().onRequestComplete(HttpRequest.Status.CANCELED, HttpRequest.STATUS_CODE_UNKNOWN);
+
+        // third firmware download should start
+        verify(mHttpClient).download(eq(ENTRIES[2].getRemoteUri().toString()), any(), any(), any());
+
+        assertThat(task3, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.DOWNLOADING));
+
+        // mock second download success
+        callback2.getValue().onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+
+        assertThat(task1, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.CANCELED));
+        assertThat(task2, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.SUCCESS));
+        assertThat(task3, firmwareDownloaderTaskStateIs(FirmwareDownloader.Task.State.DOWNLOADING));
+    }
 }
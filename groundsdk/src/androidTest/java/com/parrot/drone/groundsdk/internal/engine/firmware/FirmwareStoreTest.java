@@ -58,15 +58,23 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -284,6 +292,42 @@ public class FirmwareStoreTest {
         assertThat(intermediateFile.exists(), is(false));
     }
 
+    @Test
+    public void testIncrementalPersistence() throws IOException {
+        List<Collection<FirmwareStoreEntry>> saved = new ArrayList<>();
+        List<Collection<FirmwareIdentifier>> removed = new ArrayList<>();
+        doAnswer(invocation -> {
+            saved.add(new HashSet<>(invocation.getArgument(0)));
+            removed.add(new HashSet<>(invocation.getArgument(1)));
+            return null;
+        }).when(mPersistence).saveFirmwares(any(), any());
+
+        doReturn(makeEntryMap(mTrampoline, mIntermediate)).when(mPersistence).loadFirmwares();
+        FirmwareStoreCore store = new FirmwareStoreCore(mEngine);
+
+        assertThat(store.getUpdateChain(V2, true), empty());
+
+        // download intermediate, only that entry should be persisted
+        File intermediateFile = mTemporaryFolder.newFile("intermediate");
+        store.addLocalFirmware(V4, intermediateFile.toURI());
+
+        assertThat(saved, hasSize(1));
+        assertThat(saved.get(0), contains(mIntermediate));
+        assertThat(removed.get(0), empty());
+        // cached update chain should have been refreshed
+        assertThat(store.getUpdateChain(V2, true), contains(mIntermediate));
+
+        // remote server now only knows latest; trampoline is removed, intermediate loses its remote uri
+        store.mergeRemoteFirmwares(makeEntryMap(mLatest));
+
+        assertThat(saved, hasSize(2));
+        assertThat(saved.get(1), containsInAnyOrder(mIntermediate, mLatest));
+        assertThat(removed.get(1), contains(V3));
+        assertThat(store.getUpdateChain(V1, false), empty());
+        assertThat(store.getUpdateChain(V2, false), contains(mLatest));
+        assertThat(store.getUpdateChain(V2, true), contains(mIntermediate));
+    }
+
     @NonNull
     private static Map<FirmwareIdentifier, FirmwareStoreEntry> makeEntryMap(@NonNull FirmwareStoreEntry... entries) {
         Map<FirmwareIdentifier, FirmwareStoreEntry> map = new HashMap<>();
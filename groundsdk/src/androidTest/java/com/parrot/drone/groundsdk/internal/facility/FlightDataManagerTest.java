@@ -42,6 +42,7 @@ import org.junit.Test;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -55,10 +56,11 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 public class FlightDataManagerTest {
 
-    private static final File FILE_1 = mock(File.class), FILE_2 = mock(File.class);
+    private static final File FILE_1 = mock(File.class), FILE_2 = mock(File.class), FILE_3 = mock(File.class);
 
     private MockComponentStore<Facility> mStore;
 
@@ -158,4 +160,72 @@ public class FlightDataManagerTest {
         assertThat(mComponentChangeCnt, is(3));
         assertThat(mFlightDataManager.files(), empty());
     }
+
+    @Test
+    public void testSummaries() {
+        mFlightDataManagerCore.publish();
+
+        assertThat(mComponentChangeCnt, is(1));
+        assertThat(mFlightDataManager.summaries(null, Long.MIN_VALUE, Long.MAX_VALUE, 0), empty());
+
+        FlightDataManager.Summary summary1 = mockSummary(FILE_1, "drone_a", 1000, 60000);
+        FlightDataManager.Summary summary2 = mockSummary(FILE_2, "drone_b", 3000, 30000);
+        FlightDataManager.Summary summary3 = mockSummary(FILE_3, "drone_a", 2000, 120000);
+
+        // summaries of unlisted files are not retained
+        mFlightDataManagerCore.updateSummaries(Arrays.asList(summary1, summary2, summary3)).notifyUpdated();
+
+        assertThat(mComponentChangeCnt, is(1));
+        assertThat(mFlightDataManager.summaries(null, Long.MIN_VALUE, Long.MAX_VALUE, 0), empty());
+
+        mFlightDataManagerCore.updateFiles(Arrays.asList(FILE_1, FILE_2, FILE_3))
+                              .updateSummaries(Arrays.asList(summary1, summary2, summary3))
+                              .notifyUpdated();
+
+        assertThat(mComponentChangeCnt, is(2));
+
+        // all summaries, most recent first
+        assertThat(mFlightDataManager.summaries(null, Long.MIN_VALUE, Long.MAX_VALUE, 0),
+                contains(summary2, summary3, summary1));
+
+        // by drone
+        assertThat(mFlightDataManager.summaries("drone_a", Long.MIN_VALUE, Long.MAX_VALUE, 0),
+                contains(summary3, summary1));
+        assertThat(mFlightDataManager.summaries("drone_c", Long.MIN_VALUE, Long.MAX_VALUE, 0), empty());
+
+        // by date
+        assertThat(mFlightDataManager.summaries(null, 1000, 2000, 0), contains(summary3, summary1));
+        assertThat(mFlightDataManager.summaries(null, 2001, 2999, 0), empty());
+
+        // by duration
+        assertThat(mFlightDataManager.summaries(null, Long.MIN_VALUE, Long.MAX_VALUE, 60000),
+                contains(summary3, summary1));
+
+        // combined
+        assertThat(mFlightDataManager.summaries("drone_a", 1500, Long.MAX_VALUE, 60000), contains(summary3));
+
+        // same summaries, should not notify
+        mFlightDataManagerCore.updateSummaries(Arrays.asList(summary3, summary1, summary2)).notifyUpdated();
+
+        assertThat(mComponentChangeCnt, is(2));
+
+        // remove a file, its summary should be dropped
+        mFlightDataManagerCore.updateFiles(Arrays.asList(FILE_1, FILE_2))
+                              .updateSummaries(Arrays.asList(summary1, summary2, summary3))
+                              .notifyUpdated();
+
+        assertThat(mComponentChangeCnt, is(3));
+        List<FlightDataManager.Summary> summaries = mFlightDataManager.summaries(null, Long.MIN_VALUE,
+                Long.MAX_VALUE, 0);
+        assertThat(summaries, contains(summary2, summary1));
+    }
+
+    private static FlightDataManager.Summary mockSummary(File file, String droneUid, long date, long duration) {
+        FlightDataManager.Summary summary = mock(FlightDataManager.Summary.class);
+        when(summary.getFile()).thenReturn(file);
+        when(summary.getDroneUid()).thenReturn(droneUid);
+        when(summary.getDate()).thenReturn(date);
+        when(summary.getDuration()).thenReturn(duration);
+        return summary;
+    }
 }
@@ -0,0 +1,325 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.http;
+
+import android.os.ConditionVariable;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.internal.io.Md5;
+import com.parrot.drone.groundsdk.internal.tasks.TestExecutor;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class HttpUpdateClientTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private static final String FIRMWARE_URL = "http://test/firmware.tar.gz";
+
+    private static final byte[] FIRMWARE_DATA = new byte[3 * 8192 + 123];
+
+    static {
+        new Random().nextBytes(FIRMWARE_DATA);
+    }
+
+    private static final String FIRMWARE_MD5 = md5(FIRMWARE_DATA);
+
+    private MockHttpService mMockService;
+
+    private HttpUpdateClient mClient;
+
+    private ConditionVariable mFgLock;
+
+    private HttpRequest.ProgressStatusCallback mCallback;
+
+    private File mDest;
+
+    private File mPartial;
+
+    private File mValidator;
+
+    @BeforeClass
+    public static void init() {
+        TestExecutor.allowBackgroundTasksFromAnyThread();
+        TestExecutor.setDirectMainThreadScheduler();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        mMockService = new MockHttpService();
+        mClient = new HttpUpdateClient(mMockService.mSession);
+        mFgLock = new ConditionVariable();
+        mCallback = mock(HttpRequest.ProgressStatusCallback.class);
+        doAnswer(invocation -> {
+            mFgLock.open();
+            return null;
+        }).when(mCallback).onRequestComplete(any(), anyInt());
+        mDest = new File(mTemporaryFolder.newFolder(), "firmware.tar.gz");
+        mPartial = new File(mDest.getPath() + ".part");
+        mValidator = new File(mDest.getPath() + ".part.validator");
+    }
+
+    @AfterClass
+    public static void deInit() {
+        TestExecutor.teardown();
+    }
+
+    @Test
+    public void testDownload() throws IOException {
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), nullValue());
+        assertThat(mMockService.pendingRequestHeader("If-Range"), nullValue());
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .header("ETag", "\"v1\"")
+                .body(ResponseBody.create(FIRMWARE_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        verify(mCallback).onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+        assertThat(readFile(mDest), is(FIRMWARE_DATA));
+        assertThat(mPartial.exists(), is(false));
+        assertThat(mValidator.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadResume() throws IOException {
+        int offset = FIRMWARE_DATA.length / 2;
+        writeFile(mPartial, Arrays.copyOf(FIRMWARE_DATA, offset));
+        writeFile(mValidator, "\"v1\"".getBytes());
+
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        // remaining data should be requested, provided that the remote file did not change
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), is("bytes=" + offset + "-"));
+        assertThat(mMockService.pendingRequestHeader("If-Range"), is("\"v1\""));
+
+        mMockService.mockResponse(it -> it
+                .code(206)
+                .header("Content-Range", "bytes " + offset + "-" + (FIRMWARE_DATA.length - 1) + "/"
+                                         + FIRMWARE_DATA.length)
+                .body(ResponseBody.create(Arrays.copyOfRange(FIRMWARE_DATA, offset, FIRMWARE_DATA.length),
+                        MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        // checksum accounts for already downloaded data, so download should succeed
+        verify(mCallback).onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+        assertThat(readFile(mDest), is(FIRMWARE_DATA));
+        assertThat(mPartial.exists(), is(false));
+        assertThat(mValidator.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadResumeWithoutValidator() throws IOException {
+        byte[] garbage = new byte[FIRMWARE_DATA.length / 2];
+        Arrays.fill(garbage, (byte) 0x42);
+        writeFile(mPartial, garbage);
+
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        // partial file cannot be validated, so the whole file should be requested
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), nullValue());
+        assertThat(mMockService.pendingRequestHeader("If-Range"), nullValue());
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .body(ResponseBody.create(FIRMWARE_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        verify(mCallback).onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+        assertThat(readFile(mDest), is(FIRMWARE_DATA));
+        assertThat(mPartial.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadUnexpectedContentRange() throws IOException {
+        int offset = FIRMWARE_DATA.length / 2;
+        writeFile(mPartial, Arrays.copyOf(FIRMWARE_DATA, offset));
+        writeFile(mValidator, "Wed, 21 Oct 2015 07:28:00 GMT".getBytes());
+
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), is("bytes=" + offset + "-"));
+        assertThat(mMockService.pendingRequestHeader("If-Range"), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+
+        // server sends a range that does not start at the requested offset
+        mMockService.mockResponse(it -> it
+                .code(206)
+                .header("Content-Range", "bytes 0-99/" + FIRMWARE_DATA.length)
+                .body(ResponseBody.create(Arrays.copyOf(FIRMWARE_DATA, 100),
+                        MediaType.parse("application/octet-stream"))));
+
+        // download should restart from scratch
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), nullValue());
+        assertThat(mMockService.pendingRequestHeader("If-Range"), nullValue());
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .body(ResponseBody.create(FIRMWARE_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        verify(mCallback).onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+        assertThat(readFile(mDest), is(FIRMWARE_DATA));
+        assertThat(mPartial.exists(), is(false));
+        assertThat(mValidator.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadRangeNotSatisfiable() throws IOException {
+        writeFile(mPartial, Arrays.copyOf(FIRMWARE_DATA, 100));
+        writeFile(mValidator, "\"v1\"".getBytes());
+
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), is("bytes=100-"));
+
+        mMockService.mockResponse(it -> it.code(416));
+
+        mFgLock.block();
+
+        // partial file is unusable and should be deleted, so that next download restarts from scratch
+        verify(mCallback).onRequestComplete(HttpRequest.Status.FAILED, 416);
+        assertThat(mPartial.exists(), is(false));
+        assertThat(mValidator.exists(), is(false));
+        assertThat(mDest.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadRangeIgnored() throws IOException {
+        byte[] garbage = new byte[FIRMWARE_DATA.length / 2];
+        Arrays.fill(garbage, (byte) 0x42);
+        writeFile(mPartial, garbage);
+        writeFile(mValidator, "\"v1\"".getBytes());
+
+        mClient.download(FIRMWARE_URL, mDest, FIRMWARE_MD5, mCallback);
+
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+        assertThat(mMockService.pendingRequestHeader("Range"), is("bytes=" + garbage.length + "-"));
+        assertThat(mMockService.pendingRequestHeader("If-Range"), is("\"v1\""));
+
+        // remote file changed, so server ignores the range request and sends the whole file
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .body(ResponseBody.create(FIRMWARE_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        // partial file content should have been discarded
+        verify(mCallback).onRequestComplete(HttpRequest.Status.SUCCESS, 200);
+        assertThat(readFile(mDest), is(FIRMWARE_DATA));
+        assertThat(mPartial.exists(), is(false));
+    }
+
+    @Test
+    public void testDownloadMd5Mismatch() throws IOException {
+        mClient.download(FIRMWARE_URL, mDest, md5(new byte[] {1, 2, 3}), mCallback);
+
+        mMockService.assertPendingRequest(it -> it.get().url(FIRMWARE_URL));
+
+        mMockService.mockResponse(it -> it
+                .code(200)
+                .header("ETag", "\"v2\"")
+                .body(ResponseBody.create(FIRMWARE_DATA, MediaType.parse("application/octet-stream"))));
+
+        mFgLock.block();
+
+        // partial file should be deleted, so that next download restarts from scratch
+        verify(mCallback).onRequestComplete(HttpRequest.Status.FAILED, HttpRequest.STATUS_CODE_UNKNOWN);
+        assertThat(mPartial.exists(), is(false));
+        assertThat(mValidator.exists(), is(false));
+        assertThat(mDest.exists(), is(false));
+    }
+
+    @NonNull
+    private static String md5(@NonNull byte[] data) {
+        MessageDigest digest = Md5.newDigest();
+        digest.update(data);
+        return Md5.toHex(digest.digest());
+    }
+
+    private static void writeFile(@NonNull File file, @NonNull byte[] data) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(file)) {
+            stream.write(data);
+        }
+    }
+
+    @NonNull
+    private static byte[] readFile(@NonNull File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        try (FileInputStream stream = new FileInputStream(file)) {
+            int offset = 0;
+            for (int read = 0; read != -1 && offset < data.length; offset += read) {
+                read = stream.read(data, offset, data.length - offset);
+            }
+        }
+        return data;
+    }
+}
@@ -61,6 +61,8 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import static com.parrot.drone.groundsdk.mavlink.ChangeSpeedCommandMatcher.changeSpeedCommandIs;
@@ -73,8 +75,12 @@ import static com.parrot.drone.groundsdk.mavlink.SetStillCaptureModeCommandMatch
 import static com.parrot.drone.groundsdk.mavlink.SetViewModeCommandMatcher.setViewModeCommandIs;
 import static com.parrot.drone.groundsdk.mavlink.StartPhotoCaptureCommandMatcher.startPhotoCaptureCommandIs;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 
 public class MavlinkFilesTest {
 
@@ -196,4 +202,103 @@ public class MavlinkFilesTest {
         assertThat((SetStillCaptureModeCommand) commands.get(14),
                 setStillCaptureModeCommandIs(SetStillCaptureModeCommand.Mode.GPSLAPSE, 4.5));
     }
+
+    @Test
+    public void testGenerateRounding() {
+        File file = new File(mTemporaryFolder.getRoot(), "mavlink.txt");
+
+        MavlinkFiles.generate(file, Arrays.asList(
+                new NavigateToWaypointCommand(-48.8765432, -0.0000004, 0.0000005, 359.9999996, 1e-7, 123456.654321),
+                new SetRoiCommand(-0.0, 1e12, Double.NaN)));
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            assertThat(reader.readLine(), equalTo("QGC WPL 120"));
+            assertThat(reader.readLine(), equalTo("0\t0\t3\t16\t0.000000\t123456.654321\t0.000000\t360.000000"
+                                                  + "\t-48.876543\t-0.000000\t0.000001\t1"));
+            assertThat(reader.readLine(), equalTo("1\t0\t3\t201\t3.000000\t0.000000\t0.000000\t0.000000"
+                                                  + "\t-0.000000\t1000000000000.000000\tNaN\t1"));
+        } catch (IOException e) {
+            throw new AssertionError("Error reading generated file", e);
+        }
+    }
+
+    @Test
+    public void testIterate() throws IOException {
+        File file = new File(mTemporaryFolder.getRoot(), "mavlink.txt");
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("QGC WPL 120\r\n");
+            writer.write("0\t0\t3\t16\t0\t5\t0\t45\t48.8\t2.3\t3\t1\r\n");
+            writer.write("\r\n");
+            writer.write("1\t0\t3\t999\t0\t0\t0\t0\t0\t0\t0\t1\n");
+            writer.write("malformed\n");
+            writer.write("2\t0\t3\t112\tx\t0\t0\t0\t0\t0\t0\t1\n");
+            writer.write("3\t0\t3\t178\t9\t1\t0\t0\t0\t0\t0\t1\n");
+            writer.write("4\t0\t3\t112\t2.5e1\t0\t0\t0\t0\t0\t0\t1");
+        }
+
+        List<String> errors = new ArrayList<>();
+        List<MavlinkCommand> commands = new ArrayList<>();
+        try (MavlinkFiles.CommandIterator iterator = MavlinkFiles.iterate(file,
+                (lineNumber, message) -> errors.add(lineNumber + ": " + message))) {
+            while (iterator.hasNext()) {
+                commands.add(iterator.next());
+            }
+        }
+
+        assertThat(commands.size(), is(2));
+        assertThat((NavigateToWaypointCommand) commands.get(0), navigateToWaypointCommandIs(48.8, 2.3, 3, 45, 0, 5));
+        assertThat((DelayCommand) commands.get(1), delayCommandIs(25));
+        assertThat(errors, contains(
+                equalTo("4: Unsupported command code 999"),
+                equalTo("5: Expected 12 fields, found 1"),
+                startsWith("6: Invalid parameter 1: "),
+                equalTo("7: Invalid parameters for command CHANGE_SPEED")));
+
+        // malformed lines are skipped by the list-based parser
+        assertThat(MavlinkFiles.parse(file), equalTo(commands));
+    }
+
+    @Test
+    public void testIterateMissingHeader() throws IOException {
+        File file = new File(mTemporaryFolder.getRoot(), "mavlink.txt");
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("0\t0\t3\t21\t0\t0\t0\t0\t0\t0\t0\t1\n");
+        }
+
+        List<String> errors = new ArrayList<>();
+        try (MavlinkFiles.CommandIterator iterator = MavlinkFiles.iterate(file,
+                (lineNumber, message) -> errors.add(lineNumber + ": " + message))) {
+            assertThat(iterator.hasNext(), is(false));
+        }
+        assertThat(errors, contains("1: Missing QGC WPL header"));
+        assertThat(MavlinkFiles.parse(file), empty());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        File file = new File(mTemporaryFolder.getRoot(), "mavlink.txt");
+
+        List<MavlinkCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // use values with at most 6 decimals, which are written without loss
+            commands.add(new NavigateToWaypointCommand((48_800_000 + i * 17) / 1e6, (2_300_000 - i * 13) / 1e6,
+                    (10_000_000 + i * 250_001) / 1e6, i % 360, 0, 5));
+        }
+        MavlinkFiles.generate(file, commands);
+
+        Iterator<MavlinkCommand> expected = commands.iterator();
+        try (MavlinkFiles.CommandIterator iterator = MavlinkFiles.iterate(file, (lineNumber, message) -> {
+            throw new AssertionError("Unexpected error at line " + lineNumber + ": " + message);
+        })) {
+            while (iterator.hasNext()) {
+                NavigateToWaypointCommand command = (NavigateToWaypointCommand) expected.next();
+                assertThat((NavigateToWaypointCommand) iterator.next(), navigateToWaypointCommandIs(
+                        command.getLatitude(), command.getLongitude(), command.getAltitude(), command.getYaw(),
+                        command.getHoldTime(), command.getAcceptanceRadius()));
+            }
+        }
+        assertThat(expected.hasNext(), is(false));
+    }
 }
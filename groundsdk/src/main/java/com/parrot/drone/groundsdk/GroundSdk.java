@@ -37,6 +37,7 @@ import android.content.Context;
 import android.hardware.usb.UsbAccessory;
 import android.os.Bundle;
 
+import androidx.annotation.FloatRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -493,6 +494,26 @@ public class GroundSdk {
         return mCore.getFacility(mSession, facilityClass, observer);
     }
 
+    /**
+     * Limits the frequency at which observers of a given component type are notified.
+     * <p>
+     * Components such as instruments may change several tens of times per second. This allows to notify observers
+     * of components of the given type at most at the given frequency; intermediate changes are coalesced and the
+     * latest component state is notified at the allowed cadence.
+     * <p>
+     * This applies to refs obtained from this GroundSdk session after this method is called. Each ref may still be
+     * configured individually using {@link Ref#setMaxNotificationFrequency}.
+     *
+     * @param componentClass class of the component, for instance {@code Compass.class}
+     * @param maxFrequency   maximum notification frequency, in Hertz; {@code 0} to remove any limit
+     *
+     * @throws IllegalArgumentException in case {@code maxFrequency} is negative or not a number
+     */
+    public final void setMaxNotificationFrequency(@NonNull Class<?> componentClass,
+                                                  @FloatRange(from = 0) double maxFrequency) {
+        mSession.setMaxNotificationFrequency(componentClass, maxFrequency);
+    }
+
     /**
      * Creates a new replay stream for some local media file.
      * <p>
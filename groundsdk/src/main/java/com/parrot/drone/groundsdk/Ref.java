@@ -32,6 +32,8 @@
 
 package com.parrot.drone.groundsdk;
 
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 /**
@@ -67,4 +69,24 @@ public abstract class Ref<T> {
      * Closes the ref.
      */
     public abstract void close();
+
+    /**
+     * Limits the frequency at which the observer is notified of referenced object changes.
+     * <p>
+     * When the referenced object changes more often than allowed, intermediate changes are coalesced and the observer
+     * is notified of the latest state at the allowed cadence. Appearance and disappearance of the referenced object
+     * are always notified immediately.
+     * <p>
+     * Base implementation does not limit notifications; refs that support it override this method.
+     *
+     * @param maxFrequency maximum notification frequency, in Hertz; {@code 0} to remove any limit
+     *
+     * @return {@code this}, to allow call chaining
+     *
+     * @throws IllegalArgumentException in case {@code maxFrequency} is negative or not a number
+     */
+    @NonNull
+    public Ref<T> setMaxNotificationFrequency(@FloatRange(from = 0) double maxFrequency) {
+        return this;
+    }
 }
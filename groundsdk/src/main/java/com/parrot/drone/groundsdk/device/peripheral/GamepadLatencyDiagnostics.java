@@ -0,0 +1,115 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.device.peripheral;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.Ref;
+import com.parrot.drone.groundsdk.device.RemoteControl;
+
+/**
+ * Gamepad latency diagnostics peripheral interface for {@link RemoteControl} devices.
+ * <p>
+ * Reports, for each kind of input event forwarded by the remote control to the application, how long it takes for
+ * the event to be delivered to the application listener once received from the remote control, and how long the
+ * application listener takes to handle it.
+ * <p>
+ * Delivery latency accounts for the time the event waits for the main thread after being received from the remote
+ * control by the GroundSdk internal network thread.
+ * <p>
+ * Statistics are accumulated continuously while the remote control is connected and can be read at any time, from
+ * any thread. Observers are not notified when statistics change.
+ * <p>
+ * This peripheral is only provided when gamepad latency tracing is enabled in GroundSdk configuration, since tracing
+ * adds some overhead to each input event.
+ * <p>
+ * This peripheral can be obtained from a {@code RemoteControl} using:
+ * <pre>{@code remoteControl.getPeripheral(GamepadLatencyDiagnostics.class)}</pre>
+ *
+ * @see RemoteControl#getPeripheral(Class)
+ * @see RemoteControl#getPeripheral(Class, Ref.Observer)
+ */
+public interface GamepadLatencyDiagnostics extends Peripheral {
+
+    /** Kind of traced input events. */
+    enum EventType {
+
+        /** Navigation events, forwarded to the {@link VirtualGamepad} listener. */
+        NAVIGATION,
+
+        /** Button events, forwarded to the specialized gamepad button event listener. */
+        BUTTON,
+
+        /** Axis events, forwarded to the specialized gamepad axis event listener. */
+        AXIS,
+
+        /**
+         * Application events, broadcast to the application.
+         * <p>
+         * Since those events are broadcast asynchronously, their delivery latency is traced until they are broadcast,
+         * and their handling duration is not traced.
+         */
+        APPLICATION
+    }
+
+    /**
+     * Retrieves the distribution of durations between the reception of an input event from the remote control and
+     * its delivery to the application.
+     *
+     * @param type kind of input events
+     *
+     * @return delivery latency distribution for this kind of input events
+     */
+    @NonNull
+    Histogram getDeliveryLatencies(@NonNull EventType type);
+
+    /**
+     * Retrieves the distribution of durations spent by the application handling an input event, that is until the
+     * application listener returns.
+     * <p>
+     * This includes the time spent by the application to issue any resulting command to the drone from the listener.
+     * <p>
+     * No duration is accounted for {@link EventType#APPLICATION application events}.
+     *
+     * @param type kind of input events
+     *
+     * @return handling duration distribution for this kind of input events
+     */
+    @NonNull
+    Histogram getHandlingDurations(@NonNull EventType type);
+
+    /**
+     * Resets all statistics.
+     */
+    void reset();
+}
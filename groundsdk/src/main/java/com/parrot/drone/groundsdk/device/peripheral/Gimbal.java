@@ -202,6 +202,38 @@ public interface Gimbal extends Peripheral {
     @NonNull
     DoubleRange getAttitudeBounds(@NonNull Axis axis);
 
+    /**
+     * Retrieves the lower attitude bound of an axis in the current frame of reference, in degrees.
+     * <p>
+     * This is equivalent to {@code getAttitudeBounds(axis).getLower()}, and is provided for clients that poll attitude
+     * bounds at high rate.
+     * <p>
+     * The given {@code axis} <strong>MUST</strong> be a {@link #getSupportedAxes() supported axis}.
+     *
+     * @param axis the axis
+     *
+     * @return lower attitude bound for the specified axis
+     *
+     * @throws IllegalArgumentException in case the specified axis is not a supported axis
+     */
+    double getAttitudeLowerBound(@NonNull Axis axis);
+
+    /**
+     * Retrieves the upper attitude bound of an axis in the current frame of reference, in degrees.
+     * <p>
+     * This is equivalent to {@code getAttitudeBounds(axis).getUpper()}, and is provided for clients that poll attitude
+     * bounds at high rate.
+     * <p>
+     * The given {@code axis} <strong>MUST</strong> be a {@link #getSupportedAxes() supported axis}.
+     *
+     * @param axis the axis
+     *
+     * @return upper attitude bound for the specified axis
+     *
+     * @throws IllegalArgumentException in case the specified axis is not a supported axis
+     */
+    double getAttitudeUpperBound(@NonNull Axis axis);
+
     /**
      * Retrieves the maximum speed setting of an axis, in degrees per second.
      * <p>
@@ -272,6 +304,24 @@ public interface Gimbal extends Peripheral {
      */
     double getAttitude(@NonNull Axis axis, @NonNull FrameOfReference frame);
 
+    /**
+     * Copies current attitude of all axes in a given frame of reference, in degrees, into the provided array.
+     * <p>
+     * The array is indexed by {@link Axis#ordinal() axis ordinal} and must be large enough to hold a value for every
+     * {@link Axis axis}. Entries for axes that are not {@link #getSupportedAxes() supported} are set to {@code 0}.
+     * <p>
+     * This allows clients to sample the gimbal attitude repeatedly without allocating.
+     *
+     * @param frame the frame of reference
+     * @param dest  array to fill with the current attitude of each axis
+     *
+     * @return {@code dest}, to allow chained calls
+     *
+     * @throws IllegalArgumentException in case {@code dest} is too small
+     */
+    @NonNull
+    double[] getAttitudes(@NonNull FrameOfReference frame, @NonNull double[] dest);
+
     /**
      * Controls the gimbal.
      * <p>
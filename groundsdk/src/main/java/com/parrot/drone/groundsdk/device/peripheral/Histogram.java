@@ -0,0 +1,116 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.device.peripheral;
+
+import androidx.annotation.IntRange;
+
+/**
+ * Distribution of durations, in milliseconds, as reported by diagnostics peripherals.
+ * <p>
+ * Durations are accounted in buckets of {@link #getBucketWidth() fixed width}; the last bucket accounts for all
+ * durations that do not fit in the previous ones.
+ */
+public interface Histogram {
+
+    /**
+     * Retrieves the number of buckets.
+     *
+     * @return bucket count
+     */
+    @IntRange(from = 1)
+    int getBucketCount();
+
+    /**
+     * Retrieves the width of each bucket.
+     * <p>
+     * Bucket {@code i} accounts for durations in {@code [i * width, (i + 1) * width[}, except for the last bucket
+     * which accounts for all durations greater than or equal to its lower bound.
+     *
+     * @return bucket width, in milliseconds
+     */
+    @IntRange(from = 1)
+    int getBucketWidth();
+
+    /**
+     * Retrieves the number of durations accounted in a bucket.
+     *
+     * @param bucket bucket index, in {@code [0, getBucketCount()[}
+     *
+     * @return bucket sample count
+     *
+     * @throws IndexOutOfBoundsException in case {@code bucket} is out of range
+     */
+    @IntRange(from = 0)
+    long getCount(int bucket);
+
+    /**
+     * Retrieves the total number of accounted durations.
+     *
+     * @return total sample count
+     */
+    @IntRange(from = 0)
+    long getTotalCount();
+
+    /**
+     * Retrieves the shortest accounted duration.
+     *
+     * @return minimal duration, in milliseconds, {@code 0} if no duration was accounted yet
+     */
+    long getMin();
+
+    /**
+     * Retrieves the longest accounted duration.
+     *
+     * @return maximal duration, in milliseconds, {@code 0} if no duration was accounted yet
+     */
+    long getMax();
+
+    /**
+     * Retrieves the mean of accounted durations.
+     *
+     * @return mean duration, in milliseconds, {@code 0} if no duration was accounted yet
+     */
+    double getMean();
+
+    /**
+     * Retrieves an upper estimate of a percentile of accounted durations.
+     * <p>
+     * The result is the upper bound of the bucket where the percentile lies, or the {@link #getMax() maximal
+     * duration} when it lies in the last bucket.
+     *
+     * @param percent percentile to compute, in {@code [0, 100]}
+     *
+     * @return percentile estimate, in milliseconds, {@code 0} if no duration was accounted yet
+     */
+    long getPercentile(@IntRange(from = 0, to = 100) int percent);
+}
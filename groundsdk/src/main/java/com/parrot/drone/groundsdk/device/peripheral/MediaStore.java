@@ -42,6 +42,7 @@ import com.parrot.drone.groundsdk.device.peripheral.media.MediaDeleter;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDestination;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDownloader;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaQuery;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaStoreWiper;
 
 import java.util.Collection;
@@ -156,6 +157,25 @@ public interface MediaStore extends Peripheral {
     @NonNull
     Ref<List<MediaItem>> browse(@NonNull StorageType storageType, @NonNull Ref.Observer<List<MediaItem>> observer);
 
+    /**
+     * Creates a new media list for browsing media matching a query.
+     * <p>
+     * This is an asynchronous operation. The provided observer is notified with the resulting list of media items
+     * when it has been first loaded and each time the content changes. <br>
+     * Media items are filtered, sorted and paged according to the provided query. This is performed using an index of
+     * the media store content, shared by all queries on the same storage, which is only rebuilt when the content
+     * changes. <br>
+     * This list may be closed or the operation may be aborted early by {@link Ref#close() closing} the returned
+     * reference.
+     *
+     * @param query    query to run; a snapshot of the query is taken, later changes are not taken into account
+     * @param observer observer notified when the media list has been loaded and when its content changes
+     *
+     * @return a reference on a list of {@link MediaItem}
+     */
+    @NonNull
+    Ref<List<MediaItem>> browse(@NonNull MediaQuery query, @NonNull Ref.Observer<List<MediaItem>> observer);
+
     /**
      * Retrieves a media thumbnail.
      * <p>
@@ -199,6 +219,34 @@ public interface MediaStore extends Peripheral {
     @NonNull
     Ref<Bitmap> fetchThumbnailOf(@NonNull MediaItem.Resource resource, @NonNull Ref.Observer<Bitmap> observer);
 
+    /**
+     * Informs the media store of the media items currently displayed by the application.
+     * <p>
+     * This allows the media store to prioritize thumbnail requests: pending {@link #fetchThumbnailOf(MediaItem,
+     * Ref.Observer) thumbnail requests} for visible media are processed first, while requests for media that are not
+     * in the window anymore, typically after a fast scroll, are held back until they become visible again. <br>
+     * Additionally, thumbnails of up to {@code prefetchCount} media following the visible range, then preceding it, are
+     * fetched ahead of time, so that they are directly available when scrolling.
+     * <p>
+     * The window applies to the media store as a whole; each call replaces the window set by a previous call.
+     *
+     * @param medias        media list displayed by the application, usually obtained from a {@code browse} request
+     * @param firstVisible  index of the first visible media in {@code medias}
+     * @param visibleCount  amount of visible media
+     * @param prefetchCount amount of media to prefetch thumbnails for, on each side of the visible range
+     *
+     * @see #clearThumbnailWindow()
+     */
+    void setThumbnailWindow(@NonNull List<? extends MediaItem> medias, @IntRange(from = 0) int firstVisible,
+                            @IntRange(from = 0) int visibleCount, @IntRange(from = 0) int prefetchCount);
+
+    /**
+     * Clears the thumbnail window set by {@link #setThumbnailWindow}.
+     * <p>
+     * Thumbnail requests are then processed in the order they were made, including those that were held back.
+     */
+    void clearThumbnailWindow();
+
     /**
      * Downloads media resources from the device's internal storage.
      * <p>
@@ -239,6 +287,32 @@ public interface MediaStore extends Peripheral {
     Ref<MediaDeleter> delete(@NonNull Collection<MediaItem.Resource> resources,
                              @NonNull Ref.Observer<MediaDeleter> observer);
 
+    /**
+     * Deletes resources from the device's internal storage, processing several media concurrently.
+     * <p>
+     * This is an asynchronous operation. The provided observer is notified with a {@link MediaDeleter} object that
+     * reports current deletion progress. <br>
+     * The operation may be aborted by {@link Ref#close() closing} the returned reference.
+     * <p>
+     * Resources belonging to the same media will be grouped together and deleted sequentially; up to
+     * {@code maxConcurrentRequests} media are processed concurrently, in the order defined by the specified
+     * {@code resources}. <br>
+     * Resources that fail to be deleted do not stop the operation; they are reported by
+     * {@link MediaDeleter#getFailedResources()}. <br>
+     * Media store content change notifications are held back until the operation is over, so that
+     * {@link #browse browse} observers are notified only once for the whole batch.
+     *
+     * @param resources             media resources to delete
+     * @param maxConcurrentRequests maximum amount of media to delete concurrently
+     * @param observer              observer notified of deletion progress and status
+     *
+     * @return a reference on a {@code MediaDeleter} that allows to track deletion progress
+     */
+    @NonNull
+    Ref<MediaDeleter> delete(@NonNull Collection<MediaItem.Resource> resources,
+                             @IntRange(from = 1) int maxConcurrentRequests,
+                             @NonNull Ref.Observer<MediaDeleter> observer);
+
     /**
      * Wipes all media from the device's internal storage.
      * <p>
@@ -0,0 +1,91 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.device.peripheral;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.Ref;
+import com.parrot.drone.groundsdk.device.Drone;
+import com.parrot.drone.groundsdk.device.pilotingitf.ManualCopterPilotingItf;
+
+/**
+ * Piloting command diagnostics peripheral interface.
+ * <p>
+ * Piloting commands, as issued for instance through the {@link ManualCopterPilotingItf manual piloting interface},
+ * are sent to the drone by a periodic loop. This peripheral reports how regularly this loop runs, and how long it
+ * takes for a piloting command change to be sent to the drone.
+ * <p>
+ * Statistics are accumulated continuously while the drone is connected and can be read at any time, from any
+ * thread. Observers are not notified when statistics change.
+ * <p>
+ * This peripheral can be obtained from a {@link Drone drone} using:
+ * <pre>{@code drone.getPeripheral(PilotingCommandDiagnostics.class)}</pre>
+ *
+ * @see Drone#getPeripheral(Class)
+ * @see Drone#getPeripheral(Class, Ref.Observer)
+ */
+public interface PilotingCommandDiagnostics extends Peripheral {
+
+    /**
+     * Retrieves the period at which the piloting command loop is expected to run.
+     *
+     * @return expected piloting command loop period, in milliseconds
+     */
+    @IntRange(from = 0)
+    int getLoopPeriod();
+
+    /**
+     * Retrieves the distribution of actual durations between two subsequent runs of the piloting command loop.
+     * <p>
+     * With a regular loop, durations concentrate around the {@link #getLoopPeriod() expected period}.
+     *
+     * @return piloting command loop interval distribution
+     */
+    @NonNull
+    Histogram getLoopIntervals();
+
+    /**
+     * Retrieves the distribution of durations between a piloting command change and the moment this change is sent
+     * to the drone.
+     *
+     * @return piloting command latency distribution
+     */
+    @NonNull
+    Histogram getCommandLatencies();
+
+    /**
+     * Resets all statistics.
+     */
+    void reset();
+}
@@ -219,11 +219,38 @@ public interface TargetTracker extends Peripheral {
      * <p>
      * Such information allows the drone to locate and follow a specific target. This may for example come from
      * image processing results from the drone video stream.
+     * <p>
+     * Information may be sent to the drone at a lower rate than it is provided: in such a case, only the latest
+     * provided information is sent, and previous ones are dropped. Provided information is copied, so the same
+     * instance may be reused for subsequent calls. When the {@link TargetDetectionInfo#getTimestamp() timestamp} is
+     * {@code 0}, information is stamped with the time at which it is provided, so that the drone may account for
+     * the transmission latency.
      *
      * @param info target detection information to send
      */
     void sendTargetDetectionInfo(@NonNull TargetDetectionInfo info);
 
+    /**
+     * Gives the count of target detection information sent to the drone since the latest connection.
+     * <p>
+     * Changes of this value are not notified; it should be polled as required.
+     *
+     * @return sent target detection information count
+     */
+    @IntRange(from = 0)
+    long getSentTargetDetectionInfoCount();
+
+    /**
+     * Gives the count of target detection information dropped since the latest connection, because more recent
+     * information was provided before they could be sent to the drone.
+     * <p>
+     * Changes of this value are not notified; it should be polled as required.
+     *
+     * @return dropped target detection information count
+     */
+    @IntRange(from = 0)
+    long getDroppedTargetDetectionInfoCount();
+
     /**
      * Informs about tracked target trajectory.
      */
@@ -0,0 +1,158 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.device.peripheral;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.Ref;
+import com.parrot.drone.groundsdk.device.Drone;
+
+/**
+ * Telemetry stream peripheral interface.
+ * <p>
+ * This peripheral gives access to the drone attitude, speed, altitude and location at the rate they are received from
+ * the drone, as timestamped samples.
+ * <p>
+ * Contrary to the instruments, which only expose the latest known values and notify their observers on the main
+ * thread, telemetry samples are queued in a {@link Subscription subscription}, that can be drained in batches from any
+ * thread. Intermediate samples are thus available even when the consumer cannot keep up with each received value.
+ * <p>
+ * This peripheral can be obtained from a {@link Drone drone} using:
+ * <pre>{@code drone.getPeripheral(TelemetryStream.class)}</pre>
+ *
+ * @see Drone#getPeripheral(Class)
+ * @see Drone#getPeripheral(Class, Ref.Observer)
+ */
+public interface TelemetryStream extends Peripheral {
+
+    /** Kind of telemetry sample. Defines the meaning of the sample values. */
+    enum Kind {
+
+        /**
+         * Drone attitude.
+         * <p>
+         * Values are roll, pitch and yaw, in degrees.
+         */
+        ATTITUDE,
+
+        /**
+         * Drone speed, in the North-East-Down frame.
+         * <p>
+         * Values are north, east and down speeds, in meters per second.
+         */
+        SPEED,
+
+        /**
+         * Drone altitude.
+         * <p>
+         * First value is the altitude relative to the take off point, in meters. Other values are {@link Double#NaN}.
+         */
+        ALTITUDE,
+
+        /**
+         * Drone location.
+         * <p>
+         * Values are latitude and longitude, in degrees, and altitude above sea level, in meters, or {@link Double#NaN}
+         * if unknown.
+         */
+        LOCATION
+    }
+
+    /**
+     * Receives drained telemetry samples.
+     */
+    interface Sink {
+
+        /**
+         * Called back for each drained sample, on the thread that drains the subscription.
+         *
+         * @param kind      sample kind
+         * @param timestamp time when the sample was received, in milliseconds, in the
+         *                  {@link android.os.SystemClock#elapsedRealtime()} time base
+         * @param value1    first sample value
+         * @param value2    second sample value
+         * @param value3    third sample value
+         */
+        void onSample(@NonNull Kind kind, long timestamp, double value1, double value2, double value3);
+    }
+
+    /**
+     * A subscription to the telemetry stream.
+     * <p>
+     * A subscription queues samples in a bounded buffer until they are drained. When the buffer is full, incoming
+     * samples are dropped, and accounted in {@link #getDroppedCount()}; queued samples are never overwritten.
+     * <p>
+     * A subscription must be drained by a single thread at a time, which may be any thread.
+     */
+    interface Subscription {
+
+        /**
+         * Drains queued samples, from the eldest to the most recent.
+         *
+         * @param sink       sink that receives drained samples
+         * @param maxSamples maximum count of samples to drain
+         *
+         * @return count of drained samples
+         */
+        @IntRange(from = 0)
+        int drain(@NonNull Sink sink, @IntRange(from = 0) int maxSamples);
+
+        /**
+         * Retrieves the count of samples that were dropped because the subscription buffer was full.
+         *
+         * @return dropped samples count
+         */
+        @IntRange(from = 0)
+        long getDroppedCount();
+
+        /**
+         * Closes the subscription.
+         * <p>
+         * No sample is queued after this method is called; samples queued beforehand can still be drained.
+         */
+        void close();
+    }
+
+    /**
+     * Subscribes to the telemetry stream.
+     * <p>
+     * Capacity is rounded up to the next power of two.
+     *
+     * @param capacity minimal count of samples the subscription can hold before dropping incoming samples
+     *
+     * @return a new subscription
+     */
+    @NonNull
+    Subscription subscribe(@IntRange(from = 1) int capacity);
+}
@@ -35,6 +35,8 @@ package com.parrot.drone.groundsdk.device.peripheral.media;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 
+import java.util.Collection;
+
 /**
  * Provides progress and status of a media/resource deletion task.
  */
@@ -68,4 +70,14 @@ public interface MediaDeleter {
      */
     @IntRange(from = 0)
     int getCurrentMediaIndex();
+
+    /**
+     * Retrieves the resources that could not be deleted so far.
+     * <p>
+     * A failure to delete some resources does not stop the deletion task, which proceeds with the remaining ones.
+     *
+     * @return resources whose deletion failed
+     */
+    @NonNull
+    Collection<MediaItem.Resource> getFailedResources();
 }
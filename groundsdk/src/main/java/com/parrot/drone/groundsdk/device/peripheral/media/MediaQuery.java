@@ -0,0 +1,360 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.device.peripheral.media;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+
+/**
+ * Describes a filtered, sorted and paged view on the content of a {@link MediaStore}.
+ * <p>
+ * A query is built by chaining calls to its configuration methods, starting from {@link #all()}, for instance:
+ * <pre>{@code
+ * MediaQuery.all()
+ *           .onStorage(MediaStore.StorageType.REMOVABLE)
+ *           .ofType(MediaItem.Type.VIDEO)
+ *           .sortedBy(MediaQuery.Order.NEWEST_FIRST)
+ *           .limit(50)
+ * }</pre>
+ * Queries are then passed to {@link MediaStore#browse(MediaQuery, com.parrot.drone.groundsdk.Ref.Observer)}, which
+ * takes a snapshot of the query configuration; the query object may thus be modified or reused afterwards without
+ * affecting already issued browse requests.
+ * <p>
+ * Media items are filtered and sorted by GroundSdk using an index of the media store content which is only rebuilt
+ * when this content changes, so that the application does not need to copy or sort the whole media list itself.
+ */
+public final class MediaQuery {
+
+    /** Order in which media items are reported. */
+    public enum Order {
+
+        /** Media items are sorted by creation date, oldest first. */
+        OLDEST_FIRST,
+
+        /** Media items are sorted by creation date, newest first. */
+        NEWEST_FIRST
+    }
+
+    /**
+     * Creates a new query that matches all media items, sorted with oldest media first.
+     *
+     * @return a new {@code MediaQuery}
+     */
+    @NonNull
+    public static MediaQuery all() {
+        return new MediaQuery();
+    }
+
+    /** Storage where media must be located, {@code null} for any storage. */
+    @Nullable
+    private MediaStore.StorageType mStorage;
+
+    /** Accepted media types, empty for any type. */
+    @NonNull
+    private final EnumSet<MediaItem.Type> mTypes;
+
+    /** Accepted photo modes, empty for any photo mode. */
+    @NonNull
+    private final EnumSet<MediaItem.PhotoMode> mPhotoModes;
+
+    /** Run identifier of accepted media, {@code null} for any run. */
+    @Nullable
+    private String mRunUid;
+
+    /** Minimal creation date (inclusive) of accepted media, in milliseconds since epoch. */
+    private long mCreatedAfter;
+
+    /** Maximal creation date (exclusive) of accepted media, in milliseconds since epoch. */
+    private long mCreatedBefore;
+
+    /** Order in which media items are reported. */
+    @NonNull
+    private Order mOrder;
+
+    /** Amount of matching media items to skip before reporting. */
+    private int mOffset;
+
+    /** Maximal amount of media items to report, negative for no limit. */
+    private int mLimit;
+
+    /**
+     * Constructor.
+     */
+    private MediaQuery() {
+        mTypes = EnumSet.noneOf(MediaItem.Type.class);
+        mPhotoModes = EnumSet.noneOf(MediaItem.PhotoMode.class);
+        mCreatedAfter = Long.MIN_VALUE;
+        mCreatedBefore = Long.MAX_VALUE;
+        mOrder = Order.OLDEST_FIRST;
+        mLimit = -1;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other query to copy
+     */
+    private MediaQuery(@NonNull MediaQuery other) {
+        mStorage = other.mStorage;
+        mTypes = EnumSet.copyOf(other.mTypes);
+        mPhotoModes = EnumSet.copyOf(other.mPhotoModes);
+        mRunUid = other.mRunUid;
+        mCreatedAfter = other.mCreatedAfter;
+        mCreatedBefore = other.mCreatedBefore;
+        mOrder = other.mOrder;
+        mOffset = other.mOffset;
+        mLimit = other.mLimit;
+    }
+
+    /**
+     * Restricts the query to media located on a specific storage.
+     *
+     * @param storage storage where media must be located, {@code null} to accept media from any storage
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery onStorage(@Nullable MediaStore.StorageType storage) {
+        mStorage = storage;
+        return this;
+    }
+
+    /**
+     * Restricts the query to media of the given types.
+     * <p>
+     * Calling this method without any type lifts the restriction.
+     *
+     * @param types accepted media types
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery ofType(@NonNull MediaItem.Type... types) {
+        mTypes.clear();
+        Collections.addAll(mTypes, types);
+        return this;
+    }
+
+    /**
+     * Restricts the query to photo media taken in one of the given photo modes.
+     * <p>
+     * Media that have no photo mode, such as videos, never match a query restricted to some photo modes. <br>
+     * Calling this method without any photo mode lifts the restriction.
+     *
+     * @param modes accepted photo modes
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery withPhotoMode(@NonNull MediaItem.PhotoMode... modes) {
+        mPhotoModes.clear();
+        Collections.addAll(mPhotoModes, modes);
+        return this;
+    }
+
+    /**
+     * Restricts the query to media recorded during a given run.
+     *
+     * @param runUid identifier of the run, as reported by {@link MediaItem#getRunUid()}; {@code null} to accept media
+     *               from any run
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery ofRun(@Nullable String runUid) {
+        mRunUid = runUid;
+        return this;
+    }
+
+    /**
+     * Restricts the query to media created in a given time interval.
+     *
+     * @param from  minimal creation date (inclusive), {@code null} for no lower bound
+     * @param until maximal creation date (exclusive), {@code null} for no upper bound
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery createdBetween(@Nullable Date from, @Nullable Date until) {
+        mCreatedAfter = from == null ? Long.MIN_VALUE : from.getTime();
+        mCreatedBefore = until == null ? Long.MAX_VALUE : until.getTime();
+        return this;
+    }
+
+    /**
+     * Configures the order in which matching media items are reported.
+     *
+     * @param order media item order
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery sortedBy(@NonNull Order order) {
+        mOrder = order;
+        return this;
+    }
+
+    /**
+     * Configures the amount of matching media items to skip, in query order, before reporting.
+     *
+     * @param offset amount of media items to skip
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery offset(@IntRange(from = 0) int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset: " + offset);
+        }
+        mOffset = offset;
+        return this;
+    }
+
+    /**
+     * Configures the maximal amount of media items to report.
+     *
+     * @param limit maximal amount of media items to report, negative to report all matching media
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public MediaQuery limit(int limit) {
+        mLimit = limit;
+        return this;
+    }
+
+    /**
+     * Retrieves the storage where media must be located.
+     *
+     * @return storage where media must be located, {@code null} for any storage
+     */
+    @Nullable
+    public MediaStore.StorageType getStorage() {
+        return mStorage;
+    }
+
+    /**
+     * Retrieves accepted media types.
+     *
+     * @return accepted media types, empty for any type
+     */
+    @NonNull
+    public EnumSet<MediaItem.Type> getTypes() {
+        return EnumSet.copyOf(mTypes);
+    }
+
+    /**
+     * Retrieves accepted photo modes.
+     *
+     * @return accepted photo modes, empty for any photo mode
+     */
+    @NonNull
+    public EnumSet<MediaItem.PhotoMode> getPhotoModes() {
+        return EnumSet.copyOf(mPhotoModes);
+    }
+
+    /**
+     * Retrieves the run identifier of accepted media.
+     *
+     * @return run identifier of accepted media, {@code null} for any run
+     */
+    @Nullable
+    public String getRunUid() {
+        return mRunUid;
+    }
+
+    /**
+     * Retrieves minimal creation date (inclusive) of accepted media.
+     *
+     * @return minimal creation date in milliseconds since epoch, {@link Long#MIN_VALUE} for no lower bound
+     */
+    public long getCreatedAfter() {
+        return mCreatedAfter;
+    }
+
+    /**
+     * Retrieves maximal creation date (exclusive) of accepted media.
+     *
+     * @return maximal creation date in milliseconds since epoch, {@link Long#MAX_VALUE} for no upper bound
+     */
+    public long getCreatedBefore() {
+        return mCreatedBefore;
+    }
+
+    /**
+     * Retrieves the order in which media items are reported.
+     *
+     * @return media item order
+     */
+    @NonNull
+    public Order getOrder() {
+        return mOrder;
+    }
+
+    /**
+     * Retrieves the amount of matching media items skipped before reporting.
+     *
+     * @return amount of skipped media items
+     */
+    @IntRange(from = 0)
+    public int getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Retrieves the maximal amount of media items to report.
+     *
+     * @return maximal amount of reported media items, negative when all matching media are reported
+     */
+    public int getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * Creates a copy of this query.
+     *
+     * @return a new {@code MediaQuery}, configured identically to this query
+     */
+    @NonNull
+    public MediaQuery copy() {
+        return new MediaQuery(this);
+    }
+}
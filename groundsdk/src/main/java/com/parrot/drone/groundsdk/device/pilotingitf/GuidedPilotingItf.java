@@ -39,6 +39,7 @@ import androidx.annotation.Nullable;
 import com.parrot.drone.groundsdk.Ref;
 import com.parrot.drone.groundsdk.device.Drone;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -617,6 +618,22 @@ public interface GuidedPilotingItf extends PilotingItf, Activable {
          * @return {@code true} if the guided flight succeeded, {@code false} otherwise
          */
         boolean wasSuccessful();
+
+        /**
+         * Retrieves the time the guided flight directive spent waiting in the directive queue.
+         *
+         * @return the time spent in queue, in milliseconds, {@code 0} if the directive was not
+         *         {@link #queue(Directive) queued}
+         */
+        long getQueuedDuration();
+
+        /**
+         * Retrieves the time elapsed between the moment the guided flight directive was sent to the drone and the
+         * moment the flight finished.
+         *
+         * @return the guided flight execution duration, in milliseconds, or {@code -1} if unknown
+         */
+        long getExecutionDuration();
     }
 
     /**
@@ -715,6 +732,40 @@ public interface GuidedPilotingItf extends PilotingItf, Activable {
      */
     void move(@NonNull Directive directive);
 
+    /**
+     * Queues a guided flight.
+     * <p>
+     * If no guided flight is in progress, this behaves like {@link #move(Directive)}. Otherwise, the directive is
+     * appended to the directive queue; it will be sent to the drone as soon as the previous guided flight finishes
+     * successfully, without the interface going back to {@link State#IDLE} in between.
+     * <p>
+     * If a guided flight fails or is interrupted, all queued directives are discarded. This is also the case when
+     * {@link #move(Directive)} is called, when the interface is deactivated and in case of drone disconnection.
+     *
+     * @param directive movement directive
+     *
+     * @see #getQueuedDirectives()
+     * @see #cancelQueue()
+     */
+    void queue(@NonNull Directive directive);
+
+    /**
+     * Cancels all queued guided flights.
+     * <p>
+     * Discards all queued directives and stops the guided flight in progress, if any.
+     */
+    void cancelQueue();
+
+    /**
+     * Retrieves the queued guided flight directives.
+     * <p>
+     * The returned list does not include the {@link #getCurrentDirective() current directive}; it cannot be modified.
+     *
+     * @return the list of directives waiting to be executed, in execution order
+     */
+    @NonNull
+    List<Directive> getQueuedDirectives();
+
     /**
      * Retrieves the current guided flight directive.
      * <p>
@@ -32,9 +32,12 @@
 
 package com.parrot.drone.groundsdk.facility;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.io.File;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -42,6 +45,99 @@ import java.util.Set;
  */
 public interface FlightDataManager extends Facility {
 
+    /**
+     * Summary of a downloaded flight.
+     * <p>
+     * Summaries are computed when the flight data is downloaded and are kept alongside the flight data file, so that
+     * they can be listed without parsing the flight data files themselves.
+     */
+    interface Summary {
+
+        /**
+         * Retrieves the flight data file this summary describes.
+         *
+         * @return flight data file
+         */
+        @NonNull
+        File getFile();
+
+        /**
+         * Retrieves the uid of the drone that recorded the flight.
+         *
+         * @return drone uid, {@code null} if unknown
+         */
+        @Nullable
+        String getDroneUid();
+
+        /**
+         * Retrieves the flight date.
+         *
+         * @return flight date, in milliseconds since epoch, {@code 0} if unknown
+         */
+        long getDate();
+
+        /**
+         * Retrieves the total duration of the recording.
+         *
+         * @return recording duration, in milliseconds
+         */
+        @IntRange(from = 0)
+        long getDuration();
+
+        /**
+         * Retrieves the time the drone spent flying during the recording.
+         *
+         * @return flying time, in milliseconds
+         */
+        @IntRange(from = 0)
+        long getFlyingTime();
+
+        /**
+         * Retrieves the count of alerts raised by the drone during the recording.
+         *
+         * @return alert count
+         */
+        @IntRange(from = 0)
+        int getAlertCount();
+
+        /**
+         * Tells whether the drone GPS was available at some point during the recording.
+         *
+         * @return {@code true} if the drone GPS was available, otherwise {@code false}
+         */
+        boolean isGpsAvailable();
+
+        /**
+         * Tells whether the flight location is known.
+         *
+         * @return {@code true} if {@link #getLatitude()} and {@link #getLongitude()} are meaningful, otherwise {@code
+         *         false}
+         */
+        boolean isLocationKnown();
+
+        /**
+         * Retrieves the latitude of the flight location.
+         * <p>
+         * This is the first location of the drone if known, otherwise the latest location of the controller.
+         * <p>
+         * Return value is meaningless if {@link #isLocationKnown()} returns {@code false}.
+         *
+         * @return flight location latitude
+         */
+        double getLatitude();
+
+        /**
+         * Retrieves the longitude of the flight location.
+         * <p>
+         * This is the first location of the drone if known, otherwise the latest location of the controller.
+         * <p>
+         * Return value is meaningless if {@link #isLocationKnown()} returns {@code false}.
+         *
+         * @return flight location longitude
+         */
+        double getLongitude();
+    }
+
     /**
      * Lists all downloaded flight data files.
      * <p>
@@ -60,4 +156,22 @@ public interface FlightDataManager extends Facility {
      * @return {@code true} if the specified file did exist and was successfully deleted
      */
     boolean delete(@NonNull File file);
+
+    /**
+     * Lists summaries of downloaded flights matching the given criteria.
+     * <p>
+     * Only flights whose summary is available are listed; flight data files downloaded by former versions of this
+     * library may not have one.
+     * <p>
+     * The returned list cannot be modified.
+     *
+     * @param droneUid    uid of the drone that recorded the flights, {@code null} to list flights from all drones
+     * @param from        earliest flight date, in milliseconds since epoch, inclusive
+     * @param to          latest flight date, in milliseconds since epoch, inclusive
+     * @param minDuration minimal recording duration, in milliseconds, inclusive
+     *
+     * @return matching flight summaries, most recent flight first
+     */
+    @NonNull
+    List<Summary> summaries(@Nullable String droneUid, long from, long to, @IntRange(from = 0) long minDuration);
 }
@@ -32,22 +32,67 @@
 
 package com.parrot.drone.groundsdk.internal;
 
+import android.content.ContentResolver;
+import android.content.ContentValues;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Environment;
+import android.provider.MediaStore;
+import android.webkit.MimeTypeMap;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
 
 /**
  * Component that provides access to various application storage paths.
  */
 public abstract class ApplicationStorageProvider {
 
+    /**
+     * A pending entry in the platform media store.
+     * <p>
+     * The entry is not visible to other applications until it is {@link #publish() published}. <br>
+     * All methods of this interface may block and must be called from a background thread.
+     */
+    public interface MediaStoreEntry {
+
+        /**
+         * Creates the entry in the platform media store and opens a stream to write its content.
+         *
+         * @return a stream to write the entry content to; caller is responsible for closing it
+         *
+         * @throws IOException in case the entry could not be created or opened
+         */
+        @NonNull
+        OutputStream open() throws IOException;
+
+        /**
+         * Publishes the entry, making it visible to other applications.
+         * <p>
+         * Entry content stream must have been closed beforehand.
+         *
+         * @return the file backing the published entry; may not be directly accessible by the application
+         *
+         * @throws IOException in case the entry could not be published
+         */
+        @NonNull
+        File publish() throws IOException;
+
+        /**
+         * Discards the entry, removing any content written so far from the platform media store.
+         */
+        void discard();
+    }
+
     /** Singleton instance. */
     private static ApplicationStorageProvider sInstance;
 
@@ -90,6 +135,14 @@ public abstract class ApplicationStorageProvider {
                     appContext.sendBroadcast(
                             new Intent(Intent.ACTION_MEDIA_SCANNER_SCAN_FILE).setData(Uri.fromFile(file)));
                 }
+
+                @Nullable
+                @Override
+                public MediaStoreEntry createPlatformMediaStoreEntry(@Nullable String album,
+                                                                     @NonNull String fileName) {
+                    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q ?
+                            new PlatformMediaStoreEntry(appContext.getContentResolver(), album, fileName) : null;
+                }
             };
         }
     }
@@ -164,4 +217,127 @@ public abstract class ApplicationStorageProvider {
      * @param file the added file
      */
     public abstract void notifyFileAdded(@NonNull File file);
+
+    /**
+     * Creates a pending entry in the platform media store, whose content can be streamed directly.
+     * <p>
+     * Default implementation returns {@code null}.
+     *
+     * @param album    name of the album where to create the entry, {@code null} to create it at the root of the
+     *                 platform media store
+     * @param fileName name of the entry file
+     *
+     * @return a new pending media store entry, or {@code null} if not supported, in which case media must be written
+     *         to the {@link #getPlatformMediaStore() platform media store directory} instead
+     */
+    @Nullable
+    public MediaStoreEntry createPlatformMediaStoreEntry(@Nullable String album, @NonNull String fileName) {
+        return null;
+    }
+
+    /**
+     * Pending platform media store entry, backed by a {@link ContentResolver}.
+     */
+    private static final class PlatformMediaStoreEntry implements MediaStoreEntry {
+
+        /** Content resolver to access the platform media store with. */
+        @NonNull
+        private final ContentResolver mResolver;
+
+        /** Album of the entry, {@code null} for none. */
+        @Nullable
+        private final String mAlbum;
+
+        /** Entry file name. */
+        @NonNull
+        private final String mFileName;
+
+        /** Entry content URI, {@code null} until the entry is created. */
+        @Nullable
+        private Uri mUri;
+
+        /**
+         * Constructor.
+         *
+         * @param resolver content resolver to access the platform media store with
+         * @param album    album of the entry, {@code null} for none
+         * @param fileName entry file name
+         */
+        PlatformMediaStoreEntry(@NonNull ContentResolver resolver, @Nullable String album, @NonNull String fileName) {
+            mResolver = resolver;
+            mAlbum = album;
+            mFileName = fileName;
+        }
+
+        @NonNull
+        @Override
+        public OutputStream open() throws IOException {
+            String extension = mFileName.substring(mFileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            String mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension);
+            Uri collection;
+            if (mimeType != null && mimeType.startsWith("video/")) {
+                collection = MediaStore.Video.Media.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY);
+            } else if (mimeType != null && mimeType.startsWith("image/")) {
+                collection = MediaStore.Images.Media.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY);
+            } else {
+                collection = MediaStore.Files.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY);
+            }
+
+            ContentValues values = new ContentValues();
+            values.put(MediaStore.MediaColumns.DISPLAY_NAME, mFileName);
+            if (mimeType != null) {
+                values.put(MediaStore.MediaColumns.MIME_TYPE, mimeType);
+            }
+            values.put(MediaStore.MediaColumns.RELATIVE_PATH, getRelativePath());
+            values.put(MediaStore.MediaColumns.IS_PENDING, 1);
+
+            mUri = mResolver.insert(collection, values);
+            if (mUri == null) {
+                throw new IOException("Could not create media store entry: " + mFileName);
+            }
+            OutputStream stream;
+            try {
+                stream = mResolver.openOutputStream(mUri);
+            } catch (FileNotFoundException e) {
+                stream = null;
+            }
+            if (stream == null) {
+                throw new IOException("Could not open media store entry: " + mUri);
+            }
+            return stream;
+        }
+
+        @NonNull
+        @Override
+        public File publish() throws IOException {
+            if (mUri == null) {
+                throw new IOException("Media store entry not created: " + mFileName);
+            }
+            ContentValues values = new ContentValues();
+            values.put(MediaStore.MediaColumns.IS_PENDING, 0);
+            if (mResolver.update(mUri, values, null, null) != 1) {
+                throw new IOException("Could not publish media store entry: " + mUri);
+            }
+            return new File(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DCIM),
+                    mAlbum == null ? mFileName : mAlbum + File.separator + mFileName);
+        }
+
+        @Override
+        public void discard() {
+            if (mUri != null) {
+                mResolver.delete(mUri, null, null);
+                mUri = null;
+            }
+        }
+
+        /**
+         * Computes the entry path, relative to the platform storage root.
+         *
+         * @return entry relative path
+         */
+        @NonNull
+        private String getRelativePath() {
+            return mAlbum == null ? Environment.DIRECTORY_DCIM : Environment.DIRECTORY_DCIM + File.separator + mAlbum;
+        }
+    }
 }
@@ -61,10 +61,12 @@ import com.parrot.drone.groundsdk.internal.utility.FirmwareDownloader;
 import com.parrot.drone.groundsdk.internal.utility.FirmwareStore;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
 import com.parrot.drone.groundsdk.internal.utility.FlightLogStorage;
+import com.parrot.drone.sdkcore.arsdk.command.ArsdkCommand;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.Deflater;
 
 /**
  * GroundSdk Global Configuration.
@@ -225,6 +227,10 @@ public final class GroundSdkConfig {
     @IntRange(from = 0)
     private long mBlackboxQuota;
 
+    /** Blackbox files GZIP compression level, {@link Deflater#DEFAULT_COMPRESSION} for the default level. */
+    @IntRange(from = Deflater.DEFAULT_COMPRESSION, to = Deflater.BEST_COMPRESSION)
+    private final int mBlackBoxCompressionLevel;
+
     /** Flight data storage space quota, in bytes. */
     @IntRange(from = 0)
     private long mFlightDataQuota;
@@ -241,6 +247,17 @@ public final class GroundSdkConfig {
     @IntRange(from = 0)
     private final long mThumbnailCacheSize;
 
+    /** Minimal period between two gimbal or zoom control commands, in milliseconds. {@code 0} for no limit. */
+    @IntRange(from = 0)
+    private int mControlEmissionPeriod;
+
+    /** Minimal period between two tracking samples sent to the drone, in milliseconds. {@code 0} for no limit. */
+    @IntRange(from = 0)
+    private final int mTrackingEmissionPeriod;
+
+    /** {@code true} if remote control gamepad input latency tracing is enabled. */
+    private boolean mGamepadLatencyTracingEnabled;
+
     /** True if the config has been locked and cannot be change anymore. */
     private boolean mLocked;
 
@@ -345,6 +362,12 @@ public final class GroundSdkConfig {
         }
         mBlackboxQuota = quota == 0 ? Long.MAX_VALUE : quota;
 
+        mBlackBoxCompressionLevel = resources.getInteger(R.integer.gsdk_blackbox_compression_level);
+        if (mBlackBoxCompressionLevel < Deflater.DEFAULT_COMPRESSION
+            || mBlackBoxCompressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new ConfigurationError("gsdk_blackbox_compression_level must be in range [-1, 9]");
+        }
+
         quota = resources.getInteger(R.integer.gsdk_flight_data_quota);
         if (quota < 0) {
             throw new ConfigurationError("gsdk_flight_data_quota must be positive");
@@ -367,6 +390,19 @@ public final class GroundSdkConfig {
         if (mThumbnailCacheSize < 0) {
             throw new ConfigurationError("gsdk_media_thumbnail_cache_size must be positive");
         }
+
+        mControlEmissionPeriod = resources.getInteger(R.integer.gsdk_control_emission_period);
+        if (mControlEmissionPeriod < 0) {
+            throw new ConfigurationError("gsdk_control_emission_period must be positive");
+        }
+
+        mTrackingEmissionPeriod = resources.getInteger(R.integer.gsdk_tracking_emission_period);
+        if (mTrackingEmissionPeriod < 0) {
+            throw new ConfigurationError("gsdk_tracking_emission_period must be positive");
+        }
+
+        mGamepadLatencyTracingEnabled = resources.getBoolean(R.bool.gsdk_gamepad_latency_tracing_enabled);
+        ArsdkCommand.enableReceptionTimeTracking(mGamepadLatencyTracingEnabled);
     }
 
     /**
@@ -398,10 +434,15 @@ public final class GroundSdkConfig {
         mApplicationVersion = "0.0.0";
         mCrashReportQuota = 0;
         mBlackboxQuota = 0;
+        mBlackBoxCompressionLevel = Deflater.DEFAULT_COMPRESSION;
         mFlightDataQuota = 0;
         mFlightLogQuota = 0;
         mGutmaLogQuota = 0;
         mThumbnailCacheSize = 0;
+        mControlEmissionPeriod = 0;
+        mTrackingEmissionPeriod = 0;
+        mGamepadLatencyTracingEnabled = false;
+        ArsdkCommand.enableReceptionTimeTracking(false);
     }
 
     /**
@@ -722,6 +763,16 @@ public final class GroundSdkConfig {
         return mBlackboxQuota;
     }
 
+    /**
+     * Gives black box files GZIP compression level.
+     *
+     * @return blackbox compression level, from {@code 0} to {@code 9}, or {@code -1} for the default level
+     */
+    @IntRange(from = Deflater.DEFAULT_COMPRESSION, to = Deflater.BEST_COMPRESSION)
+    public int getBlackBoxCompressionLevel() {
+        return mBlackBoxCompressionLevel;
+    }
+
     /**
      * Gives flight data storage space quota, in bytes.
      *
@@ -762,6 +813,40 @@ public final class GroundSdkConfig {
         return mThumbnailCacheSize;
     }
 
+    /**
+     * Gives the minimal period between two gimbal or zoom control commands sent to the drone, in milliseconds.
+     * <p>
+     * Control targets submitted faster than this are coalesced, so that only the latest one is sent.
+     *
+     * @return control emission period, {@code 0} to send control commands on every command loop tick
+     */
+    @IntRange(from = 0)
+    public int getControlEmissionPeriod() {
+        return mControlEmissionPeriod;
+    }
+
+    /**
+     * Gives the minimal period between two target tracking samples sent to the drone, in milliseconds.
+     * <p>
+     * This applies to target detection info and controller location. Samples submitted faster than this are
+     * coalesced, so that only the latest one is sent.
+     *
+     * @return tracking emission period, {@code 0} to send each sample as soon as it is submitted
+     */
+    @IntRange(from = 0)
+    public int getTrackingEmissionPeriod() {
+        return mTrackingEmissionPeriod;
+    }
+
+    /**
+     * Tells whether remote control gamepad input latency tracing is enabled.
+     *
+     * @return {@code true} if gamepad latency tracing is enabled, {@code false} otherwise
+     */
+    public boolean isGamepadLatencyTracingEnabled() {
+        return mGamepadLatencyTracingEnabled;
+    }
+
     /**
      * Sets the application key.
      *
@@ -825,6 +910,20 @@ public final class GroundSdkConfig {
         mDevToolboxEnabled = enable;
     }
 
+    /**
+     * Enables remote control gamepad input latency tracing.
+     * <p>
+     * If enabled, the GamepadLatencyDiagnostics peripheral will be published by connected remote controls.
+     *
+     * @param enable {@code true} to enable gamepad latency tracing, {@code false} to disable it.
+     */
+    public void enableGamepadLatencyTracing(boolean enable) {
+        checkLocked();
+        mGamepadLatencyTracingEnabled = enable;
+        // command reception times are only needed to measure gamepad events delivery latency
+        ArsdkCommand.enableReceptionTimeTracking(enable);
+    }
+
     /**
      * Enables crash report synchronization.
      * <p>
@@ -973,6 +1072,17 @@ public final class GroundSdkConfig {
         mOfflineSettingsMode = mode;
     }
 
+    /**
+     * Configures the minimal period between two gimbal or zoom control commands sent to the drone.
+     *
+     * @param period control emission period, in milliseconds, {@code 0} to send control commands on every command
+     *               loop tick
+     */
+    public void setControlEmissionPeriod(@IntRange(from = 0) int period) {
+        checkLocked();
+        mControlEmissionPeriod = period;
+    }
+
     /**
      * Configures supported device models.
      *
@@ -64,6 +64,7 @@ public final class ComponentRef<TYPE, API extends TYPE> extends Session.RefBase<
         super(session, observer);
         mComponentStore = componentStore;
         mComponentClass = klass;
+        setMinNotificationInterval(session.getMinNotificationInterval(klass));
         mComponentStore.registerObserver(mComponentClass, mObserver);
         init(mComponentStore.get(mSession, klass));
     }
@@ -62,6 +62,12 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     /** Default value for attitude bounds. */
     private static final DoubleRange DEFAULT_ATTITUDE_BOUNDS = DoubleRange.of(0, 0);
 
+    /** Number of gimbal axes, used to size per-axis state arrays. */
+    private static final int AXIS_COUNT = Axis.values().length;
+
+    /** Tolerance, in degrees, under which an attitude or bound update is not considered a change. */
+    private static final double ATTITUDE_EPSILON = 1e-3;
+
     /** Engine-specific backend for Gimbal. */
     public interface Backend {
 
@@ -142,9 +148,20 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     @NonNull
     private final EnumSet<Axis> mSupportedAxes;
 
-    /** Attitude bounds by axis, in degrees. Non null for all supported axes. */
+    /** Lower attitude bound, in degrees, indexed by axis ordinal. */
+    @NonNull
+    private final double[] mAttitudeLowerBounds;
+
+    /** Upper attitude bound, in degrees, indexed by axis ordinal. */
+    @NonNull
+    private final double[] mAttitudeUpperBounds;
+
+    /**
+     * Attitude bounds, indexed by axis ordinal, as returned to the API client.<br>
+     * Lazily created from lower and upper bounds; an entry is {@code null} until requested or after bounds change.
+     */
     @NonNull
-    private final EnumMap<Axis, DoubleRange> mAttitudeBounds;
+    private final DoubleRange[] mAttitudeBounds;
 
     /** Maximum speed setting by axis, in degrees per second. Non null for all supported axes. */
     @NonNull
@@ -158,13 +175,13 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     @NonNull
     private final EnumMap<Axis, BooleanSettingCore> mStabilizedAxes;
 
-    /** Current absolute attitude for each axis, in degrees. Non null for all supported axes. */
+    /** Current absolute attitude, in degrees, indexed by axis ordinal. {@code 0} for unsupported axes. */
     @NonNull
-    private final EnumMap<Axis, Double> mAbsoluteAttitude;
+    private final double[] mAbsoluteAttitude;
 
-    /** Current relative attitude for each axis, in degrees. Non null for all supported axes. */
+    /** Current relative attitude, in degrees, indexed by axis ordinal. {@code 0} for unsupported axes. */
     @NonNull
-    private final EnumMap<Axis, Double> mRelativeAttitude;
+    private final double[] mRelativeAttitude;
 
     /** Current gimbal errors. */
     @NonNull
@@ -194,12 +211,14 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
         super(DESC, peripheralStore);
         mBackend = backend;
         mSupportedAxes = EnumSet.noneOf(Axis.class);
-        mAttitudeBounds = new EnumMap<>(Axis.class);
+        mAttitudeLowerBounds = new double[AXIS_COUNT];
+        mAttitudeUpperBounds = new double[AXIS_COUNT];
+        mAttitudeBounds = new DoubleRange[AXIS_COUNT];
         mMaxSpeeds = new EnumMap<>(Axis.class);
         mLockedAxes = EnumSet.noneOf(Axis.class);
         mStabilizedAxes = new EnumMap<>(Axis.class);
-        mAbsoluteAttitude = new EnumMap<>(Axis.class);
-        mRelativeAttitude = new EnumMap<>(Axis.class);
+        mAbsoluteAttitude = new double[AXIS_COUNT];
+        mRelativeAttitude = new double[AXIS_COUNT];
         mErrors = EnumSet.noneOf(Error.class);
         mCalibrationProcessState = CalibrationProcessState.NONE;
     }
@@ -220,8 +239,25 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     @Override
     public DoubleRange getAttitudeBounds(@NonNull Axis axis) {
         checkAxisSupport(axis);
-        //noinspection ConstantConditions: validated by checkAxisSupport
-        return mAttitudeBounds.get(axis);
+        int index = axis.ordinal();
+        DoubleRange bounds = mAttitudeBounds[index];
+        if (bounds == null) {
+            bounds = DoubleRange.of(mAttitudeLowerBounds[index], mAttitudeUpperBounds[index]);
+            mAttitudeBounds[index] = bounds;
+        }
+        return bounds;
+    }
+
+    @Override
+    public double getAttitudeLowerBound(@NonNull Axis axis) {
+        checkAxisSupport(axis);
+        return mAttitudeLowerBounds[axis.ordinal()];
+    }
+
+    @Override
+    public double getAttitudeUpperBound(@NonNull Axis axis) {
+        checkAxisSupport(axis);
+        return mAttitudeUpperBounds[axis.ordinal()];
     }
 
     @NonNull
@@ -250,14 +286,26 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     public double getAttitude(@NonNull Axis axis) {
         checkAxisSupport(axis);
         //noinspection ConstantConditions: validated by checkAxisSupport
-        return mStabilizedAxes.get(axis).isEnabled() ? mAbsoluteAttitude.get(axis) : mRelativeAttitude.get(axis);
+        return mStabilizedAxes.get(axis).isEnabled() ? mAbsoluteAttitude[axis.ordinal()]
+                : mRelativeAttitude[axis.ordinal()];
     }
 
     @Override
     public double getAttitude(@NonNull Axis axis, @NonNull FrameOfReference frame) {
         checkAxisSupport(axis);
-        //noinspection ConstantConditions: validated by checkAxisSupport
-        return frame == FrameOfReference.ABSOLUTE ? mAbsoluteAttitude.get(axis) : mRelativeAttitude.get(axis);
+        return frame == FrameOfReference.ABSOLUTE ? mAbsoluteAttitude[axis.ordinal()]
+                : mRelativeAttitude[axis.ordinal()];
+    }
+
+    @NonNull
+    @Override
+    public double[] getAttitudes(@NonNull FrameOfReference frame, @NonNull double[] dest) {
+        if (dest.length < AXIS_COUNT) {
+            throw new IllegalArgumentException("Destination array too small: " + dest.length);
+        }
+        System.arraycopy(frame == FrameOfReference.ABSOLUTE ? mAbsoluteAttitude : mRelativeAttitude, 0, dest, 0,
+                AXIS_COUNT);
+        return dest;
     }
 
     @Override
@@ -333,6 +381,18 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
         }
     }
 
+    /**
+     * Tells whether two attitude values differ by at least {@link #ATTITUDE_EPSILON}.
+     *
+     * @param current current value
+     * @param value   new value
+     *
+     * @return {@code true} if the new value should be considered a change, otherwise {@code false}
+     */
+    private static boolean differs(double current, double value) {
+        return !(Math.abs(current - value) < ATTITUDE_EPSILON);
+    }
+
     /**
      * Updates supported axes.
      * <p>
@@ -347,11 +407,12 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     public GimbalCore updateSupportedAxes(@NonNull EnumSet<Axis> axes) {
         if (mSupportedAxes.retainAll(axes) | mSupportedAxes.addAll(axes)) {
             // remove all axes that are not supported from the other gimbal attributes
-            mAttitudeBounds.keySet().retainAll(axes);
             mLockedAxes.retainAll(axes);
-            mAbsoluteAttitude.keySet().retainAll(axes);
-            mRelativeAttitude.keySet().retainAll(axes);
             for (Axis unsupportedAxis : EnumSet.complementOf(axes)) {
+                int index = unsupportedAxis.ordinal();
+                mAttitudeLowerBounds[index] = mAttitudeUpperBounds[index] = 0;
+                mAttitudeBounds[index] = DEFAULT_ATTITUDE_BOUNDS;
+                mAbsoluteAttitude[index] = mRelativeAttitude[index] = 0;
                 DoubleSettingCore maxSpeedSetting = mMaxSpeeds.remove(unsupportedAxis);
                 if (maxSpeedSetting != null) {
                     maxSpeedSetting.cancelRollback();
@@ -363,9 +424,6 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
             }
             // add values for new supported axes
             for (Axis axis : axes) {
-                if (mAttitudeBounds.get(axis) == null) {
-                    mAttitudeBounds.put(axis, DEFAULT_ATTITUDE_BOUNDS);
-                }
                 DoubleSettingCore doubleSetting = mMaxSpeeds.get(axis);
                 if (doubleSetting == null) {
                     doubleSetting = new DoubleSettingCore(new SettingController(this::onSettingChange),
@@ -378,12 +436,6 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
                             value -> mBackend.setStabilization(axis, value));
                     mStabilizedAxes.put(axis, booleanSetting);
                 }
-                if (mAbsoluteAttitude.get(axis) == null) {
-                    mAbsoluteAttitude.put(axis, 0d);
-                }
-                if (mRelativeAttitude.get(axis) == null) {
-                    mRelativeAttitude.put(axis, 0d);
-                }
             }
 
             // by default all supported axes are locked
@@ -409,13 +461,56 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
         if (bounds == null) {
             bounds = DEFAULT_ATTITUDE_BOUNDS;
         }
-        if (mSupportedAxes.contains(axis) && !bounds.equals(mAttitudeBounds.get(axis))) {
-            mAttitudeBounds.put(axis, bounds);
-            mChanged = true;
+        if (applyAttitudeBounds(axis, bounds.getLower(), bounds.getUpper())) {
+            // keep the provided instance, so that it gets returned as is to the API client
+            mAttitudeBounds[axis.ordinal()] = bounds;
         }
         return this;
     }
 
+    /**
+     * Updates attitude bounds on the given axis.
+     * <p>
+     * Contrary to {@link #updateAttitudeBounds(Axis, DoubleRange)}, this method does not require the caller to
+     * allocate a range. Bounds that differ from the current ones by less than {@link #ATTITUDE_EPSILON} are not
+     * considered a change.
+     * <p>
+     * <strong>Note:</strong> this will only apply the update if the axis is supported.
+     *
+     * @param axis  the axis to which the new bounds will apply
+     * @param lower the new lower bound, in degrees
+     * @param upper the new upper bound, in degrees
+     *
+     * @return {@code this}, to allow chained calls
+     */
+    @NonNull
+    public GimbalCore updateAttitudeBounds(@NonNull Axis axis, double lower, double upper) {
+        applyAttitudeBounds(axis, lower, upper);
+        return this;
+    }
+
+    /**
+     * Applies attitude bounds on the given axis, if supported and different from the current ones.
+     *
+     * @param axis  the axis to which the new bounds will apply
+     * @param lower the new lower bound, in degrees
+     * @param upper the new upper bound, in degrees
+     *
+     * @return {@code true} if the bounds changed, otherwise {@code false}
+     */
+    private boolean applyAttitudeBounds(@NonNull Axis axis, double lower, double upper) {
+        int index = axis.ordinal();
+        if (mSupportedAxes.contains(axis) && (differs(mAttitudeLowerBounds[index], lower)
+                                              || differs(mAttitudeUpperBounds[index], upper))) {
+            mAttitudeLowerBounds[index] = lower;
+            mAttitudeUpperBounds[index] = upper;
+            mAttitudeBounds[index] = null;
+            mChanged = true;
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Updates maximum speed setting values.
      * <p>
@@ -495,6 +590,8 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     /**
      * Updates current absolute attitude on the given axis.
      * <p>
+     * An attitude that differs from the current one by less than {@link #ATTITUDE_EPSILON} is not considered a change.
+     * <p>
      * <strong>Note:</strong> this will only apply the update if the axis is supported.
      *
      * @param axis     the axis to which the new attitude will apply
@@ -504,12 +601,10 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
      */
     @NonNull
     public GimbalCore updateAbsoluteAttitude(@NonNull Axis axis, double attitude) {
-        if (mSupportedAxes.contains(axis)) {
-            //noinspection ConstantConditions: validated because in mSupportedAxes
-            if (Double.compare(mAbsoluteAttitude.get(axis), attitude) != 0) {
-                mAbsoluteAttitude.put(axis, attitude);
-                mChanged = true;
-            }
+        int index = axis.ordinal();
+        if (mSupportedAxes.contains(axis) && differs(mAbsoluteAttitude[index], attitude)) {
+            mAbsoluteAttitude[index] = attitude;
+            mChanged = true;
         }
         return this;
     }
@@ -517,6 +612,8 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
     /**
      * Updates current relative attitude on the given axis.
      * <p>
+     * An attitude that differs from the current one by less than {@link #ATTITUDE_EPSILON} is not considered a change.
+     * <p>
      * <strong>Note:</strong> this will only apply the update if the axis is supported.
      *
      * @param axis     the axis to which the new attitude will apply
@@ -526,12 +623,10 @@ public class GimbalCore extends SingletonComponentCore implements Gimbal {
      */
     @NonNull
     public GimbalCore updateRelativeAttitude(@NonNull Axis axis, double attitude) {
-        if (mSupportedAxes.contains(axis)) {
-            //noinspection ConstantConditions: validated because in mSupportedAxes
-            if (Double.compare(mRelativeAttitude.get(axis), attitude) != 0) {
-                mRelativeAttitude.put(axis, attitude);
-                mChanged = true;
-            }
+        int index = axis.ordinal();
+        if (mSupportedAxes.contains(axis) && differs(mRelativeAttitude[index], attitude)) {
+            mRelativeAttitude[index] = attitude;
+            mChanged = true;
         }
         return this;
     }
@@ -0,0 +1,158 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.device.peripheral.Histogram;
+
+import java.util.Arrays;
+
+/**
+ * Core class for Histogram.
+ * <p>
+ * Samples may be recorded and read from any thread.
+ */
+public final class HistogramCore implements Histogram {
+
+    /** Bucket width, in milliseconds. */
+    private final int mBucketWidth;
+
+    /** Sample count, by bucket. Guarded by {@code this}. */
+    @NonNull
+    private final long[] mCounts;
+
+    /** Total sample count. Guarded by {@code this}. */
+    private long mTotalCount;
+
+    /** Sum of all samples. Guarded by {@code this}. */
+    private long mSum;
+
+    /** Minimal sample. Guarded by {@code this}. */
+    private long mMin;
+
+    /** Maximal sample. Guarded by {@code this}. */
+    private long mMax;
+
+    /**
+     * Constructor.
+     *
+     * @param bucketCount bucket count, including overflow bucket
+     * @param bucketWidth bucket width, in milliseconds
+     */
+    public HistogramCore(int bucketCount, int bucketWidth) {
+        mBucketWidth = bucketWidth;
+        mCounts = new long[bucketCount];
+    }
+
+    @Override
+    public int getBucketCount() {
+        return mCounts.length;
+    }
+
+    @Override
+    public int getBucketWidth() {
+        return mBucketWidth;
+    }
+
+    @Override
+    public synchronized long getCount(int bucket) {
+        return mCounts[bucket];
+    }
+
+    @Override
+    public synchronized long getTotalCount() {
+        return mTotalCount;
+    }
+
+    @Override
+    public synchronized long getMin() {
+        return mMin;
+    }
+
+    @Override
+    public synchronized long getMax() {
+        return mMax;
+    }
+
+    @Override
+    public synchronized double getMean() {
+        return mTotalCount == 0 ? 0 : (double) mSum / mTotalCount;
+    }
+
+    @Override
+    public synchronized long getPercentile(@IntRange(from = 0, to = 100) int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percent);
+        }
+        if (mTotalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (mTotalCount * percent + 99) / 100);
+        int last = mCounts.length - 1;
+        for (int i = 0; i < last; i++) {
+            rank -= mCounts[i];
+            if (rank <= 0) {
+                return Math.min(mMax, (long) (i + 1) * mBucketWidth);
+            }
+        }
+        return mMax;
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param duration sample duration, in milliseconds; negative values are accounted as {@code 0}
+     */
+    public synchronized void record(long duration) {
+        duration = Math.max(0, duration);
+        mCounts[(int) Math.min(duration / mBucketWidth, mCounts.length - 1)]++;
+        if (mTotalCount == 0 || duration < mMin) {
+            mMin = duration;
+        }
+        if (duration > mMax) {
+            mMax = duration;
+        }
+        mTotalCount++;
+        mSum += duration;
+    }
+
+    /**
+     * Clears all samples.
+     */
+    public synchronized void reset() {
+        Arrays.fill(mCounts, 0);
+        mTotalCount = mSum = mMin = mMax = 0;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.device.peripheral.PilotingCommandDiagnostics;
+import com.parrot.drone.groundsdk.internal.component.ComponentDescriptor;
+import com.parrot.drone.groundsdk.internal.component.ComponentStore;
+import com.parrot.drone.groundsdk.internal.component.SingletonComponentCore;
+
+/**
+ * Core class for PilotingCommandDiagnostics.
+ * <p>
+ * Durations are recorded from the piloting command loop thread, while they may be read from any thread.
+ */
+public class PilotingCommandDiagnosticsCore extends SingletonComponentCore implements PilotingCommandDiagnostics {
+
+    /** Description of PilotingCommandDiagnostics. */
+    private static final ComponentDescriptor<Peripheral, PilotingCommandDiagnostics> DESC =
+            ComponentDescriptor.of(PilotingCommandDiagnostics.class);
+
+    /** Number of histogram buckets covering durations up to twice the loop period; an overflow bucket is added. */
+    private static final int BUCKETS_PER_TWO_PERIODS = 20;
+
+    /** Expected piloting command loop period, in milliseconds. */
+    private final int mLoopPeriod;
+
+    /** Piloting command loop interval distribution. */
+    @NonNull
+    private final HistogramCore mLoopIntervals;
+
+    /** Piloting command latency distribution. */
+    @NonNull
+    private final HistogramCore mCommandLatencies;
+
+    /**
+     * Constructor.
+     *
+     * @param peripheralStore store where this peripheral belongs
+     * @param loopPeriod      expected piloting command loop period, in milliseconds
+     */
+    public PilotingCommandDiagnosticsCore(@NonNull ComponentStore<Peripheral> peripheralStore,
+                                          @IntRange(from = 0) int loopPeriod) {
+        super(DESC, peripheralStore);
+        mLoopPeriod = loopPeriod;
+        int bucketWidth = Math.max(1, 2 * loopPeriod / BUCKETS_PER_TWO_PERIODS);
+        mLoopIntervals = new HistogramCore(BUCKETS_PER_TWO_PERIODS + 1, bucketWidth);
+        mCommandLatencies = new HistogramCore(BUCKETS_PER_TWO_PERIODS + 1, bucketWidth);
+    }
+
+    @Override
+    public int getLoopPeriod() {
+        return mLoopPeriod;
+    }
+
+    @NonNull
+    @Override
+    public Histogram getLoopIntervals() {
+        return mLoopIntervals;
+    }
+
+    @NonNull
+    @Override
+    public Histogram getCommandLatencies() {
+        return mCommandLatencies;
+    }
+
+    @Override
+    public void reset() {
+        mLoopIntervals.reset();
+        mCommandLatencies.reset();
+    }
+
+    /**
+     * Records the duration between two subsequent runs of the piloting command loop.
+     * <p>
+     * May be called from any thread.
+     *
+     * @param interval loop interval, in milliseconds
+     */
+    public void recordLoopInterval(long interval) {
+        mLoopIntervals.record(interval);
+    }
+
+    /**
+     * Records the duration between a piloting command change and the moment it is sent to the drone.
+     * <p>
+     * May be called from any thread.
+     *
+     * @param latency command latency, in milliseconds
+     */
+    public void recordCommandLatency(long latency) {
+        mCommandLatencies.record(latency);
+    }
+}
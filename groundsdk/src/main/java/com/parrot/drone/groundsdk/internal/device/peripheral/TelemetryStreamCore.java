@@ -0,0 +1,205 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.device.peripheral.TelemetryStream;
+import com.parrot.drone.groundsdk.internal.component.ComponentDescriptor;
+import com.parrot.drone.groundsdk.internal.component.ComponentStore;
+import com.parrot.drone.groundsdk.internal.component.SingletonComponentCore;
+import com.parrot.drone.sdkcore.TimeProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Core class for TelemetryStream. */
+public class TelemetryStreamCore extends SingletonComponentCore implements TelemetryStream {
+
+    /** Description of TelemetryStream. */
+    private static final ComponentDescriptor<Peripheral, TelemetryStream> DESC =
+            ComponentDescriptor.of(TelemetryStream.class);
+
+    /** All sample kinds, indexed by ordinal. */
+    private static final Kind[] KINDS = Kind.values();
+
+    /** Open subscriptions. Closed from any thread, hence copy-on-write. */
+    @NonNull
+    private final List<SubscriptionCore> mSubscriptions;
+
+    /**
+     * Constructor.
+     *
+     * @param peripheralStore store where this peripheral belongs
+     */
+    public TelemetryStreamCore(@NonNull ComponentStore<Peripheral> peripheralStore) {
+        super(DESC, peripheralStore);
+        mSubscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    @NonNull
+    @Override
+    public Subscription subscribe(@IntRange(from = 1) int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        SubscriptionCore subscription = new SubscriptionCore(capacity);
+        mSubscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Queues a sample in all open subscriptions.
+     * <p>
+     * The sample is timestamped upon call. This method must always be called from the same thread, which is the only
+     * producer of all subscriptions.
+     *
+     * @param kind   sample kind
+     * @param value1 first sample value
+     * @param value2 second sample value
+     * @param value3 third sample value
+     */
+    public final void addSample(@NonNull Kind kind, double value1, double value2, double value3) {
+        if (mSubscriptions.isEmpty()) {
+            return;
+        }
+        long timestamp = TimeProvider.elapsedRealtime();
+        for (SubscriptionCore subscription : mSubscriptions) {
+            subscription.offer(kind, timestamp, value1, value2, value3);
+        }
+    }
+
+    /**
+     * Telemetry subscription, backed by a lock-free, single-producer single-consumer, bounded ring buffer.
+     * <p>
+     * Samples are stored in primitive columns. The producer only writes the head sequence number and the consumer only
+     * writes the tail sequence number; each side publishes its sequence number after it is done with the slots.
+     */
+    private final class SubscriptionCore implements Subscription {
+
+        /** Sample kind ordinals, by slot. */
+        @NonNull
+        private final byte[] mKinds;
+
+        /** Sample timestamps, by slot. */
+        @NonNull
+        private final long[] mTimestamps;
+
+        /** Sample values, three consecutive values by slot. */
+        @NonNull
+        private final double[] mValues;
+
+        /** Mask to convert a sequence number to a slot; buffer capacity minus one. */
+        private final int mMask;
+
+        /** Sequence number of the next sample to be written. Only written by the producer. */
+        @NonNull
+        private final AtomicLong mHead;
+
+        /** Sequence number of the next sample to be read. Only written by the consumer. */
+        @NonNull
+        private final AtomicLong mTail;
+
+        /** Count of samples dropped because the buffer was full. Only written by the producer. */
+        private volatile long mDropped;
+
+        /**
+         * Constructor.
+         *
+         * @param capacity minimal buffer capacity, rounded up to the next power of two
+         */
+        SubscriptionCore(int capacity) {
+            int size = Integer.highestOneBit(capacity);
+            if (size < capacity) {
+                size <<= 1;
+            }
+            mKinds = new byte[size];
+            mTimestamps = new long[size];
+            mValues = new double[size * 3];
+            mMask = size - 1;
+            mHead = new AtomicLong();
+            mTail = new AtomicLong();
+        }
+
+        /**
+         * Queues a sample, unless the buffer is full.
+         *
+         * @param kind      sample kind
+         * @param timestamp sample timestamp
+         * @param value1    first sample value
+         * @param value2    second sample value
+         * @param value3    third sample value
+         */
+        void offer(@NonNull Kind kind, long timestamp, double value1, double value2, double value3) {
+            long head = mHead.get();
+            if (head - mTail.get() > mMask) {
+                //noinspection NonAtomicOperationOnVolatileField: single writer
+                mDropped++;
+                return;
+            }
+            int slot = (int) head & mMask;
+            mKinds[slot] = (byte) kind.ordinal();
+            mTimestamps[slot] = timestamp;
+            mValues[slot * 3] = value1;
+            mValues[slot * 3 + 1] = value2;
+            mValues[slot * 3 + 2] = value3;
+            mHead.lazySet(head + 1);
+        }
+
+        @Override
+        public int drain(@NonNull Sink sink, int maxSamples) {
+            long tail = mTail.get();
+            int count = (int) Math.min(mHead.get() - tail, maxSamples);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) (tail + i) & mMask;
+                sink.onSample(KINDS[mKinds[slot]], mTimestamps[slot], mValues[slot * 3], mValues[slot * 3 + 1],
+                        mValues[slot * 3 + 2]);
+            }
+            mTail.lazySet(tail + count);
+            return count;
+        }
+
+        @Override
+        public long getDroppedCount() {
+            return mDropped;
+        }
+
+        @Override
+        public void close() {
+            mSubscriptions.remove(this);
+        }
+    }
+}
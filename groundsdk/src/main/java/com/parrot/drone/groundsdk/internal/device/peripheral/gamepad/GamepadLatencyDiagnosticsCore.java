@@ -0,0 +1,124 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.device.peripheral.gamepad;
+
+import androidx.annotation.NonNull;
+
+import com.parrot.drone.groundsdk.device.peripheral.GamepadLatencyDiagnostics;
+import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.internal.component.ComponentDescriptor;
+import com.parrot.drone.groundsdk.internal.component.ComponentStore;
+import com.parrot.drone.groundsdk.internal.component.SingletonComponentCore;
+import com.parrot.drone.groundsdk.internal.device.peripheral.HistogramCore;
+
+/**
+ * Core class for GamepadLatencyDiagnostics.
+ */
+public final class GamepadLatencyDiagnosticsCore extends SingletonComponentCore implements GamepadLatencyDiagnostics {
+
+    /** Description of GamepadLatencyDiagnostics. */
+    private static final ComponentDescriptor<Peripheral, GamepadLatencyDiagnostics> DESC =
+            ComponentDescriptor.of(GamepadLatencyDiagnostics.class);
+
+    /** Histogram bucket count, including overflow bucket. */
+    private static final int BUCKET_COUNT = 21;
+
+    /** Histogram bucket width, in milliseconds. */
+    private static final int BUCKET_WIDTH = 2;
+
+    /** Delivery latency distributions, indexed by event type ordinal. */
+    @NonNull
+    private final HistogramCore[] mDeliveryLatencies;
+
+    /** Handling duration distributions, indexed by event type ordinal. */
+    @NonNull
+    private final HistogramCore[] mHandlingDurations;
+
+    /**
+     * Constructor.
+     *
+     * @param peripheralStore store where this peripheral belongs
+     */
+    public GamepadLatencyDiagnosticsCore(@NonNull ComponentStore<Peripheral> peripheralStore) {
+        super(DESC, peripheralStore);
+        EventType[] types = EventType.values();
+        mDeliveryLatencies = new HistogramCore[types.length];
+        mHandlingDurations = new HistogramCore[types.length];
+        for (EventType type : types) {
+            mDeliveryLatencies[type.ordinal()] = new HistogramCore(BUCKET_COUNT, BUCKET_WIDTH);
+            mHandlingDurations[type.ordinal()] = new HistogramCore(BUCKET_COUNT, BUCKET_WIDTH);
+        }
+    }
+
+    @NonNull
+    @Override
+    public HistogramCore getDeliveryLatencies(@NonNull EventType type) {
+        return mDeliveryLatencies[type.ordinal()];
+    }
+
+    @NonNull
+    @Override
+    public HistogramCore getHandlingDurations(@NonNull EventType type) {
+        return mHandlingDurations[type.ordinal()];
+    }
+
+    @Override
+    public void reset() {
+        for (HistogramCore histogram : mDeliveryLatencies) {
+            histogram.reset();
+        }
+        for (HistogramCore histogram : mHandlingDurations) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Records the duration between the reception of an input event and its delivery to the application.
+     *
+     * @param type    kind of input event
+     * @param latency delivery latency, in milliseconds
+     */
+    public void recordDeliveryLatency(@NonNull EventType type, long latency) {
+        mDeliveryLatencies[type.ordinal()].record(latency);
+    }
+
+    /**
+     * Records the duration spent by the application handling an input event.
+     *
+     * @param type     kind of input event
+     * @param duration handling duration, in milliseconds
+     */
+    public void recordHandlingDuration(@NonNull EventType type, long duration) {
+        mHandlingDurations[type.ordinal()].record(duration);
+    }
+}
@@ -32,6 +32,7 @@
 
 package com.parrot.drone.groundsdk.internal.device.peripheral.media;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -39,14 +40,22 @@ import com.parrot.drone.groundsdk.device.peripheral.media.MediaDeleter;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaTaskStatus;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
 /**
  * Implementation of the MediaDeleter task.
+ * <p>
+ * Deletions are grouped by media; resources of a given media are always deleted sequentially. In batched mode, up to
+ * a given amount of media are processed concurrently, and media store content change notifications are held back
+ * until the whole task is over.
  */
 final class MediaDeleterCore implements MediaDeleter {
 
@@ -71,23 +80,39 @@ final class MediaDeleterCore implements MediaDeleter {
         /**
          * Requests deletion.
          *
+         * @param callback callback notified when the request completes
+         *
          * @return a request that can be canceled, or {@code null} if the request was processed directly
          */
         @Nullable
-        MediaRequest request();
+        MediaRequest request(@NonNull MediaRequest.StatusCallback callback);
     }
 
-    /** Rest of deletion operations to request. Also contains the currently requested deletion. */
+    /** Media store to delete resources from. */
+    @NonNull
+    private final MediaStoreCore mStore;
+
+    /** Rest of media jobs to start. */
+    @NonNull
+    private final Queue<Job> mPendingJobs;
+
+    /** Currently running media jobs. */
     @NonNull
-    private final Queue<Deletion> mPendingEntries;
+    private final List<Job> mRunningJobs;
 
     /** Observer notified when the status or progress changes. */
     @NonNull
     private final Observer mObserver;
 
-    /** Current delete request being processed. */
-    @Nullable
-    private MediaRequest mCurrentRequest;
+    /** Maximum amount of media jobs that may run concurrently. */
+    private final int mConcurrency;
+
+    /** {@code true} when media store content change notifications are held back during the task. */
+    private final boolean mBatched;
+
+    /** Resources whose deletion failed so far. */
+    @NonNull
+    private final Set<MediaItem.Resource> mFailedResources;
 
     /** Current status. */
     @NonNull
@@ -99,11 +124,16 @@ final class MediaDeleterCore implements MediaDeleter {
     /** Index of currently processed media. */
     private int mMediaIndex;
 
+    /** {@code true} while media store content change notifications are held back by this task. */
+    private boolean mHoldingNotifications;
+
     /** Has pending changes waiting for {@link #notifyUpdated()} call. */
     private boolean mChanged;
 
     /**
      * Constructor.
+     * <p>
+     * Media are processed one after the other.
      *
      * @param resources media resources to delete
      * @param store     media store to delete resources from
@@ -111,33 +141,45 @@ final class MediaDeleterCore implements MediaDeleter {
      */
     MediaDeleterCore(@NonNull Collection<MediaItem.Resource> resources, @NonNull MediaStoreCore store,
                      @NonNull Observer observer) {
+        this(resources, store, 1, false, observer);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param resources   media resources to delete
+     * @param store       media store to delete resources from
+     * @param concurrency maximum amount of media to process concurrently
+     * @param batched     {@code true} to hold back media store content change notifications until the task is over
+     * @param observer    observer notified of progress and status changes
+     */
+    MediaDeleterCore(@NonNull Collection<MediaItem.Resource> resources, @NonNull MediaStoreCore store,
+                     @IntRange(from = 1) int concurrency, boolean batched, @NonNull Observer observer) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Invalid concurrency: " + concurrency);
+        }
+        mStore = store;
         mObserver = observer;
-        mPendingEntries = new LinkedList<>();
+        mConcurrency = concurrency;
+        mBatched = batched;
+        mPendingJobs = new LinkedList<>();
+        mRunningJobs = new ArrayList<>(concurrency);
+        mFailedResources = new LinkedHashSet<>();
 
         Map<MediaItemCore, Set<MediaResourceCore>> resourcesByMedia = MediaResourceCore.unwrapAsMap(resources);
 
         for (Map.Entry<MediaItemCore, Set<MediaResourceCore>> entry : resourcesByMedia.entrySet()) {
             MediaItemCore media = entry.getKey();
             Set<MediaResourceCore> selectedResources = entry.getValue();
+            Job job = new Job();
             if (selectedResources.containsAll(media.getResources())) {
-                mPendingEntries.add(() -> {
-                    mMediaIndex++;
-                    mChanged = true;
-                    return store.mBackend.delete(media, mRequestCallback);
-                });
+                job.add(selectedResources, callback -> store.mBackend.delete(media, callback));
             } else {
-                int index = 0;
                 for (MediaResourceCore resource : selectedResources) {
-                    boolean firstInMedia = index++ == 0;
-                    mPendingEntries.add(() -> {
-                        if (firstInMedia) {
-                            mMediaIndex++;
-                            mChanged = true;
-                        }
-                        return store.mBackend.delete(resource, mRequestCallback);
-                    });
+                    job.add(Collections.singleton(resource), callback -> store.mBackend.delete(resource, callback));
                 }
             }
+            mPendingJobs.add(job);
         }
 
         mMediaCount = resourcesByMedia.size();
@@ -160,53 +202,162 @@ final class MediaDeleterCore implements MediaDeleter {
         return mMediaCount;
     }
 
+    @NonNull
+    @Override
+    public Set<MediaItem.Resource> getFailedResources() {
+        return Collections.unmodifiableSet(mFailedResources);
+    }
+
     /**
      * Executes the deletion task.
      */
     void execute() {
-        deleteNextEntry();
+        if (mBatched) {
+            mHoldingNotifications = true;
+            mStore.holdNotifications();
+        }
+        startJobs();
     }
 
     /**
      * Cancels the whole delete operation.
      */
     void cancel() {
-        if (mCurrentRequest != null) {
-            mCurrentRequest.cancel();
-            mCurrentRequest = null;
-        }
-        mPendingEntries.clear();
+        mPendingJobs.clear();
+        cancelRunningJobs();
+        releaseNotifications();
     }
 
     /**
-     * Deletes the next entry in the pending list.
+     * Starts pending media jobs, up to the configured concurrency.
+     * <p>
+     * Completes the task when there is no more job to process.
      */
-    private void deleteNextEntry() {
-        Deletion next = mPendingEntries.peek(); // only peek to release it once the request completes
-        if (next == null) {
+    private void startJobs() {
+        while (mRunningJobs.size() < mConcurrency && !mPendingJobs.isEmpty()) {
+            Job job = mPendingJobs.remove();
+            mRunningJobs.add(job);
+            mMediaIndex++;
+            mChanged = true;
+            job.next();
+        }
+        if (mRunningJobs.isEmpty() && mPendingJobs.isEmpty() && mStatus == MediaTaskStatus.RUNNING) {
             updateStatus(MediaTaskStatus.COMPLETE);
-        } else {
-            mCurrentRequest = next.request();
+            releaseNotifications();
         }
         notifyUpdated();
     }
 
-    /** Called back when the current request completes successfully or fails. */
-    private final MediaRequest.StatusCallback mRequestCallback = new MediaRequest.StatusCallback() {
+    /**
+     * Cancels all running media jobs.
+     */
+    private void cancelRunningJobs() {
+        List<Job> jobs = new ArrayList<>(mRunningJobs);
+        mRunningJobs.clear();
+        for (Job job : jobs) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Stops holding back media store content change notifications, if held by this task.
+     */
+    private void releaseNotifications() {
+        if (mHoldingNotifications) {
+            mHoldingNotifications = false;
+            mStore.releaseNotifications();
+        }
+    }
+
+    /**
+     * A job that deletes the selected resources of a single media, sequentially.
+     */
+    private final class Job implements MediaRequest.StatusCallback {
+
+        /** Rest of deletion operations to request. Also contains the currently requested deletion. */
+        @NonNull
+        private final Queue<Deletion> mDeletions;
+
+        /** Resources deleted by each deletion operation, in the same order as {@link #mDeletions}. */
+        @NonNull
+        private final Queue<Collection<? extends MediaItem.Resource>> mResources;
+
+        /** Current delete request being processed. */
+        @Nullable
+        private MediaRequest mCurrentRequest;
+
+        /**
+         * Constructor.
+         */
+        Job() {
+            mDeletions = new LinkedList<>();
+            mResources = new LinkedList<>();
+        }
+
+        /**
+         * Adds a deletion operation to this job.
+         *
+         * @param resources resources deleted by the operation
+         * @param deletion  deletion operation
+         */
+        void add(@NonNull Collection<? extends MediaItem.Resource> resources, @NonNull Deletion deletion) {
+            mResources.add(resources);
+            mDeletions.add(deletion);
+        }
+
+        /**
+         * Requests the next deletion operation of this job, or completes the job if there is none.
+         */
+        void next() {
+            Deletion next = mDeletions.peek(); // only peek to release it once the request completes
+            if (next == null) {
+                mRunningJobs.remove(this);
+                startJobs();
+            } else {
+                MediaRequest request = next.request(this);
+                if (mDeletions.peek() == next) {
+                    // otherwise, the request completed synchronously
+                    mCurrentRequest = request;
+                }
+            }
+        }
+
+        /**
+         * Cancels the current deletion request of this job, if any.
+         */
+        void cancel() {
+            mDeletions.clear();
+            mResources.clear();
+            if (mCurrentRequest != null) {
+                MediaRequest request = mCurrentRequest;
+                mCurrentRequest = null;
+                request.cancel();
+            }
+        }
 
         @Override
         public void onRequestComplete(@NonNull MediaRequest.Status status) {
+            if (!mRunningJobs.contains(this)) {
+                return; // job was canceled
+            }
             mCurrentRequest = null;
             if (status == MediaRequest.Status.CANCELED || status == MediaRequest.Status.ABORTED) {
-                mPendingEntries.clear();
+                mPendingJobs.clear();
+                cancelRunningJobs();
                 updateStatus(MediaTaskStatus.ERROR);
+                releaseNotifications();
                 notifyUpdated();
             } else {
-                mPendingEntries.remove();
-                deleteNextEntry();
+                mDeletions.remove();
+                Collection<? extends MediaItem.Resource> resources = mResources.remove();
+                if (status == MediaRequest.Status.FAILED) {
+                    mFailedResources.addAll(resources);
+                    mChanged = true;
+                }
+                next();
             }
         }
-    };
+    }
 
     /**
      * Updates the current status.
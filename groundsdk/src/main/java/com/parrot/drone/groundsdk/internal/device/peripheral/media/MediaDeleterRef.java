@@ -64,6 +64,23 @@ class MediaDeleterRef extends Session.RefBase<MediaDeleter> {
         mDeleter.execute();
     }
 
+    /**
+     * Constructor for batched deletion.
+     *
+     * @param session     session that will manage this ref
+     * @param observer    observer that will be notified when the referenced object is updated
+     * @param resources   media resources to delete
+     * @param concurrency maximum amount of media to delete concurrently
+     * @param store       media store to delete resources from
+     */
+    MediaDeleterRef(@NonNull Session session, @NonNull Observer<? super MediaDeleter> observer,
+                    @NonNull Collection<MediaItem.Resource> resources, int concurrency,
+                    @NonNull MediaStoreCore store) {
+        super(session, observer);
+        mDeleter = new MediaDeleterCore(resources, store, concurrency, true, this::update);
+        mDeleter.execute();
+    }
+
     @Override
     protected void release() {
         mDeleter.cancel();
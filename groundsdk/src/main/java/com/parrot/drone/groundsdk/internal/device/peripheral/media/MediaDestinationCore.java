@@ -72,6 +72,12 @@ public abstract class MediaDestinationCore extends MediaDestination {
         void notifyFileAdded(@NonNull File file) {
             ApplicationStorageProvider.getInstance().notifyFileAdded(file);
         }
+
+        @Nullable
+        @Override
+        ApplicationStorageProvider.MediaStoreEntry createEntry(@NonNull String fileName) {
+            return ApplicationStorageProvider.getInstance().createPlatformMediaStoreEntry(getSubDirectory(), fileName);
+        }
     }
 
     /**
@@ -203,6 +209,31 @@ public abstract class MediaDestinationCore extends MediaDestination {
         return path;
     }
 
+    /**
+     * Gets the destination subdirectory.
+     *
+     * @return destination subdirectory, {@code null} if none
+     */
+    @Nullable
+    final String getSubDirectory() {
+        return mSubDirectory;
+    }
+
+    /**
+     * Creates a pending entry in the destination underlying storage, whose content can be streamed directly.
+     * <p>
+     * Default implementation returns {@code null}.
+     *
+     * @param fileName name of the file to create
+     *
+     * @return a new pending entry, or {@code null} if the destination does not support entries, in which case files
+     *         must be written to the directory returned by {@link #ensurePath()}
+     */
+    @Nullable
+    ApplicationStorageProvider.MediaStoreEntry createEntry(@NonNull String fileName) {
+        return null;
+    }
+
     /**
      * Gets the base directory for this {@code MediaDestination}.
      *
@@ -39,6 +39,7 @@ import androidx.annotation.Nullable;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDownloader;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaTaskStatus;
+import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 
 import java.io.File;
 import java.util.Collection;
@@ -125,6 +126,12 @@ class MediaDownloaderCore implements MediaDownloader {
     @Nullable
     private MediaRequest mCurrentRequest;
 
+    /**
+     * {@code true} when the current resource is streamed directly into a media store entry of the destination, in
+     * which case the destination does not need to be notified of the downloaded file.
+     */
+    private boolean mCurrentToEntry;
+
     /** Has pending changes waiting for {@link #notifyUpdated()} call. */
     private boolean mChanged;
 
@@ -268,8 +275,9 @@ class MediaDownloaderCore implements MediaDownloader {
             updateCurrentMedia(null);
             updateCurrentResource(null);
         } else {
-            String path = mDest.ensurePath();
-            if (path == null) {
+            ApplicationStorageProvider.MediaStoreEntry destEntry = mDest.createEntry(entry.mResource.getUid());
+            String path = destEntry == null ? mDest.ensurePath() : null;
+            if (destEntry == null && path == null) {
                 mPendingEntries.clear();
                 updateStatus(MediaTaskStatus.ERROR);
             } else {
@@ -282,7 +290,10 @@ class MediaDownloaderCore implements MediaDownloader {
                 updateCurrentMedia(entry.mResource.getMedia());
                 updateCurrentResource(entry.mResource);
                 mChanged = true;
-                mCurrentRequest = mStore.mBackend.download(entry.mResource, path, mRequestCallback);
+                mCurrentToEntry = destEntry != null;
+                mCurrentRequest = destEntry == null ?
+                        mStore.mBackend.download(entry.mResource, path, mRequestCallback)
+                        : mStore.mBackend.downloadToMediaStore(entry.mResource, destEntry, mRequestCallback);
             }
         }
         updateDownloadedFile(null);
@@ -316,7 +327,7 @@ class MediaDownloaderCore implements MediaDownloader {
                         updateStatus(MediaTaskStatus.ERROR);
                         notifyUpdated();
                     } else {
-                        if (result != null) {
+                        if (result != null && !mCurrentToEntry) {
                             mDest.notifyFileAdded(result);
                         }
                         DownloadEntry entry = mPendingEntries.remove();
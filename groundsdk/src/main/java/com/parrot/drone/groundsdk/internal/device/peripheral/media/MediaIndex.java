@@ -0,0 +1,356 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.internal.device.peripheral.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index over a media list.
+ * <p>
+ * Media items are kept sorted by creation date; secondary indexes map each media type, photo mode and run identifier
+ * to the (ascending) positions of the matching media in the date-sorted list. Both are built once when the index is
+ * created, so that {@link MediaQuery queries} can be answered by iterating only over candidate positions, in either
+ * date order, and stopping as soon as the requested page is complete.
+ */
+final class MediaIndex {
+
+    /** Index over an empty media list. */
+    static final MediaIndex EMPTY = new MediaIndex(Collections.emptyList());
+
+    /** Indexed media, sorted by creation date, oldest first. */
+    @NonNull
+    private final MediaItemCore[] mMedias;
+
+    /** Creation date of each indexed media, in milliseconds since epoch; same order as {@link #mMedias}. */
+    @NonNull
+    private final long[] mDates;
+
+    /** Positions of media in {@link #mMedias}, by media type. */
+    @NonNull
+    private final Map<MediaItem.Type, int[]> mByType;
+
+    /** Positions of media in {@link #mMedias}, by photo mode. */
+    @NonNull
+    private final Map<MediaItem.PhotoMode, int[]> mByPhotoMode;
+
+    /** Positions of media in {@link #mMedias}, by run identifier. */
+    @NonNull
+    private final Map<String, int[]> mByRun;
+
+    /**
+     * Constructor.
+     *
+     * @param medias media to index
+     */
+    MediaIndex(@NonNull Collection<? extends MediaItemCore> medias) {
+        mMedias = medias.toArray(new MediaItemCore[0]);
+        // stable sort, media with identical creation dates keep the order reported by the device
+        Arrays.sort(mMedias, (lhs, rhs) -> Long.compare(lhs.getCreationDate().getTime(),
+                rhs.getCreationDate().getTime()));
+
+        mDates = new long[mMedias.length];
+        Map<MediaItem.Type, PositionList> byType = new EnumMap<>(MediaItem.Type.class);
+        Map<MediaItem.PhotoMode, PositionList> byPhotoMode = new EnumMap<>(MediaItem.PhotoMode.class);
+        Map<String, PositionList> byRun = new HashMap<>();
+        for (int i = 0; i < mMedias.length; i++) {
+            MediaItemCore media = mMedias[i];
+            mDates[i] = media.getCreationDate().getTime();
+            PositionList.of(byType, media.getType()).add(i);
+            MediaItem.PhotoMode photoMode = media.getPhotoMode();
+            if (photoMode != null) {
+                PositionList.of(byPhotoMode, photoMode).add(i);
+            }
+            String runUid = media.getRunUid();
+            if (runUid != null) {
+                PositionList.of(byRun, runUid).add(i);
+            }
+        }
+        mByType = PositionList.seal(byType, new EnumMap<>(MediaItem.Type.class));
+        mByPhotoMode = PositionList.seal(byPhotoMode, new EnumMap<>(MediaItem.PhotoMode.class));
+        mByRun = PositionList.seal(byRun, new HashMap<>());
+    }
+
+    /**
+     * Retrieves the amount of indexed media.
+     *
+     * @return indexed media count
+     */
+    int size() {
+        return mMedias.length;
+    }
+
+    /**
+     * Runs a query against this index.
+     * <p>
+     * Storage restriction is not considered here, since each index covers a single storage configuration.
+     *
+     * @param query query to run
+     *
+     * @return the list of media matching the query, in query order and restricted to the query page
+     */
+    @NonNull
+    List<MediaItemCore> query(@NonNull MediaQuery query) {
+        // select the smallest set of candidate positions among indexed criteria
+        int[] candidates = null;
+        Set<MediaItem.Type> types = query.getTypes();
+        if (!types.isEmpty()) {
+            candidates = narrow(null, union(mByType, types));
+        }
+        Set<MediaItem.PhotoMode> photoModes = query.getPhotoModes();
+        if (!photoModes.isEmpty()) {
+            candidates = narrow(candidates, union(mByPhotoMode, photoModes));
+        }
+        String runUid = query.getRunUid();
+        if (runUid != null) {
+            int[] positions = mByRun.get(runUid);
+            candidates = narrow(candidates, positions == null ? new int[0] : positions);
+        }
+
+        // restrict candidates to the requested date interval
+        int from = lowerBound(mDates, query.getCreatedAfter());
+        int until = lowerBound(mDates, query.getCreatedBefore());
+        int start, end;
+        if (candidates == null) {
+            start = from;
+            end = until;
+        } else {
+            start = lowerBound(candidates, from);
+            end = lowerBound(candidates, until);
+        }
+
+        // an inverted date interval yields no candidates
+        int count = Math.max(0, end - start);
+        int skip = query.getOffset();
+        int limit = query.getLimit();
+        List<MediaItemCore> result = new ArrayList<>(limit < 0 ? count : Math.min(limit, count));
+        boolean ascending = query.getOrder() == MediaQuery.Order.OLDEST_FIRST;
+        for (int i = 0; i < count && (limit < 0 || result.size() < limit); i++) {
+            int index = ascending ? start + i : end - 1 - i;
+            MediaItemCore media = mMedias[candidates == null ? index : candidates[index]];
+            if (matches(media, types, photoModes, runUid)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(media);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether a candidate media matches all query criteria.
+     * <p>
+     * This is required since only the most selective criterion is used to pick candidates.
+     *
+     * @param media      media to test
+     * @param types      accepted media types, empty for any
+     * @param photoModes accepted photo modes, empty for any
+     * @param runUid     accepted run identifier, {@code null} for any
+     *
+     * @return {@code true} if the media matches, otherwise {@code false}
+     */
+    private static boolean matches(@NonNull MediaItemCore media, @NonNull Set<MediaItem.Type> types,
+                                   @NonNull Set<MediaItem.PhotoMode> photoModes, @Nullable String runUid) {
+        return (types.isEmpty() || types.contains(media.getType()))
+               && (photoModes.isEmpty() || photoModes.contains(media.getPhotoMode()))
+               && (runUid == null || runUid.equals(media.getRunUid()));
+    }
+
+    /**
+     * Picks the smallest of two candidate position sets.
+     *
+     * @param current   current candidate positions, {@code null} if no criterion applied yet
+     * @param positions positions matching another criterion
+     *
+     * @return the smallest position set
+     */
+    @NonNull
+    private static int[] narrow(@Nullable int[] current, @NonNull int[] positions) {
+        return current == null || positions.length < current.length ? positions : current;
+    }
+
+    /**
+     * Merges the position sets of several keys into a single ascending position set.
+     *
+     * @param index position index
+     * @param keys  keys whose positions must be merged
+     * @param <K>   type of index key
+     *
+     * @return merged positions, in ascending order
+     */
+    @NonNull
+    private static <K> int[] union(@NonNull Map<K, int[]> index, @NonNull Set<K> keys) {
+        int[] merged = new int[0];
+        for (K key : keys) {
+            int[] positions = index.get(key);
+            if (positions == null) {
+                continue;
+            }
+            if (merged.length == 0) {
+                merged = positions;
+            } else {
+                int[] both = new int[merged.length + positions.length];
+                int i = 0, j = 0, k = 0;
+                while (i < merged.length && j < positions.length) {
+                    both[k++] = merged[i] < positions[j] ? merged[i++] : positions[j++];
+                }
+                while (i < merged.length) {
+                    both[k++] = merged[i++];
+                }
+                while (j < positions.length) {
+                    both[k++] = positions[j++];
+                }
+                merged = both;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Finds the first position in a sorted array whose value is greater than or equal to the given value.
+     *
+     * @param values sorted values
+     * @param value  value to search
+     *
+     * @return index of the first value not less than {@code value}, {@code values.length} if none
+     */
+    private static int lowerBound(@NonNull long[] values, long value) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first position in a sorted array whose value is greater than or equal to the given value.
+     *
+     * @param values sorted values
+     * @param value  value to search
+     *
+     * @return index of the first value not less than {@code value}, {@code values.length} if none
+     */
+    private static int lowerBound(@NonNull int[] values, int value) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Growable list of positions, used while building the index. */
+    private static final class PositionList {
+
+        /** Positions. */
+        @NonNull
+        private int[] mPositions = new int[8];
+
+        /** Amount of positions in {@link #mPositions}. */
+        private int mSize;
+
+        /**
+         * Retrieves the position list for a given key, creating it if needed.
+         *
+         * @param lists position lists, by key
+         * @param key   key to retrieve the list of
+         * @param <K>   type of key
+         *
+         * @return position list for the given key
+         */
+        @NonNull
+        static <K> PositionList of(@NonNull Map<K, PositionList> lists, @NonNull K key) {
+            PositionList list = lists.get(key);
+            if (list == null) {
+                list = new PositionList();
+                lists.put(key, list);
+            }
+            return list;
+        }
+
+        /**
+         * Converts position lists to trimmed position arrays.
+         *
+         * @param lists  position lists to convert, by key
+         * @param result map where to store converted positions, by key
+         * @param <K>    type of key
+         *
+         * @return {@code result}
+         */
+        @NonNull
+        static <K> Map<K, int[]> seal(@NonNull Map<K, PositionList> lists, @NonNull Map<K, int[]> result) {
+            for (Map.Entry<K, PositionList> entry : lists.entrySet()) {
+                PositionList list = entry.getValue();
+                result.put(entry.getKey(), Arrays.copyOf(list.mPositions, list.mSize));
+            }
+            return result;
+        }
+
+        /**
+         * Appends a position.
+         *
+         * @param position position to append
+         */
+        void add(int position) {
+            if (mSize == mPositions.length) {
+                mPositions = Arrays.copyOf(mPositions, mSize * 2);
+            }
+            mPositions[mSize++] = position;
+        }
+    }
+}
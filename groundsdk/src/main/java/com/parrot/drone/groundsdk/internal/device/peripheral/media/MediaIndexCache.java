@@ -0,0 +1,225 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.internal.device.peripheral.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A cache of media store content indexes, one for each browsed storage configuration.
+ * <p>
+ * Each index is built once from the media list returned by the backend, and shared among all requesters until the
+ * cache is {@link #invalidate() invalidated}, which happens each time the media store content changes.
+ */
+final class MediaIndexCache {
+
+    /** Backend allowing to browse media. */
+    @NonNull
+    private final MediaStoreCore.Backend mBackend;
+
+    /** Cache entries, by storage type; {@code null} key stands for all storages. */
+    @NonNull
+    private final Map<MediaStore.StorageType, Entry> mCache;
+
+    /**
+     * Constructor.
+     *
+     * @param backend backend allowing to browse media
+     */
+    MediaIndexCache(@NonNull MediaStoreCore.Backend backend) {
+        mBackend = backend;
+        mCache = new HashMap<>();
+    }
+
+    /**
+     * Gets a media index from the cache.
+     * <p>
+     * If the index for the requested storage is available, the callback is immediately passed the index. <br>
+     * Otherwise, the callback is remembered in the associated cache entry to be notified later, once the media list
+     * for this storage has been browsed and indexed. If no such browse request exists yet, it is issued.
+     *
+     * @param storageType storage type to get the index of, {@code null} for all storages
+     * @param callback    callback to notify once the index is available
+     *
+     * @return a request that can be canceled, or {@code null} if the callback was invoked directly
+     */
+    @Nullable
+    MediaRequest getIndex(@Nullable MediaStore.StorageType storageType,
+                          @NonNull MediaRequest.ResultCallback<MediaIndex> callback) {
+        Entry entry = mCache.get(storageType);
+        if (entry == null) {
+            entry = new Entry(storageType);
+            mCache.put(storageType, entry);
+        }
+        return entry.addRequest(callback);
+    }
+
+    /**
+     * Invalidates all cached indexes.
+     * <p>
+     * Ongoing browse requests are canceled, and their pending callbacks are notified of the cancellation.
+     */
+    void invalidate() {
+        List<Entry> entries = new ArrayList<>(mCache.values());
+        mCache.clear();
+        for (Entry entry : entries) {
+            entry.cancel();
+        }
+    }
+
+    /**
+     * An entry in the cache.
+     * <p>
+     * An entry contains either a non-null list of callbacks, which means that the index is being built, or a null list
+     * of callbacks, which means that the index is available.
+     */
+    private final class Entry {
+
+        /** Storage type indexed by this entry, {@code null} for all storages. */
+        @Nullable
+        private final MediaStore.StorageType mStorageType;
+
+        /** Callbacks to notify when the entry completes. {@code null} when the entry has completed. */
+        @Nullable
+        private List<MediaRequest.ResultCallback<MediaIndex>> mCallbacks;
+
+        /** Media index, {@code null} until the entry completes. */
+        @Nullable
+        private MediaIndex mIndex;
+
+        /** Ongoing browse request, {@code null} if none. */
+        @Nullable
+        private MediaRequest mBrowseRequest;
+
+        /**
+         * Constructor.
+         *
+         * @param storageType storage type indexed by this entry, {@code null} for all storages
+         */
+        Entry(@Nullable MediaStore.StorageType storageType) {
+            mStorageType = storageType;
+            mCallbacks = new CopyOnWriteArrayList<>();
+        }
+
+        /**
+         * Registers a callback to be notified when the index is available.
+         * <p>
+         * Issues the browse request when the first callback gets registered.
+         *
+         * @param callback callback to notify once the index is available
+         *
+         * @return a request that, when canceled, will remove the callback from the list of callbacks to be notified
+         */
+        @Nullable
+        MediaRequest addRequest(@NonNull MediaRequest.ResultCallback<MediaIndex> callback) {
+            if (mCallbacks == null) {
+                callback.onRequestComplete(MediaRequest.Status.SUCCESS, mIndex);
+                return null;
+            }
+            if (mCallbacks.isEmpty() & mCallbacks.add(callback)) {
+                MediaRequest request = mBackend.browse(mStorageType, this::onListReceived);
+                if (mCallbacks != null) {
+                    // may have completed synchronously
+                    mBrowseRequest = request;
+                }
+            }
+            return () -> {
+                if (mCallbacks != null && mCallbacks.remove(callback) && mCallbacks.isEmpty()) {
+                    // nobody is interested anymore: drop the entry
+                    if (mCache.get(mStorageType) == this) {
+                        mCache.remove(mStorageType);
+                    }
+                    cancel();
+                }
+            };
+        }
+
+        /**
+         * Called back when the media list for this entry has been browsed.
+         *
+         * @param status browse request status
+         * @param medias browsed media list, {@code null} unless {@code status} is {@link MediaRequest.Status#SUCCESS}
+         */
+        private void onListReceived(@NonNull MediaRequest.Status status,
+                                    @Nullable List<? extends MediaItemCore> medias) {
+            mBrowseRequest = null;
+            if (status == MediaRequest.Status.SUCCESS) {
+                complete(status, medias == null ? MediaIndex.EMPTY : new MediaIndex(medias));
+            } else {
+                // do not keep failed entries, so that the next request retries browsing
+                if (mCache.get(mStorageType) == this) {
+                    mCache.remove(mStorageType);
+                }
+                complete(status, null);
+            }
+        }
+
+        /**
+         * Cancels the entry, notifying pending callbacks of the cancellation.
+         */
+        void cancel() {
+            MediaRequest request = mBrowseRequest;
+            mBrowseRequest = null;
+            complete(MediaRequest.Status.CANCELED, null);
+            if (request != null) {
+                request.cancel();
+            }
+        }
+
+        /**
+         * Completes the entry.
+         *
+         * @param status terminal status
+         * @param index  media index, {@code null} unless {@code status} is {@link MediaRequest.Status#SUCCESS}
+         */
+        private void complete(@NonNull MediaRequest.Status status, @Nullable MediaIndex index) {
+            List<MediaRequest.ResultCallback<MediaIndex>> callbacks = mCallbacks;
+            if (callbacks != null) {
+                mIndex = index;
+                mCallbacks = null;
+                for (MediaRequest.ResultCallback<MediaIndex> callback : callbacks) {
+                    callback.onRequestComplete(status, index);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.internal.device.peripheral.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaQuery;
+import com.parrot.drone.groundsdk.internal.session.Session;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reference on the list of media items matching a query.
+ */
+final class MediaQueryRef extends Session.RefBase<List<MediaItem>> {
+
+    /** Media store used to request the media index. */
+    @NonNull
+    private final MediaStoreCore mStore;
+
+    /** Query to run on the media index. */
+    @NonNull
+    private final MediaQuery mQuery;
+
+    /** Current media index request. */
+    @Nullable
+    private MediaRequest mRequest;
+
+    /**
+     * Constructor.
+     *
+     * @param session  session that will manage this ref
+     * @param observer observer that will be notified when the referenced object is updated
+     * @param store    media store to query the media index from
+     * @param query    query to run; a copy is kept, so that further changes do not affect this ref
+     */
+    MediaQueryRef(@NonNull Session session, @NonNull Observer<? super List<MediaItem>> observer,
+                  @NonNull MediaStoreCore store, @NonNull MediaQuery query) {
+        super(session, observer);
+        mStore = store;
+        mQuery = query.copy();
+        mStore.registerObserver(mStoreObserver);
+
+        requestList();
+    }
+
+    @Override
+    protected void release() {
+        mStore.unregisterObserver(mStoreObserver);
+        if (mRequest != null) {
+            mRequest.cancel();
+            mRequest = null;
+        }
+        update(Collections.emptyList());
+        super.release();
+    }
+
+    /**
+     * Requests the media index and runs the query on it, canceling the current index request if necessary.
+     */
+    private void requestList() {
+        if (mRequest != null) {
+            mRequest.cancel();
+        }
+        MediaRequest.ResultCallback<MediaIndex> callback = (status, index) -> {
+            mRequest = null;
+            if (status != MediaRequest.Status.CANCELED) {
+                update(index == null ? Collections.emptyList() : Collections.unmodifiableList(index.query(mQuery)));
+            }
+        };
+        mRequest = mStore.mMediaIndexCache.getIndex(mQuery.getStorage(), callback);
+    }
+
+    /** Notified when the media store changes, triggers a new query. */
+    private final MediaStoreCore.Observer mStoreObserver = this::requestList;
+}
@@ -37,6 +37,7 @@ import androidx.annotation.Nullable;
 
 import com.parrot.drone.groundsdk.device.peripheral.MediaStore;
 import com.parrot.drone.groundsdk.device.peripheral.Peripheral;
+import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.component.ComponentCore;
 import com.parrot.drone.groundsdk.internal.component.ComponentDescriptor;
@@ -97,6 +98,26 @@ public final class MediaStoreCore extends ComponentCore {
         MediaRequest download(@NonNull MediaResourceCore resource, @NonNull String destDir,
                               @NonNull MediaRequest.ProgressResultCallback<File> callback);
 
+        /**
+         * Requests download of a media resource directly into a platform media store entry.
+         * <p>
+         * Downloaded data is streamed into the entry, which is published upon success and discarded otherwise. <br>
+         * {@code callback} is always called, either after success or failure. <br>
+         * In case the callback is invoked directly by this method, then this method returns {@code null}. Otherwise
+         * this method returns a {@code MediaRequest} object, which can be used to cancel the request, and means that
+         * the callback will be invoked at a later time.
+         *
+         * @param resource media resource to download
+         * @param entry    pending media store entry where the resource will be downloaded
+         * @param callback callback notified of request progress and completion
+         *
+         * @return a request that can be canceled, or {@code null} if the request was processed directly
+         */
+        @Nullable
+        MediaRequest downloadToMediaStore(@NonNull MediaResourceCore resource,
+                                          @NonNull ApplicationStorageProvider.MediaStoreEntry entry,
+                                          @NonNull MediaRequest.ProgressResultCallback<File> callback);
+
         /**
          * Requests deletion of a media item from device storage.
          * <p>
@@ -164,6 +185,10 @@ public final class MediaStoreCore extends ComponentCore {
     @NonNull
     final MediaThumbnailCache mMediaThumbnailCache;
 
+    /** Media store content indexes cache. */
+    @NonNull
+    final MediaIndexCache mMediaIndexCache;
+
     /** Media store observers, notified when the store content changes. */
     @NonNull
     private final List<Observer> mObservers;
@@ -183,6 +208,12 @@ public final class MediaStoreCore extends ComponentCore {
     /** Amount of video resources in the store. */
     private int mVideoResourceCount;
 
+    /** Amount of clients currently holding back content change notifications. */
+    private int mNotificationHolds;
+
+    /** {@code true} when a content change occurred while notifications were held back. */
+    private boolean mPendingNotification;
+
     /**
      * Constructor.
      *
@@ -195,12 +226,15 @@ public final class MediaStoreCore extends ComponentCore {
         mObservers = new CopyOnWriteArrayList<>();
         mIndexingState = MediaStore.IndexingState.UNAVAILABLE;
         mMediaThumbnailCache = new MediaThumbnailCache(mBackend, GroundSdkConfig.get().getThumbnailCacheSize());
+        mMediaIndexCache = new MediaIndexCache(mBackend);
     }
 
     @Override
     public void unpublish() {
         mIndexingState = MediaStore.IndexingState.UNAVAILABLE;
         mPhotoMediaCount = mVideoMediaCount = mPhotoResourceCount = mVideoResourceCount = 0;
+        mNotificationHolds = 0;
+        mPendingNotification = false;
         notifyObservers();
         mObservers.clear();
         mMediaThumbnailCache.clear();
@@ -373,10 +407,40 @@ public final class MediaStoreCore extends ComponentCore {
 
     /**
      * Notifies all registered observers of a store content change.
+     * <p>
+     * Cached media indexes are invalidated beforehand, so that observers get fresh content.
      */
     public void notifyObservers() {
-        for (Observer observer : mObservers) {
-            observer.onChanged();
+        mMediaIndexCache.invalidate();
+        if (mNotificationHolds > 0) {
+            mPendingNotification = true;
+        } else {
+            for (Observer observer : mObservers) {
+                observer.onChanged();
+            }
+        }
+    }
+
+    /**
+     * Holds back store content change notifications.
+     * <p>
+     * Until a matching call to {@link #releaseNotifications()}, content changes still invalidate cached media indexes,
+     * but registered observers are not notified. Holds may be nested.
+     */
+    void holdNotifications() {
+        mNotificationHolds++;
+    }
+
+    /**
+     * Releases a hold on store content change notifications.
+     * <p>
+     * When the last hold is released, registered observers are notified once if any content change occurred in the
+     * meantime.
+     */
+    void releaseNotifications() {
+        if (mNotificationHolds > 0 && --mNotificationHolds == 0 && mPendingNotification) {
+            mPendingNotification = false;
+            notifyObservers();
         }
     }
 }
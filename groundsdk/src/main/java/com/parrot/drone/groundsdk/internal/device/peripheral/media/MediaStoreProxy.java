@@ -34,6 +34,7 @@ package com.parrot.drone.groundsdk.internal.device.peripheral.media;
 
 import android.graphics.Bitmap;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 
 import com.parrot.drone.groundsdk.Ref;
@@ -42,9 +43,11 @@ import com.parrot.drone.groundsdk.device.peripheral.media.MediaDeleter;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDestination;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDownloader;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaQuery;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaStoreWiper;
 import com.parrot.drone.groundsdk.internal.session.Session;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -111,6 +114,12 @@ class MediaStoreProxy implements MediaStore {
         return new MediaListRef(mSession, observer, mStore, storageType);
     }
 
+    @NonNull
+    @Override
+    public Ref<List<MediaItem>> browse(@NonNull MediaQuery query, @NonNull Ref.Observer<List<MediaItem>> observer) {
+        return new MediaQueryRef(mSession, observer, mStore, query);
+    }
+
     @NonNull
     @Override
     public Ref<Bitmap> fetchThumbnailOf(@NonNull MediaItem media, @NonNull Ref.Observer<Bitmap> observer) {
@@ -125,6 +134,37 @@ class MediaStoreProxy implements MediaStore {
                 ThumbnailProvider.wrap(MediaResourceCore.unwrap(resource)));
     }
 
+    @Override
+    public void setThumbnailWindow(@NonNull List<? extends MediaItem> medias, int firstVisible, int visibleCount,
+                                   int prefetchCount) {
+        if (firstVisible < 0 || visibleCount < 0 || prefetchCount < 0) {
+            throw new IllegalArgumentException("Invalid thumbnail window [first: " + firstVisible + ", count: "
+                                               + visibleCount + ", prefetch: " + prefetchCount + "]");
+        }
+        int size = medias.size();
+        int start = Math.min(firstVisible, size);
+        int end = Math.min(start + visibleCount, size);
+
+        List<ThumbnailProvider> visible = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            visible.add(ThumbnailProvider.wrap(MediaItemCore.unwrap(medias.get(i))));
+        }
+        // prefetch next media first, then previous media, nearest first
+        List<ThumbnailProvider> prefetch = new ArrayList<>();
+        for (int i = end, last = Math.min(end + prefetchCount, size); i < last; i++) {
+            prefetch.add(ThumbnailProvider.wrap(MediaItemCore.unwrap(medias.get(i))));
+        }
+        for (int i = start - 1, last = Math.max(start - prefetchCount, 0); i >= last; i--) {
+            prefetch.add(ThumbnailProvider.wrap(MediaItemCore.unwrap(medias.get(i))));
+        }
+        mStore.mMediaThumbnailCache.setWindow(visible, prefetch);
+    }
+
+    @Override
+    public void clearThumbnailWindow() {
+        mStore.mMediaThumbnailCache.clearWindow();
+    }
+
     @NonNull
     @Override
     public Ref<MediaDeleter> delete(@NonNull Collection<MediaItem.Resource> resources,
@@ -132,6 +172,14 @@ class MediaStoreProxy implements MediaStore {
         return new MediaDeleterRef(mSession, observer, resources, mStore);
     }
 
+    @NonNull
+    @Override
+    public Ref<MediaDeleter> delete(@NonNull Collection<MediaItem.Resource> resources,
+                                    @IntRange(from = 1) int maxConcurrentRequests,
+                                    @NonNull Ref.Observer<MediaDeleter> observer) {
+        return new MediaDeleterRef(mSession, observer, resources, maxConcurrentRequests, mStore);
+    }
+
 
     @NonNull
     @Override
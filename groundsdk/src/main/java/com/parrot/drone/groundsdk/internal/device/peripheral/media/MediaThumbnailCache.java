@@ -37,15 +37,19 @@ import android.graphics.Bitmap;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * An LRU cache of media thumbnails.
+ * <p>
+ * Pending requests are processed in arrival order, unless a {@link #setWindow window} of interest is configured, in
+ * which case requests for providers in the window are processed first, in window order, while requests for providers
+ * outside the window are held back until they enter the window again or the window is cleared.
  */
 final class MediaThumbnailCache {
 
@@ -127,9 +131,15 @@ final class MediaThumbnailCache {
     @NonNull
     private final Backend mBackend;
 
-    /** Rest of media requests to be processed. Does not contain the item being currently processed. */
+    /**
+     * Rest of media requests to be processed, in arrival order. Does not contain the item being currently processed.
+     */
     @NonNull
-    private final Queue<ThumbnailProvider> mPendingRequests;
+    private final LinkedHashSet<ThumbnailProvider> mPendingRequests;
+
+    /** Providers in the current window of interest, in fetch priority order. {@code null} when no window is set. */
+    @Nullable
+    private LinkedHashSet<ThumbnailProvider> mWindow;
 
     /**
      * Maximum size of the cache, in bytes. If the cache grows above this limit, eldest cache entries that contains
@@ -144,6 +154,10 @@ final class MediaThumbnailCache {
     @Nullable
     private MediaRequest mCurrentRequest;
 
+    /** Provider of the thumbnail being currently fetched, {@code null} if none. */
+    @Nullable
+    private ThumbnailProvider mCurrentProvider;
+
     /**
      * Constructor.
      *
@@ -154,7 +168,7 @@ final class MediaThumbnailCache {
         mBackend = backend;
         mCache = new LinkedHashMap<>(); // with insertion order
         mCacheMaxSize = cacheSize;
-        mPendingRequests = new LinkedList<>();
+        mPendingRequests = new LinkedHashSet<>();
     }
 
     /**
@@ -162,6 +176,7 @@ final class MediaThumbnailCache {
      */
     void clear() {
         mPendingRequests.clear();
+        mWindow = null;
         // complete pending entries to signal listeners that they won't get any thumbnail
         for (Entry entry : mCache.values()) {
             entry.complete(null);
@@ -172,6 +187,62 @@ final class MediaThumbnailCache {
             mCurrentRequest.cancel();
             mCurrentRequest = null;
         }
+        mCurrentProvider = null;
+    }
+
+    /**
+     * Configures the window of interest.
+     * <p>
+     * Pending requests for {@code visible} providers are processed first, in the given order, then pending requests
+     * for {@code prefetch} providers, also in the given order. Thumbnails of {@code prefetch} providers are fetched
+     * even though no one requested them yet, so that they are directly available when requested later. <br>
+     * Pending requests for providers outside the window are held back, and prefetched thumbnails that left the window
+     * before being fetched are dropped.
+     *
+     * @param visible  currently visible providers, in fetch priority order
+     * @param prefetch providers to prefetch, in fetch priority order
+     */
+    void setWindow(@NonNull Collection<ThumbnailProvider> visible, @NonNull Collection<ThumbnailProvider> prefetch) {
+        LinkedHashSet<ThumbnailProvider> window = new LinkedHashSet<>(visible);
+        window.addAll(prefetch);
+        mWindow = window;
+
+        // drop pending prefetches that nobody requested and that are not in the window anymore
+        Iterator<ThumbnailProvider> iter = mPendingRequests.iterator();
+        while (iter.hasNext()) {
+            ThumbnailProvider provider = iter.next();
+            Entry entry = mCache.get(provider);
+            if (!window.contains(provider) && (entry == null || entry.isPrunable())) {
+                iter.remove();
+                if (entry != null) {
+                    mCache.remove(provider);
+                }
+            }
+        }
+
+        // queue prefetches
+        for (ThumbnailProvider provider : prefetch) {
+            if (!mCache.containsKey(provider)) {
+                mCache.put(provider, new Entry(provider));
+                if (!provider.equals(mCurrentProvider)) {
+                    mPendingRequests.add(provider);
+                }
+            }
+        }
+
+        processNextRequest();
+    }
+
+    /**
+     * Clears the window of interest.
+     * <p>
+     * Pending requests are processed in arrival order again, including those that were held back.
+     */
+    void clearWindow() {
+        if (mWindow != null) {
+            mWindow = null;
+            processNextRequest();
+        }
     }
 
     /**
@@ -286,7 +357,7 @@ final class MediaThumbnailCache {
             if (mCallbacks == null) {
                 callback.onThumbnailAvailable(mThumbnail);
             } else {
-                if (mCallbacks.isEmpty() & mCallbacks.add(callback)) {
+                if (mCallbacks.isEmpty() & mCallbacks.add(callback) && !mProvider.equals(mCurrentProvider)) {
                     mPendingRequests.add(mProvider);
                     processNextRequest();
                 }
@@ -306,10 +377,15 @@ final class MediaThumbnailCache {
      * Processes the next pending request, if there isn't a request being process currently.
      */
     private void processNextRequest() {
-        if (mCurrentRequest == null && !mPendingRequests.isEmpty()) {
-            ThumbnailProvider next = mPendingRequests.remove();
-            mCurrentRequest = next.fetch(mBackend, (status, thumbnail) -> {
+        if (mCurrentProvider != null) {
+            return;
+        }
+        ThumbnailProvider next = pollNextRequest();
+        if (next != null) {
+            mCurrentProvider = next;
+            MediaRequest request = next.fetch(mBackend, (status, thumbnail) -> {
                 mCurrentRequest = null;
+                mCurrentProvider = null;
                 Entry entry = mCache.get(next);
                 if (entry != null) {
                     entry.complete(thumbnail);
@@ -321,7 +397,34 @@ final class MediaThumbnailCache {
                 }
                 processNextRequest();
             });
+            if (mCurrentProvider == next) {
+                // otherwise, request completed synchronously
+                mCurrentRequest = request;
+            }
+        }
+    }
+
+    /**
+     * Removes the next request to process from pending requests.
+     * <p>
+     * When a window of interest is set, this is the first provider of the window with a pending request; otherwise,
+     * this is the oldest pending request.
+     *
+     * @return provider of the next thumbnail to fetch, {@code null} if there is none
+     */
+    @Nullable
+    private ThumbnailProvider pollNextRequest() {
+        if (mPendingRequests.isEmpty()) {
+            return null;
+        }
+        Iterator<ThumbnailProvider> iter = mWindow == null ? mPendingRequests.iterator() : mWindow.iterator();
+        while (iter.hasNext()) {
+            ThumbnailProvider provider = iter.next();
+            if (mPendingRequests.remove(provider)) {
+                return provider;
+            }
         }
+        return null;
     }
 
     /**
@@ -33,6 +33,7 @@
 package com.parrot.drone.groundsdk.internal.device.peripheral.tracking;
 
 import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
@@ -99,6 +100,12 @@ public class TargetTrackerCore extends SingletonComponentCore implements TargetT
     @Nullable
     private TargetTrajectoryCore mTargetTrajectory;
 
+    /** Count of target detection info sent to the drone. */
+    private long mSentDetectionInfoCount;
+
+    /** Count of target detection info dropped before being sent to the drone. */
+    private long mDroppedDetectionInfoCount;
+
     /**
      * Constructor.
      *
@@ -147,6 +154,16 @@ public class TargetTrackerCore extends SingletonComponentCore implements TargetT
         mBackend.sendTargetDetectionInfo(info);
     }
 
+    @Override
+    public long getSentTargetDetectionInfoCount() {
+        return mSentDetectionInfoCount;
+    }
+
+    @Override
+    public long getDroppedTargetDetectionInfoCount() {
+        return mDroppedDetectionInfoCount;
+    }
+
     @Nullable
     @Override
     public TargetTrajectory getTargetTrajectory() {
@@ -221,6 +238,24 @@ public class TargetTrackerCore extends SingletonComponentCore implements TargetT
         return this;
     }
 
+    /**
+     * Updates target detection info counts.
+     * <p>
+     * Those counts are meant to be polled, hence this method does not mark the component as changed.
+     *
+     * @param sentCount    count of target detection info sent to the drone
+     * @param droppedCount count of target detection info dropped before being sent to the drone
+     *
+     * @return {@code this}, to allow chained calls
+     */
+    @NonNull
+    public TargetTrackerCore updateTargetDetectionInfoCounts(@IntRange(from = 0) long sentCount,
+                                                             @IntRange(from = 0) long droppedCount) {
+        mSentDetectionInfoCount = sentCount;
+        mDroppedDetectionInfoCount = droppedCount;
+        return this;
+    }
+
     /**
      * Cancels all pending settings rollbacks.
      *
@@ -45,9 +45,18 @@ public class FinishedFlightInfoCore implements GuidedPilotingItf.FinishedFlightI
     /** {@code true} if the guided flight succeeded. */
     private final boolean mSuccess;
 
-    private FinishedFlightInfoCore(@NonNull GuidedPilotingItf.Type type, boolean success) {
+    /** Time spent by the directive in queue, in milliseconds. */
+    private final long mQueuedDuration;
+
+    /** Time elapsed between directive sending and flight end, in milliseconds, {@code -1} if unknown. */
+    private final long mExecutionDuration;
+
+    private FinishedFlightInfoCore(@NonNull GuidedPilotingItf.Type type, boolean success, long queuedDuration,
+                                   long executionDuration) {
         mType = type;
         mSuccess = success;
+        mQueuedDuration = queuedDuration;
+        mExecutionDuration = executionDuration;
     }
 
     @NonNull
@@ -61,6 +70,16 @@ public class FinishedFlightInfoCore implements GuidedPilotingItf.FinishedFlightI
         return mSuccess;
     }
 
+    @Override
+    public final long getQueuedDuration() {
+        return mQueuedDuration;
+    }
+
+    @Override
+    public final long getExecutionDuration() {
+        return mExecutionDuration;
+    }
+
     /** Core class for FinishedLocationFlightInfo. */
     public static class Location extends FinishedFlightInfoCore
             implements GuidedPilotingItf.FinishedLocationFlightInfo {
@@ -72,11 +91,14 @@ public class FinishedFlightInfoCore implements GuidedPilotingItf.FinishedFlightI
         /**
          * Constructor.
          *
-         * @param directive the initial directive
-         * @param success   {@code true} if the guided flight succeeded
+         * @param directive         the initial directive
+         * @param success           {@code true} if the guided flight succeeded
+         * @param queuedDuration    time spent by the directive in queue, in milliseconds
+         * @param executionDuration guided flight execution duration, in milliseconds, {@code -1} if unknown
          */
-        public Location(@NonNull GuidedPilotingItf.LocationDirective directive, boolean success) {
-            super(GuidedPilotingItf.Type.ABSOLUTE_LOCATION, success);
+        public Location(@NonNull GuidedPilotingItf.LocationDirective directive, boolean success,
+                        long queuedDuration, long executionDuration) {
+            super(GuidedPilotingItf.Type.ABSOLUTE_LOCATION, success, queuedDuration, executionDuration);
             mDirective = directive;
         }
 
@@ -117,11 +139,14 @@ public class FinishedFlightInfoCore implements GuidedPilotingItf.FinishedFlightI
          * @param actualRightComponent    right component of the actual move
          * @param actualDownwardComponent downward component of the actual move
          * @param actualHeadingRotation   heading rotation component of the actual move
+         * @param queuedDuration          time spent by the directive in queue, in milliseconds
+         * @param executionDuration       guided flight execution duration, in milliseconds, {@code -1} if unknown
          */
         public Relative(@NonNull GuidedPilotingItf.RelativeMoveDirective directive, boolean success,
                         double actualForwardComponent, double actualRightComponent,
-                        double actualDownwardComponent, double actualHeadingRotation) {
-            super(GuidedPilotingItf.Type.RELATIVE_MOVE, success);
+                        double actualDownwardComponent, double actualHeadingRotation,
+                        long queuedDuration, long executionDuration) {
+            super(GuidedPilotingItf.Type.RELATIVE_MOVE, success, queuedDuration, executionDuration);
             mDirective = directive;
             mActualForwardComponent = actualForwardComponent;
             mActualRightComponent = actualRightComponent;
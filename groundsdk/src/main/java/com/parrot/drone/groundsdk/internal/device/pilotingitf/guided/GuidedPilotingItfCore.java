@@ -38,9 +38,11 @@ import com.parrot.drone.groundsdk.internal.component.ComponentDescriptor;
 import com.parrot.drone.groundsdk.internal.component.ComponentStore;
 import com.parrot.drone.groundsdk.internal.device.pilotingitf.ActivablePilotingItfCore;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 import androidx.annotation.NonNull;
@@ -64,6 +66,18 @@ public final class GuidedPilotingItfCore extends ActivablePilotingItfCore implem
          * @param directive directive to apply
          */
         void move(@NonNull Directive directive);
+
+        /**
+         * Requests the specified movement directive to be applied after all previously queued directives.
+         *
+         * @param directive directive to queue
+         */
+        void queue(@NonNull Directive directive);
+
+        /**
+         * Requests all queued directives to be discarded, and the current guided flight to be stopped.
+         */
+        void cancelQueue();
     }
 
     /** Backend of this interface. */
@@ -78,6 +92,10 @@ public final class GuidedPilotingItfCore extends ActivablePilotingItfCore implem
     @Nullable
     private Directive mCurrentDirective;
 
+    /** Guided flight directives waiting to be executed. */
+    @NonNull
+    private final List<Directive> mQueuedDirectives;
+
     /** Latest terminated guided flight information. */
     @Nullable
     private FinishedFlightInfo mLatestFinishedFlightInfo;
@@ -92,6 +110,7 @@ public final class GuidedPilotingItfCore extends ActivablePilotingItfCore implem
         super(DESC, pilotingItfStore, backend);
         mBackend = backend;
         mUnavailabilityReasons = EnumSet.noneOf(UnavailabilityReason.class);
+        mQueuedDirectives = new ArrayList<>();
     }
 
     @NonNull
@@ -105,6 +124,22 @@ public final class GuidedPilotingItfCore extends ActivablePilotingItfCore implem
         mBackend.move(directive);
     }
 
+    @Override
+    public void queue(@NonNull Directive directive) {
+        mBackend.queue(directive);
+    }
+
+    @Override
+    public void cancelQueue() {
+        mBackend.cancelQueue();
+    }
+
+    @NonNull
+    @Override
+    public List<Directive> getQueuedDirectives() {
+        return Collections.unmodifiableList(mQueuedDirectives);
+    }
+
     @Nullable
     @Override
     public Directive getCurrentDirective() {
@@ -146,6 +181,22 @@ public final class GuidedPilotingItfCore extends ActivablePilotingItfCore implem
         return this;
     }
 
+    /**
+     * Updates the queued directives.
+     *
+     * @param directives directives waiting to be executed, in execution order
+     *
+     * @return the object, to allow chain calls
+     */
+    public GuidedPilotingItfCore updateQueuedDirectives(@NonNull Collection<Directive> directives) {
+        if (!mQueuedDirectives.equals(new ArrayList<>(directives))) {
+            mQueuedDirectives.clear();
+            mQueuedDirectives.addAll(directives);
+            mChanged = true;
+        }
+        return this;
+    }
+
     /**
      * Updates the latest finished flight info.
      *
@@ -43,8 +43,10 @@ import com.parrot.drone.sdkcore.ulog.ULog;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 import static com.parrot.drone.groundsdk.internal.Logging.TAG_BLACKBOX;
@@ -55,6 +57,9 @@ import static com.parrot.drone.groundsdk.internal.engine.blackbox.BlackBoxEngine
  */
 class ArchiveJob extends Job<File> {
 
+    /** Size of the buffer used to write compressed data to the black box file, in bytes. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /** Black box report engine to call back when the job completes. */
     private final BlackBoxEngine mEngine;
 
@@ -62,15 +67,32 @@ class ArchiveJob extends Job<File> {
     @NonNull
     private final BlackBoxStorage.BlackBox mBlackBox;
 
+    /** GZIP compression level to use. */
+    private final int mCompressionLevel;
+
     /**
      * Constructor.
+     * <p>
+     * Black box is archived using the default GZIP compression level.
      *
      * @param engine   black box engine
      * @param blackBox in-memory black box to archive
      */
     ArchiveJob(@NonNull BlackBoxEngine engine, @NonNull BlackBoxStorage.BlackBox blackBox) {
+        this(engine, blackBox, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine           black box engine
+     * @param blackBox         in-memory black box to archive
+     * @param compressionLevel GZIP compression level, from {@code 0} to {@code 9}, or {@code -1} for default level
+     */
+    ArchiveJob(@NonNull BlackBoxEngine engine, @NonNull BlackBoxStorage.BlackBox blackBox, int compressionLevel) {
         mEngine = engine;
         mBlackBox = blackBox;
+        mCompressionLevel = compressionLevel;
     }
 
     @Nullable
@@ -82,7 +104,7 @@ class ArchiveJob extends Job<File> {
 
         File tmpFile = File.createTempFile(".blackbox", TMP_REPORT_EXT, workDir);
         try {
-            GZIPOutputStream dstStream = new GZIPOutputStream(new FileOutputStream(tmpFile));
+            OutputStream dstStream = new LeveledGZIPOutputStream(new FileOutputStream(tmpFile), mCompressionLevel);
             //noinspection TryFinallyCanBeTryWithResources
             try {
                 mBlackBox.writeTo(dstStream);
@@ -124,4 +146,23 @@ class ArchiveJob extends Job<File> {
     public final String toString() {
         return "Black box report archive job";
     }
+
+    /**
+     * A GZIP output stream with a configurable compression level.
+     */
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        /**
+         * Constructor.
+         *
+         * @param out   stream to write compressed data to
+         * @param level compression level, from {@code 0} to {@code 9}, or {@code -1} for default level
+         *
+         * @throws IOException in case the GZIP header could not be written
+         */
+        LeveledGZIPOutputStream(@NonNull OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
 }
@@ -99,6 +99,9 @@ public class BlackBoxEngine extends EngineBase {
     @Nullable
     private final File mPublicDir;
 
+    /** GZIP compression level of archived blackbox files. */
+    private final int mCompressionLevel;
+
     /** Current work directory where new blackbox are archived to. */
     @Nullable
     private File mWorkDir;
@@ -123,6 +126,7 @@ public class BlackBoxEngine extends EngineBase {
         mEngineDir = new File(ApplicationStorageProvider.getInstance().getInternalAppFileCache(), "blackbox");
         String folder = GroundSdkConfig.get(getContext()).getBlackBoxPublicFolder();
         mPublicDir = folder == null ? null : new File(getContext().getExternalFilesDir(null), folder);
+        mCompressionLevel = GroundSdkConfig.get(getContext()).getBlackBoxCompressionLevel();
         mPendingBlackBoxes = new LinkedList<>();
         mTasks = new TaskGroup();
         publishUtility(BlackBoxStorage.class, new BlackBoxStorageCore(this));
@@ -316,7 +320,7 @@ public class BlackBoxEngine extends EngineBase {
      */
     @VisibleForTesting
     Task<File> launchArchiveJob(@NonNull BlackBoxStorage.BlackBox data) {
-        return new ArchiveJob(this, data).launch();
+        return new ArchiveJob(this, data, mCompressionLevel).launch();
     }
 
     /**
@@ -96,8 +96,15 @@ public class FirmwareBlackListCore implements FirmwareBlackList {
      * @param versions firmware versions to add to blacklist
      */
     void addToBlackList(@NonNull Set<FirmwareIdentifier> versions) {
-        mBlackList.addAll(versions);
-        mPersistence.saveBlackList(mBlackList);
+        Set<FirmwareIdentifier> added = new HashSet<>();
+        for (FirmwareIdentifier version : versions) {
+            if (mBlackList.add(version)) {
+                added.add(version);
+            }
+        }
+        if (!added.isEmpty()) {
+            mPersistence.saveBlackList(added);
+        }
         for (FirmwareBlackList.Monitor monitor : mMonitors) {
             monitor.onChange();
         }
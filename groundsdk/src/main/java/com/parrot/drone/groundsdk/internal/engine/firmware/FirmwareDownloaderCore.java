@@ -48,6 +48,7 @@ import java.io.File;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -70,22 +71,39 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
     @NonNull
     private final Map<FirmwareIdentifier, Set<Task>> mDownloadQueue;
 
-    /** Current HTTP firmware download request, {@code null} when not downloading any firmware. */
-    @Nullable
-    private HttpRequest mCurrentDownload;
+    /** Ongoing firmware downloads, by firmware identifier. */
+    @NonNull
+    private final Map<FirmwareIdentifier, Download> mDownloads;
 
-    /** Current firmware download progress. */
-    @IntRange(from = 0, to = 100)
-    private int mCurrentProgress;
+    /** Maximum amount of firmwares that may be downloaded concurrently. */
+    @IntRange(from = 1)
+    private final int mMaxConcurrentDownloads;
 
     /**
      * Constructor.
+     * <p>
+     * Firmwares are downloaded one at a time.
      *
      * @param engine firmware engine
      */
     FirmwareDownloaderCore(@NonNull FirmwareEngine engine) {
+        this(engine, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine                 firmware engine
+     * @param maxConcurrentDownloads maximum amount of firmwares that may be downloaded concurrently
+     */
+    FirmwareDownloaderCore(@NonNull FirmwareEngine engine, @IntRange(from = 1) int maxConcurrentDownloads) {
+        if (maxConcurrentDownloads < 1) {
+            throw new IllegalArgumentException("Invalid max concurrent downloads: " + maxConcurrentDownloads);
+        }
         mEngine = engine;
+        mMaxConcurrentDownloads = maxConcurrentDownloads;
         mDownloadQueue = new LinkedHashMap<>();
+        mDownloads = new HashMap<>();
     }
 
     /**
@@ -147,8 +165,11 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
             }
             if (tasks.add(task) && tasks.size() == 1) {
                 processQueue();
-            } else if (isCurrentlyDownloading(firmware)) {
-                task.onDownloadProgress(mCurrentProgress);
+            } else {
+                Download download = mDownloads.get(firmware);
+                if (download != null) {
+                    task.onDownloadProgress(download.mProgress);
+                }
             }
         }
     }
@@ -162,9 +183,9 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
     private void dequeue(@NonNull FirmwareIdentifier firmware, @NonNull Task task) {
         Set<Task> tasks = mDownloadQueue.get(firmware);
         if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
-            if (isCurrentlyDownloading(firmware)) {
-                assert mCurrentDownload != null;
-                mCurrentDownload.cancel();
+            Download download = mDownloads.get(firmware);
+            if (download != null) {
+                download.mRequest.cancel();
             } else {
                 mDownloadQueue.remove(firmware);
             }
@@ -174,14 +195,40 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
     /**
      * Processes the download queue.
      * <p>
-     * Starts to download next in queue, if any and no firmware is being downloaded currently.
+     * Starts to download next firmwares in queue, if any, until the maximum amount of concurrent downloads is reached.
      */
     private void processQueue() {
-        if (mCurrentDownload != null || mDownloadQueue.isEmpty()) {
-            return;
+        FirmwareIdentifier next = nextToDownload();
+        while (next != null) {
+            startDownload(next);
+            next = nextToDownload();
         }
-        //TODO: de-recursive
-        FirmwareIdentifier firmware = mDownloadQueue.keySet().iterator().next();
+    }
+
+    /**
+     * Selects the next firmware to download.
+     *
+     * @return identifier of the first queued firmware that is not being downloaded yet, or {@code null} if there is no
+     *         such firmware or if the maximum amount of concurrent downloads is reached
+     */
+    @Nullable
+    private FirmwareIdentifier nextToDownload() {
+        if (mDownloads.size() < mMaxConcurrentDownloads) {
+            for (FirmwareIdentifier firmware : mDownloadQueue.keySet()) {
+                if (!mDownloads.containsKey(firmware)) {
+                    return firmware;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts downloading a queued firmware.
+     *
+     * @param firmware identifies the firmware to download
+     */
+    private void startDownload(@NonNull FirmwareIdentifier firmware) {
         FirmwareStoreEntry entry = mEngine.firmwareStore().getEntry(firmware);
         if (entry == null) {
             onDownloadFailure(firmware);
@@ -195,28 +242,30 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
             } else {
                 // download this entry now.
                 File dest = mEngine.persistence().makeLocalFirmwarePath(firmware, uri);
-                mCurrentDownload = client.download(uri.toString(), dest, new HttpRequest.ProgressStatusCallback() {
-
-                    @Override
-                    public void onRequestProgress(int progress) {
-                        mCurrentProgress = progress;
-                        onDownloadProgress(firmware);
-                    }
-
-                    @Override
-                    public void onRequestComplete(@NonNull HttpRequest.Status status, int code) {
-                        mCurrentDownload = null;
-                        if (status == HttpRequest.Status.SUCCESS) {
-                            mEngine.firmwareStore().addLocalFirmware(firmware, dest.toURI());
-                            onDownloadSuccess(firmware);
-                        } else if (status == HttpRequest.Status.CANCELED) {
-                            onDownloadCanceled(firmware);
-                        } else {
-                            onDownloadFailure(firmware);
-                        }
-                    }
-                });
-                mCurrentProgress = 0;
+                Download download = new Download();
+                mDownloads.put(firmware, download);
+                download.mRequest = client.download(uri.toString(), dest, entry.getFirmwareInfo().getChecksum(),
+                        new HttpRequest.ProgressStatusCallback() {
+
+                            @Override
+                            public void onRequestProgress(int progress) {
+                                download.mProgress = progress;
+                                onDownloadProgress(firmware);
+                            }
+
+                            @Override
+                            public void onRequestComplete(@NonNull HttpRequest.Status status, int code) {
+                                mDownloads.remove(firmware);
+                                if (status == HttpRequest.Status.SUCCESS) {
+                                    mEngine.firmwareStore().addLocalFirmware(firmware, dest.toURI());
+                                    onDownloadSuccess(firmware);
+                                } else if (status == HttpRequest.Status.CANCELED) {
+                                    onDownloadCanceled(firmware);
+                                } else {
+                                    onDownloadFailure(firmware);
+                                }
+                            }
+                        });
                 onDownloadProgress(firmware);
             }
         }
@@ -267,23 +316,23 @@ final class FirmwareDownloaderCore implements FirmwareDownloader {
      * @param firmware identifies the firmware whose download did progress
      */
     private void onDownloadProgress(@NonNull FirmwareIdentifier firmware) {
+        Download download = mDownloads.get(firmware);
+        assert download != null;
         //noinspection ConstantConditions: callback always called with a current task set in queue
         for (Task task : mDownloadQueue.get(firmware)) {
-            task.onDownloadProgress(mCurrentProgress);
+            task.onDownloadProgress(download.mProgress);
         }
     }
 
-    /**
-     * Tells whether some firmware is currently being downloaded.
-     * <p>
-     * If this method returns true, then it is safe to assume that {@link #mCurrentDownload} is not {@code null}.
-     *
-     * @param firmware identifies the firmware to test
-     *
-     * @return {@code true} if the specified firmware is currently being downloaded, otherwise {@code false}
-     */
-    private boolean isCurrentlyDownloading(@NonNull FirmwareIdentifier firmware) {
-        return mCurrentDownload != null && firmware.equals(mDownloadQueue.keySet().iterator().next());
+    /** An ongoing firmware download. */
+    private static final class Download {
+
+        /** HTTP firmware download request. */
+        private HttpRequest mRequest;
+
+        /** Firmware download progress. */
+        @IntRange(from = 0, to = 100)
+        private int mProgress;
     }
 
     /**
@@ -80,6 +80,9 @@ public class FirmwareEngine extends EngineBase {
     /** Minimum interval between queries of update information on remote server. */
     private static final long MINIMUM_REMOTE_QUERY_INTERVAL = TimeUnit.HOURS.toMillis(1);
 
+    /** Maximum amount of firmwares downloaded concurrently from the update server. */
+    private static final int MAX_CONCURRENT_DOWNLOADS = 2;
+
     /** Persistence layer. */
     @NonNull
     private final Persistence mPersistence;
@@ -125,7 +128,7 @@ public class FirmwareEngine extends EngineBase {
         mFirmwareStore = new FirmwareStoreCore(this);
         mFirmwareBlackList = new FirmwareBlackListCore(mPersistence);
         mFirmwareManager = new FirmwareManagerCore(getFacilityPublisher(), mBackend);
-        mDownloader = new FirmwareDownloaderCore(this);
+        mDownloader = new FirmwareDownloaderCore(this, MAX_CONCURRENT_DOWNLOADS);
         mSupportedModels = GroundSdkConfig.get(context).getSupportedDevices();
         publishUtility(FirmwareStore.class, mFirmwareStore);
         publishUtility(FirmwareBlackList.class, mFirmwareBlackList);
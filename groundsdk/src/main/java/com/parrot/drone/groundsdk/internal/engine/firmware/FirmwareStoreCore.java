@@ -41,6 +41,7 @@ import com.parrot.drone.groundsdk.facility.firmware.FirmwareInfo;
 import com.parrot.drone.groundsdk.facility.firmware.FirmwareVersion;
 import com.parrot.drone.groundsdk.internal.device.DeviceCore;
 import com.parrot.drone.groundsdk.internal.io.Files;
+import com.parrot.drone.groundsdk.internal.io.Md5;
 import com.parrot.drone.groundsdk.internal.tasks.Executor;
 import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.groundsdk.internal.utility.DeviceStore;
@@ -50,22 +51,28 @@ import com.parrot.drone.groundsdk.internal.utility.RemoteControlStore;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -84,11 +91,6 @@ public class FirmwareStoreCore implements FirmwareStore {
             lhs.getFirmwareInfo().getFirmware().getVersion().compareTo(
                     rhs.getFirmwareInfo().getFirmware().getVersion());
 
-    /** Sorts {@link FirmwareStoreEntry} by version. Most recent versions first. */
-    private static final Comparator<FirmwareStoreEntry> DESCENDING_VERSION = (lhs, rhs) ->
-            rhs.getFirmwareInfo().getFirmware().getVersion().compareTo(
-                    lhs.getFirmwareInfo().getFirmware().getVersion());
-
     /** Firmware engine. */
     @NonNull
     private final FirmwareEngine mEngine;
@@ -100,6 +102,17 @@ public class FirmwareStoreCore implements FirmwareStore {
     /** All known firmwares. */
     private final Map<FirmwareIdentifier, FirmwareStoreEntry> mUpdates;
 
+    /** All known firmwares, indexed by device model. */
+    @NonNull
+    private final Map<DeviceModel, ModelIndex> mIndexes;
+
+    /** Entries that were added or modified since the store was last persisted. */
+    @NonNull
+    private final Set<FirmwareStoreEntry> mChangedEntries;
+
+    /** Identifies entries that were removed since the store was last persisted. */
+    @NonNull
+    private final Set<FirmwareIdentifier> mRemovedEntries;
 
     /**
      * Constructor.
@@ -110,6 +123,12 @@ public class FirmwareStoreCore implements FirmwareStore {
         mEngine = engine;
         mMonitors = new HashSet<>();
         mUpdates = mEngine.persistence().loadFirmwares();
+        mIndexes = new HashMap<>();
+        mChangedEntries = new HashSet<>();
+        mRemovedEntries = new HashSet<>();
+        for (FirmwareStoreEntry entry : mUpdates.values()) {
+            indexOf(entry.getFirmwareInfo().getFirmware().getDeviceModel()).add(entry);
+        }
     }
 
     @Override
@@ -164,6 +183,25 @@ public class FirmwareStoreCore implements FirmwareStore {
     @NonNull
     @Override
     public Task<File> getFirmwareFile(@NonNull FirmwareIdentifier firmware) {
+        return getFirmwareFile(firmware, false);
+    }
+
+    @NonNull
+    @Override
+    public Task<File> getVerifiedFirmwareFile(@NonNull FirmwareIdentifier firmware) {
+        return getFirmwareFile(firmware, true);
+    }
+
+    /**
+     * Retrieves the update file for a given firmware.
+     *
+     * @param firmware identifies the firmware whose update file is requested
+     * @param verify   {@code true} to verify the file content against the firmware checksum, when known
+     *
+     * @return an asynchronous task, that provides the requested file upon successful completion and may be canceled.
+     */
+    @NonNull
+    private Task<File> getFirmwareFile(@NonNull FirmwareIdentifier firmware, boolean verify) {
         FirmwareStoreEntry entry = mUpdates.get(firmware);
         if (entry == null) {
             return Task.failure(new FileNotFoundException("Unknown firmware:" + firmware));
@@ -172,8 +210,17 @@ public class FirmwareStoreCore implements FirmwareStore {
         if (firmwareUri == null) {
             return Task.failure(new FileNotFoundException("Firmware is not available locally: " + firmware));
         }
+        String checksum = verify ? entry.getFirmwareInfo().getChecksum() : null;
         if (firmwareUri.getScheme().equals(Schemes.FILE)) {
-            return Task.success(new File(firmwareUri.getPath()));
+            File file = new File(firmwareUri.getPath());
+            return checksum == null ? Task.success(file) : Executor.runInBackground(() -> {
+                MessageDigest digest = Md5.newDigest();
+                try (InputStream src = new FileInputStream(file)) {
+                    Md5.update(digest, src);
+                }
+                Md5.verify(digest, checksum);
+                return file;
+            });
         }
         Persistence persistence = mEngine.persistence();
         InputStream stream = persistence.getFirmwareStream(firmwareUri);
@@ -185,11 +232,25 @@ public class FirmwareStoreCore implements FirmwareStore {
 
         return Executor.runInBackground(() -> {
             // TODO maybe check if file already exists (we have length & md5 to check properly).
-            Files.writeFile(stream, dest);
+            if (checksum == null) {
+                Files.writeFile(stream, dest);
+            } else {
+                MessageDigest digest = Md5.newDigest();
+                Files.writeFile(new DigestInputStream(stream, digest), dest);
+                try {
+                    Md5.verify(digest, checksum);
+                } catch (IOException e) {
+                    if (!dest.delete() && ULog.w(TAG_FIRMWARE)) {
+                        ULog.w(TAG_FIRMWARE, "Could not delete corrupted firmware file: " + dest);
+                    }
+                    throw e;
+                }
+            }
             return dest;
         }).whenComplete((result, error, canceled) -> {
             if (error == null && !canceled) {
                 if (entry.setUri(dest.toURI())) {
+                    entryChanged(entry);
                     storeChanged();
                 }
             }
@@ -246,25 +307,12 @@ public class FirmwareStoreCore implements FirmwareStore {
      *                  chain, {@code false} otherwise
      *
      * @return a set of all update entries that should be applied to update the firmware to the latest known version.
-     *         Possibly empty
+     *         Possibly empty. Cannot be modified
      */
     @NonNull
     SortedSet<FirmwareStoreEntry> getUpdateChain(@NonNull FirmwareIdentifier firmware, boolean localOnly) {
-        SortedSet<FirmwareStoreEntry> entries = new TreeSet<>(ASCENDING_VERSION);
-        while (firmware != null) {
-            NavigableSet<FirmwareStoreEntry> suitable = listSuitableEntriesFrom(firmware);
-            if (localOnly) {
-                suitable.removeIf((entry) -> entry.getLocalUri() == null);
-            }
-            FirmwareStoreEntry entry = suitable.pollFirst();
-            if (entry != null) {
-                entries.add(entry);
-                firmware = entry.getFirmwareInfo().getFirmware();
-            } else {
-                firmware = null;
-            }
-        }
-        return entries;
+        ModelIndex index = mIndexes.get(firmware.getDeviceModel());
+        return index == null ? Collections.emptySortedSet() : index.getUpdateChain(firmware.getVersion(), localOnly);
     }
 
     /**
@@ -277,6 +325,7 @@ public class FirmwareStoreCore implements FirmwareStore {
         FirmwareStoreEntry addedEntry = mUpdates.get(firmware);
         boolean changed = addedEntry != null && addedEntry.setUri(localUri);
         if (changed) {
+            entryChanged(addedEntry);
             removeObsoleteFirmwares();
             storeChanged();
         }
@@ -303,6 +352,9 @@ public class FirmwareStoreCore implements FirmwareStore {
         if (deleteFirmwareFile(file)) {
             if (toDelete.clearLocalUri()) {
                 mUpdates.remove(firmware);
+                entryRemoved(toDelete);
+            } else {
+                entryChanged(toDelete);
             }
             storeChanged();
             return true;
@@ -325,61 +377,34 @@ public class FirmwareStoreCore implements FirmwareStore {
                 // merge http uris from remote
                 URI remoteUri = matchingRemote.getRemoteUri();
                 assert remoteUri != null;
-                changed |= storeEntry.setUri(remoteUri);
-            } else if (storeEntry.clearRemoteUri()) { // remove remote uri from store entry
-                // no uris left for entry, remove it completely
-                storeEntryIter.remove();
+                if (storeEntry.setUri(remoteUri)) {
+                    entryChanged(storeEntry);
+                    changed = true;
+                }
+            } else if (storeEntry.getRemoteUri() != null) {
+                if (storeEntry.clearRemoteUri()) { // remove remote uri from store entry
+                    // no uris left for entry, remove it completely
+                    storeEntryIter.remove();
+                    entryRemoved(storeEntry);
+                } else {
+                    entryChanged(storeEntry);
+                }
                 changed = true;
             }
         }
         // what remains in remoteEntries is only new entries to be added
         changed |= !remoteEntries.isEmpty();
         mUpdates.putAll(remoteEntries);
+        for (FirmwareStoreEntry entry : remoteEntries.values()) {
+            indexOf(entry.getFirmwareInfo().getFirmware().getDeviceModel()).add(entry);
+            entryChanged(entry);
+        }
 
         if (changed) {
             storeChanged();
         }
     }
 
-    /**
-     * Lists all entries which are suitable for updating a given firmware.
-     * <p>
-     * The returned set will only contain entries: <ul>
-     * <li>that apply on the model of the specified {@code firmware},</li>
-     * <li>whose {@link FirmwareIdentifier#getVersion() version} is strictly higher than the version of the
-     * specified {@code firmware},</li>
-     * <li>whose {@link FirmwareStoreEntry#getMaxApplicableVersion() max version} is higher than or equal to the
-     * version of the specified {@code firmware},
-     * <li>whose {@link FirmwareStoreEntry#getMinApplicableVersion() min version} is lower than or equal to the
-     * version of the specified {@code firmware}.
-     * </ul>
-     * Note however that the returned set may contain entries that are not available
-     * {@link FirmwareStoreEntry#getLocalUri() locally}.
-     * <p>
-     * Entries in the set are sorted by descending version order: first entries have higher versions than subsequent
-     * entries.
-     * <p>
-     * The returned set can be modified.
-     *
-     * @param firmware firmware to list suitable updates of
-     *
-     * @return a set of all entries that are suitable for updating the specified firmware
-     */
-    @NonNull
-    private NavigableSet<FirmwareStoreEntry> listSuitableEntriesFrom(@NonNull FirmwareIdentifier firmware) {
-        FirmwareVersion version = firmware.getVersion();
-        DeviceModel model = firmware.getDeviceModel();
-        return mUpdates.values().stream().filter(entry -> {
-            FirmwareIdentifier entryFirmware = entry.getFirmwareInfo().getFirmware();
-            FirmwareVersion minVersion = entry.getMinApplicableVersion();
-            FirmwareVersion maxVersion = entry.getMaxApplicableVersion();
-            return entryFirmware.getDeviceModel().equals(model)
-                   && entryFirmware.getVersion().compareTo(version) > 0
-                   && (minVersion == null || minVersion.compareTo(version) <= 0)
-                   && (maxVersion == null || maxVersion.compareTo(version) >= 0);
-        }).collect(Collectors.toCollection(() -> new TreeSet<>(DESCENDING_VERSION)));
-    }
-
     /**
      * Deletes obsolete local firmwares.
      * <p>
@@ -422,6 +447,9 @@ public class FirmwareStoreCore implements FirmwareStore {
             if (deleteFirmwareFile(file)) {
                 if (entry.clearLocalUri()) {
                     storeEntryIter.remove();
+                    entryRemoved(entry);
+                } else {
+                    entryChanged(entry);
                 }
                 storeChanged = true;
             }
@@ -429,13 +457,60 @@ public class FirmwareStoreCore implements FirmwareStore {
         return storeChanged;
     }
 
+    /**
+     * Retrieves the index of all entries for the given device model, creating it if needed.
+     *
+     * @param model device model
+     *
+     * @return the device model index
+     */
+    @NonNull
+    private ModelIndex indexOf(@NonNull DeviceModel model) {
+        ModelIndex index = mIndexes.get(model);
+        if (index == null) {
+            index = new ModelIndex();
+            mIndexes.put(model, index);
+        }
+        return index;
+    }
+
+    /**
+     * Called when an entry is added to the store or modified.
+     * <p>
+     * Marks the entry for persistence and invalidates update chains for the entry's device model.
+     *
+     * @param entry added or modified entry
+     */
+    private void entryChanged(@NonNull FirmwareStoreEntry entry) {
+        FirmwareIdentifier firmware = entry.getFirmwareInfo().getFirmware();
+        mRemovedEntries.remove(firmware);
+        mChangedEntries.add(entry);
+        indexOf(firmware.getDeviceModel()).invalidate();
+    }
+
+    /**
+     * Called after an entry is removed from {@link #mUpdates}.
+     * <p>
+     * Removes the entry from its device model index and marks it for removal from persistent storage.
+     *
+     * @param entry removed entry
+     */
+    private void entryRemoved(@NonNull FirmwareStoreEntry entry) {
+        FirmwareIdentifier firmware = entry.getFirmwareInfo().getFirmware();
+        mChangedEntries.remove(entry);
+        mRemovedEntries.add(firmware);
+        indexOf(firmware.getDeviceModel()).remove(entry);
+    }
+
     /**
      * Called when store data changes.
      * <p>
      * Persist store data and notifies all monitors.
      */
     private void storeChanged() {
-        mEngine.persistence().saveFirmwares(mUpdates.values());
+        mEngine.persistence().saveFirmwares(mChangedEntries, mRemovedEntries);
+        mChangedEntries.clear();
+        mRemovedEntries.clear();
         for (Monitor monitor : mMonitors) {
             monitor.onChange();
         }
@@ -457,6 +532,124 @@ public class FirmwareStoreCore implements FirmwareStore {
         return false;
     }
 
+    /**
+     * Indexes all entries that apply to a given device model by version, and caches update chains computed from
+     * those entries.
+     * <p>
+     * Cached update chains are dropped each time an entry of the model is added, modified or removed, and
+     * recomputed lazily upon next request.
+     */
+    private static final class ModelIndex {
+
+        /** Entries, by firmware version. */
+        @NonNull
+        private final NavigableMap<FirmwareVersion, FirmwareStoreEntry> mEntries;
+
+        /** Update chains, including remote entries, by version of the firmware to update. */
+        @NonNull
+        private final Map<FirmwareVersion, SortedSet<FirmwareStoreEntry>> mChains;
+
+        /** Update chains, including local entries only, by version of the firmware to update. */
+        @NonNull
+        private final Map<FirmwareVersion, SortedSet<FirmwareStoreEntry>> mLocalChains;
+
+        /**
+         * Constructor.
+         */
+        ModelIndex() {
+            mEntries = new TreeMap<>();
+            mChains = new HashMap<>();
+            mLocalChains = new HashMap<>();
+        }
+
+        /**
+         * Adds an entry to the index.
+         *
+         * @param entry entry to add
+         */
+        void add(@NonNull FirmwareStoreEntry entry) {
+            mEntries.put(entry.getFirmwareInfo().getFirmware().getVersion(), entry);
+            invalidate();
+        }
+
+        /**
+         * Removes an entry from the index.
+         *
+         * @param entry entry to remove
+         */
+        void remove(@NonNull FirmwareStoreEntry entry) {
+            mEntries.remove(entry.getFirmwareInfo().getFirmware().getVersion());
+            invalidate();
+        }
+
+        /**
+         * Drops all cached update chains.
+         */
+        void invalidate() {
+            mChains.clear();
+            mLocalChains.clear();
+        }
+
+        /**
+         * Retrieves the update chain for a firmware version, computing it if not cached yet.
+         *
+         * @param version   version of the firmware to update
+         * @param localOnly {@code true} to disregard firmwares that are only remotely available, {@code false}
+         *                  otherwise
+         *
+         * @return the update chain, as specified in {@link FirmwareStoreCore#getUpdateChain}
+         */
+        @NonNull
+        SortedSet<FirmwareStoreEntry> getUpdateChain(@NonNull FirmwareVersion version, boolean localOnly) {
+            Map<FirmwareVersion, SortedSet<FirmwareStoreEntry>> chains = localOnly ? mLocalChains : mChains;
+            SortedSet<FirmwareStoreEntry> chain = chains.get(version);
+            if (chain == null) {
+                SortedSet<FirmwareStoreEntry> entries = new TreeSet<>(ASCENDING_VERSION);
+                FirmwareStoreEntry entry = bestUpdateFrom(version, localOnly);
+                while (entry != null) {
+                    entries.add(entry);
+                    entry = bestUpdateFrom(entry.getFirmwareInfo().getFirmware().getVersion(), localOnly);
+                }
+                chain = Collections.unmodifiableSortedSet(entries);
+                chains.put(version, chain);
+            }
+            return chain;
+        }
+
+        /**
+         * Finds the most recent entry which is suitable for updating a given firmware version.
+         * <p>
+         * A suitable entry: <ul>
+         * <li>has a {@link FirmwareIdentifier#getVersion() version} strictly higher than {@code version},</li>
+         * <li>has a {@link FirmwareStoreEntry#getMaxApplicableVersion() max version} higher than or equal to
+         * {@code version},
+         * <li>has a {@link FirmwareStoreEntry#getMinApplicableVersion() min version} lower than or equal to
+         * {@code version},</li>
+         * <li>is available {@link FirmwareStoreEntry#getLocalUri() locally}, in case {@code localOnly} is
+         * {@code true}.</li>
+         * </ul>
+         *
+         * @param version   version of the firmware to update
+         * @param localOnly {@code true} to disregard firmwares that are only remotely available, {@code false}
+         *                  otherwise
+         *
+         * @return the most recent suitable entry, or {@code null} if none
+         */
+        @Nullable
+        private FirmwareStoreEntry bestUpdateFrom(@NonNull FirmwareVersion version, boolean localOnly) {
+            for (FirmwareStoreEntry entry : mEntries.tailMap(version, false).descendingMap().values()) {
+                FirmwareVersion minVersion = entry.getMinApplicableVersion();
+                FirmwareVersion maxVersion = entry.getMaxApplicableVersion();
+                if ((minVersion == null || minVersion.compareTo(version) <= 0)
+                    && (maxVersion == null || maxVersion.compareTo(version) >= 0)
+                    && (!localOnly || entry.getLocalUri() != null)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
     /**
      * Debug dump.
      *
@@ -67,7 +67,6 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -87,12 +86,27 @@ class Persistence {
     /** Key for accessing firmware shared preferences version. Value is int. */
     private static final String PREF_KEY_VERSION = "version";
 
-    /** Key for accessing firmware list. Value is a JSON list of firmwares. */
+    /** Version where firmwares and blacklist are stored each under their own key. */
+    private static final int VERSION_KEYED = 2;
+
+    /** Key for accessing legacy firmware list. Value is a JSON list of firmwares. Read for migration. */
     private static final String PREF_KEY_FIRMWARES = "firmwares";
 
-    /** Key for accessing firmware blacklist. Value is a JSON list of firmware versions. */
+    /** Key for accessing legacy firmware blacklist. Value is a JSON list of firmware versions. Read for migration. */
     private static final String PREF_KEY_BLACKLIST = "blacklist";
 
+    /**
+     * Prefix for keys accessing a firmware, followed by the firmware product and version separated by a slash. Value
+     * is a JSON firmware record.
+     */
+    private static final String PREF_KEY_PREFIX_FIRMWARE = "firmware/";
+
+    /**
+     * Prefix for keys accessing a blacklisted firmware, followed by the firmware product and version separated by a
+     * slash. Value is a JSON blacklist record.
+     */
+    private static final String PREF_KEY_PREFIX_BLACKLIST = "blacklist/";
+
     /** Key for accessing time of last successful query of update information on remote server. Value is long. */
     private static final String PREF_KEY_LAST_REMOTE_QUERY = "remote_query_time";
 
@@ -133,10 +147,47 @@ class Persistence {
         mFirmwaresDirectory = new File(ApplicationStorageProvider.getInstance().getInternalAppFileCache(), "firmwares");
         mPrefs = context.getSharedPreferences(PREF_FILE, Context.MODE_PRIVATE);
         int version = mPrefs.getInt(PREF_KEY_VERSION, 0);
-        if (version == 0) {
-            version = 1;
-            mPrefs.edit().putInt(PREF_KEY_VERSION, version).apply();
+        if (version < VERSION_KEYED) {
+            migrateToKeyed();
+        }
+    }
+
+    /**
+     * Migrates legacy firmware list and blacklist, which were stored as whole JSON lists, so that each firmware and
+     * blacklist entry is stored under its own key.
+     */
+    private void migrateToKeyed() {
+        SharedPreferences.Editor editor = mPrefs.edit();
+        try {
+            Collection<FirmwareRecord> firmwares = GSON.fromJson(
+                    mPrefs.getString(PREF_KEY_FIRMWARES, EMPTY_JSON_ARRAY), FIRMWARE_RECORD_LIST_TYPE);
+            for (FirmwareRecord record : firmwares) {
+                try {
+                    FirmwareStoreEntry entry = record.validate(false);
+                    editor.putString(PREF_KEY_PREFIX_FIRMWARE + key(entry.getFirmwareInfo().getFirmware()),
+                            GSON.toJson(new FirmwareRecord(entry)));
+                } catch (JsonParseException e) {
+                    ULog.w(TAG_FIRMWARE, "Dropping invalid legacy firmware record", e);
+                }
+            }
+            Collection<StoredBlackListEntry> blackList = GSON.fromJson(
+                    mPrefs.getString(PREF_KEY_BLACKLIST, EMPTY_JSON_ARRAY), BLACKLIST_STORED_TYPE);
+            for (StoredBlackListEntry entry : blackList) {
+                try {
+                    FirmwareIdentifier firmware = entry.validate();
+                    editor.putString(PREF_KEY_PREFIX_BLACKLIST + key(firmware),
+                            GSON.toJson(new StoredBlackListEntry(firmware)));
+                } catch (JsonParseException e) {
+                    ULog.w(TAG_FIRMWARE, "Dropping invalid legacy blacklist entry", e);
+                }
+            }
+        } catch (JsonParseException e) {
+            ULog.w(TAG_FIRMWARE, "Failed to migrate legacy firmware store", e);
         }
+        editor.remove(PREF_KEY_FIRMWARES)
+              .remove(PREF_KEY_BLACKLIST)
+              .putInt(PREF_KEY_VERSION, VERSION_KEYED)
+              .apply();
     }
 
     /**
@@ -161,21 +212,39 @@ class Persistence {
     }
 
     /**
-     * Persists firmware info.
+     * Persists changes to firmware info.
      * <p>
-     * The given collection of firmwares completely overrides currently persisted info. Preset firmware entries are not
+     * Only the given entries are written; other persisted entries are left untouched. Preset firmware entries are not
      * persisted.
      *
-     * @param firmwareEntries collection of firmware info entries to persist
+     * @param changedEntries firmware info entries that were added or modified
+     * @param removedEntries identifies firmware info entries that were removed
      */
-    void saveFirmwares(@NonNull Collection<FirmwareStoreEntry> firmwareEntries) {
-        List<FirmwareRecord> records = new ArrayList<>();
-        for (FirmwareStoreEntry entry : firmwareEntries) {
+    void saveFirmwares(@NonNull Collection<FirmwareStoreEntry> changedEntries,
+                       @NonNull Collection<FirmwareIdentifier> removedEntries) {
+        SharedPreferences.Editor editor = mPrefs.edit();
+        for (FirmwareIdentifier firmware : removedEntries) {
+            editor.remove(PREF_KEY_PREFIX_FIRMWARE + key(firmware));
+        }
+        for (FirmwareStoreEntry entry : changedEntries) {
             if (!entry.isPreset()) { // don't store presets
-                records.add(new FirmwareRecord(entry));
+                editor.putString(PREF_KEY_PREFIX_FIRMWARE + key(entry.getFirmwareInfo().getFirmware()),
+                        GSON.toJson(new FirmwareRecord(entry)));
             }
         }
-        mPrefs.edit().putString(PREF_KEY_FIRMWARES, GSON.toJson(records)).apply();
+        editor.apply();
+    }
+
+    /**
+     * Computes the key suffix identifying a firmware in persistent storage.
+     *
+     * @param firmware firmware to identify
+     *
+     * @return firmware storage key suffix
+     */
+    @NonNull
+    private static String key(@NonNull FirmwareIdentifier firmware) {
+        return String.format(Locale.US, "%04x", firmware.getDeviceModel().id()) + "/" + firmware.getVersion();
     }
 
     /**
@@ -228,22 +297,30 @@ class Persistence {
      */
     @NonNull
     private Collection<FirmwareStoreEntry> loadStoredFirmwareEntries() {
-        Collection<FirmwareRecord> records = GSON.fromJson(
-                mPrefs.getString(PREF_KEY_FIRMWARES, EMPTY_JSON_ARRAY), FIRMWARE_RECORD_LIST_TYPE);
         Collection<FirmwareStoreEntry> firmwares = new ArrayList<>();
+        SharedPreferences.Editor editor = null; // created if some record is invalid
 
-        boolean storeInvalid = false; // armed if some record is invalid
-
-        assert records != null; // fallback is an empty JSON list, so records is never null
-        for (FirmwareRecord record : records) {
+        for (Map.Entry<String, ?> prefEntry : mPrefs.getAll().entrySet()) {
+            String key = prefEntry.getKey();
+            if (!key.startsWith(PREF_KEY_PREFIX_FIRMWARE)) {
+                continue;
+            }
+            FirmwareRecord record = null;
             try {
+                record = GSON.fromJson((String) prefEntry.getValue(), FirmwareRecord.class);
+                if (record == null) {
+                    throw new JsonParseException("Empty firmware record");
+                }
                 firmwares.add(record.validate(false));
-            } catch (JsonParseException e) {
-                storeInvalid = true;
+            } catch (JsonParseException | ClassCastException e) {
                 // drop this record
-                ULog.w(TAG_FIRMWARE, "Invalid firmware record", e);
+                ULog.w(TAG_FIRMWARE, "Invalid firmware record [key: " + key + "]", e);
+                if (editor == null) {
+                    editor = mPrefs.edit();
+                }
+                editor.remove(key);
                 // try to delete any associated local firmware file
-                if (record.mLocalUri != null) {
+                if (record != null && record.mLocalUri != null) {
                     try {
                         File firmware = new File(URI.create(record.mLocalUri));
                         if (!firmware.delete() && firmware.exists() && ULog.w(TAG_FIRMWARE)) {
@@ -255,9 +332,8 @@ class Persistence {
             }
         }
 
-        if (storeInvalid) {
-            // save back a valid list in the store
-            saveFirmwares(firmwares);
+        if (editor != null) {
+            editor.apply();
         }
 
         return firmwares;
@@ -383,7 +459,7 @@ class Persistence {
             FirmwareInfoCore info = entry.getFirmwareInfo();
 
             FirmwareIdentifier firmware = info.getFirmware();
-            mProduct = String.format("%04x", firmware.getDeviceModel().id());
+            mProduct = String.format(Locale.US, "%04x", firmware.getDeviceModel().id());
             mVersion = firmware.getVersion().toString();
 
             URI localUri = entry.getLocalUri();
@@ -466,19 +542,19 @@ class Persistence {
     }
 
     /**
-     * Persists firmware blacklist.
+     * Persists new firmware blacklist entries.
      * <p>
-     * The given set of firmware versions completely overrides currently persisted blacklist. Preset firmware blacklist
-     * entries are not persisted.
+     * The given firmware versions are added to the currently persisted blacklist.
      *
-     * @param blackList set of blacklisted firmware versions to persist
+     * @param addedEntries firmware versions to add to the persisted blacklist
      */
-    void saveBlackList(@NonNull Set<FirmwareIdentifier> blackList) {
-        List<StoredBlackListEntry> records = new ArrayList<>();
-        for (FirmwareIdentifier entry : blackList) {
-            records.add(new StoredBlackListEntry(entry));
+    void saveBlackList(@NonNull Collection<FirmwareIdentifier> addedEntries) {
+        SharedPreferences.Editor editor = mPrefs.edit();
+        for (FirmwareIdentifier firmware : addedEntries) {
+            editor.putString(PREF_KEY_PREFIX_BLACKLIST + key(firmware),
+                    GSON.toJson(new StoredBlackListEntry(firmware)));
         }
-        mPrefs.edit().putString(PREF_KEY_BLACKLIST, GSON.toJson(records)).apply();
+        editor.apply();
     }
 
     /**
@@ -488,26 +564,32 @@ class Persistence {
      */
     @NonNull
     private Set<FirmwareIdentifier> loadStoredBlackListEntries() {
-        Collection<StoredBlackListEntry> entries = GSON.fromJson(
-                mPrefs.getString(PREF_KEY_BLACKLIST, EMPTY_JSON_ARRAY), BLACKLIST_STORED_TYPE);
         Set<FirmwareIdentifier> blackList = new HashSet<>();
+        SharedPreferences.Editor editor = null; // created if some entry is invalid
 
-        boolean storeInvalid = false; // armed if some entry is invalid
-
-        assert entries != null; // fallback is an empty JSON list, so entries is never null
-        for (StoredBlackListEntry entry : entries) {
+        for (Map.Entry<String, ?> prefEntry : mPrefs.getAll().entrySet()) {
+            String key = prefEntry.getKey();
+            if (!key.startsWith(PREF_KEY_PREFIX_BLACKLIST)) {
+                continue;
+            }
             try {
+                StoredBlackListEntry entry = GSON.fromJson((String) prefEntry.getValue(), StoredBlackListEntry.class);
+                if (entry == null) {
+                    throw new JsonParseException("Empty blacklist entry");
+                }
                 blackList.add(entry.validate());
-            } catch (JsonParseException e) {
-                storeInvalid = true;
+            } catch (JsonParseException | ClassCastException e) {
                 // drop this entry
-                ULog.w(TAG_FIRMWARE, "Invalid blacklist entry", e);
+                ULog.w(TAG_FIRMWARE, "Invalid blacklist entry [key: " + key + "]", e);
+                if (editor == null) {
+                    editor = mPrefs.edit();
+                }
+                editor.remove(key);
             }
         }
 
-        if (storeInvalid) {
-            // save back a valid list in the store
-            saveBlackList(blackList);
+        if (editor != null) {
+            editor.apply();
         }
 
         return blackList;
@@ -570,7 +652,7 @@ class Persistence {
          * @param firmware firmware entry to build this record from
          */
         StoredBlackListEntry(@NonNull FirmwareIdentifier firmware) {
-            mProduct = String.format("%04x", firmware.getDeviceModel().id());
+            mProduct = String.format(Locale.US, "%04x", firmware.getDeviceModel().id());
             mVersion = firmware.getVersion().toString();
         }
 
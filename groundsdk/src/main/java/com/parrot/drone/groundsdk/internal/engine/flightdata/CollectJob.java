@@ -38,6 +38,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.groundsdk.internal.io.Files;
 import com.parrot.drone.groundsdk.internal.tasks.Job;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
@@ -48,7 +49,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 import static com.parrot.drone.groundsdk.internal.Logging.TAG_FLIGHTDATA;
 
@@ -56,7 +59,8 @@ import static com.parrot.drone.groundsdk.internal.Logging.TAG_FLIGHTDATA;
  * Background job that browse the flight data repository on the user device's local file system to compute the list
  * of downloaded files.
  * <p>
- * This job also deletes any not completely downloaded flight data files from the file system.
+ * This job also loads the summaries of collected flight data files, and deletes any not completely downloaded flight
+ * data files as well as any summary whose flight data file is gone from the file system.
  */
 final class CollectJob extends Job<Collection<File>> {
 
@@ -68,6 +72,10 @@ final class CollectJob extends Job<Collection<File>> {
     @IntRange(from = 0)
     private final long mSpaceQuota;
 
+    /** Summaries of collected flight data files. Filled in background, then reported to the engine on completion. */
+    @NonNull
+    private final Collection<FlightDataSummaryCore> mSummaries;
+
     /**
      * Constructor.
      *
@@ -76,6 +84,7 @@ final class CollectJob extends Job<Collection<File>> {
     CollectJob(@NonNull FlightDataEngine engine) {
         mEngine = engine;
         mSpaceQuota = GroundSdkConfig.get(mEngine.getContext()).getFlightDataQuota();
+        mSummaries = new ArrayList<>();
     }
 
     @Override
@@ -87,14 +96,18 @@ final class CollectJob extends Job<Collection<File>> {
 
         LinkedList<File> collected = new LinkedList<>();
         Collection<File> toPrune = new ArrayList<>();
+        Collection<File> summaryFiles = new ArrayList<>();
         long totalSize = 0;
 
         for (File dir : engineDir.listFiles(file -> !file.equals(mEngine.getWorkDirectory()))) {
             toPrune.add(dir); // removed from prune list if we find collectible flight data inside
             File[] files = dir.listFiles();
             if (files != null) for (File file : files) {
-                if (file.isFile()
-                    && !file.getName().endsWith(FlightDataStorage.TMP_FILE_EXT)) {
+                if (file.isFile() && file.getName().endsWith(FlightDataSummaryCore.FILE_EXT)) {
+                    // kept only if the flight data file it describes is collected
+                    summaryFiles.add(file);
+                } else if (file.isFile()
+                           && !file.getName().endsWith(FlightDataStorage.TMP_FILE_EXT)) {
                     // keep dir away from pruning
                     toPrune.remove(dir);
                     // collect flight data file for upload
@@ -114,6 +127,23 @@ final class CollectJob extends Job<Collection<File>> {
             totalSize -= prunable.length();
         }
 
+        // load summaries of collected files, prune others
+        Set<File> collectedSet = new HashSet<>(collected);
+        for (File summaryFile : summaryFiles) {
+            String path = summaryFile.getPath();
+            File flightDataFile = new File(path.substring(0, path.length() - FlightDataSummaryCore.FILE_EXT.length()));
+            if (collectedSet.contains(flightDataFile)) {
+                try {
+                    mSummaries.add(FlightDataSummaryCore.load(flightDataFile));
+                } catch (IOException e) {
+                    ULog.w(TAG_FLIGHTDATA, "Could not load flight summary: " + summaryFile, e);
+                    toPrune.add(summaryFile);
+                }
+            } else {
+                toPrune.add(summaryFile);
+            }
+        }
+
         // prune files
         for (File prunable : toPrune) {
             if (!Files.deleteDirectoryTree(prunable) && ULog.w(TAG_FLIGHTDATA)) {
@@ -129,6 +159,7 @@ final class CollectJob extends Job<Collection<File>> {
         if (error != null) {
             ULog.w(TAG_FLIGHTDATA, "Error collecting downloaded flight data files", error);
         } else if (reportFiles != null && !reportFiles.isEmpty()) {
+            mEngine.addSummaries(mSummaries);
             mEngine.addLocalFiles(reportFiles);
         }
     }
@@ -148,5 +179,6 @@ final class CollectJob extends Job<Collection<File>> {
     CollectJob(@NonNull FlightDataEngine engine, @IntRange(from = 0) long spaceQuota) {
         mEngine = engine;
         mSpaceQuota = spaceQuota;
+        mSummaries = new ArrayList<>();
     }
 }
@@ -39,15 +39,21 @@ import androidx.annotation.VisibleForTesting;
 import com.parrot.drone.groundsdk.internal.ApplicationStorageProvider;
 import com.parrot.drone.groundsdk.internal.engine.EngineBase;
 import com.parrot.drone.groundsdk.internal.facility.FlightDataManagerCore;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
+import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import static com.parrot.drone.groundsdk.internal.Logging.TAG_FLIGHTDATA;
+
 /**
  * Monitors flight data repository on the user device's local file system and allows the application to list and delete
  * them.
@@ -82,6 +88,10 @@ public class FlightDataEngine extends EngineBase {
     @NonNull
     private final Set<File> mLocalFiles;
 
+    /** Summaries of locally downloaded flight data files, by flight data file. */
+    @NonNull
+    private final Map<File, FlightDataSummaryCore> mSummaries;
+
     /** Currently running local file collection task, {@code null} if not running. */
     @Nullable
     private Task mCollectTask;
@@ -95,6 +105,7 @@ public class FlightDataEngine extends EngineBase {
     public FlightDataEngine(@NonNull Controller controller) {
         super(controller);
         mLocalFiles = new HashSet<>();
+        mSummaries = new HashMap<>();
         mManager = new FlightDataManagerCore(getFacilityPublisher(), mBackend);
         mEngineDir = new File(ApplicationStorageProvider.getInstance().getInternalAppFileCache(), "flightdata");
         publishUtility(FlightDataStorage.class, new FlightDataStorageCore(this));
@@ -115,12 +126,17 @@ public class FlightDataEngine extends EngineBase {
         }
         mWorkDir = null;
         mLocalFiles.clear();
+        mSummaries.clear();
     }
 
     /** Backend of FlightDataManagerCore implementation. */
     @SuppressWarnings("FieldCanBeLocal")
     private final FlightDataManagerCore.Backend mBackend = flightDataFile -> {
         if (flightDataFile.isFile() && flightDataFile.delete()) {
+            File summaryFile = FlightDataSummaryCore.fileOf(flightDataFile);
+            if (summaryFile.exists() && !summaryFile.delete() && ULog.w(TAG_FLIGHTDATA)) {
+                ULog.w(TAG_FLIGHTDATA, "Could not delete flight summary file: " + summaryFile);
+            }
             removeLocalFile(flightDataFile);
             return true;
         }
@@ -157,7 +173,21 @@ public class FlightDataEngine extends EngineBase {
      */
     void addLocalFiles(@NonNull Collection<File> files) {
         if (mLocalFiles.addAll(files)) {
-            mManager.updateFiles(mLocalFiles).notifyUpdated();
+            mManager.updateFiles(mLocalFiles).updateSummaries(mSummaries.values()).notifyUpdated();
+        }
+    }
+
+    /**
+     * Adds summaries of locally downloaded flight data files.
+     * <p>
+     * Summaries are published along with the flight data file they describe, when it is
+     * {@link #addLocalFiles added}; so this method should be called before that.
+     *
+     * @param summaries summaries of downloaded flight data files
+     */
+    void addSummaries(@NonNull Collection<FlightDataSummaryCore> summaries) {
+        for (FlightDataSummaryCore summary : summaries) {
+            mSummaries.put(summary.getFile(), summary);
         }
     }
 
@@ -167,8 +197,9 @@ public class FlightDataEngine extends EngineBase {
      * @param file downloaded flight data file to remove
      */
     private void removeLocalFile(@NonNull File file) {
+        mSummaries.remove(file);
         if (mLocalFiles.remove(file)) {
-            mManager.updateFiles(mLocalFiles).notifyUpdated();
+            mManager.updateFiles(mLocalFiles).updateSummaries(mSummaries.values()).notifyUpdated();
         }
     }
 
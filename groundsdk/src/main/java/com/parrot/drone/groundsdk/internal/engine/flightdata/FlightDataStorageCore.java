@@ -33,7 +33,9 @@
 package com.parrot.drone.groundsdk.internal.engine.flightdata;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 import com.parrot.drone.groundsdk.internal.utility.FlightDataStorage;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
@@ -67,8 +69,12 @@ final class FlightDataStorageCore implements FlightDataStorage {
     }
 
     @Override
-    public void notifyFlightDataFileReady(@NonNull File file) {
-        if (file.isFile() && !file.getName().endsWith(TMP_FILE_EXT) && file.getParentFile().equals(getWorkDir())) {
+    public void notifyFlightDataFileReady(@NonNull File file, @Nullable FlightDataSummaryCore summary) {
+        if (file.isFile() && !file.getName().endsWith(TMP_FILE_EXT)
+            && !file.getName().endsWith(FlightDataSummaryCore.FILE_EXT) && file.getParentFile().equals(getWorkDir())) {
+            if (summary != null) {
+                mEngine.addSummaries(Collections.singleton(summary));
+            }
             mEngine.addLocalFiles(Collections.singleton(file));
         } else {
             if (ULog.w(TAG_FLIGHTDATA)) {
@@ -77,6 +83,10 @@ final class FlightDataStorageCore implements FlightDataStorage {
             if (file.exists() && !file.delete() && ULog.w(TAG_FLIGHTDATA)) {
                 ULog.w(TAG_FLIGHTDATA, "Could not delete invalid flight data file:" + file);
             }
+            File summaryFile = FlightDataSummaryCore.fileOf(file);
+            if (summaryFile.exists() && !summaryFile.delete() && ULog.w(TAG_FLIGHTDATA)) {
+                ULog.w(TAG_FLIGHTDATA, "Could not delete invalid flight summary file:" + summaryFile);
+            }
         }
     }
 }
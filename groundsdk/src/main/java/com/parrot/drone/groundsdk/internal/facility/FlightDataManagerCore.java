@@ -33,6 +33,7 @@
 package com.parrot.drone.groundsdk.internal.facility;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.parrot.drone.groundsdk.facility.Facility;
 import com.parrot.drone.groundsdk.facility.FlightDataManager;
@@ -41,9 +42,12 @@ import com.parrot.drone.groundsdk.internal.component.ComponentStore;
 import com.parrot.drone.groundsdk.internal.component.SingletonComponentCore;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -55,6 +59,12 @@ public final class FlightDataManagerCore extends SingletonComponentCore implemen
     private static final ComponentDescriptor<Facility, FlightDataManager> DESC =
             ComponentDescriptor.of(FlightDataManager.class);
 
+    /** Orders summaries by descending flight date, then by file. */
+    private static final Comparator<Summary> DESCENDING_DATE = (lhs, rhs) -> {
+        int result = Long.compare(rhs.getDate(), lhs.getDate());
+        return result == 0 ? lhs.getFile().compareTo(rhs.getFile()) : result;
+    };
+
     /** Engine-specific backend for the FlightDataManager. */
     public interface Backend {
 
@@ -77,6 +87,10 @@ public final class FlightDataManagerCore extends SingletonComponentCore implemen
     @NonNull
     private final Set<File> mFiles;
 
+    /** Summaries of downloaded flights, sorted by descending flight date. */
+    @NonNull
+    private List<Summary> mSummaries;
+
     /**
      * Constructor.
      *
@@ -87,6 +101,7 @@ public final class FlightDataManagerCore extends SingletonComponentCore implemen
         super(DESC, facilityStore);
         mBackend = backend;
         mFiles = new HashSet<>();
+        mSummaries = Collections.emptyList();
     }
 
     @NonNull
@@ -100,6 +115,23 @@ public final class FlightDataManagerCore extends SingletonComponentCore implemen
         return mFiles.contains(file) && mBackend.delete(file);
     }
 
+    @NonNull
+    @Override
+    public List<Summary> summaries(@Nullable String droneUid, long from, long to, long minDuration) {
+        List<Summary> summaries = new ArrayList<>();
+        for (Summary summary : mSummaries) {
+            long date = summary.getDate();
+            if (date < from) {
+                break; // sorted by descending date, no more match
+            }
+            if (date <= to && summary.getDuration() >= minDuration
+                && (droneUid == null || droneUid.equals(summary.getDroneUid()))) {
+                summaries.add(summary);
+            }
+        }
+        return Collections.unmodifiableList(summaries);
+    }
+
     /**
      * Updates the list of downloaded flight data files.
      *
@@ -111,4 +143,29 @@ public final class FlightDataManagerCore extends SingletonComponentCore implemen
         mChanged |= mFiles.retainAll(files) | mFiles.addAll(files);
         return this;
     }
+
+    /**
+     * Updates the summaries of downloaded flights.
+     * <p>
+     * Only summaries of {@link #updateFiles listed} flight data files are retained, so this method should be called
+     * after the flight data files list is updated.
+     *
+     * @param summaries summaries of downloaded flights
+     *
+     * @return {@code this}, to allow call chaining
+     */
+    public FlightDataManagerCore updateSummaries(@NonNull Collection<? extends Summary> summaries) {
+        List<Summary> sorted = new ArrayList<>();
+        for (Summary summary : summaries) {
+            if (mFiles.contains(summary.getFile())) {
+                sorted.add(summary);
+            }
+        }
+        Collections.sort(sorted, DESCENDING_DATE);
+        if (!sorted.equals(mSummaries)) {
+            mSummaries = sorted;
+            mChanged = true;
+        }
+        return this;
+    }
 }
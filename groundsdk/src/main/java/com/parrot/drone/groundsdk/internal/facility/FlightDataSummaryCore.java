@@ -0,0 +1,256 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.internal.facility;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import com.parrot.drone.groundsdk.facility.FlightDataManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation class for {@code FlightDataManager.Summary}.
+ * <p>
+ * A summary is persisted as a small JSON record, in a file located next to the flight data file it describes, whose
+ * name is the flight data file name with a {@link #FILE_EXT} suffix.
+ * <p>
+ * Private default constructor must be kept as it is used by GSON parser.
+ */
+public final class FlightDataSummaryCore implements FlightDataManager.Summary {
+
+    /** Extension of files where flight summaries are persisted. */
+    public static final String FILE_EXT = ".summary";
+
+    /** GSON instance used to persist summaries. */
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Retrieves the file where the summary of the given flight data file is persisted.
+     *
+     * @param flightDataFile flight data file
+     *
+     * @return corresponding summary file
+     */
+    @NonNull
+    public static File fileOf(@NonNull File flightDataFile) {
+        return new File(flightDataFile.getPath() + FILE_EXT);
+    }
+
+    /**
+     * Loads the persisted summary of a flight data file.
+     * <p>
+     * This method performs I/O and should be called from a background thread.
+     *
+     * @param flightDataFile flight data file whose summary must be loaded
+     *
+     * @return the loaded summary, bound to {@code flightDataFile}
+     *
+     * @throws IOException in case the summary could not be read or is malformed
+     */
+    @NonNull
+    public static FlightDataSummaryCore load(@NonNull File flightDataFile) throws IOException {
+        FlightDataSummaryCore summary;
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(fileOf(flightDataFile)), StandardCharsets.UTF_8))) {
+            summary = GSON.fromJson(reader, FlightDataSummaryCore.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Malformed flight summary: " + flightDataFile, e);
+        }
+        if (summary == null) {
+            throw new IOException("Empty flight summary: " + flightDataFile);
+        }
+        summary.mFile = flightDataFile;
+        return summary;
+    }
+
+    /** Flight data file this summary describes. Bound when the summary is saved or loaded. */
+    @Nullable
+    private transient File mFile;
+
+    /** Uid of the drone that recorded the flight. */
+    @SerializedName("drone_uid")
+    @Nullable
+    private String mDroneUid;
+
+    /** Flight date, in milliseconds since epoch, {@code 0} if unknown. */
+    @SerializedName("date")
+    private long mDate;
+
+    /** Recording duration, in milliseconds. */
+    @SerializedName("duration")
+    private long mDuration;
+
+    /** Flying time, in milliseconds. */
+    @SerializedName("flying_time")
+    private long mFlyingTime;
+
+    /** Alert count. */
+    @SerializedName("alert_count")
+    private int mAlertCount;
+
+    /** Drone GPS availability. */
+    @SerializedName("gps_available")
+    private boolean mGpsAvailable;
+
+    /** {@code true} when flight location is known. */
+    @SerializedName("location_known")
+    private boolean mLocationKnown;
+
+    /** Flight location latitude. */
+    @SerializedName("latitude")
+    private double mLatitude;
+
+    /** Flight location longitude. */
+    @SerializedName("longitude")
+    private double mLongitude;
+
+    /**
+     * Constructor.
+     *
+     * @param droneUid      uid of the drone that recorded the flight, {@code null} if unknown
+     * @param date          flight date, in milliseconds since epoch, {@code 0} if unknown
+     * @param duration      recording duration, in milliseconds
+     * @param flyingTime    flying time, in milliseconds
+     * @param alertCount    alert count
+     * @param gpsAvailable  drone GPS availability
+     * @param locationKnown {@code true} if flight location is known, otherwise {@code false}
+     * @param latitude      flight location latitude
+     * @param longitude     flight location longitude
+     */
+    public FlightDataSummaryCore(@Nullable String droneUid, long date, @IntRange(from = 0) long duration,
+                                 @IntRange(from = 0) long flyingTime, @IntRange(from = 0) int alertCount,
+                                 boolean gpsAvailable, boolean locationKnown, double latitude, double longitude) {
+        mDroneUid = droneUid;
+        mDate = date;
+        mDuration = duration;
+        mFlyingTime = flyingTime;
+        mAlertCount = alertCount;
+        mGpsAvailable = gpsAvailable;
+        mLocationKnown = locationKnown;
+        mLatitude = latitude;
+        mLongitude = longitude;
+    }
+
+    /**
+     * Private, default constructor used by GSON deserializer.
+     */
+    private FlightDataSummaryCore() {
+    }
+
+    /**
+     * Persists this summary next to the given flight data file and binds it to that file.
+     * <p>
+     * This method performs I/O and should be called from a background thread.
+     *
+     * @param flightDataFile flight data file this summary describes
+     *
+     * @throws IOException in case the summary could not be written
+     */
+    public void save(@NonNull File flightDataFile) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(fileOf(flightDataFile)), StandardCharsets.UTF_8))) {
+            GSON.toJson(this, writer);
+        }
+        mFile = flightDataFile;
+    }
+
+    @NonNull
+    @Override
+    public File getFile() {
+        if (mFile == null) {
+            throw new IllegalStateException("Summary not bound to any flight data file");
+        }
+        return mFile;
+    }
+
+    @Nullable
+    @Override
+    public String getDroneUid() {
+        return mDroneUid;
+    }
+
+    @Override
+    public long getDate() {
+        return mDate;
+    }
+
+    @Override
+    public long getDuration() {
+        return mDuration;
+    }
+
+    @Override
+    public long getFlyingTime() {
+        return mFlyingTime;
+    }
+
+    @Override
+    public int getAlertCount() {
+        return mAlertCount;
+    }
+
+    @Override
+    public boolean isGpsAvailable() {
+        return mGpsAvailable;
+    }
+
+    @Override
+    public boolean isLocationKnown() {
+        return mLocationKnown;
+    }
+
+    @Override
+    public double getLatitude() {
+        return mLatitude;
+    }
+
+    @Override
+    public double getLongitude() {
+        return mLongitude;
+    }
+}
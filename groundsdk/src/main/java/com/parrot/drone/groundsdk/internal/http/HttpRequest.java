@@ -122,4 +122,10 @@ public interface HttpRequest extends Cancelable {
      */
     interface ProgressStatusCallback extends StatusCallback, ProgressCallback {
     }
+
+    /**
+     * Allows to be notified regularly of request progress and of request completion with an optional result.
+     */
+    interface ProgressResultCallback<T> extends ResultCallback<T>, ProgressCallback {
+    }
 }
@@ -36,18 +36,31 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.parrot.drone.groundsdk.device.DeviceModel;
 import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.io.Files;
+import com.parrot.drone.groundsdk.internal.io.IoStreams;
+import com.parrot.drone.groundsdk.internal.io.Md5;
 import com.parrot.drone.groundsdk.internal.tasks.Executor;
 import com.parrot.drone.groundsdk.internal.tasks.Task;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import okhttp3.ResponseBody;
@@ -57,6 +70,7 @@ import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Query;
 import retrofit2.http.Streaming;
 import retrofit2.http.Url;
@@ -77,6 +91,24 @@ public class HttpUpdateClient extends HttpClient {
      */
     private static final int CHUNK_SIZE = 8192; // we use the same size as Okio segments, for consistency
 
+    /** Extension appended to the destination file name to form the partial download file name. */
+    private static final String PARTIAL_EXT = ".part";
+
+    /**
+     * Extension appended to the destination file name to form the name of the file where the validator of the
+     * remote file that the partial download comes from is stored.
+     */
+    private static final String VALIDATOR_EXT = ".part.validator";
+
+    /** Unit prefix of the content range header sent in response to a range request. */
+    private static final String RANGE_UNIT = "bytes ";
+
+    /** HTTP status code sent in response to a successful range request. */
+    private static final int HTTP_PARTIAL_CONTENT = 206;
+
+    /** HTTP status code sent in response to a range request that cannot be satisfied. */
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
     /** Implementation of update REST API. */
     @NonNull
     private final Service mService;
@@ -93,6 +125,17 @@ public class HttpUpdateClient extends HttpClient {
                 Service.class);
     }
 
+    /**
+     * Constructor for tests.
+     *
+     * @param session HTTP session
+     */
+    @VisibleForTesting(otherwise = VisibleForTesting.NONE)
+    HttpUpdateClient(@NonNull HttpSession session) {
+        mService = session.create(new Retrofit.Builder().addConverterFactory(GsonConverterFactory.create()),
+                Service.class);
+    }
+
     /**
      * Fetches remote available and blacklisted firmwares info.
      *
@@ -139,61 +182,117 @@ public class HttpUpdateClient extends HttpClient {
 
     /**
      * Downloads a remote firmware update file.
+     * <p>
+     * Data is first downloaded to a partial file, next to {@code dest}, which is moved to {@code dest} once the
+     * download completes and is verified. In case the download fails or is canceled, the partial file is kept along
+     * with the validator (entity tag or last modification date) of the remote file, so that a subsequent download of
+     * the same file to the same destination resumes from where it stopped, using a conditional HTTP range request.
+     * Servers that do not support range requests, or whose remote file changed meanwhile, will send the whole file
+     * again, which is then downloaded from scratch. The download also restarts from scratch in case the server answers
+     * with a range that does not start where the partial file ends.
+     * <p>
+     * In case an MD5 checksum is provided, the checksum is computed on the fly while data is received, and the
+     * download fails if it does not match.
      *
      * @param url      URL of the remote firmware update file to download
      * @param dest     destination file where to store the firmware file
+     * @param md5      expected MD5 checksum of the firmware file, as an hexadecimal string, {@code null} if unknown
      * @param callback callback notified of request progress and status
      *
      * @return an HTTP request, that can be canceled
      */
     @NonNull
-    public HttpRequest download(@NonNull String url, @NonNull File dest,
+    public HttpRequest download(@NonNull String url, @NonNull File dest, @Nullable String md5,
                                 @NonNull HttpRequest.ProgressStatusCallback callback) {
-        Call<ResponseBody> downloadCall = mService.download(url);
+        AtomicReference<Call<ResponseBody>> downloadCall = new AtomicReference<>();
+        AtomicBoolean canceled = new AtomicBoolean();
         Task<Void> downloadTask = Executor.runInBackground((Callable<Void>) () -> {
+            File partial = new File(dest.getPath() + PARTIAL_EXT);
+            File validatorFile = new File(dest.getPath() + VALIDATOR_EXT);
+            String validator = readValidator(validatorFile);
+            // without a validator, there is no way to tell whether the partial file is still up to date
+            long offset = validator == null ? 0 : partial.length(); // 0 if the file does not exist
 
-            Response<ResponseBody> response = downloadCall.execute();
-            if (downloadCall.isCanceled()) {
-                // retrofit call.execute silently eats InterruptedException, so we rely on the call canceled flag
-                // to restore the interruption status after the call
-                throw new InterruptedException("Canceled retrofit call");
+            Response<ResponseBody> response = execute(downloadCall, canceled, url, offset, validator);
+            if (response.code() == HTTP_PARTIAL_CONTENT && parseRangeStart(response) != offset) {
+                // server sent some other range than the requested one, restart from scratch
+                if (ULog.w(TAG_HTTP)) {
+                    ULog.w(TAG_HTTP, "Unexpected content range [url: " + url + ", offset: " + offset
+                                     + ", range: " + response.headers().get("Content-Range") + "]");
+                }
+                ResponseBody body = response.body();
+                if (body != null) {
+                    body.close();
+                }
+                offset = 0;
+                response = execute(downloadCall, canceled, url, offset, null);
             }
 
             ResponseBody body = response.body();
             if (!response.isSuccessful()) {
+                if (response.code() == HTTP_RANGE_NOT_SATISFIABLE) {
+                    // partial file is unusable, restart from scratch next time
+                    deletePartialFile(partial);
+                }
                 throw new HttpException(response.message(), response.code());
             }
 
             assert body != null;
-            body = ProgressCaptor.captureOf(body,
-                    percent -> Executor.postOnMainThread(() -> callback.onRequestProgress(percent)));
+            // server may ignore the range request, or its condition, and send the whole file
+            long start = response.code() == HTTP_PARTIAL_CONTENT ? offset : 0;
+            long expected = start + body.contentLength();
+            body = ProgressCaptor.captureOf(body, percent -> {
+                int progress = Math.round((start + percent * (expected - start) / 100f) * 100f / expected);
+                Executor.postOnMainThread(() -> callback.onRequestProgress(progress));
+            });
             try {
-                Files.writeFile(body.byteStream(), dest, CHUNK_SIZE);
-                long received = dest.length();
-                long expected = body.contentLength();
+                if (start == 0) {
+                    // remember which version of the remote file the partial file will contain
+                    deletePartialFile(partial);
+                    writeValidator(validatorFile, validatorOf(response));
+                }
+                MessageDigest digest = md5 == null ? null : Md5.newDigest();
+                if (digest != null && start > 0) {
+                    // account for already downloaded data
+                    try (InputStream src = new FileInputStream(partial)) {
+                        Md5.update(digest, src);
+                    }
+                }
+                Files.makeDirectories(partial.getParentFile());
+                try (InputStream src = digest == null ? body.byteStream()
+                        : new DigestInputStream(body.byteStream(), digest);
+                     OutputStream dst = new FileOutputStream(partial, start > 0)) {
+                    IoStreams.transfer(src, dst, CHUNK_SIZE);
+                }
+                long received = partial.length();
                 if (received != expected) {
                     throw new IOException("Received content mismatch [expected: " + expected
                                           + ", received: " + received + "]");
                 }
-                return null;
-            } catch (IOException | InterruptedException e) {
-                // ensure we cleanup the file before getting out of the background task
-                // TODO support resuming previous download instead
-                if (dest.exists() && !dest.delete() && ULog.w(TAG_HTTP)) {
-                    ULog.w(TAG_HTTP, "Could not clean up partially downloaded file: " + dest);
+                if (digest != null) {
+                    try {
+                        Md5.verify(digest, md5);
+                    } catch (IOException e) {
+                        deletePartialFile(partial);
+                        throw e;
+                    }
                 }
-                throw e;
+                if ((dest.exists() && !dest.delete()) || !partial.renameTo(dest)) {
+                    throw new IOException("Could not move downloaded file to destination: " + dest);
+                }
+                deleteFile(validatorFile);
+                return null;
             } finally {
                 body.close();
             }
-        }).whenComplete((result, error, canceled) -> {
+        }).whenComplete((result, error, wasCanceled) -> {
             if (error != null) {
                 if (ULog.e(TAG_HTTP)) {
                     ULog.e(TAG_HTTP, "Download request failed [url:" + url + ", dest: " + dest + "]", error);
                 }
                 callback.onRequestComplete(HttpRequest.Status.FAILED, error instanceof HttpException ?
                         ((HttpException) error).getCode() : HttpRequest.STATUS_CODE_UNKNOWN);
-            } else if (canceled) {
+            } else if (wasCanceled) {
                 callback.onRequestComplete(HttpRequest.Status.CANCELED, HttpRequest.STATUS_CODE_UNKNOWN);
             } else {
                 callback.onRequestComplete(HttpRequest.Status.SUCCESS, 200);
@@ -201,11 +300,153 @@ public class HttpUpdateClient extends HttpClient {
         });
 
         return bookRequest(() -> {
-            downloadCall.cancel();
+            canceled.set(true);
+            Call<ResponseBody> call = downloadCall.get();
+            if (call != null) {
+                call.cancel();
+            }
             downloadTask.cancel();
         });
     }
 
+    /**
+     * Executes a firmware download call.
+     * <p>
+     * Must be called from a background thread.
+     *
+     * @param callRef   receives the executed call, so that it can be canceled
+     * @param canceled  tells whether the download request has been canceled
+     * @param url       URL of the remote firmware update file to download
+     * @param offset    offset from which to download the file, {@code 0} to download the whole file
+     * @param validator validator of the remote file that the partial file has been downloaded from, only used when
+     *                  {@code offset} is not {@code 0}
+     *
+     * @return the call response
+     *
+     * @throws IOException          in case the call failed
+     * @throws InterruptedException in case the download request was canceled
+     */
+    @NonNull
+    private Response<ResponseBody> execute(@NonNull AtomicReference<Call<ResponseBody>> callRef,
+                                           @NonNull AtomicBoolean canceled, @NonNull String url, long offset,
+                                           @Nullable String validator) throws IOException, InterruptedException {
+        Call<ResponseBody> call = offset > 0 ? mService.download(url, "bytes=" + offset + "-", validator)
+                : mService.download(url, null, null);
+        callRef.set(call);
+        if (canceled.get()) {
+            throw new InterruptedException("Canceled download request");
+        }
+        Response<ResponseBody> response = call.execute();
+        if (call.isCanceled()) {
+            // retrofit call.execute silently eats InterruptedException, so we rely on the call canceled flag
+            // to restore the interruption status after the call
+            throw new InterruptedException("Canceled retrofit call");
+        }
+        return response;
+    }
+
+    /**
+     * Parses the first byte position of the content range of a partial content response.
+     *
+     * @param response response to parse the content range of
+     *
+     * @return first byte position of the content range, {@code -1} if it is missing or could not be parsed
+     */
+    private static long parseRangeStart(@NonNull Response<?> response) {
+        String range = response.headers().get("Content-Range");
+        if (range != null && range.startsWith(RANGE_UNIT)) {
+            int end = range.indexOf('-', RANGE_UNIT.length());
+            if (end != -1) {
+                try {
+                    return Long.parseLong(range.substring(RANGE_UNIT.length(), end).trim());
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the validator of the remote file sent in a response.
+     * <p>
+     * Strong entity tags are preferred; weak ones cannot be used in range requests, in which case the last
+     * modification date is used instead.
+     *
+     * @param response response to retrieve the validator of
+     *
+     * @return remote file validator, {@code null} if the server did not provide any usable one
+     */
+    @Nullable
+    private static String validatorOf(@NonNull Response<?> response) {
+        String etag = response.headers().get("ETag");
+        return etag != null && !etag.startsWith("W/") ? etag : response.headers().get("Last-Modified");
+    }
+
+    /**
+     * Reads the remote file validator stored along a partial file.
+     *
+     * @param file file where the validator is stored
+     *
+     * @return the stored validator, {@code null} if none
+     */
+    @Nullable
+    private static String readValidator(@NonNull File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream src = new FileInputStream(file)) {
+            ByteArrayOutputStream dst = new ByteArrayOutputStream();
+            IoStreams.transfer(src, dst);
+            String validator = new String(dst.toByteArray(), StandardCharsets.UTF_8).trim();
+            return validator.isEmpty() ? null : validator;
+        } catch (IOException e) {
+            if (ULog.w(TAG_HTTP)) {
+                ULog.w(TAG_HTTP, "Could not read partial download validator: " + file, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the remote file validator along a partial file.
+     *
+     * @param file      file where to store the validator
+     * @param validator validator to store, {@code null} to only clear any previously stored one
+     *
+     * @throws IOException in case the validator could not be stored
+     */
+    private static void writeValidator(@NonNull File file, @Nullable String validator) throws IOException {
+        deleteFile(file);
+        if (validator != null) {
+            Files.makeDirectories(file.getParentFile());
+            try (OutputStream dst = new FileOutputStream(file)) {
+                dst.write(validator.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Deletes a partially downloaded file, along with its stored validator.
+     *
+     * @param partial partial file to delete
+     */
+    private static void deletePartialFile(@NonNull File partial) {
+        deleteFile(partial);
+        String path = partial.getPath();
+        deleteFile(new File(path.substring(0, path.length() - PARTIAL_EXT.length()) + VALIDATOR_EXT));
+    }
+
+    /**
+     * Deletes a download related file, if it exists.
+     *
+     * @param file file to delete
+     */
+    private static void deleteFile(@NonNull File file) {
+        if (file.exists() && !file.delete() && ULog.w(TAG_HTTP)) {
+            ULog.w(TAG_HTTP, "Could not clean up download file: " + file);
+        }
+    }
+
     /** REST API. */
     private interface Service {
 
@@ -227,13 +468,17 @@ public class HttpUpdateClient extends HttpClient {
         /**
          * Downloads a remote firmware update file.
          *
-         * @param url url of the remote firmware file to download
+         * @param url     url of the remote firmware file to download
+         * @param range   byte range to download, {@code null} to download the whole file
+         * @param ifRange validator of the remote file that the range applies to, {@code null} if unknown; when the
+         *                remote file does not match it anymore, the whole file is sent instead of the range
          *
          * @return a retrofit call for sending the request out
          */
         @GET
         @Streaming
         @NonNull
-        Call<ResponseBody> download(@NonNull @Url String url);
+        Call<ResponseBody> download(@NonNull @Url String url, @Nullable @Header("Range") String range,
+                                    @Nullable @Header("If-Range") String ifRange);
     }
 }
\ No newline at end of file
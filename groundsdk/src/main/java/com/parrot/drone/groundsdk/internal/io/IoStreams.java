@@ -57,13 +57,15 @@ public final class IoStreams {
      * @param src input stream to read data from
      * @param dst output stream to write data to
      *
+     * @return amount of bytes transferred
+     *
      * @throws IOException          in case reading or writing failed
      * @throws InterruptedException if the current thread is interrupted while this method executes. Interruption
      *                              status is checked in between each chunk read and write.
      */
-    public static void transfer(@NonNull InputStream src, @NonNull OutputStream dst)
+    public static long transfer(@NonNull InputStream src, @NonNull OutputStream dst)
             throws IOException, InterruptedException {
-        transfer(src, dst, DEFAULT_TRANSFER_CHUNK_SIZE);
+        return transfer(src, dst, DEFAULT_TRANSFER_CHUNK_SIZE);
     }
 
     /**
@@ -75,23 +77,28 @@ public final class IoStreams {
      * @param dst       output stream to write data to
      * @param chunkSize size of chunks read from {@code src}, in bytes
      *
+     * @return amount of bytes transferred
+     *
      * @throws IOException          in case reading or writing failed
      * @throws InterruptedException if the current thread is interrupted while this method executes. Interruption
      *                              status is checked in between each chunk read and write.
      */
-    public static void transfer(@NonNull InputStream src, @NonNull OutputStream dst, @IntRange(from = 1) int chunkSize)
+    public static long transfer(@NonNull InputStream src, @NonNull OutputStream dst, @IntRange(from = 1) int chunkSize)
             throws IOException, InterruptedException {
         byte[] buffer = new byte[chunkSize];
+        long total = 0;
         int len;
         while (!Thread.currentThread().isInterrupted()
                && (len = src.read(buffer)) > 0) {
             if (!Thread.currentThread().isInterrupted()) {
                 dst.write(buffer, 0, len);
+                total += len;
             }
         }
         if (Thread.currentThread().isInterrupted()) {
             throw new InterruptedException();
         }
+        return total;
     }
 
     /**
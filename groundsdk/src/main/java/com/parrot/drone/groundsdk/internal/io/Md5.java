@@ -0,0 +1,130 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+
+package com.parrot.drone.groundsdk.internal.io;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Provides utilities to compute and verify MD5 checksums.
+ */
+public final class Md5 {
+
+    /** Output stream that discards all data. */
+    private static final OutputStream NULL_OUTPUT_STREAM = new OutputStream() {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) {
+        }
+    };
+
+    /**
+     * Creates a new MD5 message digest.
+     *
+     * @return a new MD5 message digest
+     */
+    @NonNull
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 digest unsupported", e);
+        }
+    }
+
+    /**
+     * Updates a message digest with all remaining content of an input stream.
+     * <p>
+     * The stream is read until its end, but is not closed.
+     *
+     * @param digest digest to update
+     * @param src    input stream to read data from
+     *
+     * @throws IOException          in case reading failed
+     * @throws InterruptedException if the current thread is interrupted while this method executes
+     */
+    public static void update(@NonNull MessageDigest digest, @NonNull InputStream src)
+            throws IOException, InterruptedException {
+        IoStreams.transfer(new DigestInputStream(src, digest), NULL_OUTPUT_STREAM);
+    }
+
+    /**
+     * Completes a message digest and verifies that it matches an expected checksum.
+     * <p>
+     * The digest is reset after this call.
+     *
+     * @param digest   digest to complete
+     * @param expected expected checksum, as an hexadecimal string, case insensitive
+     *
+     * @throws IOException in case the computed checksum does not match the expected one
+     */
+    public static void verify(@NonNull MessageDigest digest, @NonNull String expected) throws IOException {
+        String computed = toHex(digest.digest());
+        if (!computed.equalsIgnoreCase(expected)) {
+            throw new IOException("Checksum mismatch [expected: " + expected + ", computed: " + computed + "]");
+        }
+    }
+
+    /**
+     * Formats bytes as a lower-case hexadecimal string.
+     *
+     * @param bytes bytes to format
+     *
+     * @return hexadecimal string representation of the given bytes
+     */
+    @NonNull
+    public static String toHex(@NonNull byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Private constructor for static utility class.
+     */
+    private Md5() {
+    }
+}
@@ -33,13 +33,20 @@
 package com.parrot.drone.groundsdk.internal.session;
 
 import androidx.annotation.CallSuper;
+import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.parrot.drone.groundsdk.Ref;
+import com.parrot.drone.groundsdk.internal.tasks.Executor;
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
 import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
@@ -76,6 +83,21 @@ public class Session {
         /** {@code true} when the reference is closed. A closed reference does not notify any update. */
         private boolean mClosed;
 
+        /** Minimal interval between two observer notifications, in milliseconds. {@code 0} when not limited. */
+        private long mMinNotifyInterval;
+
+        /** Time of latest observer notification, based on {@link TimeProvider#elapsedRealtime()}. */
+        private long mLatestNotifyTime;
+
+        /** {@code true} when a rate-limited notification is scheduled. */
+        private boolean mNotifyScheduled;
+
+        /** Count of observer notifications. */
+        private long mNotifyCount;
+
+        /** Count of object updates coalesced into another notification, thus not notified to the observer. */
+        private long mCoalescedCount;
+
         /**
          * Constructor.
          *
@@ -97,6 +119,16 @@ public class Session {
             return mObject;
         }
 
+        @NonNull
+        @Override
+        public Ref<T> setMaxNotificationFrequency(@FloatRange(from = 0) double maxFrequency) {
+            if (!(maxFrequency >= 0)) {
+                throw new IllegalArgumentException("Invalid notification frequency: " + maxFrequency);
+            }
+            setMinNotificationInterval(toInterval(maxFrequency));
+            return this;
+        }
+
         @Override
         public void close() {
             if (!mClosed) {
@@ -116,9 +148,26 @@ public class Session {
          */
         @CallSuper
         protected void release() {
+            if (mNotifyScheduled) {
+                mNotifyScheduled = false;
+                Executor.unschedule(mScheduledNotify);
+            }
             mObject = null;
         }
 
+        /**
+         * Sets the minimal interval between two observer notifications.
+         *
+         * @param interval minimal notification interval, in milliseconds; {@code 0} when not limited
+         */
+        protected final void setMinNotificationInterval(@IntRange(from = 0) long interval) {
+            mMinNotifyInterval = interval;
+            if (mNotifyScheduled && interval == 0) {
+                Executor.unschedule(mScheduledNotify);
+                mScheduledNotify.run();
+            }
+        }
+
         /**
          * Initialises the reference.
          * <p>
@@ -142,11 +191,26 @@ public class Session {
          */
         protected final void update(@Nullable T object) {
             if (!mClosed) {
+                boolean presenceChanged = (mObject == null) != (object == null);
                 mObject = object;
-                if (mSession.mState == State.RESUMED) {
-                    mObserver.onChanged(mObject);
-                } else {
+                if (mSession.mState != State.RESUMED) {
                     mPendingNotify = true;
+                } else if (mNotifyScheduled && !presenceChanged) {
+                    // latest object will be notified by the scheduled notification
+                    mCoalescedCount++;
+                    sCoalescedCount++;
+                } else {
+                    long delay = mLatestNotifyTime + mMinNotifyInterval - TimeProvider.elapsedRealtime();
+                    if (presenceChanged || mMinNotifyInterval == 0 || delay <= 0) {
+                        if (mNotifyScheduled) {
+                            mNotifyScheduled = false;
+                            Executor.unschedule(mScheduledNotify);
+                        }
+                        notifyObserver();
+                    } else {
+                        mNotifyScheduled = true;
+                        Executor.schedule(mScheduledNotify, delay);
+                    }
                 }
             }
         }
@@ -159,10 +223,33 @@ public class Session {
         final void resume() {
             if (!mClosed && mPendingNotify) {
                 mPendingNotify = false;
-                mObserver.onChanged(mObject);
+                notifyObserver();
             }
         }
 
+        /** Notifies the latest object update, once the minimal notification interval has elapsed. */
+        private final Runnable mScheduledNotify = () -> {
+            mNotifyScheduled = false;
+            if (mClosed) {
+                return;
+            }
+            if (mSession.mState == State.RESUMED) {
+                notifyObserver();
+            } else {
+                mPendingNotify = true;
+            }
+        };
+
+        /**
+         * Notifies the observer of the current referenced object.
+         */
+        private void notifyObserver() {
+            mLatestNotifyTime = TimeProvider.elapsedRealtime();
+            mNotifyCount++;
+            sNotifyCount++;
+            mObserver.onChanged(mObject);
+        }
+
         /**
          * Retrieves a string representation of the kind of object managed by this ref.
          * <p>
@@ -188,6 +275,16 @@ public class Session {
     /** References managed by this session. */
     private final Set<RefBase<?>> mRefs;
 
+    /** Minimal notification interval, in milliseconds, by referenced object type. */
+    @NonNull
+    private final Map<Class<?>, Long> mMinNotifyIntervals;
+
+    /** Count of observer notifications, all refs included. */
+    private static long sNotifyCount;
+
+    /** Count of object updates coalesced by rate-limited refs, thus not notified to observers, all refs included. */
+    private static long sCoalescedCount;
+
     /** Represents a session's state. */
     private enum State {
 
@@ -211,6 +308,7 @@ public class Session {
     Session() {
         mSessionId = nextSessionId();
         mRefs = new CopyOnWriteArraySet<>();
+        mMinNotifyIntervals = new HashMap<>();
         mState = State.SUSPENDED;
     }
 
@@ -223,6 +321,40 @@ public class Session {
         return mSessionId;
     }
 
+    /**
+     * Limits the frequency at which observers of refs on objects of the given type are notified.
+     * <p>
+     * This applies to refs that are created after this method is called; each ref may still be configured
+     * individually using {@link Ref#setMaxNotificationFrequency}.
+     *
+     * @param type         type of referenced objects
+     * @param maxFrequency maximum notification frequency, in Hertz; {@code 0} to remove any limit
+     *
+     * @throws IllegalArgumentException in case {@code maxFrequency} is negative or not a number
+     */
+    public final void setMaxNotificationFrequency(@NonNull Class<?> type, @FloatRange(from = 0) double maxFrequency) {
+        if (!(maxFrequency >= 0)) {
+            throw new IllegalArgumentException("Invalid notification frequency: " + maxFrequency);
+        }
+        if (maxFrequency == 0) {
+            mMinNotifyIntervals.remove(type);
+        } else {
+            mMinNotifyIntervals.put(type, toInterval(maxFrequency));
+        }
+    }
+
+    /**
+     * Retrieves the minimal interval between two notifications of refs on objects of the given type.
+     *
+     * @param type type of referenced objects
+     *
+     * @return minimal notification interval, in milliseconds; {@code 0} when not limited
+     */
+    public final long getMinNotificationInterval(@NonNull Class<?> type) {
+        Long interval = mMinNotifyIntervals.get(type);
+        return interval == null ? 0 : interval;
+    }
+
     /**
      * Resumes the session.
      * <p>
@@ -310,10 +442,55 @@ public class Session {
      */
     void dumpRefs(@NonNull PrintWriter writer, @NonNull String prefix) {
         for (RefBase<?> ref : mRefs) {
-            writer.print(prefix + "- " + ref.describeContent() + " [" + ref.mObject + "] <- " + ref.mObserver + "\n");
+            writer.print(prefix + "- " + ref.describeContent() + " [" + ref.mObject + "] <- " + ref.mObserver
+                         + " [notified: " + ref.mNotifyCount + ", coalesced: " + ref.mCoalescedCount
+                         + (ref.mMinNotifyInterval == 0 ? "" : ", interval: " + ref.mMinNotifyInterval + "ms") + "]\n");
         }
     }
 
+    /**
+     * Debug notification counters dump.
+     *
+     * @param writer writer to dump to
+     * @param prefix prefix string (usually indent) to prepend to each written dump line
+     */
+    static void dumpNotificationCounters(@NonNull PrintWriter writer, @NonNull String prefix) {
+        writer.print(prefix + "Ref notifications: " + sNotifyCount + ", coalesced: " + sCoalescedCount + "\n");
+    }
+
+    /**
+     * Retrieves the count of observer notifications, all refs included.
+     *
+     * @return notification count
+     */
+    @VisibleForTesting
+    static long getNotificationCount() {
+        return sNotifyCount;
+    }
+
+    /**
+     * Retrieves the count of object updates coalesced by rate-limited refs, all refs included.
+     * <p>
+     * This is the count of observer notifications that were saved by rate limiting.
+     *
+     * @return coalesced update count
+     */
+    @VisibleForTesting
+    static long getCoalescedCount() {
+        return sCoalescedCount;
+    }
+
+    /**
+     * Converts a notification frequency to the corresponding minimal notification interval.
+     *
+     * @param frequency notification frequency, in Hertz, {@code 0} when not limited
+     *
+     * @return minimal notification interval, in milliseconds, {@code 0} when not limited
+     */
+    private static long toInterval(double frequency) {
+        return frequency == 0 ? 0 : Math.max(1, Math.round(1000 / frequency));
+    }
+
     /** Last issued session id. INVALID_ID until the first session is created. */
     private static int sSessionIdBase = INVALID_ID;
 
@@ -418,6 +418,7 @@ public final class SessionManager {
             writer.write("\t--sessions: dumps sessions info\n");
             writer.write("\t\t--refs: dumps refs info\n");
         } else if (args.contains("--sessions") || args.contains("--all")) {
+            Session.dumpNotificationCounters(writer, "\t");
             for (Session session : mSessions.keySet()) {
                 writer.write("\t" + session + " -> ");
                 if (session instanceof ManagedSession) {
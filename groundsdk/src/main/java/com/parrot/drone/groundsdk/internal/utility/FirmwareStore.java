@@ -150,4 +150,20 @@ public interface FirmwareStore extends Monitorable<FirmwareStore.Monitor>, Utili
      */
     @NonNull
     Task<File> getFirmwareFile(@NonNull FirmwareIdentifier firmware);
+
+    /**
+     * Retrieves the update file for a given firmware, once its integrity has been verified.
+     * <p>
+     * This method behaves as {@link #getFirmwareFile}, but also verifies the update file content against the
+     * firmware checksum, when known, so that the file can be sent to a device without any further validation. The
+     * returned task fails in case the checksum does not match.
+     * <p>
+     * Verification is performed in background, on the fly while extracting the file content if that is required.
+     *
+     * @param firmware identifies the firmware whose update file is requested
+     *
+     * @return an asynchronous task, that provides the requested file upon successful completion and may be canceled.
+     */
+    @NonNull
+    Task<File> getVerifiedFirmwareFile(@NonNull FirmwareIdentifier firmware);
 }
@@ -33,9 +33,11 @@
 package com.parrot.drone.groundsdk.internal.utility;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.parrot.drone.groundsdk.internal.GroundSdkConfig;
 import com.parrot.drone.groundsdk.internal.engine.EngineBase;
+import com.parrot.drone.groundsdk.internal.facility.FlightDataSummaryCore;
 
 import java.io.File;
 
@@ -64,6 +66,9 @@ public interface FlightDataStorage extends Utility {
      * Inside this directory, downloaders may create temporary files, that have a {@link #TMP_FILE_EXT}
      * suffix to their name, for any purpose they see fit. Those files will be cleaned up by the engine when
      * appropriate. <br>
+     * Files that have a {@link FlightDataSummaryCore#FILE_EXT} suffix to their name are considered to be the summary
+     * of the flight data file with the same name, without that suffix. Those files are cleaned up by the engine along
+     * with the flight data file they describe. <br>
      * Any file with another name is considered to be a valid flight data file by the engine, which may publish it to
      * the application at some point.<br>
      * Any directory in this directory will be considered garbage by the engine, which may delete them at some
@@ -83,7 +88,9 @@ public interface FlightDataStorage extends Utility {
     /**
      * Notifies the engine that a new flight data file as been downloaded.
      *
-     * @param file downloaded flight data file
+     * @param file    downloaded flight data file
+     * @param summary summary of the downloaded flight, already {@link FlightDataSummaryCore#save saved} next to
+     *                {@code file}; {@code null} if not available
      */
-    void notifyFlightDataFileReady(@NonNull File file);
+    void notifyFlightDataFileReady(@NonNull File file, @Nullable FlightDataSummaryCore summary);
 }
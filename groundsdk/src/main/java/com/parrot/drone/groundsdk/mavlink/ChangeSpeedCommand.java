@@ -35,7 +35,6 @@ package com.parrot.drone.groundsdk.mavlink;
 import android.util.SparseArray;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -137,7 +136,7 @@ public final class ChangeSpeedCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mSpeedType.value(), mSpeed, 0, 0, 0, 0, 0);
     }
 
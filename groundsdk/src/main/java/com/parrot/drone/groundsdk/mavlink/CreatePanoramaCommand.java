@@ -33,7 +33,6 @@
 package com.parrot.drone.groundsdk.mavlink;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 
@@ -108,7 +107,7 @@ public final class CreatePanoramaCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mHorizontalAngle, mVerticalAngle, mHorizontalSpeed, mVerticalSpeed, 0, 0, 0);
     }
 
@@ -33,7 +33,6 @@
 package com.parrot.drone.groundsdk.mavlink;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 
@@ -65,7 +64,7 @@ public final class DelayCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mDelay, 0, 0, 0, 0, 0, 0);
     }
 
@@ -34,12 +34,7 @@ package com.parrot.drone.groundsdk.mavlink;
 
 import android.util.SparseArray;
 
-import com.parrot.drone.groundsdk.internal.Logging;
-import com.parrot.drone.sdkcore.ulog.ULog;
-
 import java.io.IOException;
-import java.io.Writer;
-import java.util.Locale;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -177,7 +172,7 @@ public abstract class MavlinkCommand {
      *
      * @throws IOException if the command could not be written
      */
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, 0, 0, 0, 0, 0, 0, 0);
     }
 
@@ -196,84 +191,73 @@ public abstract class MavlinkCommand {
      *
      * @throws IOException if the command could not be written
      */
-    void write(@NonNull Writer writer, int index, double param1, double param2, double param3, double param4,
-               double latitude, double longitude, double altitude) throws IOException {
-        writer.write(String.format(Locale.US, "%d\t%d\t%d\t%d\t%f\t%f\t%f\t%f\t%f\t%f\t%f\t%d\n",
-                index, CURRENT_WAYPOINT, FRAME, mType.code(), param1, param2, param3, param4, latitude,
-                longitude, altitude, AUTO_CONTINUE));
+    void write(@NonNull MavlinkWriter writer, int index, double param1, double param2, double param3,
+               double param4, double latitude, double longitude, double altitude) throws IOException {
+        writer.field(index).field(CURRENT_WAYPOINT).field(FRAME).field(mType.code())
+                .field(param1).field(param2).field(param3).field(param4)
+                .field(latitude).field(longitude).field(altitude)
+                .field(AUTO_CONTINUE)
+                .endLine();
     }
 
     /**
-     * Parses a line of a MAVLink file.
+     * Creates a MAVLink command from generic MAVLink parameters.
      *
-     * @param line line of MAVLink file
+     * @param type       command type
+     * @param parameters generic command parameters, in MAVLink file order: {@code param1} to {@code param4}, then
+     *                   latitude, longitude and altitude. The array is not retained and may be reused by the caller
      *
-     * @return MAVLink command, or {@code null} if the line could not be parsed
+     * @return MAVLink command, or {@code null} if the parameters are invalid for this command type
      */
     @Nullable
-    static MavlinkCommand parse(@NonNull String line) {
+    static MavlinkCommand create(@NonNull Type type, @NonNull double[] parameters) {
         MavlinkCommand command = null;
-        String[] tokens = line.split("\\t");
-        if (tokens.length == 12) {
-            try {
-                Type type = Type.fromCode(Integer.parseInt(tokens[3]));
-                if (type != null) {
-                    double[] parameters = new double[7];
-                    for (int i = 0; i < parameters.length; i++) {
-                        parameters[i] = Double.parseDouble(tokens[i + 4]);
-                    }
-                    switch (type) {
-                        case NAVIGATE_TO_WAYPOINT:
-                            command = NavigateToWaypointCommand.create(parameters);
-                            break;
-                        case RETURN_TO_LAUNCH:
-                            command = new ReturnToLaunchCommand();
-                            break;
-                        case LAND:
-                            command = new LandCommand();
-                            break;
-                        case TAKE_OFF:
-                            command = new TakeOffCommand();
-                            break;
-                        case DELAY:
-                            command = DelayCommand.create(parameters);
-                            break;
-                        case CHANGE_SPEED:
-                            command = ChangeSpeedCommand.create(parameters);
-                            break;
-                        case SET_ROI:
-                            command = SetRoiCommand.create(parameters);
-                            break;
-                        case MOUNT_CONTROL:
-                            command = MountControlCommand.create(parameters);
-                            break;
-                        case START_PHOTO_CAPTURE:
-                            command = StartPhotoCaptureCommand.create(parameters);
-                            break;
-                        case STOP_PHOTO_CAPTURE:
-                            command = new StopPhotoCaptureCommand();
-                            break;
-                        case START_VIDEO_CAPTURE:
-                            command = new StartVideoCaptureCommand();
-                            break;
-                        case STOP_VIDEO_CAPTURE:
-                            command = new StopVideoCaptureCommand();
-                            break;
-                        case CREATE_PANORAMA:
-                            command = CreatePanoramaCommand.create(parameters);
-                            break;
-                        case SET_VIEW_MODE:
-                            command = SetViewModeCommand.create(parameters);
-                            break;
-                        case SET_STILL_CAPTURE_MODE:
-                            command = SetStillCaptureModeCommand.create(parameters);
-                            break;
-                    }
-                }
-            } catch (NumberFormatException e) {
-                ULog.e(Logging.TAG_MAVLINK, "Error parsing MAVLink file, ignoring line", e);
-                command = null;
-            }
+        switch (type) {
+            case NAVIGATE_TO_WAYPOINT:
+                command = NavigateToWaypointCommand.create(parameters);
+                break;
+            case RETURN_TO_LAUNCH:
+                command = new ReturnToLaunchCommand();
+                break;
+            case LAND:
+                command = new LandCommand();
+                break;
+            case TAKE_OFF:
+                command = new TakeOffCommand();
+                break;
+            case DELAY:
+                command = DelayCommand.create(parameters);
+                break;
+            case CHANGE_SPEED:
+                command = ChangeSpeedCommand.create(parameters);
+                break;
+            case SET_ROI:
+                command = SetRoiCommand.create(parameters);
+                break;
+            case MOUNT_CONTROL:
+                command = MountControlCommand.create(parameters);
+                break;
+            case START_PHOTO_CAPTURE:
+                command = StartPhotoCaptureCommand.create(parameters);
+                break;
+            case STOP_PHOTO_CAPTURE:
+                command = new StopPhotoCaptureCommand();
+                break;
+            case START_VIDEO_CAPTURE:
+                command = new StartVideoCaptureCommand();
+                break;
+            case STOP_VIDEO_CAPTURE:
+                command = new StopVideoCaptureCommand();
+                break;
+            case CREATE_PANORAMA:
+                command = CreatePanoramaCommand.create(parameters);
+                break;
+            case SET_VIEW_MODE:
+                command = SetViewModeCommand.create(parameters);
+                break;
+            case SET_STILL_CAPTURE_MODE:
+                command = SetStillCaptureModeCommand.create(parameters);
+                break;
         }
         return command;
     }
@@ -35,16 +35,20 @@ package com.parrot.drone.groundsdk.mavlink;
 import com.parrot.drone.groundsdk.internal.Logging;
 import com.parrot.drone.sdkcore.ulog.ULog;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 /**
  * Utility class that provides methods to generate a MAVLink file from a list of
@@ -55,9 +59,204 @@ import androidx.annotation.NonNull;
  * <a href="https://mavlink.io/en/messages/common.html">MAVLink common message set</a>.
  * For further information about supported MAVLink commands, please refer to
  * <a href="https://developer.parrot.com/docs/mavlink-flightplan">Parrot FlightPlan MAVLink documentation</a>.
+ * <p>
+ * Large files may be parsed incrementally using {@link #iterate(File, ErrorListener)}, which does not keep all
+ * commands in memory.
  */
 public final class MavlinkFiles {
 
+    /** MAVLink file header. */
+    private static final String HEADER = "QGC WPL 120";
+
+    /** Number of fields in a MAVLink command line. */
+    private static final int FIELD_COUNT = 12;
+
+    /** Index of the command code field in a MAVLink command line. */
+    private static final int CODE_FIELD = 3;
+
+    /** Index of the first parameter field in a MAVLink command line. */
+    private static final int FIRST_PARAMETER_FIELD = 4;
+
+    /** Number of generic parameters of a MAVLink command. */
+    private static final int PARAMETER_COUNT = 7;
+
+    /**
+     * Listener notified of errors that occur while parsing a MAVLink file.
+     */
+    public interface ErrorListener {
+
+        /**
+         * Called back when a line of the MAVLink file cannot be parsed, or when the file cannot be read.
+         * <p>
+         * Malformed lines are skipped and parsing goes on with the next line. Read errors end parsing.
+         *
+         * @param lineNumber number of the line where the error occurred, starting at 1
+         * @param message    error description
+         */
+        void onError(@IntRange(from = 1) int lineNumber, @NonNull String message);
+    }
+
+    /**
+     * Iterator over the commands of a MAVLink file.
+     * <p>
+     * Commands are parsed one at a time, as the iteration proceeds. The underlying file is closed as soon as the
+     * iteration is over; it must be {@link #close() closed} explicitly in case the iteration is abandoned before.
+     */
+    public static final class CommandIterator implements Iterator<MavlinkCommand>, Closeable {
+
+        /** Tokenizer reading the MAVLink file. */
+        @NonNull
+        private final MavlinkTokenizer mTokenizer;
+
+        /** Listener notified of parsing errors. */
+        @NonNull
+        private final ErrorListener mErrorListener;
+
+        /** Generic command parameters, reused for each line. */
+        @NonNull
+        private final double[] mParameters;
+
+        /** Next command to be returned, {@code null} if not parsed yet or if iteration is over. */
+        @Nullable
+        private MavlinkCommand mNext;
+
+        /** {@code true} once iteration is over. */
+        private boolean mDone;
+
+        /**
+         * Constructor.
+         *
+         * @param tokenizer     tokenizer reading the MAVLink file
+         * @param errorListener listener notified of parsing errors
+         */
+        CommandIterator(@NonNull MavlinkTokenizer tokenizer, @NonNull ErrorListener errorListener) {
+            mTokenizer = tokenizer;
+            mErrorListener = errorListener;
+            mParameters = new double[PARAMETER_COUNT];
+            try {
+                if (!mTokenizer.nextLine() || !mTokenizer.isHeader()) {
+                    mErrorListener.onError(1, "Missing QGC WPL header");
+                    finish();
+                }
+            } catch (IOException e) {
+                mErrorListener.onError(1, "Could not read file: " + e.getMessage());
+                finish();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (mNext == null && !mDone) {
+                mNext = parseNext();
+            }
+            return mNext != null;
+        }
+
+        @NonNull
+        @Override
+        public MavlinkCommand next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            MavlinkCommand command = mNext;
+            assert command != null;
+            mNext = null;
+            return command;
+        }
+
+        @Override
+        public void close() throws IOException {
+            mDone = true;
+            mNext = null;
+            mTokenizer.close();
+        }
+
+        /**
+         * Parses lines until a valid command is found.
+         *
+         * @return next command, or {@code null} if the iteration is over
+         */
+        @Nullable
+        private MavlinkCommand parseNext() {
+            while (true) {
+                try {
+                    if (!mTokenizer.nextLine()) {
+                        finish();
+                        return null;
+                    }
+                } catch (IOException e) {
+                    mErrorListener.onError(mTokenizer.getLineNumber() + 1, "Could not read file: " + e.getMessage());
+                    finish();
+                    return null;
+                }
+                if (mTokenizer.isBlank()) {
+                    continue;
+                }
+                MavlinkCommand command = parseLine();
+                if (command != null) {
+                    return command;
+                }
+            }
+        }
+
+        /**
+         * Parses the current line.
+         * <p>
+         * Errors are reported to the error listener.
+         *
+         * @return parsed command, or {@code null} if the line is malformed
+         */
+        @Nullable
+        private MavlinkCommand parseLine() {
+            int lineNumber = mTokenizer.getLineNumber();
+            int fieldCount = mTokenizer.getFieldCount();
+            if (fieldCount != FIELD_COUNT) {
+                mErrorListener.onError(lineNumber, "Expected " + FIELD_COUNT + " fields, found " + fieldCount);
+                return null;
+            }
+            MavlinkCommand.Type type;
+            try {
+                int code = mTokenizer.parseInt(CODE_FIELD);
+                type = MavlinkCommand.Type.fromCode(code);
+                if (type == null) {
+                    mErrorListener.onError(lineNumber, "Unsupported command code " + code);
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                mErrorListener.onError(lineNumber, "Invalid command code: " + e.getMessage());
+                return null;
+            }
+            for (int i = 0; i < PARAMETER_COUNT; i++) {
+                try {
+                    mParameters[i] = mTokenizer.parseDouble(FIRST_PARAMETER_FIELD + i);
+                } catch (NumberFormatException e) {
+                    mErrorListener.onError(lineNumber, "Invalid parameter " + (i + 1) + ": " + e.getMessage());
+                    return null;
+                }
+            }
+            MavlinkCommand command = MavlinkCommand.create(type, mParameters);
+            if (command == null) {
+                mErrorListener.onError(lineNumber, "Invalid parameters for command " + type);
+            }
+            return command;
+        }
+
+        /**
+         * Ends the iteration and closes the underlying file.
+         */
+        private void finish() {
+            try {
+                close();
+            } catch (IOException e) {
+                ULog.w(Logging.TAG_MAVLINK, "Could not close MAVLink file", e);
+            }
+        }
+    }
+
+    /** Error listener that logs errors. */
+    private static final ErrorListener LOG_ERRORS = (lineNumber, message) ->
+            ULog.w(Logging.TAG_MAVLINK, "Error parsing MAVLink file, ignoring line " + lineNumber + ": " + message);
+
     /**
      * Generates a MAVLink file from the given list of commands.
      *
@@ -65,8 +264,8 @@ public final class MavlinkFiles {
      * @param commands iterable over MAVLink commands
      */
     public static void generate(@NonNull File file, @NonNull Iterable<MavlinkCommand> commands) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write("QGC WPL 120\n");
+        try (MavlinkWriter writer = new MavlinkWriter(new BufferedWriter(new FileWriter(file)))) {
+            writer.field(HEADER).endLine();
             int index = 0;
             for (MavlinkCommand item : commands) {
                 item.write(writer, index);
@@ -80,8 +279,8 @@ public final class MavlinkFiles {
     /**
      * Parses a MAVLink file into a list of commands.
      * <p>
-     * Any malformed command is simply ignored. If the given file is not properly formatted, this method returns an
-     * empty list.
+     * Any malformed command is ignored, and logged along with its line number. If the given file is not properly
+     * formatted, this method returns an empty list.
      *
      * @param file source file path
      *
@@ -90,15 +289,9 @@ public final class MavlinkFiles {
     @NonNull
     public static List<MavlinkCommand> parse(@NonNull File file) {
         List<MavlinkCommand> commands = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line = reader.readLine();
-            if (line != null && line.matches("QGC WPL \\d+")) {
-                while ((line = reader.readLine()) != null) {
-                    MavlinkCommand command = MavlinkCommand.parse(line);
-                    if (command != null) {
-                        commands.add(command);
-                    }
-                }
+        try (CommandIterator iterator = iterate(file, LOG_ERRORS)) {
+            while (iterator.hasNext()) {
+                commands.add(iterator.next());
             }
         } catch (IOException e) {
             ULog.e(Logging.TAG_MAVLINK, "Could not parse MAVLink file", e);
@@ -106,6 +299,29 @@ public final class MavlinkFiles {
         return commands;
     }
 
+    /**
+     * Parses a MAVLink file incrementally.
+     * <p>
+     * Commands are parsed one at a time, as the returned iterator proceeds, so that the whole command list never
+     * needs to be held in memory. Malformed lines are reported to the given listener along with their line number,
+     * then skipped. If the given file does not start with a proper header, the error is reported and the returned
+     * iterator is empty.
+     * <p>
+     * The returned iterator should be used in a try-with-resources statement, to make sure the file is closed.
+     *
+     * @param file          source file path
+     * @param errorListener listener notified of parsing errors
+     *
+     * @return an iterator over the commands of the file
+     *
+     * @throws IOException in case the file could not be opened
+     */
+    @NonNull
+    public static CommandIterator iterate(@NonNull File file, @NonNull ErrorListener errorListener)
+            throws IOException {
+        return new CommandIterator(new MavlinkTokenizer(new FileReader(file)), errorListener);
+    }
+
     /**
      * Private constructor for static utility class.
      */
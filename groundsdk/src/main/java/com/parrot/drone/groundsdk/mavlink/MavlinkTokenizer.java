@@ -0,0 +1,357 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.mavlink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Reads MAVLink file lines from an underlying character stream and splits them into tab-separated fields.
+ * <p>
+ * Lines and fields are kept in reused buffers; numeric fields are decoded in place, so that no object is allocated
+ * per line in the common case.
+ */
+final class MavlinkTokenizer implements Closeable {
+
+    /** Size of the read buffer, in characters. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Maximal number of fields whose bounds are tracked; further fields are only counted. */
+    private static final int MAX_FIELDS = 16;
+
+    /** Maximal number of digits decoded in the fast path; this guarantees that the mantissa is exact. */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /** Exactly representable powers of ten, used to decode decimals in the fast path. */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    /** Header prefix. */
+    private static final String HEADER_PREFIX = "QGC WPL ";
+
+    /** Underlying character stream. */
+    @NonNull
+    private final Reader mReader;
+
+    /** Read buffer. */
+    @NonNull
+    private final char[] mBuffer;
+
+    /** Position of the next character to consume in the read buffer. */
+    private int mBufferPos;
+
+    /** Number of valid characters in the read buffer. */
+    private int mBufferLength;
+
+    /** {@code true} when a line feed following a carriage return must be skipped. */
+    private boolean mSkipLineFeed;
+
+    /** Current line characters. */
+    @NonNull
+    private char[] mLine;
+
+    /** Current line length. */
+    private int mLineLength;
+
+    /** Current line number, starting at 1; {@code 0} before the first line is read. */
+    private int mLineNumber;
+
+    /** Start offset of each field in the current line. */
+    @NonNull
+    private final int[] mFieldStarts;
+
+    /** End offset (exclusive) of each field in the current line. */
+    @NonNull
+    private final int[] mFieldEnds;
+
+    /** Number of fields in the current line. */
+    private int mFieldCount;
+
+    /**
+     * Constructor.
+     *
+     * @param reader character stream to read from
+     */
+    MavlinkTokenizer(@NonNull Reader reader) {
+        mReader = reader;
+        mBuffer = new char[BUFFER_SIZE];
+        mLine = new char[128];
+        mFieldStarts = new int[MAX_FIELDS];
+        mFieldEnds = new int[MAX_FIELDS];
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return {@code true} if a line was read, {@code false} if the end of the stream was reached
+     *
+     * @throws IOException in case reading failed
+     */
+    boolean nextLine() throws IOException {
+        mLineLength = 0;
+        boolean eof = true;
+        while (true) {
+            if (mBufferPos == mBufferLength) {
+                mBufferLength = mReader.read(mBuffer, 0, mBuffer.length);
+                mBufferPos = 0;
+                if (mBufferLength <= 0) {
+                    mBufferLength = 0;
+                    if (eof) {
+                        return false;
+                    }
+                    break;
+                }
+            }
+            if (mSkipLineFeed) {
+                mSkipLineFeed = false;
+                if (mBuffer[mBufferPos] == '\n') {
+                    mBufferPos++;
+                    continue;
+                }
+            }
+            eof = false;
+            int end = mBufferPos;
+            while (end < mBufferLength && mBuffer[end] != '\n' && mBuffer[end] != '\r') {
+                end++;
+            }
+            append(mBufferPos, end);
+            if (end < mBufferLength) {
+                mSkipLineFeed = mBuffer[end] == '\r';
+                mBufferPos = end + 1;
+                break;
+            }
+            mBufferPos = end;
+        }
+        mLineNumber++;
+        split();
+        return true;
+    }
+
+    /**
+     * Retrieves the current line number.
+     *
+     * @return current line number, starting at 1
+     */
+    int getLineNumber() {
+        return mLineNumber;
+    }
+
+    /**
+     * Retrieves the number of fields in the current line.
+     * <p>
+     * Like {@link String#split}, trailing empty fields are not accounted.
+     *
+     * @return current line field count
+     */
+    int getFieldCount() {
+        return mFieldCount;
+    }
+
+    /**
+     * Tells whether the current line is empty or only contains whitespace.
+     *
+     * @return {@code true} if the current line is blank, otherwise {@code false}
+     */
+    boolean isBlank() {
+        for (int i = 0; i < mLineLength; i++) {
+            if (!Character.isWhitespace(mLine[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether the current line is a valid MAVLink file header, that is {@code QGC WPL <version>}.
+     *
+     * @return {@code true} if the current line is a MAVLink file header, otherwise {@code false}
+     */
+    boolean isHeader() {
+        int prefixLength = HEADER_PREFIX.length();
+        if (mLineLength <= prefixLength) {
+            return false;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (mLine[i] != HEADER_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        for (int i = prefixLength; i < mLineLength; i++) {
+            if (mLine[i] < '0' || mLine[i] > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a field of the current line as an integer.
+     *
+     * @param field field index
+     *
+     * @return decoded value
+     *
+     * @throws NumberFormatException in case the field is not a valid integer
+     */
+    int parseInt(int field) {
+        int start = mFieldStarts[field];
+        int end = mFieldEnds[field];
+        boolean negative = start < end && mLine[start] == '-';
+        int i = negative || (start < end && mLine[start] == '+') ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException("Invalid integer: " + getField(field));
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = mLine[i];
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid integer: " + getField(field));
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Integer out of range: " + getField(field));
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Integer out of range: " + getField(field));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decodes a field of the current line as a decimal.
+     * <p>
+     * Plain decimals with up to 15 digits are decoded in place, which yields the exact same result as
+     * {@link Double#parseDouble}. Other forms are delegated to {@link Double#parseDouble}.
+     *
+     * @param field field index
+     *
+     * @return decoded value
+     *
+     * @throws NumberFormatException in case the field is not a valid decimal
+     */
+    double parseDouble(int field) {
+        int start = mFieldStarts[field];
+        int end = mFieldEnds[field];
+        boolean negative = start < end && mLine[start] == '-';
+        int i = negative ? start + 1 : start;
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = mLine[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_FAST_DIGITS) {
+                    return Double.parseDouble(getField(field));
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (point) {
+                    decimals++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return Double.parseDouble(getField(field));
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(getField(field));
+        }
+        // both operands are exact, so the division is correctly rounded
+        double value = mantissa / POWERS_OF_TEN[decimals];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Retrieves the text of a field of the current line.
+     * <p>
+     * This allocates a new string; it is meant to be used only for error reporting and uncommon number formats.
+     *
+     * @param field field index
+     *
+     * @return field text
+     */
+    @NonNull
+    String getField(int field) {
+        return new String(mLine, mFieldStarts[field], mFieldEnds[field] - mFieldStarts[field]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mReader.close();
+    }
+
+    /**
+     * Appends a range of the read buffer to the current line.
+     *
+     * @param start range start
+     * @param end   range end (exclusive)
+     */
+    private void append(int start, int end) {
+        int length = end - start;
+        if (mLineLength + length > mLine.length) {
+            char[] line = new char[Math.max(mLine.length * 2, mLineLength + length)];
+            System.arraycopy(mLine, 0, line, 0, mLineLength);
+            mLine = line;
+        }
+        System.arraycopy(mBuffer, start, mLine, mLineLength, length);
+        mLineLength += length;
+    }
+
+    /**
+     * Splits the current line into tab-separated fields.
+     */
+    private void split() {
+        mFieldCount = 0;
+        int start = 0;
+        for (int i = 0; i <= mLineLength; i++) {
+            if (i == mLineLength || mLine[i] == '\t') {
+                if (mFieldCount < MAX_FIELDS) {
+                    mFieldStarts[mFieldCount] = start;
+                    mFieldEnds[mFieldCount] = i;
+                }
+                mFieldCount++;
+                start = i + 1;
+            }
+        }
+        while (mFieldCount > 1 && mFieldCount <= MAX_FIELDS
+               && mFieldStarts[mFieldCount - 1] == mFieldEnds[mFieldCount - 1]) {
+            mFieldCount--;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk.mavlink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Writes MAVLink file lines to an underlying character stream.
+ * <p>
+ * Each line is built field by field in a reused buffer, then written at once. Decimal fields are formatted like
+ * {@code String.format(Locale.US, "%f", value)} would, without allocating in the common case.
+ */
+final class MavlinkWriter implements Closeable {
+
+    /** Number of decimal digits written for decimal fields. */
+    private static final int DECIMALS = 6;
+
+    /** Scale factor corresponding to {@link #DECIMALS}. */
+    private static final double DECIMAL_SCALE = 1e6;
+
+    /** Integer scale factor corresponding to {@link #DECIMALS}. */
+    private static final long DECIMAL_UNITS = 1_000_000L;
+
+    /**
+     * Scaled magnitude up to which decimals are formatted in the fast path. Below this limit, the precision of scaled
+     * values is finer than {@code 2^-9}, which allows to detect rounding ambiguities reliably.
+     */
+    private static final double FAST_FORMAT_LIMIT = 1L << 43;
+
+    /**
+     * Distance to the rounding midpoint under which the fast path cannot decide how to round, in scaled units. Such
+     * values are delegated to {@code String.format}.
+     */
+    private static final double ROUNDING_AMBIGUITY = 1e-2;
+
+    /** Underlying character stream. */
+    @NonNull
+    private final Writer mWriter;
+
+    /** Line being built. */
+    @NonNull
+    private final StringBuilder mLine;
+
+    /** Buffer used to transfer the line to the underlying stream. */
+    @NonNull
+    private char[] mChars;
+
+    /**
+     * Constructor.
+     *
+     * @param writer character stream to write to
+     */
+    MavlinkWriter(@NonNull Writer writer) {
+        mWriter = writer;
+        mLine = new StringBuilder(128);
+        mChars = new char[128];
+    }
+
+    /**
+     * Appends an integer field to the current line.
+     *
+     * @param value field value
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    MavlinkWriter field(long value) {
+        separate();
+        mLine.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a decimal field to the current line.
+     *
+     * @param value field value
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    MavlinkWriter field(double value) {
+        separate();
+        double scaled = Math.abs(value) * DECIMAL_SCALE;
+        if (!(scaled < FAST_FORMAT_LIMIT)) { // also catches NaN
+            mLine.append(String.format(Locale.US, "%f", value));
+            return this;
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) < ROUNDING_AMBIGUITY) {
+            mLine.append(String.format(Locale.US, "%f", value));
+            return this;
+        }
+        long units = (long) floor + (fraction > 0.5 ? 1 : 0);
+        if (Double.doubleToRawLongBits(value) < 0) {
+            mLine.append('-');
+        }
+        mLine.append(units / DECIMAL_UNITS).append('.');
+        long decimals = units % DECIMAL_UNITS;
+        for (long divider = DECIMAL_UNITS / 10; divider > decimals && divider > 1; divider /= 10) {
+            mLine.append('0');
+        }
+        mLine.append(decimals);
+        return this;
+    }
+
+    /**
+     * Appends a raw text field to the current line.
+     *
+     * @param text field text
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    MavlinkWriter field(@NonNull String text) {
+        separate();
+        mLine.append(text);
+        return this;
+    }
+
+    /**
+     * Terminates the current line and writes it to the underlying stream.
+     *
+     * @throws IOException if the line could not be written
+     */
+    void endLine() throws IOException {
+        mLine.append('\n');
+        int length = mLine.length();
+        if (length > mChars.length) {
+            mChars = new char[length];
+        }
+        mLine.getChars(0, length, mChars, 0);
+        mWriter.write(mChars, 0, length);
+        mLine.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mWriter.close();
+    }
+
+    /**
+     * Appends a field separator, unless the current line is empty.
+     */
+    private void separate() {
+        if (mLine.length() > 0) {
+            mLine.append('\t');
+        }
+    }
+}
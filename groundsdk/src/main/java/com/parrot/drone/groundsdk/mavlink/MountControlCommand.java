@@ -33,7 +33,6 @@
 package com.parrot.drone.groundsdk.mavlink;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 
@@ -68,7 +67,7 @@ public final class MountControlCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mTiltAngle, 0, 0, 0, 0, 0, MODE);
     }
 
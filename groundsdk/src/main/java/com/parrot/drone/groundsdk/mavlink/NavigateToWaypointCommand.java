@@ -33,7 +33,6 @@
 package com.parrot.drone.groundsdk.mavlink;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 
@@ -137,7 +136,7 @@ public final class NavigateToWaypointCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mHoldTime, mAcceptanceRadius, 0, mYaw, mLatitude, mLongitude, mAltitude);
     }
 
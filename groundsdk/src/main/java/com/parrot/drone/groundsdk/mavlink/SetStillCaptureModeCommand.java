@@ -35,7 +35,6 @@ package com.parrot.drone.groundsdk.mavlink;
 import android.util.SparseArray;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -139,7 +138,7 @@ public final class SetStillCaptureModeCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mMode.value(), mInterval, 0, 0, 0, 0, 0);
     }
 
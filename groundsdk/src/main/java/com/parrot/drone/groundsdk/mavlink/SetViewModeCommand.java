@@ -35,7 +35,6 @@ package com.parrot.drone.groundsdk.mavlink;
 import android.util.SparseArray;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -142,7 +141,7 @@ public final class SetViewModeCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mMode.value(), mRoiIndex, 0, 0, 0, 0, 0);
     }
 
@@ -35,7 +35,6 @@ package com.parrot.drone.groundsdk.mavlink;
 import android.util.SparseArray;
 
 import java.io.IOException;
-import java.io.Writer;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
@@ -163,7 +162,7 @@ public final class StartPhotoCaptureCommand extends MavlinkCommand {
     }
 
     @Override
-    void write(@NonNull Writer writer, int index) throws IOException {
+    void write(@NonNull MavlinkWriter writer, int index) throws IOException {
         write(writer, index, mInterval, mCount, mFormat.value(), 0, 0, 0, 0);
     }
 
@@ -37,6 +37,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import com.parrot.drone.sdkcore.PooledObject;
+import com.parrot.drone.sdkcore.TimeProvider;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -147,6 +148,30 @@ public final class ArsdkCommand extends PooledObject {
         }
     }
 
+    /** {@code true} when received commands are stamped with their reception time, disabled by default. */
+    private static volatile boolean sReceptionTimeTracking;
+
+    /**
+     * Enables stamping received commands with their reception time.
+     * <p>
+     * Reading the clock for each received command has a cost, so this should only be enabled when some consumer
+     * actually needs {@link #getReceptionTime() reception times}.
+     *
+     * @param enable {@code true} to enable reception time tracking, {@code false} to disable it
+     */
+    public static void enableReceptionTimeTracking(boolean enable) {
+        sReceptionTimeTracking = enable;
+    }
+
+    /**
+     * Tells whether received commands are stamped with their reception time.
+     *
+     * @return {@code true} if reception time tracking is enabled, otherwise {@code false}
+     */
+    public static boolean isReceptionTimeTrackingEnabled() {
+        return sReceptionTimeTracking;
+    }
+
     /**
      * Gets the name of command name identified by id (for logging).
      *
@@ -169,6 +194,12 @@ public final class ArsdkCommand extends PooledObject {
     /** Command Cmd/Evt id, lazy initialized. */
     private int mCommandId;
 
+    /**
+     * Time at which the command was received from the device, in the {@link TimeProvider#elapsedRealtime()} time base.
+     * {@code 0} if unknown.
+     */
+    private long mReceptionTime;
+
     /**
      * Constructor.
      *
@@ -222,6 +253,31 @@ public final class ArsdkCommand extends PooledObject {
         return mCommandId;
     }
 
+    /**
+     * Gets the time at which the command was received from the device.
+     * <p>
+     * The reception time is taken when the command is received on the pomp thread, before being dispatched to the
+     * main thread, provided that {@link #enableReceptionTimeTracking reception time tracking} is enabled.
+     *
+     * @return command reception time, in the {@link TimeProvider#elapsedRealtime()} time base, {@code 0} if unknown
+     */
+    public long getReceptionTime() {
+        return mReceptionTime;
+    }
+
+    /**
+     * Sets the time at which the command was received from the device.
+     *
+     * @param receptionTime command reception time, in the {@link TimeProvider#elapsedRealtime()} time base
+     *
+     * @return this, to allow call chaining
+     */
+    @NonNull
+    public ArsdkCommand setReceptionTime(long receptionTime) {
+        mReceptionTime = receptionTime;
+        return this;
+    }
+
     /**
      * Gets the command name (for logging).
      *
@@ -243,6 +299,7 @@ public final class ArsdkCommand extends PooledObject {
             mFeatureId = -1;
             mCommandId = -1;
         }
+        mReceptionTime = 0;
     }
 
     /* JNI declarations and setup */
@@ -37,6 +37,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.ArsdkCore;
 import com.parrot.drone.sdkcore.arsdk.Backend;
 import com.parrot.drone.sdkcore.arsdk.backend.ArsdkBackendController;
@@ -742,8 +743,11 @@ public class ArsdkDevice {
 
     @SuppressWarnings("unused") /* native-cb */
     private void onCommandReceived(long cmdNativePtr) {
-        mArsdkCore.dispatchToMain(
-                mRecvCommandRunnablePool.obtainEntry().init(ArsdkCommand.Pool.DEFAULT.obtain(cmdNativePtr)));
+        ArsdkCommand command = ArsdkCommand.Pool.DEFAULT.obtain(cmdNativePtr);
+        if (ArsdkCommand.isReceptionTimeTrackingEnabled()) {
+            command.setReceptionTime(TimeProvider.elapsedRealtime());
+        }
+        mArsdkCore.dispatchToMain(mRecvCommandRunnablePool.obtainEntry().init(command));
     }
 
     @SuppressWarnings("unused") /* native-cb */
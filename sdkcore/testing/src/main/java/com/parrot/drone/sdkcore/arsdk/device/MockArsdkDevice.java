@@ -35,6 +35,7 @@ package com.parrot.drone.sdkcore.arsdk.device;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.parrot.drone.sdkcore.TimeProvider;
 import com.parrot.drone.sdkcore.arsdk.Backend;
 import com.parrot.drone.sdkcore.arsdk.Expectation;
 import com.parrot.drone.sdkcore.arsdk.MockArsdkCore;
@@ -183,6 +184,9 @@ public class MockArsdkDevice extends ArsdkDevice {
 
     public void commandReceived(@NonNull ArsdkCommand command) {
         assert mListener != null;
+        if (ArsdkCommand.isReceptionTimeTrackingEnabled() && command.getReceptionTime() == 0) {
+            command.setReceptionTime(TimeProvider.elapsedRealtime());
+        }
         mListener.onCommandReceived(command);
     }
 }
@@ -35,10 +35,14 @@ package com.parrot.drone.groundsdk;
 import androidx.annotation.NonNull;
 
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaDeleter;
+import com.parrot.drone.groundsdk.device.peripheral.media.MediaItem;
 import com.parrot.drone.groundsdk.device.peripheral.media.MediaTaskStatus;
 
 import org.hamcrest.Matcher;
 
+import java.util.Collection;
+
+import static com.parrot.drone.groundsdk.MatcherBuilders.featureMatcher;
 import static com.parrot.drone.groundsdk.MatcherBuilders.valueMatcher;
 
 public final class MediaDeleterMatcher {
@@ -55,6 +59,11 @@ public final class MediaDeleterMatcher {
         return valueMatcher(index, "CurrentDeletionIndex", MediaDeleter::getCurrentMediaIndex);
     }
 
+    public static Matcher<MediaDeleter> hasFailedResources(
+            @NonNull Matcher<? super Collection<MediaItem.Resource>> matcher) {
+        return featureMatcher(matcher, "FailedResources", MediaDeleter::getFailedResources);
+    }
+
     private MediaDeleterMatcher() {
     }
 }
@@ -0,0 +1,70 @@
+/*
+ *     Copyright (C) 2019 Parrot Drones SAS
+ *
+ *     Redistribution and use in source and binary forms, with or without
+ *     modification, are permitted provided that the following conditions
+ *     are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in
+ *       the documentation and/or other materials provided with the
+ *       distribution.
+ *     * Neither the name of the Parrot Company nor the names
+ *       of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written
+ *       permission.
+ *
+ *     THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *     "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ *     LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ *     FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ *     PARROT COMPANY BE LIABLE FOR ANY DIRECT, INDIRECT,
+ *     INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING,
+ *     BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS
+ *     OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ *     AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ *     OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT
+ *     OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ *     SUCH DAMAGE.
+ *
+ */
+
+package com.parrot.drone.groundsdk;
+
+import com.parrot.drone.sdkcore.TimeProvider;
+
+/**
+ * TimeProvider mock, whose time only changes when tests tell so.
+ * <p>
+ * Install it with {@link TimeProvider#setInstance} and restore the default one with {@link
+ * TimeProvider#resetDefault()} once the test is done.
+ */
+public class MockTimeProvider extends TimeProvider {
+
+    /** Current mock time, in milliseconds. */
+    private long mTime;
+
+    /**
+     * Sets current mock time.
+     *
+     * @param time time to set, in milliseconds
+     */
+    public void setTime(long time) {
+        mTime = time;
+    }
+
+    /**
+     * Moves current mock time forward.
+     *
+     * @param duration duration to add to current time, in milliseconds
+     */
+    public void advance(long duration) {
+        mTime += duration;
+    }
+
+    @Override
+    public long getElapsedRealtime() {
+        return mTime;
+    }
+}
@@ -33,6 +33,7 @@
 package com.parrot.drone.groundsdk.internal.http;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -104,6 +105,8 @@ public class MockHttpService {
             }
             response = mResponse;
             mResponse = null;
+            // forget served request, so that any subsequent request waits to be asserted
+            mRequest = null;
         }
         return response;
     }
@@ -147,6 +150,13 @@ public class MockHttpService {
         }
     }
 
+    @Nullable
+    public String pendingRequestHeader(@NonNull String name) {
+        synchronized (mSession) {
+            return mRequest == null ? null : mRequest.header(name);
+        }
+    }
+
     public void pingForCancel() {
         synchronized (mSession) {
             mSession.notifyAll();